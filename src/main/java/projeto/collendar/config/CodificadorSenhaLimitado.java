@@ -0,0 +1,99 @@
+package projeto.collendar.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import projeto.collendar.exception.SobrecargaException;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Executa o hash de senhas (login, cadastro e troca de senha) num pool próprio de
+ * tamanho fixo com fila limitada. Em picos de login o custo de CPU fica restrito a
+ * esse pool em vez de ocupar as threads do Tomcat; com a fila cheia a chamada falha
+ * na hora com {@link SobrecargaException} (HTTP 429) em vez de acumular requisições.
+ * Publica as métricas do executor com o nome "hash-senha" (executor.queued para a
+ * profundidade da fila), a latência do hash em collendar.senha.hash e as recusas em
+ * collendar.senha.recusadas.
+ */
+public class CodificadorSenhaLimitado implements PasswordEncoder, AutoCloseable {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter recusadas;
+
+    public CodificadorSenhaLimitado(PasswordEncoder delegate, int threads, int fila, MeterRegistry registry) {
+        this.delegate = delegate;
+
+        AtomicInteger sequencia = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(fila),
+                tarefa -> {
+                    Thread thread = new Thread(tarefa, "hash-senha-" + sequencia.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        ExecutorServiceMetrics.monitor(registry, executor, "hash-senha");
+        this.encodeTimer = Timer.builder("collendar.senha.hash").tag("operacao", "encode").register(registry);
+        this.matchesTimer = Timer.builder("collendar.senha.hash").tag("operacao", "matches").register(registry);
+        this.recusadas = Counter.builder("collendar.senha.recusadas").register(registry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return executar(encodeTimer, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return executar(matchesTimer, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T executar(Timer timer, Supplier<T> hash) {
+        Future<T> resultado;
+        try {
+            resultado = executor.submit(() -> timer.record(hash));
+        } catch (RejectedExecutionException e) {
+            recusadas.increment();
+            throw new SobrecargaException("Servidor ocupado processando senhas, tente novamente em instantes");
+        }
+
+        try {
+            return resultado.get();
+        } catch (InterruptedException e) {
+            resultado.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido aguardando o hash da senha", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,55 @@
+package projeto.collendar.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import javax.sql.DataSource;
+
+/**
+ * Modo de execução das requisições. Com spring.threads.virtual.enabled (variável
+ * COLLENDAR_THREADS_VIRTUAIS) o Tomcat, o executor de @Async e o das respostas em
+ * streaming passam a criar uma thread virtual por tarefa; desligado, vale o pool de
+ * plataforma do Tomcat (server.tomcat.threads.max, 200 por padrão). A entrega das
+ * notificações SSE usa threads virtuais nos dois modos: cada escrita pode ficar presa
+ * num cliente que parou de ler, e num pool fixo poucos clientes assim seguram a entrega
+ * de todos os outros.
+ * <p>
+ * Quase todo o tempo de uma requisição é espera por JDBC, e cada espera segura uma
+ * conexão. Em threads virtuais o limite de concorrência passa a ser o pool do Hikari
+ * (COLLENDAR_DB_POOL_MAXIMO): o excedente aguarda até connection-timeout. Com o pool
+ * abaixo do número de threads do Tomcat os dois modos entregam a mesma vazão; crescer o
+ * pool só compensa se o Postgres aceitar as conexões (max_connections) e tiver CPU
+ * para atendê-las.
+ * <p>
+ * Pinning: uma thread virtual que bloqueia dentro de synchronized prende a thread
+ * carregadora. O driver do Postgres troca synchronized por ReentrantLock desde a 42.6
+ * e o ExecucaoVirtualBenchmark não registra pinning; após atualizar dependências,
+ * conferir rodando com -Djdk.tracePinnedThreads=short ou gravando o evento JFR
+ * jdk.VirtualThreadPinned.
+ */
+@Slf4j
+@Configuration
+@EnableAsync
+@EnableScheduling
+public class ExecucaoConfig {
+
+    @Bean
+    public ApplicationListener<ApplicationReadyEvent> registrarModoDeExecucao(Environment environment,
+                                                                              DataSource dataSource) {
+        return event -> {
+            boolean virtuais = environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+            Object poolMaximo = dataSource instanceof HikariDataSource hikari
+                    ? hikari.getMaximumPoolSize()
+                    : "desconhecido";
+            log.info("Requisições em threads {}; pool JDBC com até {} conexões",
+                    virtuais ? "virtuais" : "de plataforma", poolMaximo);
+        };
+    }
+}
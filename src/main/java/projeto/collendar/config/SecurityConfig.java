@@ -1,5 +1,8 @@
 package projeto.collendar.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -42,6 +45,8 @@ public class SecurityConfig {
                 .formLogin(AbstractHttpConfigurer::disable)
                 .httpBasic(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(auth -> auth
+                        // O despacho ASYNC só conclui respostas em streaming já autorizadas no despacho original
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                         .requestMatchers("/auth/**").permitAll()
                         .requestMatchers(
@@ -83,7 +88,9 @@ public class SecurityConfig {
                     List<GrantedAuthority> authorities = usuario.getRoles().stream()
                             .map(role -> new SimpleGrantedAuthority("ROLE_" + role.getNome()))
                             .collect(Collectors.toList());
-                    return new org.springframework.security.core.userdetails.User(
+                    return new UsuarioAutenticado(
+                            usuario.getId(),
+                            usuario.getNome(),
                             usuario.getEmail(),
                             usuario.getSenha(),
                             authorities
@@ -93,7 +100,12 @@ public class SecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${collendar.senha.custo-bcrypt:10}") int custo,
+            @Value("${collendar.senha.threads:0}") int threads,
+            @Value("${collendar.senha.fila:100}") int fila,
+            MeterRegistry meterRegistry) {
+        int threadsHash = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new CodificadorSenhaLimitado(new BCryptPasswordEncoder(custo), threadsHash, fila, meterRegistry);
     }
 }
\ No newline at end of file
@@ -0,0 +1,96 @@
+package projeto.collendar.config;
+
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Principal da aplicação, montado pelo UserDetailsService no login e a partir das claims do
+ * token nas demais requisições. Como o User do Spring, apaga o hash da senha quando o
+ * ProviderManager conclui a autenticação, já que o AuthController reaproveita o principal.
+ */
+public final class UsuarioAutenticado implements UserDetails, CredentialsContainer {
+
+    private static final String PREFIXO_ROLE = "ROLE_";
+
+    private final UUID id;
+    private final String nome;
+    private final String email;
+    private String senha;
+    private final Collection<? extends GrantedAuthority> authorities;
+
+    public UsuarioAutenticado(UUID id, String nome, String email, String senha,
+                              Collection<? extends GrantedAuthority> authorities) {
+        this.id = id;
+        this.nome = nome;
+        this.email = email;
+        this.senha = senha;
+        this.authorities = authorities;
+    }
+
+    public UUID id() {
+        return id;
+    }
+
+    public String nome() {
+        return nome;
+    }
+
+    public String email() {
+        return email;
+    }
+
+    public Set<String> roles() {
+        return authorities.stream()
+                .map(GrantedAuthority::getAuthority)
+                .map(authority -> authority.startsWith(PREFIXO_ROLE)
+                        ? authority.substring(PREFIXO_ROLE.length())
+                        : authority)
+                .collect(Collectors.toSet());
+    }
+
+    @Override
+    public void eraseCredentials() {
+        senha = null;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String getPassword() {
+        return senha;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+}
@@ -13,19 +13,13 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import projeto.collendar.config.UsuarioAutenticado;
 import projeto.collendar.dtos.request.LoginRequestDTO;
 import projeto.collendar.dtos.response.LoginResponseDTO;
-import projeto.collendar.exception.BusinessException;
-import projeto.collendar.model.Role;
-import projeto.collendar.model.Usuario;
-import projeto.collendar.repository.UsuarioRepository;
 import projeto.collendar.utils.JwtUtil;
 
-import java.util.stream.Collectors;
-
 @RestController
 @RequestMapping("/auth")
 @RequiredArgsConstructor
@@ -38,8 +32,6 @@ public class AuthController {
 
     private final AuthenticationManager authenticationManager;
     private final JwtUtil jwtUtil;
-    private final UserDetailsService userDetailsService;
-    private final UsuarioRepository usuarioRepository;
 
     @PostMapping("/login")
     @Operation(
@@ -66,6 +58,11 @@ public class AuthController {
                     responseCode = "400",
                     description = "Dados de entrada inválidos. Verifique se email e senha foram fornecidos corretamente.",
                     content = @Content(mediaType = "application/json")
+            ),
+            @ApiResponse(
+                    responseCode = "429",
+                    description = "Servidor ocupado processando senhas. Tente novamente após o tempo indicado em Retry-After.",
+                    content = @Content(mediaType = "application/json")
             )
     })
     public ResponseEntity<LoginResponseDTO> login(
@@ -79,25 +76,19 @@ public class AuthController {
             )
             @RequestBody @Valid LoginRequestDTO request) {
         try {
-            authenticationManager.authenticate(
+            // O principal autenticado já traz id, nome e roles: nenhuma consulta além da do UserDetailsService
+            Authentication autenticacao = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(request.email(), request.senha())
             );
-
-            UserDetails userDetails = userDetailsService.loadUserByUsername(request.email());
-            String token = jwtUtil.generateToken(userDetails);
-
-            Usuario usuario = usuarioRepository.findByEmail(request.email())
-                    .orElseThrow(() -> new BusinessException("Usuário não encontrado"));
+            UsuarioAutenticado usuario = (UsuarioAutenticado) autenticacao.getPrincipal();
 
             LoginResponseDTO response = new LoginResponseDTO(
-                    token,
+                    jwtUtil.generateToken(usuario),
                     "Bearer",
-                    usuario.getId(),
-                    usuario.getNome(),
-                    usuario.getEmail(),
-                    usuario.getRoles().stream()
-                            .map(Role::getNome)
-                            .collect(Collectors.toSet())
+                    usuario.id(),
+                    usuario.nome(),
+                    usuario.email(),
+                    usuario.roles()
             );
 
             return ResponseEntity.ok(response);
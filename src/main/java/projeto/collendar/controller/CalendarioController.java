@@ -12,14 +12,21 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import projeto.collendar.dtos.projection.CalendarioFeedDTO;
 import projeto.collendar.dtos.request.CalendarioRequestDTO;
 import projeto.collendar.dtos.response.CalendarioResponseDTO;
+import projeto.collendar.dtos.response.CursorPageResponseDTO;
 import projeto.collendar.exception.AccessDeniedException;
 import projeto.collendar.service.CalendarioService;
 import projeto.collendar.service.CompartilhamentoService;
+import projeto.collendar.service.EventoService;
+import projeto.collendar.utils.IcsFeedUtils;
 import projeto.collendar.utils.SecurityUtils;
 
 import java.util.ArrayList;
@@ -40,6 +47,7 @@ public class CalendarioController {
 
     private final CalendarioService calendarioService;
     private final CompartilhamentoService compartilhamentoService;
+    private final EventoService eventoService;
     private final SecurityUtils securityUtils;
 
     @PostMapping
@@ -192,6 +200,41 @@ public class CalendarioController {
         return ResponseEntity.ok(calendarioService.listByUsuarioPaginated(usuarioId, pageable));
     }
 
+    @GetMapping("/meus/cursor")
+    @Operation(
+            summary = "Listar meus calendários (cursor)",
+            description = "Retorna os calendários do usuário ordenados por data de criação, " +
+                    "paginados por cursor e sem contagem total. " +
+                    "Enquanto proximoCursor vier preenchido, há mais páginas.",
+            tags = {"Calendários"}
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Página de calendários retornada com sucesso.",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Cursor inválido.",
+                    content = @Content(mediaType = "application/json")
+            )
+    })
+    public ResponseEntity<CursorPageResponseDTO<CalendarioResponseDTO>> listMeusCursor(
+            @Parameter(
+                    description = "Cursor opaco retornado em proximoCursor pela página anterior. " +
+                            "Omitir para obter a primeira página."
+            )
+            @RequestParam(required = false) String cursor,
+            @Parameter(
+                    description = "Quantidade de itens por página (1 a 100, padrão 20)",
+                    example = "20"
+            )
+            @RequestParam(required = false) Integer tamanho) {
+        UUID usuarioId = securityUtils.getLoggedUserId();
+        return ResponseEntity.ok(calendarioService.listByUsuarioCursor(usuarioId, cursor, tamanho));
+    }
+
     @GetMapping("/buscar")
     @Operation(
             summary = "Buscar calendários por nome",
@@ -307,6 +350,66 @@ public class CalendarioController {
         return ResponseEntity.noContent().build();
     }
 
+    @GetMapping(value = "/{id}/feed.ics", produces = "text/calendar")
+    @Operation(
+            summary = "Feed iCalendar do calendário",
+            description = "Retorna os eventos do calendário no formato iCalendar (RFC 5545), para assinatura em " +
+                    "aplicativos de calendário. Os eventos são escritos à medida que são lidos do banco, e eventos " +
+                    "recorrentes saem com RRULE em vez de ocorrências expandidas. Os horários saem no fuso do servidor, " +
+                    "com TZID e VTIMEZONE quando ele tem horário de verão. A resposta traz um ETag que muda " +
+                    "quando o calendário ou qualquer um de seus eventos é alterado; enviando-o em If-None-Match, " +
+                    "o cliente recebe 304 sem que os eventos sejam consultados. " +
+                    "O usuário deve ter acesso ao calendário (proprietário ou compartilhamento).",
+            tags = {"Calendários"}
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Feed transmitido com sucesso.",
+                    content = @Content(mediaType = "text/calendar")
+            ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "Feed inalterado desde o ETag informado em If-None-Match.",
+                    content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Acesso negado. Você não tem acesso a este calendário.",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Calendário não encontrado.",
+                    content = @Content(mediaType = "application/json")
+            )
+    })
+    public ResponseEntity<StreamingResponseBody> feed(
+            @Parameter(
+                    description = "ID único do calendário (UUID)",
+                    required = true,
+                    example = "123e4567-e89b-12d3-a456-426614174000"
+            )
+            @PathVariable UUID id,
+            WebRequest request) {
+        UUID usuarioId = securityUtils.getLoggedUserId();
+
+        if (!compartilhamentoService.hasAccess(id, usuarioId)) {
+            throw new AccessDeniedException("Você não tem acesso a este calendário");
+        }
+
+        CalendarioFeedDTO feed = calendarioService.findFeed(id);
+        if (request.checkNotModified(feed.etag())) {
+            return null;
+        }
+
+        return ResponseEntity.ok()
+                .eTag(feed.etag())
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(IcsFeedUtils.feed(feed.nome(), feed.ultimaAlteracao(),
+                        consumidor -> eventoService.streamByCalendario(id, consumidor)));
+    }
+
     @GetMapping("/{id}/posso-editar")
     @Operation(
             summary = "Verificar permissão de edição",
@@ -372,6 +475,6 @@ public class CalendarioController {
             throw new AccessDeniedException("Você não tem acesso a este calendário");
         }
 
-        return ResponseEntity.ok(calendarioService.countByUsuario(id));
+        return ResponseEntity.ok(eventoService.countByCalendario(id));
     }
 }
\ No newline at end of file
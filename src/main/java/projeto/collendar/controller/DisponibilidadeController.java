@@ -0,0 +1,114 @@
+package projeto.collendar.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import projeto.collendar.dtos.request.HorariosLivresRequestDTO;
+import projeto.collendar.dtos.response.DisponibilidadeResponseDTO;
+import projeto.collendar.dtos.response.IntervaloResponseDTO;
+import projeto.collendar.service.DisponibilidadeService;
+import projeto.collendar.utils.SecurityUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/disponibilidade")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "bearer-jwt")
+@Tag(
+        name = "Disponibilidade",
+        description = "Endpoints de consulta de horários ocupados (free/busy) e de busca de horários " +
+                "livres em comum, considerando todos os calendários próprios e compartilhados."
+)
+public class DisponibilidadeController {
+
+    private final DisponibilidadeService disponibilidadeService;
+    private final SecurityUtils securityUtils;
+
+    @GetMapping
+    @Operation(
+            summary = "Consultar horários ocupados",
+            description = "Retorna os blocos de tempo ocupado do usuário autenticado no período, " +
+                    "unindo os eventos de todos os calendários que ele possui ou que foram compartilhados com ele. " +
+                    "Eventos recorrentes são expandidos e blocos sobrepostos ou contíguos são unidos. " +
+                    "Apenas os blocos são retornados, sem detalhes dos eventos. O período máximo é de 366 dias.",
+            tags = {"Disponibilidade"}
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Blocos ocupados retornados com sucesso.",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Período inválido ou formato de data inválido.",
+                    content = @Content(mediaType = "application/json")
+            )
+    })
+    public ResponseEntity<DisponibilidadeResponseDTO> findOcupados(
+            @Parameter(
+                    description = "Data e hora de início do período (formato ISO 8601)",
+                    required = true,
+                    example = "2025-01-01T00:00:00"
+            )
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dataInicio,
+            @Parameter(
+                    description = "Data e hora de fim do período (formato ISO 8601)",
+                    required = true,
+                    example = "2025-01-31T23:59:59"
+            )
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dataFim) {
+        return ResponseEntity.ok(disponibilidadeService.findOcupados(
+                List.of(securityUtils.getLoggedUserId()), dataInicio, dataFim));
+    }
+
+    @PostMapping("/horarios-livres")
+    @Operation(
+            summary = "Buscar horários livres em comum",
+            description = "Retorna os primeiros horários do período em que todos os participantes, " +
+                    "identificados por email, estão livres pela duração pedida. Considera os calendários " +
+                    "próprios e compartilhados de cada participante, eventos recorrentes e de dia inteiro. " +
+                    "Os horários começam em múltiplos de 5 minutos e não se sobrepõem. " +
+                    "Sem quantidade informada, retorna até 10 horários. " +
+                    "Só podem participar o usuário autenticado e usuários com quem ele tem algum calendário " +
+                    "em comum, próprio ou compartilhado.",
+            tags = {"Disponibilidade"}
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Horários livres retornados com sucesso.",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Dados inválidos ou período inválido.",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Um ou mais participantes não encontrados. Emails sem cadastro e usuários sem " +
+                            "calendário em comum recebem a mesma resposta.",
+                    content = @Content(mediaType = "application/json")
+            )
+    })
+    public ResponseEntity<List<IntervaloResponseDTO>> findHorariosLivres(
+            @Parameter(
+                    description = "Participantes, duração em minutos, período de busca e quantidade de horários",
+                    required = true
+            )
+            @RequestBody @Valid HorariosLivresRequestDTO dto) {
+        return ResponseEntity.ok(disponibilidadeService.findHorariosLivres(dto, securityUtils.getLoggedUserId()));
+    }
+}
@@ -13,16 +13,30 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import projeto.collendar.dtos.request.EventoLoteRequestDTO;
 import projeto.collendar.dtos.request.EventoRequestDTO;
+import projeto.collendar.dtos.response.CursorPageResponseDTO;
+import projeto.collendar.dtos.response.EventoLoteResponseDTO;
 import projeto.collendar.dtos.response.EventoResponseDTO;
+import projeto.collendar.dtos.response.ImportacaoResponseDTO;
+import projeto.collendar.dtos.response.SincronizacaoResponseDTO;
+import projeto.collendar.enums.EscopoConflito;
 import projeto.collendar.exception.AccessDeniedException;
 import projeto.collendar.service.CompartilhamentoService;
 import projeto.collendar.service.EventoService;
+import projeto.collendar.service.ImportacaoService;
+import projeto.collendar.service.NotificacaoBroadcaster;
+import projeto.collendar.utils.JsonStreamUtils;
 import projeto.collendar.utils.SecurityUtils;
 
+import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
@@ -41,7 +55,10 @@ import java.util.UUID;
 public class EventoController {
 
     private final EventoService eventoService;
+    private final ImportacaoService importacaoService;
+    private final NotificacaoBroadcaster notificacaoBroadcaster;
     private final CompartilhamentoService compartilhamentoService;
+    private final JsonStreamUtils jsonStreamUtils;
     private final SecurityUtils securityUtils;
 
     @PostMapping
@@ -75,6 +92,13 @@ public class EventoController {
                     responseCode = "404",
                     description = "Calendário não encontrado.",
                     content = @Content(mediaType = "application/json")
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "Conflito de horário com eventos existentes, listados em \"conflitos\". " +
+                            "Eventos de calendários que o usuário não pode ver aparecem só com o horário. " +
+                            "Só ocorre quando o parâmetro conflitos é informado.",
+                    content = @Content(mediaType = "application/json")
             )
     })
     public ResponseEntity<EventoResponseDTO> create(
@@ -86,14 +110,122 @@ public class EventoController {
                             mediaType = "application/json"
                     )
             )
-            @RequestBody @Valid EventoRequestDTO dto) {
+            @RequestBody @Valid EventoRequestDTO dto,
+            @Parameter(
+                    description = "Se informado, recusa o evento quando ele sobrepõe eventos do mesmo calendário " +
+                            "(CALENDARIO) ou de qualquer calendário do proprietário (PROPRIETARIO)"
+            )
+            @RequestParam(required = false) EscopoConflito conflitos) {
         UUID usuarioId = securityUtils.getLoggedUserId();
 
         if (!compartilhamentoService.canEdit(dto.calendarioId(), usuarioId)) {
             throw new AccessDeniedException("Você não tem permissão para criar eventos neste calendário");
         }
 
-        return ResponseEntity.status(HttpStatus.CREATED).body(eventoService.create(dto));
+        return ResponseEntity.status(HttpStatus.CREATED).body(eventoService.create(dto, conflitos,
+                calendario -> compartilhamentoService.hasAccess(calendario, usuarioId)));
+    }
+
+    @PostMapping("/lote")
+    @Operation(
+            summary = "Criar eventos em lote",
+            description = "Cria até 5000 eventos em uma única requisição, possivelmente em calendários diferentes. " +
+                    "Cada item é validado individualmente (título, datas e calendário) e a permissão de EDITAR " +
+                    "é verificada uma vez por calendário distinto. Itens inválidos ou sem permissão são rejeitados " +
+                    "sem impedir a criação dos demais; a resposta traz o resultado de cada item na ordem enviada.",
+            tags = {"Eventos"}
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Lote processado. Consulte 'itens' para o ID criado ou o erro de cada posição.",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = EventoLoteResponseDTO.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Lote vazio ou com mais de 5000 eventos.",
+                    content = @Content(mediaType = "application/json")
+            )
+    })
+    public ResponseEntity<EventoLoteResponseDTO> createLote(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Eventos a serem criados",
+                    required = true,
+                    content = @Content(
+                            schema = @Schema(implementation = EventoLoteRequestDTO.class),
+                            mediaType = "application/json"
+                    )
+            )
+            @RequestBody @Valid EventoLoteRequestDTO dto) {
+        UUID usuarioId = securityUtils.getLoggedUserId();
+
+        return ResponseEntity.ok(eventoService.createLote(
+                dto.eventos(), calendarioId -> compartilhamentoService.canEdit(calendarioId, usuarioId)));
+    }
+
+    @PostMapping(value = "/calendario/{calendarioId}/importar", consumes = {"text/calendar", "text/csv"})
+    @Operation(
+            summary = "Importar eventos de arquivo",
+            description = "Importa eventos de um arquivo iCalendar (.ics, Content-Type text/calendar) ou CSV " +
+                    "(text/csv, com cabeçalho) enviado no corpo da requisição. O arquivo é lido em fluxo, sem ser " +
+                    "carregado inteiro em memória, e gravado em lotes de 500 eventos, cada um em sua própria transação. " +
+                    "VEVENTs recorrentes têm a FREQ do RRULE convertida para o tipo de recorrência; séries com " +
+                    "INTERVAL, COUNT, UNTIL, BY*, EXDATE ou RDATE são rejeitadas. Eventos cancelados e instâncias " +
+                    "editadas de uma série (RECURRENCE-ID) são ignorados. " +
+                    "Eventos inválidos são rejeitados individualmente; a resposta traz os totais e até 100 erros. " +
+                    "Requer permissão de EDITAR no calendário.",
+            tags = {"Eventos"}
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Importação concluída.",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ImportacaoResponseDTO.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Arquivo ilegível. Se a leitura falhar no meio do arquivo, os lotes já " +
+                            "gravados são mantidos e a resposta traz os totais processados e criados até a falha.",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Acesso negado. Você não tem permissão para criar eventos neste calendário.",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Calendário não encontrado.",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @ApiResponse(
+                    responseCode = "415",
+                    description = "Formato ou charset não suportado. Use text/calendar ou text/csv.",
+                    content = @Content(mediaType = "application/json")
+            )
+    })
+    public ResponseEntity<ImportacaoResponseDTO> importar(
+            @Parameter(
+                    description = "ID do calendário de destino (UUID)",
+                    required = true,
+                    example = "123e4567-e89b-12d3-a456-426614174000"
+            )
+            @PathVariable UUID calendarioId,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType tipo,
+            InputStream corpo) {
+        UUID usuarioId = securityUtils.getLoggedUserId();
+
+        if (!compartilhamentoService.canEdit(calendarioId, usuarioId)) {
+            throw new AccessDeniedException("Você não tem permissão para criar eventos neste calendário");
+        }
+
+        return ResponseEntity.ok(importacaoService.importar(calendarioId, tipo, corpo));
     }
 
     @GetMapping("/{id}")
@@ -179,6 +311,86 @@ public class EventoController {
         return ResponseEntity.ok(eventoService.listByCalendario(calendarioId));
     }
 
+    @GetMapping(value = "/calendario/{calendarioId}/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+            summary = "Exportar eventos do calendário em streaming",
+            description = "Retorna os mesmos eventos de /calendario/{calendarioId}, mas escritos no corpo à medida " +
+                    "que são lidos do banco, sem montar a lista inteira em memória. " +
+                    "Indicado para exportações de calendários grandes. O usuário deve ter acesso ao calendário.",
+            tags = {"Eventos"}
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Array JSON de eventos transmitido com sucesso.",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Acesso negado ao calendário.",
+                    content = @Content(mediaType = "application/json")
+            )
+    })
+    public ResponseEntity<StreamingResponseBody> streamByCalendario(
+            @Parameter(
+                    description = "ID do calendário",
+                    required = true
+            )
+            @PathVariable UUID calendarioId) {
+        UUID usuarioId = securityUtils.getLoggedUserId();
+
+        if (!compartilhamentoService.hasAccess(calendarioId, usuarioId)) {
+            throw new AccessDeniedException("Você não tem acesso a este calendário");
+        }
+
+        return ResponseEntity.ok(jsonStreamUtils.<EventoResponseDTO>array(
+                consumidor -> eventoService.streamByCalendario(calendarioId, consumidor)));
+    }
+
+    @GetMapping(value = "/calendario/{calendarioId}/notificacoes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+            summary = "Assinar notificações do calendário",
+            description = "Abre um canal Server-Sent Events que recebe um evento \"evento\" a cada criação, " +
+                    "alteração ou remoção de evento no calendário, com calendarioId, eventoId e tipo " +
+                    "(CRIADO, ALTERADO ou REMOVIDO). eventoId vem nulo quando vários eventos foram criados de " +
+                    "uma vez (lote ou importação). Substitui o polling: ao receber uma notificação, busque as " +
+                    "mudanças em /calendario/{calendarioId}/sincronizar. Conexões que não acompanham o ritmo " +
+                    "das notificações são encerradas; ao reconectar, sincronize antes de confiar no canal. " +
+                    "O usuário deve ter acesso ao calendário; o canal é fechado se o acesso for revogado.",
+            tags = {"Eventos"}
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Canal de notificações aberto.",
+                    content = @Content(mediaType = "text/event-stream")
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Acesso negado ao calendário.",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @ApiResponse(
+                    responseCode = "429",
+                    description = "Limite de conexões de notificação atingido.",
+                    content = @Content(mediaType = "application/json")
+            )
+    })
+    public SseEmitter assinarNotificacoes(
+            @Parameter(
+                    description = "ID do calendário",
+                    required = true
+            )
+            @PathVariable UUID calendarioId) {
+        UUID usuarioId = securityUtils.getLoggedUserId();
+
+        if (!compartilhamentoService.hasAccess(calendarioId, usuarioId)) {
+            throw new AccessDeniedException("Você não tem acesso a este calendário");
+        }
+
+        return notificacaoBroadcaster.assinar(calendarioId, usuarioId);
+    }
+
     @GetMapping("/calendario/{calendarioId}/paginado")
     @Operation(
             summary = "Listar eventos do calendário (paginado)",
@@ -218,10 +430,118 @@ public class EventoController {
         return ResponseEntity.ok(eventoService.listByCalendarioPaginated(calendarioId, pageable));
     }
 
+    @GetMapping("/calendario/{calendarioId}/cursor")
+    @Operation(
+            summary = "Listar eventos do calendário (cursor)",
+            description = "Retorna os eventos de um calendário ordenados por data de início, " +
+                    "paginados por cursor. Cada página custa o mesmo independente da profundidade " +
+                    "e não há contagem total. Enquanto proximoCursor vier preenchido, há mais páginas.",
+            tags = {"Eventos"}
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Página de eventos retornada com sucesso.",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Cursor inválido.",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Acesso negado ao calendário.",
+                    content = @Content(mediaType = "application/json")
+            )
+    })
+    public ResponseEntity<CursorPageResponseDTO<EventoResponseDTO>> listByCalendarioCursor(
+            @Parameter(
+                    description = "ID do calendário",
+                    required = true
+            )
+            @PathVariable UUID calendarioId,
+            @Parameter(
+                    description = "Cursor opaco retornado em proximoCursor pela página anterior. " +
+                            "Omitir para obter a primeira página."
+            )
+            @RequestParam(required = false) String cursor,
+            @Parameter(
+                    description = "Quantidade de itens por página (1 a 100, padrão 20)",
+                    example = "20"
+            )
+            @RequestParam(required = false) Integer tamanho) {
+        UUID usuarioId = securityUtils.getLoggedUserId();
+
+        if (!compartilhamentoService.hasAccess(calendarioId, usuarioId)) {
+            throw new AccessDeniedException("Você não tem acesso a este calendário");
+        }
+
+        return ResponseEntity.ok(eventoService.listByCalendarioCursor(calendarioId, cursor, tamanho));
+    }
+
+    @GetMapping("/calendario/{calendarioId}/sincronizar")
+    @Operation(
+            summary = "Sincronizar eventos do calendário",
+            description = "Retorna apenas o que mudou no calendário desde o token informado: eventos criados ou " +
+                    "alterados e ids de eventos removidos. Sem token, retorna todos os eventos atuais. " +
+                    "Guarde o token devolvido para a próxima sincronização; enquanto temMais for verdadeiro, " +
+                    "repita a chamada com o novo token. O usuário deve ter acesso ao calendário.",
+            tags = {"Eventos"}
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Alterações retornadas com sucesso.",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Token de sincronização inválido.",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Acesso negado ao calendário.",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Calendário não encontrado.",
+                    content = @Content(mediaType = "application/json")
+            )
+    })
+    public ResponseEntity<SincronizacaoResponseDTO> sincronizar(
+            @Parameter(
+                    description = "ID do calendário",
+                    required = true
+            )
+            @PathVariable UUID calendarioId,
+            @Parameter(
+                    description = "Token opaco retornado pela sincronização anterior. " +
+                            "Omitir para a primeira sincronização."
+            )
+            @RequestParam(required = false) String token,
+            @Parameter(
+                    description = "Quantidade máxima de alterações por resposta (1 a 100, padrão 20)",
+                    example = "20"
+            )
+            @RequestParam(required = false) Integer tamanho) {
+        UUID usuarioId = securityUtils.getLoggedUserId();
+
+        if (!compartilhamentoService.hasAccess(calendarioId, usuarioId)) {
+            throw new AccessDeniedException("Você não tem acesso a este calendário");
+        }
+
+        return ResponseEntity.ok(eventoService.sincronizar(calendarioId, token, tamanho));
+    }
+
     @GetMapping("/calendario/{calendarioId}/periodo")
     @Operation(
             summary = "Buscar eventos por período",
             description = "Retorna eventos de um calendário específico dentro de um período de datas. " +
+                    "Inclui eventos que começaram antes ou terminam depois do período, desde que o sobreponham. " +
+                    "Eventos recorrentes são expandidos em uma entrada por ocorrência dentro do período. " +
                     "Útil para visualização de calendário mensal ou semanal. " +
                     "As datas devem estar no formato ISO 8601 (yyyy-MM-dd'T'HH:mm:ss).",
             tags = {"Eventos"}
@@ -299,6 +619,45 @@ public class EventoController {
         return ResponseEntity.ok(eventoService.searchByTitulo(titulo, pageable));
     }
 
+    @GetMapping("/buscar/cursor")
+    @Operation(
+            summary = "Buscar eventos por título (cursor)",
+            description = "Realiza uma busca case-insensitive por título, com resultados ordenados " +
+                    "por data de início e paginados por cursor, sem contagem total.",
+            tags = {"Eventos"}
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Resultados da busca retornados com sucesso.",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Cursor inválido.",
+                    content = @Content(mediaType = "application/json")
+            )
+    })
+    public ResponseEntity<CursorPageResponseDTO<EventoResponseDTO>> searchByTituloCursor(
+            @Parameter(
+                    description = "Título ou parte do título do evento",
+                    required = true,
+                    example = "Reunião"
+            )
+            @RequestParam String titulo,
+            @Parameter(
+                    description = "Cursor opaco retornado em proximoCursor pela página anterior. " +
+                            "Omitir para obter a primeira página."
+            )
+            @RequestParam(required = false) String cursor,
+            @Parameter(
+                    description = "Quantidade de itens por página (1 a 100, padrão 20)",
+                    example = "20"
+            )
+            @RequestParam(required = false) Integer tamanho) {
+        return ResponseEntity.ok(eventoService.searchByTituloCursor(titulo, cursor, tamanho));
+    }
+
     @GetMapping("/recorrentes")
     @Operation(
             summary = "Listar eventos recorrentes",
@@ -317,6 +676,24 @@ public class EventoController {
         return ResponseEntity.ok(eventoService.listRecorrentes());
     }
 
+    @GetMapping(value = "/recorrentes/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+            summary = "Exportar eventos recorrentes em streaming",
+            description = "Retorna os mesmos eventos de /recorrentes, escritos no corpo à medida que são lidos " +
+                    "do banco, sem montar a lista inteira em memória.",
+            tags = {"Eventos"}
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Array JSON de eventos recorrentes transmitido com sucesso.",
+                    content = @Content(mediaType = "application/json")
+            )
+    })
+    public ResponseEntity<StreamingResponseBody> streamRecorrentes() {
+        return ResponseEntity.ok(jsonStreamUtils.<EventoResponseDTO>array(eventoService::streamRecorrentes));
+    }
+
     @PutMapping("/{id}")
     @Operation(
             summary = "Atualizar evento",
@@ -348,6 +725,13 @@ public class EventoController {
                     responseCode = "404",
                     description = "Evento não encontrado.",
                     content = @Content(mediaType = "application/json")
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "Conflito de horário com eventos existentes, listados em \"conflitos\". " +
+                            "Eventos de calendários que o usuário não pode ver aparecem só com o horário. " +
+                            "Só ocorre quando o parâmetro conflitos é informado.",
+                    content = @Content(mediaType = "application/json")
             )
     })
     public ResponseEntity<EventoResponseDTO> update(
@@ -360,7 +744,12 @@ public class EventoController {
                     description = "Novos dados do evento",
                     required = true
             )
-            @RequestBody @Valid EventoRequestDTO dto) {
+            @RequestBody @Valid EventoRequestDTO dto,
+            @Parameter(
+                    description = "Se informado, recusa a alteração quando o novo horário sobrepõe outros eventos " +
+                            "do mesmo calendário (CALENDARIO) ou de qualquer calendário do proprietário (PROPRIETARIO)"
+            )
+            @RequestParam(required = false) EscopoConflito conflitos) {
         UUID usuarioId = securityUtils.getLoggedUserId();
         UUID calendarioId = eventoService.getCalendarioIdByEvento(id);
 
@@ -368,7 +757,8 @@ public class EventoController {
             throw new AccessDeniedException("Você não tem permissão para editar eventos neste calendário");
         }
 
-        return ResponseEntity.ok(eventoService.update(id, dto));
+        return ResponseEntity.ok(eventoService.update(id, dto, conflitos,
+                calendario -> compartilhamentoService.hasAccess(calendario, usuarioId)));
     }
 
     @DeleteMapping("/{id}")
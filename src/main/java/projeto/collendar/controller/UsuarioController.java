@@ -11,11 +11,14 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import projeto.collendar.dtos.request.UsuarioRequestDTO;
 import projeto.collendar.dtos.response.UsuarioResponseDTO;
 import projeto.collendar.service.UsuarioService;
+import projeto.collendar.utils.JsonStreamUtils;
 
 import java.util.List;
 import java.util.UUID;
@@ -31,6 +34,7 @@ import java.util.UUID;
 public class UsuarioController {
 
     private final UsuarioService usuarioService;
+    private final JsonStreamUtils jsonStreamUtils;
 
     @PostMapping
     @Operation(
@@ -52,6 +56,11 @@ public class UsuarioController {
                     responseCode = "400",
                     description = "Dados inválidos. Verifique se: email é válido, senha tem mínimo 6 caracteres, email não está em uso.",
                     content = @Content(mediaType = "application/json")
+            ),
+            @ApiResponse(
+                    responseCode = "429",
+                    description = "Servidor ocupado processando senhas. Tente novamente após o tempo indicado em Retry-After.",
+                    content = @Content(mediaType = "application/json")
             )
     })
     public ResponseEntity<UsuarioResponseDTO> create(
@@ -90,6 +99,30 @@ public class UsuarioController {
         return ResponseEntity.ok(usuarioService.listAll());
     }
 
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    @SecurityRequirement(name = "bearer-jwt")
+    @Operation(
+            summary = "Exportar usuários em streaming",
+            description = "Retorna os mesmos usuários de GET /usuarios, escritos no corpo à medida que são lidos " +
+                    "do banco, sem montar a lista inteira em memória.",
+            tags = {"Usuários"}
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Array JSON de usuários transmitido com sucesso.",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Não autenticado. Token JWT não fornecido ou inválido.",
+                    content = @Content(mediaType = "application/json")
+            )
+    })
+    public ResponseEntity<StreamingResponseBody> streamAll() {
+        return ResponseEntity.ok(jsonStreamUtils.<UsuarioResponseDTO>array(usuarioService::streamAll));
+    }
+
     @GetMapping("/{id}")
     @SecurityRequirement(name = "bearer-jwt")
     @Operation(
@@ -203,6 +236,11 @@ public class UsuarioController {
                     responseCode = "404",
                     description = "Usuário não encontrado.",
                     content = @Content(mediaType = "application/json")
+            ),
+            @ApiResponse(
+                    responseCode = "429",
+                    description = "Servidor ocupado processando senhas. Tente novamente após o tempo indicado em Retry-After.",
+                    content = @Content(mediaType = "application/json")
             )
     })
     public ResponseEntity<UsuarioResponseDTO> update(
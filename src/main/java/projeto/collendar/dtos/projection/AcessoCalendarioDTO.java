@@ -0,0 +1,10 @@
+package projeto.collendar.dtos.projection;
+
+import projeto.collendar.enums.TipoPermissao;
+
+import java.util.UUID;
+
+public record AcessoCalendarioDTO(
+        UUID proprietarioId,
+        TipoPermissao permissao
+) { }
@@ -0,0 +1,31 @@
+package projeto.collendar.dtos.projection;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+public record CalendarioFeedDTO(
+        UUID id,
+        String nome,
+        LocalDateTime atualizadoEm,
+        LocalDateTime eventosAlteradosEm,
+        long totalEventos
+) {
+
+    /**
+     * Versão do feed: muda quando o calendário é editado ou quando qualquer evento dele
+     * é criado, alterado ou removido.
+     */
+    public String etag() {
+        return Long.toHexString(micros(atualizadoEm)) + "-" + Long.toHexString(micros(eventosAlteradosEm))
+                + "-" + totalEventos;
+    }
+
+    public LocalDateTime ultimaAlteracao() {
+        return eventosAlteradosEm.isAfter(atualizadoEm) ? eventosAlteradosEm : atualizadoEm;
+    }
+
+    private static long micros(LocalDateTime momento) {
+        return momento.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + momento.getNano() / 1_000;
+    }
+}
@@ -0,0 +1,22 @@
+package projeto.collendar.dtos.projection;
+
+import projeto.collendar.enums.TipoRecorrencia;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record EventoVersaoDTO(
+        long versao,
+        UUID id,
+        String titulo,
+        String descricao,
+        LocalDateTime dataInicio,
+        LocalDateTime dataFim,
+        String local,
+        String cor,
+        Boolean diaInteiro,
+        Boolean recorrente,
+        TipoRecorrencia tipoRecorrencia,
+        UUID calendarioId,
+        String calendarioNome
+) { }
@@ -0,0 +1,12 @@
+package projeto.collendar.dtos.projection;
+
+import projeto.collendar.enums.TipoRecorrencia;
+
+import java.time.LocalDateTime;
+
+public record PeriodoOcupadoDTO(
+        LocalDateTime dataInicio,
+        LocalDateTime dataFim,
+        Boolean diaInteiro,
+        TipoRecorrencia tipoRecorrencia
+) { }
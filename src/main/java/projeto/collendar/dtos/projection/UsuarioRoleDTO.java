@@ -0,0 +1,11 @@
+package projeto.collendar.dtos.projection;
+
+import java.util.UUID;
+
+public record UsuarioRoleDTO(
+        UUID usuarioId,
+        String nome,
+        String email,
+        Boolean ativo,
+        String role
+) { }
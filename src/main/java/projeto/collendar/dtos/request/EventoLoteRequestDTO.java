@@ -0,0 +1,12 @@
+package projeto.collendar.dtos.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record EventoLoteRequestDTO(
+        @NotEmpty(message = "O lote deve conter ao menos um evento")
+        @Size(max = 5000, message = "O lote aceita no máximo 5000 eventos")
+        List<EventoRequestDTO> eventos
+) { }
@@ -0,0 +1,32 @@
+package projeto.collendar.dtos.request;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+public record HorariosLivresRequestDTO(
+        @NotEmpty(message = "Informe ao menos um participante")
+        @Size(max = 100, message = "A busca aceita no máximo 100 participantes")
+        Set<@Email(message = "Email inválido") String> emails,
+
+        @NotNull(message = "Duração é obrigatória")
+        @Min(value = 5, message = "A duração mínima é de 5 minutos")
+        @Max(value = 1440, message = "A duração máxima é de 1440 minutos")
+        Integer duracaoMinutos,
+
+        @NotNull(message = "Data de início é obrigatória")
+        LocalDateTime dataInicio,
+
+        @NotNull(message = "Data de fim é obrigatória")
+        LocalDateTime dataFim,
+
+        @Min(value = 1, message = "Quantidade mínima é 1")
+        @Max(value = 50, message = "Quantidade máxima é 50")
+        Integer quantidade
+) { }
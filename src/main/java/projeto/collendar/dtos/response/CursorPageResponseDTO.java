@@ -0,0 +1,8 @@
+package projeto.collendar.dtos.response;
+
+import java.util.List;
+
+public record CursorPageResponseDTO<T>(
+        List<T> itens,
+        String proximoCursor
+) { }
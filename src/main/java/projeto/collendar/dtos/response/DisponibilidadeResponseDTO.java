@@ -0,0 +1,10 @@
+package projeto.collendar.dtos.response;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record DisponibilidadeResponseDTO(
+        LocalDateTime dataInicio,
+        LocalDateTime dataFim,
+        List<IntervaloResponseDTO> ocupados
+) { }
@@ -0,0 +1,9 @@
+package projeto.collendar.dtos.response;
+
+import java.util.UUID;
+
+public record EventoLoteItemDTO(
+        int indice,
+        UUID id,
+        String erro
+) { }
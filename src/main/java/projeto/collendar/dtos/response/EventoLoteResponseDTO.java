@@ -0,0 +1,9 @@
+package projeto.collendar.dtos.response;
+
+import java.util.List;
+
+public record EventoLoteResponseDTO(
+        int criados,
+        int rejeitados,
+        List<EventoLoteItemDTO> itens
+) { }
@@ -0,0 +1,10 @@
+package projeto.collendar.dtos.response;
+
+import java.util.List;
+
+public record ImportacaoResponseDTO(
+        int processados,
+        int criados,
+        int rejeitados,
+        List<EventoLoteItemDTO> erros
+) { }
@@ -0,0 +1,8 @@
+package projeto.collendar.dtos.response;
+
+import java.time.LocalDateTime;
+
+public record IntervaloResponseDTO(
+        LocalDateTime dataInicio,
+        LocalDateTime dataFim
+) { }
@@ -0,0 +1,11 @@
+package projeto.collendar.dtos.response;
+
+import projeto.collendar.enums.TipoAlteracao;
+
+import java.util.UUID;
+
+public record NotificacaoEventoDTO(
+        UUID calendarioId,
+        UUID eventoId,
+        TipoAlteracao tipo
+) { }
@@ -0,0 +1,11 @@
+package projeto.collendar.dtos.response;
+
+import java.util.List;
+import java.util.UUID;
+
+public record SincronizacaoResponseDTO(
+        List<EventoResponseDTO> alterados,
+        List<UUID> removidos,
+        String token,
+        boolean temMais
+) { }
@@ -0,0 +1,7 @@
+package projeto.collendar.enums;
+
+public enum EscopoConflito {
+
+    CALENDARIO,
+    PROPRIETARIO
+}
@@ -0,0 +1,27 @@
+package projeto.collendar.enums;
+
+public enum NivelAcesso {
+
+    NENHUM("Nenhum"),
+    VISUALIZAR("Visualizar"),
+    EDITAR("Editar"),
+    PROPRIETARIO("Proprietário");
+
+    private final String descricao;
+
+    NivelAcesso(String descricao) {
+        this.descricao = descricao;
+    }
+
+    public String getDescricao() {
+        return descricao;
+    }
+
+    public boolean podeVisualizar() {
+        return this != NENHUM;
+    }
+
+    public boolean podeEditar() {
+        return this == EDITAR || this == PROPRIETARIO;
+    }
+}
@@ -0,0 +1,8 @@
+package projeto.collendar.enums;
+
+public enum TipoAlteracao {
+
+    CRIADO,
+    ALTERADO,
+    REMOVIDO
+}
@@ -0,0 +1,10 @@
+package projeto.collendar.events;
+
+import java.util.UUID;
+
+/**
+ * Alteração nos dados do próprio calendário (nome, descrição ou cor), não nos seus eventos.
+ */
+public record CalendarioAlteradoEvent(
+        UUID calendarioId
+) { }
@@ -0,0 +1,7 @@
+package projeto.collendar.events;
+
+import java.util.UUID;
+
+public record CalendarioRemovidoEvent(
+        UUID calendarioId
+) { }
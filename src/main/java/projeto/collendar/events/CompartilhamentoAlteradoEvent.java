@@ -0,0 +1,8 @@
+package projeto.collendar.events;
+
+import java.util.UUID;
+
+public record CompartilhamentoAlteradoEvent(
+        UUID calendarioId,
+        UUID usuarioId
+) { }
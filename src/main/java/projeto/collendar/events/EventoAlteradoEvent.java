@@ -0,0 +1,15 @@
+package projeto.collendar.events;
+
+import projeto.collendar.enums.TipoAlteracao;
+
+import java.util.UUID;
+
+/**
+ * Alteração em eventos de um calendário. {@code eventoId} é nulo quando vários eventos
+ * foram criados de uma vez (lote ou importação).
+ */
+public record EventoAlteradoEvent(
+        UUID calendarioId,
+        UUID eventoId,
+        TipoAlteracao tipo
+) { }
@@ -0,0 +1,19 @@
+package projeto.collendar.exception;
+
+import projeto.collendar.dtos.response.EventoResponseDTO;
+
+import java.util.List;
+
+public class ConflitoHorarioException extends RuntimeException {
+
+    private final List<EventoResponseDTO> conflitos;
+
+    public ConflitoHorarioException(List<EventoResponseDTO> conflitos) {
+        super("O horário do evento conflita com " + conflitos.size() + " evento(s) existente(s)");
+        this.conflitos = conflitos;
+    }
+
+    public List<EventoResponseDTO> getConflitos() {
+        return conflitos;
+    }
+}
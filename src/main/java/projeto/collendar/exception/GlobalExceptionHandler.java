@@ -1,5 +1,6 @@
 package projeto.collendar.exception;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -29,6 +30,30 @@ public class GlobalExceptionHandler {
         return buildResponse(HttpStatus.BAD_REQUEST, "Erro de negócio", ex.getMessage());
     }
 
+    @ExceptionHandler(SobrecargaException.class)
+    public ResponseEntity<Map<String, Object>> handleSobrecarga(SobrecargaException ex) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(buildResponse(HttpStatus.TOO_MANY_REQUESTS, "Muitas requisições", ex.getMessage()).getBody());
+    }
+
+    @ExceptionHandler(ConflitoHorarioException.class)
+    public ResponseEntity<Map<String, Object>> handleConflitoHorario(ConflitoHorarioException ex) {
+        ResponseEntity<Map<String, Object>> response =
+                buildResponse(HttpStatus.CONFLICT, "Conflito de horário", ex.getMessage());
+        response.getBody().put("conflitos", ex.getConflitos());
+        return response;
+    }
+
+    @ExceptionHandler(ImportacaoInterrompidaException.class)
+    public ResponseEntity<Map<String, Object>> handleImportacaoInterrompida(ImportacaoInterrompidaException ex) {
+        ResponseEntity<Map<String, Object>> response =
+                buildResponse(HttpStatus.BAD_REQUEST, "Importação interrompida", ex.getMessage());
+        response.getBody().put("processados", ex.getProcessados());
+        response.getBody().put("criados", ex.getCriados());
+        return response;
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, Object>> handleValidation(MethodArgumentNotValidException ex) {
         Map<String, String> errors = new HashMap<>();
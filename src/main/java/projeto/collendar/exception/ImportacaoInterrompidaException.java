@@ -0,0 +1,25 @@
+package projeto.collendar.exception;
+
+/**
+ * Falha de leitura no meio de uma importação. Os lotes anteriores já foram gravados,
+ * então a exceção carrega os totais até o ponto da falha.
+ */
+public class ImportacaoInterrompidaException extends RuntimeException {
+
+    private final int processados;
+    private final int criados;
+
+    public ImportacaoInterrompidaException(String message, int processados, int criados) {
+        super(message);
+        this.processados = processados;
+        this.criados = criados;
+    }
+
+    public int getProcessados() {
+        return processados;
+    }
+
+    public int getCriados() {
+        return criados;
+    }
+}
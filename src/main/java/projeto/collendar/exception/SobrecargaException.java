@@ -0,0 +1,8 @@
+package projeto.collendar.exception;
+
+public class SobrecargaException extends RuntimeException {
+
+    public SobrecargaException(String message) {
+        super(message);
+    }
+}
@@ -1,10 +1,13 @@
 package projeto.collendar.mappers;
 
+import projeto.collendar.dtos.projection.EventoVersaoDTO;
 import projeto.collendar.dtos.request.EventoRequestDTO;
 import projeto.collendar.dtos.response.EventoResponseDTO;
 import projeto.collendar.model.Calendario;
 import projeto.collendar.model.Evento;
 
+import java.time.LocalDateTime;
+
 public class EventoMapper {
 
     public static EventoResponseDTO toDTO(Evento entity) {
@@ -24,6 +27,57 @@ public class EventoMapper {
         );
     }
 
+    public static EventoResponseDTO toDTO(EventoVersaoDTO dto) {
+        return new EventoResponseDTO(
+                dto.id(),
+                dto.titulo(),
+                dto.descricao(),
+                dto.dataInicio(),
+                dto.dataFim(),
+                dto.local(),
+                dto.cor(),
+                dto.diaInteiro(),
+                dto.recorrente(),
+                dto.tipoRecorrencia(),
+                dto.calendarioId(),
+                dto.calendarioNome()
+        );
+    }
+
+    public static EventoResponseDTO toOcorrencia(EventoResponseDTO dto, LocalDateTime dataInicio, LocalDateTime dataFim) {
+        return new EventoResponseDTO(
+                dto.id(),
+                dto.titulo(),
+                dto.descricao(),
+                dataInicio,
+                dataFim,
+                dto.local(),
+                dto.cor(),
+                dto.diaInteiro(),
+                dto.recorrente(),
+                dto.tipoRecorrencia(),
+                dto.calendarioId(),
+                dto.calendarioNome()
+        );
+    }
+
+    public static EventoResponseDTO toBloco(EventoResponseDTO dto) {
+        return new EventoResponseDTO(
+                null,
+                null,
+                null,
+                dto.dataInicio(),
+                dto.dataFim(),
+                null,
+                null,
+                dto.diaInteiro(),
+                null,
+                null,
+                null,
+                null
+        );
+    }
+
     public static Evento toEntity(EventoRequestDTO dto, Calendario calendario) {
         Evento e = new Evento();
         e.setTitulo(dto.titulo());
@@ -0,0 +1,30 @@
+package projeto.collendar.mappers;
+
+import projeto.collendar.dtos.projection.AcessoCalendarioDTO;
+import projeto.collendar.dtos.response.PermissaoResponseDTO;
+import projeto.collendar.enums.NivelAcesso;
+import projeto.collendar.enums.TipoPermissao;
+
+import java.util.UUID;
+
+public class PermissaoMapper {
+
+    public static NivelAcesso toNivel(AcessoCalendarioDTO acesso, UUID usuarioId) {
+        if (acesso.proprietarioId().equals(usuarioId)) {
+            return NivelAcesso.PROPRIETARIO;
+        }
+        if (acesso.permissao() == null) {
+            return NivelAcesso.NENHUM;
+        }
+        return acesso.permissao() == TipoPermissao.EDITAR ? NivelAcesso.EDITAR : NivelAcesso.VISUALIZAR;
+    }
+
+    public static PermissaoResponseDTO toDTO(NivelAcesso nivel) {
+        return switch (nivel) {
+            case PROPRIETARIO -> new PermissaoResponseDTO(true, true, true, null);
+            case EDITAR -> new PermissaoResponseDTO(false, true, true, TipoPermissao.EDITAR);
+            case VISUALIZAR -> new PermissaoResponseDTO(false, true, false, TipoPermissao.VISUALIZAR);
+            case NENHUM -> new PermissaoResponseDTO(false, false, false, null);
+        };
+    }
+}
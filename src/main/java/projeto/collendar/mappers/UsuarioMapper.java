@@ -1,10 +1,12 @@
 package projeto.collendar.mappers;
 
+import projeto.collendar.dtos.projection.UsuarioRoleDTO;
 import projeto.collendar.dtos.request.UsuarioRequestDTO;
 import projeto.collendar.dtos.response.UsuarioResponseDTO;
 import projeto.collendar.model.Role;
 import projeto.collendar.model.Usuario;
 
+import java.util.Set;
 import java.util.stream.Collectors;
 
 public class UsuarioMapper {
@@ -21,11 +23,22 @@ public class UsuarioMapper {
         );
     }
 
+    public static UsuarioResponseDTO toDTO(UsuarioRoleDTO linha, Set<String> roles) {
+        return new UsuarioResponseDTO(
+                linha.usuarioId(),
+                linha.nome(),
+                linha.email(),
+                linha.ativo(),
+                roles
+        );
+    }
+
     public static Usuario toEntity(UsuarioRequestDTO dto) {
         Usuario u = new Usuario();
         u.setNome(dto.nome());
         u.setEmail(dto.email());
         u.setSenha(dto.senha());
+        u.setAtivo(true);
         return u;
     }
 }
\ No newline at end of file
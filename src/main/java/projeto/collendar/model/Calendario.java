@@ -23,7 +23,7 @@ public class Calendario {
 
     private String cor;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private Usuario usuario;
 
     private LocalDateTime createdAt;
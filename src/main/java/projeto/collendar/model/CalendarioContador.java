@@ -0,0 +1,35 @@
+package projeto.collendar.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "calendario_contadores")
+@Getter
+@Setter
+public class CalendarioContador {
+
+    @Id
+    private UUID calendarioId;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "calendario_id")
+    private Calendario calendario;
+
+    private long totalEventos;
+
+    private LocalDateTime eventosAlteradosEm;
+
+    // Última versão atribuída a uma alteração de evento do calendário
+    private long versao;
+
+    @PrePersist
+    protected void onCreate() {
+        eventosAlteradosEm = LocalDateTime.now();
+    }
+}
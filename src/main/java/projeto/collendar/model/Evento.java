@@ -1,5 +1,7 @@
 package projeto.collendar.model;
 
+import projeto.collendar.dtos.projection.PeriodoOcupadoDTO;
+import projeto.collendar.dtos.response.EventoResponseDTO;
 import projeto.collendar.enums.TipoRecorrencia;
 import jakarta.persistence.*;
 import lombok.Getter;
@@ -10,6 +12,71 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "eventos")
+@NamedNativeQuery(
+        name = "Evento.findNaoRecorrentesByCalendarioAndPeriodo",
+        query = "SELECT e.id, e.titulo, e.descricao, e.data_inicio, e.data_fim, e.local, e.cor, " +
+                "e.dia_inteiro, e.recorrente, e.tipo_recorrencia, " +
+                "c.id AS calendario_id, c.nome AS calendario_nome " +
+                "FROM eventos e JOIN calendarios c ON c.id = e.calendario_id " +
+                "WHERE e.calendario_id = :calendarioId " +
+                "AND tsrange(e.data_inicio, e.data_fim, '[]') && tsrange(:dataInicio, :dataFim, '[]') " +
+                "AND NOT (e.recorrente AND e.tipo_recorrencia IS NOT NULL)",
+        resultSetMapping = "EventoResponseDTO"
+)
+@NamedNativeQuery(
+        name = "Evento.findPeriodosOcupados",
+        query = "WITH calendarios_acessiveis AS (" +
+                "SELECT c.id FROM calendarios c WHERE c.usuario_id IN (:usuarioIds) " +
+                "UNION SELECT s.calendario_id FROM compartilhamentos s WHERE s.usuario_id IN (:usuarioIds)) " +
+                "SELECT e.data_inicio, e.data_fim, e.dia_inteiro, CAST(NULL AS VARCHAR) AS tipo_recorrencia " +
+                "FROM eventos e JOIN calendarios_acessiveis a ON a.id = e.calendario_id " +
+                "WHERE tsrange(e.data_inicio, e.data_fim, '[]') && tsrange(:dataInicio, :dataFim, '[]') " +
+                "AND NOT (e.recorrente AND e.tipo_recorrencia IS NOT NULL) " +
+                "UNION ALL " +
+                "SELECT e.data_inicio, e.data_fim, e.dia_inteiro, e.tipo_recorrencia " +
+                "FROM eventos e JOIN calendarios_acessiveis a ON a.id = e.calendario_id " +
+                "WHERE e.recorrente AND e.tipo_recorrencia IS NOT NULL AND e.data_inicio <= :dataFim",
+        resultSetMapping = "PeriodoOcupadoDTO"
+)
+@NamedNativeQuery(
+        name = "Evento.findConflitosNaoRecorrentes",
+        query = "SELECT e.id, e.titulo, e.descricao, e.data_inicio, e.data_fim, e.local, e.cor, " +
+                "e.dia_inteiro, e.recorrente, e.tipo_recorrencia, " +
+                "c.id AS calendario_id, c.nome AS calendario_nome " +
+                "FROM eventos e JOIN calendarios c ON c.id = e.calendario_id " +
+                "WHERE e.calendario_id IN (:calendarioIds) AND e.id <> :ignorarId " +
+                "AND tsrange(e.data_inicio, e.data_fim, '[]') && tsrange(:dataInicio, :dataFim, '[]') " +
+                "AND e.data_inicio < :dataFim AND e.data_fim > :dataInicio " +
+                "AND NOT (e.recorrente AND e.tipo_recorrencia IS NOT NULL) " +
+                "ORDER BY e.data_inicio LIMIT :limite",
+        resultSetMapping = "EventoResponseDTO"
+)
+@SqlResultSetMapping(
+        name = "EventoResponseDTO",
+        classes = @ConstructorResult(targetClass = EventoResponseDTO.class, columns = {
+                @ColumnResult(name = "id", type = UUID.class),
+                @ColumnResult(name = "titulo", type = String.class),
+                @ColumnResult(name = "descricao", type = String.class),
+                @ColumnResult(name = "data_inicio", type = LocalDateTime.class),
+                @ColumnResult(name = "data_fim", type = LocalDateTime.class),
+                @ColumnResult(name = "local", type = String.class),
+                @ColumnResult(name = "cor", type = String.class),
+                @ColumnResult(name = "dia_inteiro", type = Boolean.class),
+                @ColumnResult(name = "recorrente", type = Boolean.class),
+                @ColumnResult(name = "tipo_recorrencia", type = TipoRecorrencia.class),
+                @ColumnResult(name = "calendario_id", type = UUID.class),
+                @ColumnResult(name = "calendario_nome", type = String.class)
+        })
+)
+@SqlResultSetMapping(
+        name = "PeriodoOcupadoDTO",
+        classes = @ConstructorResult(targetClass = PeriodoOcupadoDTO.class, columns = {
+                @ColumnResult(name = "data_inicio", type = LocalDateTime.class),
+                @ColumnResult(name = "data_fim", type = LocalDateTime.class),
+                @ColumnResult(name = "dia_inteiro", type = Boolean.class),
+                @ColumnResult(name = "tipo_recorrencia", type = TipoRecorrencia.class)
+        })
+)
 @Getter
 @Setter
 public class Evento {
@@ -37,13 +104,16 @@ public class Evento {
     @Enumerated(EnumType.STRING)
     private TipoRecorrencia tipoRecorrencia;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private Calendario calendario;
 
     private LocalDateTime createdAt;
 
     private LocalDateTime updatedAt;
 
+    // Posição na sequência de alterações do calendário; atribuída por EventoService
+    private Long versao;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
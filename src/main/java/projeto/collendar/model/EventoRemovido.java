@@ -0,0 +1,36 @@
+package projeto.collendar.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Registro de um evento removido, mantido para que a sincronização incremental
+ * consiga informar remoções a clientes que já tinham o evento.
+ */
+@Entity
+@Table(name = "eventos_removidos")
+@Getter
+@Setter
+public class EventoRemovido {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private UUID id;
+
+    private UUID eventoId;
+
+    private UUID calendarioId;
+
+    private long versao;
+
+    private LocalDateTime removidoEm;
+
+    @PrePersist
+    protected void onCreate() {
+        removidoEm = LocalDateTime.now();
+    }
+}
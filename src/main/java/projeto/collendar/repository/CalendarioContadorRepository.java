@@ -0,0 +1,56 @@
+package projeto.collendar.repository;
+
+import projeto.collendar.dtos.projection.CalendarioFeedDTO;
+import projeto.collendar.model.CalendarioContador;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface CalendarioContadorRepository extends JpaRepository<CalendarioContador, UUID> {
+
+    @Query("SELECT c.totalEventos FROM CalendarioContador c WHERE c.calendarioId = :calendarioId")
+    Optional<Long> findTotalEventos(@Param("calendarioId") UUID calendarioId);
+
+    // Sem linha de contador (ex.: calendário criado fora da aplicação), o feed usa o
+    // updatedAt do calendário e o COUNT dos eventos até a primeira escrita criar a linha
+    @Query("SELECT new projeto.collendar.dtos.projection.CalendarioFeedDTO(" +
+            "c.id, c.nome, c.updatedAt, COALESCE(ct.eventosAlteradosEm, c.updatedAt), " +
+            "COALESCE(ct.totalEventos, (SELECT COUNT(e) FROM Evento e WHERE e.calendario.id = c.id))) " +
+            "FROM Calendario c LEFT JOIN CalendarioContador ct ON ct.calendarioId = c.id " +
+            "WHERE c.id = :calendarioId")
+    Optional<CalendarioFeedDTO> findFeed(@Param("calendarioId") UUID calendarioId);
+
+    @Query("SELECT c.versao FROM CalendarioContador c WHERE c.calendarioId = :calendarioId")
+    Optional<Long> findVersao(@Param("calendarioId") UUID calendarioId);
+
+    // Linha de um calendário que não a tem, com total e versão lidos das tabelas; o ON
+    // CONFLICT preserva a linha que uma escrita concorrente tenha criado antes
+    @Modifying
+    @Query(value = "INSERT INTO calendario_contadores (calendario_id, total_eventos, eventos_alterados_em, versao) " +
+            "SELECT c.id, " +
+            "(SELECT COUNT(*) FROM eventos e WHERE e.calendario_id = c.id), " +
+            "CURRENT_TIMESTAMP, " +
+            "GREATEST((SELECT COALESCE(MAX(e.versao), 0) FROM eventos e WHERE e.calendario_id = c.id), " +
+            "(SELECT COALESCE(MAX(r.versao), 0) FROM eventos_removidos r WHERE r.calendario_id = c.id)) " +
+            "FROM calendarios c WHERE c.id = :calendarioId " +
+            "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int criarSeAusente(@Param("calendarioId") UUID calendarioId);
+
+    // Cada evento criado ou removido consome uma versão, daí o ABS do delta
+    @Modifying
+    @Query("UPDATE CalendarioContador c SET c.totalEventos = c.totalEventos + :delta, " +
+            "c.versao = c.versao + ABS(:delta), " +
+            "c.eventosAlteradosEm = LOCAL DATETIME WHERE c.calendarioId = :calendarioId")
+    int somarEventos(@Param("calendarioId") UUID calendarioId, @Param("delta") long delta);
+
+    @Modifying
+    @Query("UPDATE CalendarioContador c SET c.versao = c.versao + 1, c.eventosAlteradosEm = LOCAL DATETIME " +
+            "WHERE c.calendarioId = :calendarioId")
+    int registrarAlteracao(@Param("calendarioId") UUID calendarioId);
+}
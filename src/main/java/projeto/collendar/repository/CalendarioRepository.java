@@ -1,23 +1,72 @@
 package projeto.collendar.repository;
 
+import projeto.collendar.dtos.response.CalendarioResponseDTO;
 import projeto.collendar.model.Calendario;
 import projeto.collendar.model.Usuario;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface CalendarioRepository extends JpaRepository<Calendario, UUID> {
 
+    @Override
+    @EntityGraph(attributePaths = "usuario")
+    Optional<Calendario> findById(UUID id);
+
+    @Override
+    @EntityGraph(attributePaths = "usuario")
+    List<Calendario> findAll();
+
+    @EntityGraph(attributePaths = "usuario")
     List<Calendario> findByUsuario(Usuario usuario);
 
+    @EntityGraph(attributePaths = "usuario")
     Page<Calendario> findByUsuario(Usuario usuario, Pageable pageable);
 
+    @EntityGraph(attributePaths = "usuario")
     List<Calendario> findByUsuarioId(UUID usuarioId);
 
+    @Query("SELECT new projeto.collendar.dtos.response.CalendarioResponseDTO(" +
+            "c.id, c.nome, c.descricao, c.cor, u.id, u.nome, c.createdAt, c.updatedAt, true, null) " +
+            "FROM Calendario c JOIN c.usuario u WHERE u.id = :usuarioId")
+    List<CalendarioResponseDTO> findDTOsProprietarioByUsuarioId(@Param("usuarioId") UUID usuarioId);
+
+    @Query("SELECT new projeto.collendar.dtos.response.CalendarioResponseDTO(" +
+            "c.id, c.nome, c.descricao, c.cor, u.id, u.nome, c.createdAt, c.updatedAt, true, null) " +
+            "FROM Calendario c JOIN c.usuario u WHERE u.id = :usuarioId ORDER BY c.createdAt, c.id")
+    List<CalendarioResponseDTO> findPrimeirosByUsuarioId(@Param("usuarioId") UUID usuarioId, Limit limit);
+
+    @Query("SELECT new projeto.collendar.dtos.response.CalendarioResponseDTO(" +
+            "c.id, c.nome, c.descricao, c.cor, u.id, u.nome, c.createdAt, c.updatedAt, true, null) " +
+            "FROM Calendario c JOIN c.usuario u WHERE u.id = :usuarioId " +
+            "AND (c.createdAt, c.id) > (:createdAt, :id) ORDER BY c.createdAt, c.id")
+    List<CalendarioResponseDTO> findProximosByUsuarioId(
+            @Param("usuarioId") UUID usuarioId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") UUID id,
+            Limit limit
+    );
+
+    long countByUsuarioId(UUID usuarioId);
+
+    @EntityGraph(attributePaths = "usuario")
     Page<Calendario> findByNomeContainingIgnoreCase(String nome, Pageable pageable);
+
+    @Query("SELECT c.usuario.id FROM Calendario c WHERE c.id = :id")
+    Optional<UUID> findProprietarioIdById(@Param("id") UUID id);
+
+    @Query("SELECT c.id FROM Calendario c WHERE c.usuario.id = " +
+            "(SELECT d.usuario.id FROM Calendario d WHERE d.id = :id)")
+    List<UUID> findIdsDoMesmoProprietario(@Param("id") UUID id);
 }
\ No newline at end of file
@@ -1,9 +1,11 @@
 package projeto.collendar.repository;
 
+import projeto.collendar.dtos.projection.AcessoCalendarioDTO;
 import projeto.collendar.enums.TipoPermissao;
 import projeto.collendar.model.Calendario;
 import projeto.collendar.model.Compartilhamento;
 import projeto.collendar.model.Usuario;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -16,22 +18,44 @@ import java.util.UUID;
 @Repository
 public interface CompartilhamentoRepository extends JpaRepository<Compartilhamento, UUID> {
 
+    @Override
+    @EntityGraph(attributePaths = {"calendario", "usuario"})
+    Optional<Compartilhamento> findById(UUID id);
+
+    @EntityGraph(attributePaths = {"calendario", "usuario"})
     List<Compartilhamento> findByCalendario(Calendario calendario);
 
+    @EntityGraph(attributePaths = {"calendario", "usuario"})
     List<Compartilhamento> findByUsuario(Usuario usuario);
 
+    @EntityGraph(attributePaths = {"calendario", "usuario"})
     Optional<Compartilhamento> findByCalendarioAndUsuario(Calendario calendario, Usuario usuario);
 
+    @EntityGraph(attributePaths = {"calendario", "usuario"})
     List<Compartilhamento> findByCalendarioId(UUID calendarioId);
 
+    long countByCalendarioId(UUID calendarioId);
+
+    @EntityGraph(attributePaths = {"calendario", "calendario.usuario", "usuario"})
     List<Compartilhamento> findByUsuarioId(UUID usuarioId);
 
+    @EntityGraph(attributePaths = {"calendario", "usuario"})
     List<Compartilhamento> findByPermissao(TipoPermissao permissao);
 
     boolean existsByCalendarioAndUsuario(Calendario calendario, Usuario usuario);
 
-    @Query("SELECT c.calendario FROM Compartilhamento c WHERE c.usuario.id = :usuarioId")
+    @Query("SELECT cal FROM Compartilhamento c JOIN c.calendario cal JOIN FETCH cal.usuario " +
+            "WHERE c.usuario.id = :usuarioId")
     List<Calendario> findCalendariosCompartilhadosComUsuario(@Param("usuarioId") UUID usuarioId);
 
+    @Query("SELECT new projeto.collendar.dtos.projection.AcessoCalendarioDTO(cal.usuario.id, c.permissao) " +
+            "FROM Calendario cal LEFT JOIN Compartilhamento c " +
+            "ON c.calendario.id = cal.id AND c.usuario.id = :usuarioId " +
+            "WHERE cal.id = :calendarioId")
+    Optional<AcessoCalendarioDTO> findAcesso(
+            @Param("calendarioId") UUID calendarioId,
+            @Param("usuarioId") UUID usuarioId
+    );
+
     void deleteByCalendarioIdAndUsuarioId(UUID calendarioId, UUID usuarioId);
 }
@@ -0,0 +1,24 @@
+package projeto.collendar.repository;
+
+import projeto.collendar.model.EventoRemovido;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface EventoRemovidoRepository extends JpaRepository<EventoRemovido, UUID> {
+
+    @Query("SELECT r FROM EventoRemovido r WHERE r.calendarioId = :calendarioId " +
+            "AND r.versao > :desde AND r.versao <= :ate ORDER BY r.versao")
+    List<EventoRemovido> findRemovidos(
+            @Param("calendarioId") UUID calendarioId,
+            @Param("desde") long desde,
+            @Param("ate") long ate,
+            Limit limit
+    );
+}
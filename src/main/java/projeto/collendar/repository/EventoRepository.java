@@ -1,39 +1,163 @@
 package projeto.collendar.repository;
 
+import jakarta.persistence.QueryHint;
+import projeto.collendar.dtos.projection.EventoVersaoDTO;
+import projeto.collendar.dtos.projection.PeriodoOcupadoDTO;
+import projeto.collendar.dtos.response.EventoResponseDTO;
 import projeto.collendar.model.Calendario;
 import projeto.collendar.model.Evento;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface EventoRepository extends JpaRepository<Evento, UUID>, JpaSpecificationExecutor<Evento> {
 
+    String SELECT_EVENTO_DTO = "SELECT new projeto.collendar.dtos.response.EventoResponseDTO(" +
+            "e.id, e.titulo, e.descricao, e.dataInicio, e.dataFim, e.local, e.cor, " +
+            "e.diaInteiro, e.recorrente, e.tipoRecorrencia, c.id, c.nome) " +
+            "FROM Evento e JOIN e.calendario c ";
+
+    @Override
+    @EntityGraph(attributePaths = "calendario")
+    Optional<Evento> findById(UUID id);
+
+    @Override
+    @EntityGraph(attributePaths = "calendario")
+    List<Evento> findAll();
+
+    @EntityGraph(attributePaths = "calendario")
     List<Evento> findByCalendario(Calendario calendario);
 
+    @EntityGraph(attributePaths = "calendario")
     Page<Evento> findByCalendario(Calendario calendario, Pageable pageable);
 
+    @EntityGraph(attributePaths = "calendario")
     List<Evento> findByCalendarioId(UUID calendarioId);
 
+    @Query(SELECT_EVENTO_DTO + "WHERE c.id = :calendarioId")
+    List<EventoResponseDTO> findDTOsByCalendarioId(@Param("calendarioId") UUID calendarioId);
+
+    @Query(SELECT_EVENTO_DTO + "WHERE e.id = :id")
+    Optional<EventoResponseDTO> findDTOById(@Param("id") UUID id);
+
+    // Streams percorrem um cursor do servidor; o fetch size limita as linhas em memória
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query(SELECT_EVENTO_DTO + "WHERE c.id = :calendarioId")
+    Stream<EventoResponseDTO> streamByCalendarioId(@Param("calendarioId") UUID calendarioId);
+
+    @Query(SELECT_EVENTO_DTO + "WHERE c.id = :calendarioId ORDER BY e.dataInicio, e.id")
+    List<EventoResponseDTO> findPrimeirosByCalendarioId(@Param("calendarioId") UUID calendarioId, Limit limit);
+
+    @Query(SELECT_EVENTO_DTO + "WHERE c.id = :calendarioId " +
+            "AND (e.dataInicio, e.id) > (:dataInicio, :id) ORDER BY e.dataInicio, e.id")
+    List<EventoResponseDTO> findProximosByCalendarioId(
+            @Param("calendarioId") UUID calendarioId,
+            @Param("dataInicio") LocalDateTime dataInicio,
+            @Param("id") UUID id,
+            Limit limit
+    );
+
+    @Query("SELECT new projeto.collendar.dtos.projection.EventoVersaoDTO(" +
+            "e.versao, e.id, e.titulo, e.descricao, e.dataInicio, e.dataFim, e.local, e.cor, " +
+            "e.diaInteiro, e.recorrente, e.tipoRecorrencia, c.id, c.nome) " +
+            "FROM Evento e JOIN e.calendario c WHERE c.id = :calendarioId " +
+            "AND e.versao > :desde AND e.versao <= :ate ORDER BY e.versao")
+    List<EventoVersaoDTO> findAlterados(
+            @Param("calendarioId") UUID calendarioId,
+            @Param("desde") long desde,
+            @Param("ate") long ate,
+            Limit limit
+    );
+
+    long countByCalendarioId(UUID calendarioId);
+
+    @EntityGraph(attributePaths = "calendario")
     List<Evento> findByDataInicioBetween(LocalDateTime dataInicio, LocalDateTime dataFim);
 
-    @Query("SELECT e FROM Evento e WHERE e.calendario.id = :calendarioId " +
-            "AND e.dataInicio BETWEEN :dataInicio AND :dataFim")
-    List<Evento> findByCalendarioAndDataBetween(
+    // Consulta nativa nomeada em Evento, mapeada para o DTO via @SqlResultSetMapping
+    List<EventoResponseDTO> findNaoRecorrentesByCalendarioAndPeriodo(
+            @Param("calendarioId") UUID calendarioId,
+            @Param("dataInicio") LocalDateTime dataInicio,
+            @Param("dataFim") LocalDateTime dataFim
+    );
+
+    // Eventos dos calendários próprios e compartilhados dos usuários: os não recorrentes que
+    // sobrepõem o período e os recorrentes iniciados até o fim dele (tipoRecorrencia preenchido)
+    List<PeriodoOcupadoDTO> findPeriodosOcupados(
+            @Param("usuarioIds") Collection<UUID> usuarioIds,
+            @Param("dataInicio") LocalDateTime dataInicio,
+            @Param("dataFim") LocalDateTime dataFim
+    );
+
+    @Query(SELECT_EVENTO_DTO + "WHERE c.id = :calendarioId " +
+            "AND e.recorrente = true AND e.tipoRecorrencia IS NOT NULL " +
+            "AND e.dataInicio <= :dataFim")
+    List<EventoResponseDTO> findRecorrentesByCalendarioIniciadosAte(
             @Param("calendarioId") UUID calendarioId,
+            @Param("dataFim") LocalDateTime dataFim
+    );
+
+    // Sondagem de conflitos: o intervalo fechado no lado da consulta nunca fica vazio, nem para
+    // evento de duração zero, e a expressão do lado da tabela é a mesma do índice GIST; as
+    // comparações estritas depois dele descartam eventos que só encostam no novo, com a mesma
+    // regra aplicada às ocorrências de recorrentes no serviço
+    List<EventoResponseDTO> findConflitosNaoRecorrentes(
+            @Param("calendarioIds") Collection<UUID> calendarioIds,
+            @Param("ignorarId") UUID ignorarId,
             @Param("dataInicio") LocalDateTime dataInicio,
+            @Param("dataFim") LocalDateTime dataFim,
+            @Param("limite") int limite
+    );
+
+    @Query(SELECT_EVENTO_DTO + "WHERE c.id IN :calendarioIds AND e.id <> :ignorarId " +
+            "AND e.recorrente = true AND e.tipoRecorrencia IS NOT NULL " +
+            "AND e.dataInicio < :dataFim")
+    List<EventoResponseDTO> findRecorrentesByCalendariosIniciadosAntes(
+            @Param("calendarioIds") Collection<UUID> calendarioIds,
+            @Param("ignorarId") UUID ignorarId,
             @Param("dataFim") LocalDateTime dataFim
     );
 
+    @EntityGraph(attributePaths = "calendario")
     Page<Evento> findByTituloContainingIgnoreCase(String titulo, Pageable pageable);
 
+    @Query(SELECT_EVENTO_DTO + "WHERE UPPER(e.titulo) LIKE UPPER(CONCAT('%', :titulo, '%')) " +
+            "ORDER BY e.dataInicio, e.id")
+    List<EventoResponseDTO> findPrimeirosByTitulo(@Param("titulo") String titulo, Limit limit);
+
+    @Query(SELECT_EVENTO_DTO + "WHERE UPPER(e.titulo) LIKE UPPER(CONCAT('%', :titulo, '%')) " +
+            "AND (e.dataInicio, e.id) > (:dataInicio, :id) ORDER BY e.dataInicio, e.id")
+    List<EventoResponseDTO> findProximosByTitulo(
+            @Param("titulo") String titulo,
+            @Param("dataInicio") LocalDateTime dataInicio,
+            @Param("id") UUID id,
+            Limit limit
+    );
+
+    @EntityGraph(attributePaths = "calendario")
     List<Evento> findByRecorrente(Boolean recorrente);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query(SELECT_EVENTO_DTO + "WHERE e.recorrente = true")
+    Stream<EventoResponseDTO> streamRecorrentes();
+
+    @Query("SELECT e.calendario.id FROM Evento e WHERE e.id = :id")
+    Optional<UUID> findCalendarioIdById(@Param("id") UUID id);
 }
\ No newline at end of file
@@ -1,19 +1,56 @@
 package projeto.collendar.repository;
 
+import jakarta.persistence.QueryHint;
+import projeto.collendar.dtos.projection.UsuarioRoleDTO;
 import projeto.collendar.model.Usuario;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface UsuarioRepository extends JpaRepository<Usuario, UUID> {
 
+    @Override
+    @EntityGraph(attributePaths = "roles")
+    Optional<Usuario> findById(UUID id);
+
+    @Override
+    @EntityGraph(attributePaths = "roles")
+    List<Usuario> findAll();
+
+    // Uma linha por usuário e role, ordenada por usuário para ser agrupada sem buffer
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new projeto.collendar.dtos.projection.UsuarioRoleDTO(u.id, u.nome, u.email, u.ativo, r.nome) " +
+            "FROM Usuario u LEFT JOIN u.roles r ORDER BY u.id")
+    Stream<UsuarioRoleDTO> streamAllComRoles();
+
+    @EntityGraph(attributePaths = "roles")
     Optional<Usuario> findByEmail(String email);
 
     boolean existsByEmail(String email);
 
+    // O próprio usuário e quem tem acesso a algum calendário que ele também acessa, como
+    // proprietário ou destinatário de compartilhamento
+    @Query("SELECT u.id FROM Usuario u WHERE u.email IN :emails AND (u.id = :usuarioId OR EXISTS (" +
+            "SELECT c.id FROM Calendario c " +
+            "WHERE (c.usuario.id = u.id OR EXISTS (" +
+            "SELECT s.id FROM Compartilhamento s WHERE s.calendario = c AND s.usuario.id = u.id)) " +
+            "AND (c.usuario.id = :usuarioId OR EXISTS (" +
+            "SELECT s.id FROM Compartilhamento s WHERE s.calendario = c AND s.usuario.id = :usuarioId))))")
+    List<UUID> findIdsComCalendarioEmComumByEmailIn(@Param("emails") Collection<String> emails,
+                                                   @Param("usuarioId") UUID usuarioId);
+
+    @EntityGraph(attributePaths = "roles")
     List<Usuario> findByAtivo(Boolean ativo);
 }
@@ -1,33 +1,50 @@
 package projeto.collendar.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import projeto.collendar.dtos.projection.CalendarioFeedDTO;
 import projeto.collendar.dtos.request.CalendarioRequestDTO;
 import projeto.collendar.dtos.response.CalendarioResponseDTO;
+import projeto.collendar.dtos.response.CursorPageResponseDTO;
+import projeto.collendar.events.CalendarioAlteradoEvent;
+import projeto.collendar.events.CalendarioRemovidoEvent;
 import projeto.collendar.exception.ResourceNotFoundException;
 import projeto.collendar.mappers.CalendarioMapper;
 import projeto.collendar.model.Calendario;
+import projeto.collendar.model.CalendarioContador;
 import projeto.collendar.model.Usuario;
+import projeto.collendar.repository.CalendarioContadorRepository;
 import projeto.collendar.repository.CalendarioRepository;
+import projeto.collendar.utils.CursorUtils;
 
 import java.util.List;
 import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class CalendarioService {
 
     private final CalendarioRepository calendarioRepository;
+    private final CalendarioContadorRepository contadorRepository;
     private final UsuarioService usuarioService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public CalendarioResponseDTO create(CalendarioRequestDTO dto, UUID usuarioId) {
         Usuario usuario = usuarioService.findEntityById(usuarioId);
         Calendario calendario = CalendarioMapper.toEntity(dto, usuario);
         calendarioRepository.save(calendario);
+
+        CalendarioContador contador = new CalendarioContador();
+        contador.setCalendario(calendario);
+        contadorRepository.save(contador);
+
         return CalendarioMapper.toDTO(calendario, true, null);
     }
 
@@ -37,6 +54,11 @@ public class CalendarioService {
                 .orElseThrow(() -> new ResourceNotFoundException("Calendário", id.toString()));
     }
 
+    public CalendarioFeedDTO findFeed(UUID id) {
+        return contadorRepository.findFeed(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Calendário", id.toString()));
+    }
+
     public List<CalendarioResponseDTO> listAll() {
         return calendarioRepository.findAll().stream()
                 .map(CalendarioMapper::toDTO)
@@ -44,9 +66,7 @@ public class CalendarioService {
     }
 
     public List<CalendarioResponseDTO> listByUsuario(UUID usuarioId) {
-        return calendarioRepository.findByUsuarioId(usuarioId).stream()
-                .map(c -> CalendarioMapper.toDTO(c, true, null))
-                .toList();
+        return calendarioRepository.findDTOsProprietarioByUsuarioId(usuarioId);
     }
 
     public Page<CalendarioResponseDTO> listByUsuarioPaginated(UUID usuarioId, Pageable pageable) {
@@ -55,6 +75,21 @@ public class CalendarioService {
                 .map(c -> CalendarioMapper.toDTO(c, true, null));
     }
 
+    public CursorPageResponseDTO<CalendarioResponseDTO> listByUsuarioCursor(UUID usuarioId, String cursor, Integer tamanho) {
+        int limite = CursorUtils.limitar(tamanho);
+        Limit limit = Limit.of(limite + 1);
+
+        List<CalendarioResponseDTO> calendarios;
+        if (cursor == null || cursor.isBlank()) {
+            calendarios = calendarioRepository.findPrimeirosByUsuarioId(usuarioId, limit);
+        } else {
+            CursorUtils.Cursor posicao = CursorUtils.decode(cursor);
+            calendarios = calendarioRepository.findProximosByUsuarioId(usuarioId, posicao.valor(), posicao.id(), limit);
+        }
+
+        return CursorUtils.pagina(calendarios, limite, c -> CursorUtils.encode(c.createdAt(), c.id()));
+    }
+
     public Page<CalendarioResponseDTO> searchByNome(String nome, Pageable pageable) {
         return calendarioRepository.findByNomeContainingIgnoreCase(nome, pageable)
                 .map(CalendarioMapper::toDTO);
@@ -66,7 +101,9 @@ public class CalendarioService {
         calendario.setNome(dto.nome());
         calendario.setDescricao(dto.descricao());
         calendario.setCor(dto.cor());
-        return CalendarioMapper.toDTO(calendarioRepository.save(calendario), true, null);
+        Calendario salvo = calendarioRepository.save(calendario);
+        eventPublisher.publishEvent(new CalendarioAlteradoEvent(id));
+        return CalendarioMapper.toDTO(salvo, true, null);
     }
 
     @Transactional
@@ -75,15 +112,22 @@ public class CalendarioService {
             throw new ResourceNotFoundException("Calendário", id.toString());
         }
         calendarioRepository.deleteById(id);
+        eventPublisher.publishEvent(new CalendarioRemovidoEvent(id));
     }
 
     public boolean isOwner(UUID calendarioId, UUID usuarioId) {
-        Calendario calendario = findEntityById(calendarioId);
-        return calendario.getUsuario().getId().equals(usuarioId);
+        return calendarioRepository.findProprietarioIdById(calendarioId)
+                .map(usuarioId::equals)
+                .orElseThrow(() -> new ResourceNotFoundException("Calendário", calendarioId.toString()));
+    }
+
+    // Todos os calendários do proprietário do calendário informado, ele incluído
+    public List<UUID> findIdsDoMesmoProprietario(UUID calendarioId) {
+        return calendarioRepository.findIdsDoMesmoProprietario(calendarioId);
     }
 
     public long countByUsuario(UUID usuarioId) {
-        return calendarioRepository.findByUsuarioId(usuarioId).size();
+        return calendarioRepository.countByUsuarioId(usuarioId);
     }
 
     public Calendario findEntityById(UUID id) {
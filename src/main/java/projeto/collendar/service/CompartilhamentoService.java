@@ -1,33 +1,40 @@
 package projeto.collendar.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import projeto.collendar.dtos.request.CompartilhamentoRequestDTO;
 import projeto.collendar.dtos.response.CalendarioResponseDTO;
 import projeto.collendar.dtos.response.CompartilhamentoResponseDTO;
 import projeto.collendar.dtos.response.PermissaoResponseDTO;
+import projeto.collendar.enums.NivelAcesso;
 import projeto.collendar.enums.TipoPermissao;
+import projeto.collendar.events.CompartilhamentoAlteradoEvent;
 import projeto.collendar.exception.BusinessException;
 import projeto.collendar.exception.ResourceNotFoundException;
 import projeto.collendar.mappers.CalendarioMapper;
 import projeto.collendar.mappers.CompartilhamentoMapper;
+import projeto.collendar.mappers.PermissaoMapper;
 import projeto.collendar.model.Calendario;
 import projeto.collendar.model.Compartilhamento;
 import projeto.collendar.model.Usuario;
 import projeto.collendar.repository.CompartilhamentoRepository;
 
 import java.util.List;
-import java.util.Optional;
 import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class CompartilhamentoService {
 
     private final CompartilhamentoRepository compartilhamentoRepository;
     private final CalendarioService calendarioService;
     private final UsuarioService usuarioService;
+    private final PermissaoCache permissaoCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public CompartilhamentoResponseDTO create(CompartilhamentoRequestDTO dto) {
@@ -44,6 +51,7 @@ public class CompartilhamentoService {
 
         Compartilhamento compartilhamento = CompartilhamentoMapper.toEntity(calendario, destinatario, dto.permissao());
         compartilhamentoRepository.save(compartilhamento);
+        eventPublisher.publishEvent(new CompartilhamentoAlteradoEvent(calendario.getId(), destinatario.getId()));
         return CompartilhamentoMapper.toDTO(compartilhamento);
     }
 
@@ -60,8 +68,8 @@ public class CompartilhamentoService {
     }
 
     public List<CalendarioResponseDTO> listSharedWithUsuario(UUID usuarioId) {
-        return compartilhamentoRepository.findCalendariosCompartilhadosComUsuario(usuarioId).stream()
-                .map(c -> CalendarioMapper.toDTO(c, false, getPermissao(c.getId(), usuarioId)))
+        return compartilhamentoRepository.findByUsuarioId(usuarioId).stream()
+                .map(c -> CalendarioMapper.toDTO(c.getCalendario(), false, c.getPermissao()))
                 .toList();
     }
 
@@ -75,74 +83,52 @@ public class CompartilhamentoService {
     public CompartilhamentoResponseDTO updatePermissao(UUID id, TipoPermissao novaPermissao) {
         Compartilhamento compartilhamento = findEntityById(id);
         compartilhamento.setPermissao(novaPermissao);
-        return CompartilhamentoMapper.toDTO(compartilhamentoRepository.save(compartilhamento));
+        Compartilhamento salvo = compartilhamentoRepository.save(compartilhamento);
+        eventPublisher.publishEvent(new CompartilhamentoAlteradoEvent(
+                salvo.getCalendario().getId(), salvo.getUsuario().getId()));
+        return CompartilhamentoMapper.toDTO(salvo);
     }
 
     @Transactional
     public void delete(UUID id) {
-        if (!compartilhamentoRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Compartilhamento", id.toString());
-        }
-        compartilhamentoRepository.deleteById(id);
+        Compartilhamento compartilhamento = findEntityById(id);
+        compartilhamentoRepository.delete(compartilhamento);
+        eventPublisher.publishEvent(new CompartilhamentoAlteradoEvent(
+                compartilhamento.getCalendario().getId(), compartilhamento.getUsuario().getId()));
     }
 
     @Transactional
     public void deleteByCalendarioAndUsuario(UUID calendarioId, UUID usuarioId) {
         compartilhamentoRepository.deleteByCalendarioIdAndUsuarioId(calendarioId, usuarioId);
+        eventPublisher.publishEvent(new CompartilhamentoAlteradoEvent(calendarioId, usuarioId));
     }
 
-    public boolean hasAccess(UUID calendarioId, UUID usuarioId) {
-        Calendario calendario = calendarioService.findEntityById(calendarioId);
-
-        if (calendario.getUsuario().getId().equals(usuarioId)) {
-            return true;
-        }
+    // Sem transação própria: um acerto no cache não deve reservar conexão do pool
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public NivelAcesso resolverNivelAcesso(UUID calendarioId, UUID usuarioId) {
+        return permissaoCache.get(calendarioId, usuarioId, () ->
+                compartilhamentoRepository.findAcesso(calendarioId, usuarioId)
+                        .map(acesso -> PermissaoMapper.toNivel(acesso, usuarioId))
+                        .orElseThrow(() -> new ResourceNotFoundException("Calendário", calendarioId.toString())));
+    }
 
-        Usuario usuario = usuarioService.findEntityById(usuarioId);
-        return compartilhamentoRepository.existsByCalendarioAndUsuario(calendario, usuario);
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public boolean hasAccess(UUID calendarioId, UUID usuarioId) {
+        return resolverNivelAcesso(calendarioId, usuarioId).podeVisualizar();
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS)
     public boolean canEdit(UUID calendarioId, UUID usuarioId) {
-        Calendario calendario = calendarioService.findEntityById(calendarioId);
-
-        if (calendario.getUsuario().getId().equals(usuarioId)) {
-            return true;
-        }
-
-        Usuario usuario = usuarioService.findEntityById(usuarioId);
-        Optional<Compartilhamento> compartilhamento =
-                compartilhamentoRepository.findByCalendarioAndUsuario(calendario, usuario);
-
-        return compartilhamento.isPresent() &&
-                compartilhamento.get().getPermissao() == TipoPermissao.EDITAR;
+        return resolverNivelAcesso(calendarioId, usuarioId).podeEditar();
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS)
     public PermissaoResponseDTO getMyPermission(UUID calendarioId, UUID usuarioId) {
-        Calendario calendario = calendarioService.findEntityById(calendarioId);
-
-        if (calendario.getUsuario().getId().equals(usuarioId)) {
-            return new PermissaoResponseDTO(true, true, true, null);
-        }
-
-        Usuario usuario = usuarioService.findEntityById(usuarioId);
-        Optional<Compartilhamento> compartilhamento =
-                compartilhamentoRepository.findByCalendarioAndUsuario(calendario, usuario);
-
-        if (compartilhamento.isPresent()) {
-            TipoPermissao permissao = compartilhamento.get().getPermissao();
-            return new PermissaoResponseDTO(
-                    false,
-                    true,
-                    permissao == TipoPermissao.EDITAR,
-                    permissao
-            );
-        }
-
-        return new PermissaoResponseDTO(false, false, false, null);
+        return PermissaoMapper.toDTO(resolverNivelAcesso(calendarioId, usuarioId));
     }
 
     public long countByCalendario(UUID calendarioId) {
-        return compartilhamentoRepository.findByCalendarioId(calendarioId).size();
+        return compartilhamentoRepository.countByCalendarioId(calendarioId);
     }
 
     public UUID getCalendarioIdByCompartilhamento(UUID compartilhamentoId) {
@@ -159,12 +145,4 @@ public class CompartilhamentoService {
         return compartilhamentoRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Compartilhamento", id.toString()));
     }
-
-    private TipoPermissao getPermissao(UUID calendarioId, UUID usuarioId) {
-        Calendario calendario = calendarioService.findEntityById(calendarioId);
-        Usuario usuario = usuarioService.findEntityById(usuarioId);
-        return compartilhamentoRepository.findByCalendarioAndUsuario(calendario, usuario)
-                .map(Compartilhamento::getPermissao)
-                .orElse(null);
-    }
 }
\ No newline at end of file
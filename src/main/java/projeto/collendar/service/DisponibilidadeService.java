@@ -0,0 +1,119 @@
+package projeto.collendar.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import projeto.collendar.dtos.projection.PeriodoOcupadoDTO;
+import projeto.collendar.dtos.request.HorariosLivresRequestDTO;
+import projeto.collendar.dtos.response.DisponibilidadeResponseDTO;
+import projeto.collendar.dtos.response.IntervaloResponseDTO;
+import projeto.collendar.exception.BusinessException;
+import projeto.collendar.exception.ResourceNotFoundException;
+import projeto.collendar.repository.EventoRepository;
+import projeto.collendar.repository.UsuarioRepository;
+import projeto.collendar.utils.GradeHorarios;
+import projeto.collendar.utils.IntervalosUtils;
+import projeto.collendar.utils.RecorrenciaUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class DisponibilidadeService {
+
+    static final Duration PERIODO_MAXIMO = Duration.ofDays(366);
+    static final int QUANTIDADE_PADRAO = 10;
+
+    private final EventoRepository eventoRepository;
+    private final UsuarioRepository usuarioRepository;
+
+    /**
+     * Blocos de tempo ocupado dos usuários no período, considerando os eventos dos
+     * calendários próprios e compartilhados com eles. Ocorrências de eventos recorrentes
+     * são expandidas direto nos arrays de intervalos e tudo é unido em uma varredura;
+     * os blocos vêm ordenados, sem sobreposição e recortados ao período.
+     */
+    public DisponibilidadeResponseDTO findOcupados(Collection<UUID> usuarioIds, LocalDateTime inicio, LocalDateTime fim) {
+        validarPeriodo(inicio, fim);
+
+        IntervalosUtils.Acumulador acumulador = new IntervalosUtils.Acumulador(inicio, fim);
+        forEachPeriodo(usuarioIds, inicio, fim, acumulador::adicionar);
+
+        long[] blocos = acumulador.unir();
+        List<IntervaloResponseDTO> ocupados = new ArrayList<>(blocos.length / 2);
+        for (int i = 0; i < blocos.length; i += 2) {
+            ocupados.add(new IntervaloResponseDTO(
+                    IntervalosUtils.momento(blocos[i]), IntervalosUtils.momento(blocos[i + 1])));
+        }
+        return new DisponibilidadeResponseDTO(inicio, fim, ocupados);
+    }
+
+    /**
+     * Primeiros horários em que todos os participantes estão livres. Os períodos
+     * ocupados de todos vêm de uma única consulta e são marcados em um só mapa de bits
+     * de fatias de 5 minutos, sem comparar eventos entre si; os horários começam em
+     * fronteiras de fatia. Só entram como participantes o próprio usuário e quem tem um
+     * calendário em comum com ele; email inexistente e usuário sem calendário em comum
+     * recebem a mesma resposta, para que a busca não revele quem tem cadastro.
+     */
+    public List<IntervaloResponseDTO> findHorariosLivres(HorariosLivresRequestDTO dto, UUID usuarioId) {
+        validarPeriodo(dto.dataInicio(), dto.dataFim());
+
+        List<UUID> usuarioIds = usuarioRepository.findIdsComCalendarioEmComumByEmailIn(dto.emails(), usuarioId);
+        if (usuarioIds.size() < dto.emails().size()) {
+            throw new ResourceNotFoundException("Um ou mais participantes não foram encontrados");
+        }
+
+        GradeHorarios grade = new GradeHorarios(dto.dataInicio(), dto.dataFim());
+        forEachPeriodo(usuarioIds, dto.dataInicio(), dto.dataFim(), grade::ocupar);
+
+        Duration duracao = Duration.ofMinutes(dto.duracaoMinutos());
+        int quantidade = dto.quantidade() != null ? dto.quantidade() : QUANTIDADE_PADRAO;
+        return grade.livres(duracao.toSeconds(), quantidade).stream()
+                .map(inicio -> new IntervaloResponseDTO(inicio, inicio.plus(duracao)))
+                .toList();
+    }
+
+    // Eventos de dia inteiro ocupam os dias completos, da meia-noite do início à meia-noite
+    // seguinte ao fim, antes de qualquer expansão de recorrência
+    private void forEachPeriodo(Collection<UUID> usuarioIds, LocalDateTime inicio, LocalDateTime fim,
+                                BiConsumer<LocalDateTime, LocalDateTime> consumidor) {
+        for (PeriodoOcupadoDTO periodo : eventoRepository.findPeriodosOcupados(usuarioIds, inicio, fim)) {
+            LocalDateTime periodoInicio = periodo.dataInicio();
+            LocalDateTime periodoFim = periodo.dataFim();
+            if (Boolean.TRUE.equals(periodo.diaInteiro())) {
+                periodoInicio = periodoInicio.toLocalDate().atStartOfDay();
+                if (!periodoFim.toLocalTime().equals(LocalTime.MIDNIGHT) || !periodoFim.isAfter(periodoInicio)) {
+                    periodoFim = periodoFim.toLocalDate().plusDays(1).atStartOfDay();
+                }
+            }
+
+            if (periodo.tipoRecorrencia() == null) {
+                consumidor.accept(periodoInicio, periodoFim);
+            } else {
+                RecorrenciaUtils.forEachOcorrencia(periodoInicio, periodoFim, periodo.tipoRecorrencia(),
+                        inicio, fim, consumidor);
+            }
+        }
+    }
+
+    private void validarPeriodo(LocalDateTime inicio, LocalDateTime fim) {
+        if (inicio == null || fim == null) {
+            throw new BusinessException("Datas de início e fim são obrigatórias");
+        }
+        if (fim.isBefore(inicio)) {
+            throw new BusinessException("Data de fim deve ser posterior à data de início");
+        }
+        if (Duration.between(inicio, fim).compareTo(PERIODO_MAXIMO) > 0) {
+            throw new BusinessException("O período consultado deve ter no máximo " + PERIODO_MAXIMO.toDays() + " dias");
+        }
+    }
+}
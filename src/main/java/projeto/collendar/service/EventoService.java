@@ -1,39 +1,169 @@
 package projeto.collendar.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import projeto.collendar.dtos.projection.EventoVersaoDTO;
 import projeto.collendar.dtos.request.EventoRequestDTO;
+import projeto.collendar.dtos.response.CursorPageResponseDTO;
+import projeto.collendar.dtos.response.EventoLoteItemDTO;
+import projeto.collendar.dtos.response.EventoLoteResponseDTO;
 import projeto.collendar.dtos.response.EventoResponseDTO;
+import projeto.collendar.dtos.response.SincronizacaoResponseDTO;
+import projeto.collendar.enums.EscopoConflito;
+import projeto.collendar.enums.TipoAlteracao;
+import projeto.collendar.events.EventoAlteradoEvent;
 import projeto.collendar.exception.BusinessException;
+import projeto.collendar.exception.ConflitoHorarioException;
 import projeto.collendar.exception.ResourceNotFoundException;
 import projeto.collendar.mappers.EventoMapper;
 import projeto.collendar.model.Calendario;
 import projeto.collendar.model.Evento;
+import projeto.collendar.model.EventoRemovido;
+import projeto.collendar.repository.CalendarioContadorRepository;
+import projeto.collendar.repository.EventoRemovidoRepository;
 import projeto.collendar.repository.EventoRepository;
+import projeto.collendar.utils.CursorUtils;
+import projeto.collendar.utils.IndicePeriodos;
+import projeto.collendar.utils.RecorrenciaUtils;
+import projeto.collendar.utils.SincronizacaoUtils;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class EventoService {
 
     private final EventoRepository eventoRepository;
+    private final CalendarioContadorRepository contadorRepository;
+    private final EventoRemovidoRepository removidoRepository;
     private final CalendarioService calendarioService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final IndicePeriodosCache indicePeriodosCache;
+
+    static final int LIMITE_CONFLITOS = 20;
+    private static final UUID NENHUM_EVENTO = new UUID(0, 0);
 
     @Transactional
     public EventoResponseDTO create(EventoRequestDTO dto) {
+        return create(dto, null, calendarioId -> true);
+    }
+
+    /**
+     * Com escopo informado, recusa o evento se ele sobrepõe eventos existentes no mesmo
+     * calendário ou em qualquer calendário do mesmo proprietário. Conflitos em calendários
+     * que quem escreve não pode ver voltam só como intervalo ocupado, sem os dados do evento.
+     */
+    @Transactional
+    public EventoResponseDTO create(EventoRequestDTO dto, EscopoConflito conflitos, Predicate<UUID> podeVer) {
         validateDates(dto.dataInicio(), dto.dataFim());
         Calendario calendario = calendarioService.findEntityById(dto.calendarioId());
+        verificarConflitos(calendario.getId(), null, dto, conflitos, podeVer);
         Evento evento = EventoMapper.toEntity(dto, calendario);
+        somarEventos(calendario.getId(), 1);
+        evento.setVersao(versaoAtual(calendario.getId()));
         eventoRepository.save(evento);
+        eventPublisher.publishEvent(new EventoAlteradoEvent(calendario.getId(), evento.getId(), TipoAlteracao.CRIADO));
         return EventoMapper.toDTO(evento);
     }
 
+    /**
+     * Cria os eventos válidos do lote em uma única transação e devolve o resultado de cada item
+     * na ordem recebida. A permissão e o calendário são resolvidos uma vez por calendarioId
+     * distinto; os inserts saem agrupados pelo batching JDBC do Hibernate.
+     */
+    @Transactional
+    public EventoLoteResponseDTO createLote(List<EventoRequestDTO> dtos, Predicate<UUID> podeEditar) {
+        String[] erros = new String[dtos.size()];
+        Set<UUID> calendarioIds = new LinkedHashSet<>();
+        for (int i = 0; i < dtos.size(); i++) {
+            erros[i] = validarItem(dtos.get(i));
+            if (erros[i] == null) {
+                calendarioIds.add(dtos.get(i).calendarioId());
+            }
+        }
+
+        Map<UUID, Calendario> calendarios = new HashMap<>();
+        Map<UUID, String> recusas = new HashMap<>();
+        for (UUID calendarioId : calendarioIds) {
+            try {
+                if (podeEditar.test(calendarioId)) {
+                    calendarios.put(calendarioId, calendarioService.findEntityById(calendarioId));
+                } else {
+                    recusas.put(calendarioId, "Você não tem permissão para criar eventos neste calendário");
+                }
+            } catch (ResourceNotFoundException e) {
+                recusas.put(calendarioId, e.getMessage());
+            }
+        }
+
+        Evento[] criados = new Evento[dtos.size()];
+        // Ordenado: lotes concorrentes travam as linhas de contador sempre na mesma ordem
+        Map<UUID, Long> totalPorCalendario = new TreeMap<>();
+        for (int i = 0; i < dtos.size(); i++) {
+            if (erros[i] != null) {
+                continue;
+            }
+            EventoRequestDTO dto = dtos.get(i);
+            Calendario calendario = calendarios.get(dto.calendarioId());
+            if (calendario == null) {
+                erros[i] = recusas.get(dto.calendarioId());
+                continue;
+            }
+            criados[i] = EventoMapper.toEntity(dto, calendario);
+            totalPorCalendario.merge(calendario.getId(), 1L, Long::sum);
+        }
+
+        // Cada calendário reserva de uma vez as versões dos seus eventos e as distribui na ordem do lote
+        Map<UUID, Long> proximaVersao = new HashMap<>();
+        totalPorCalendario.forEach((calendarioId, total) -> {
+            somarEventos(calendarioId, total);
+            proximaVersao.put(calendarioId, versaoAtual(calendarioId) - total + 1);
+        });
+        for (Evento evento : criados) {
+            if (evento != null) {
+                evento.setVersao(proximaVersao.merge(evento.getCalendario().getId(), 1L, Long::sum) - 1);
+            }
+        }
+
+        eventoRepository.saveAll(Arrays.stream(criados).filter(Objects::nonNull).toList());
+        totalPorCalendario.keySet().forEach(calendarioId ->
+                eventPublisher.publishEvent(new EventoAlteradoEvent(calendarioId, null, TipoAlteracao.CRIADO)));
+
+        List<EventoLoteItemDTO> itens = new ArrayList<>(dtos.size());
+        int totalCriados = 0;
+        for (int i = 0; i < dtos.size(); i++) {
+            if (criados[i] != null) {
+                itens.add(new EventoLoteItemDTO(i, criados[i].getId(), null));
+                totalCriados++;
+            } else {
+                itens.add(new EventoLoteItemDTO(i, null, erros[i]));
+            }
+        }
+        return new EventoLoteResponseDTO(totalCriados, dtos.size() - totalCriados, itens);
+    }
+
     public EventoResponseDTO findById(UUID id) {
         return eventoRepository.findById(id)
                 .map(EventoMapper::toDTO)
@@ -47,9 +177,13 @@ public class EventoService {
     }
 
     public List<EventoResponseDTO> listByCalendario(UUID calendarioId) {
-        return eventoRepository.findByCalendarioId(calendarioId).stream()
-                .map(EventoMapper::toDTO)
-                .toList();
+        return eventoRepository.findDTOsByCalendarioId(calendarioId);
+    }
+
+    public void streamByCalendario(UUID calendarioId, Consumer<EventoResponseDTO> consumidor) {
+        try (Stream<EventoResponseDTO> eventos = eventoRepository.streamByCalendarioId(calendarioId)) {
+            eventos.forEach(consumidor);
+        }
     }
 
     public Page<EventoResponseDTO> listByCalendarioPaginated(UUID calendarioId, Pageable pageable) {
@@ -58,16 +192,84 @@ public class EventoService {
                 .map(EventoMapper::toDTO);
     }
 
+    public CursorPageResponseDTO<EventoResponseDTO> listByCalendarioCursor(UUID calendarioId, String cursor, Integer tamanho) {
+        int limite = CursorUtils.limitar(tamanho);
+        Limit limit = Limit.of(limite + 1);
+
+        List<EventoResponseDTO> eventos;
+        if (cursor == null || cursor.isBlank()) {
+            eventos = eventoRepository.findPrimeirosByCalendarioId(calendarioId, limit);
+        } else {
+            CursorUtils.Cursor posicao = CursorUtils.decode(cursor);
+            eventos = eventoRepository.findProximosByCalendarioId(calendarioId, posicao.valor(), posicao.id(), limit);
+        }
+
+        return CursorUtils.pagina(eventos, limite, e -> CursorUtils.encode(e.dataInicio(), e.id()));
+    }
+
     public List<EventoResponseDTO> findByPeriod(LocalDateTime start, LocalDateTime end) {
         return eventoRepository.findByDataInicioBetween(start, end).stream()
                 .map(EventoMapper::toDTO)
                 .toList();
     }
 
+    // Sem transação própria: calendários quentes são respondidos pelo índice em memória,
+    // sem reservar conexão do pool
+    @Transactional(propagation = Propagation.SUPPORTS)
     public List<EventoResponseDTO> findByCalendarioAndPeriod(UUID calendarioId, LocalDateTime start, LocalDateTime end) {
-        return eventoRepository.findByCalendarioAndDataBetween(calendarioId, start, end).stream()
-                .map(EventoMapper::toDTO)
-                .toList();
+        IndicePeriodos indice = indicePeriodosCache.get(calendarioId);
+        List<EventoResponseDTO> eventos;
+        List<EventoResponseDTO> recorrentes;
+        if (indice != null) {
+            eventos = new ArrayList<>();
+            indice.forEachSobreposto(start, end, eventos::add);
+            recorrentes = indice.recorrentesIniciadosAte(end);
+        } else {
+            eventos = new ArrayList<>(eventoRepository.findNaoRecorrentesByCalendarioAndPeriodo(calendarioId, start, end));
+            recorrentes = eventoRepository.findRecorrentesByCalendarioIniciadosAte(calendarioId, end);
+        }
+
+        for (EventoResponseDTO evento : recorrentes) {
+            RecorrenciaUtils.forEachOcorrencia(
+                    evento.dataInicio(), evento.dataFim(), evento.tipoRecorrencia(), start, end,
+                    (inicio, fim) -> eventos.add(EventoMapper.toOcorrencia(evento, inicio, fim))
+            );
+        }
+
+        eventos.sort(Comparator.comparing(EventoResponseDTO::dataInicio));
+        return eventos;
+    }
+
+    /**
+     * Eventos que sobrepõem o intervalo (sem contar os que apenas encostam nele), incluindo
+     * ocorrências de recorrentes, até LIMITE_CONFLITOS. Os não recorrentes vêm do índice GIST
+     * de período e as séries do índice parcial de recorrentes, sem carregar o calendário
+     * inteiro. Do novo evento só o intervalo informado é comparado, não suas repetições.
+     */
+    public List<EventoResponseDTO> findConflitos(UUID calendarioId, UUID ignorarId, LocalDateTime start,
+                                                 LocalDateTime end, EscopoConflito escopo) {
+        Collection<UUID> calendarioIds = escopo == EscopoConflito.PROPRIETARIO
+                ? calendarioService.findIdsDoMesmoProprietario(calendarioId)
+                : List.of(calendarioId);
+        UUID ignorar = ignorarId != null ? ignorarId : NENHUM_EVENTO;
+
+        List<EventoResponseDTO> conflitos = new ArrayList<>(eventoRepository.findConflitosNaoRecorrentes(
+                calendarioIds, ignorar, start, end, LIMITE_CONFLITOS));
+
+        for (EventoResponseDTO evento : eventoRepository.findRecorrentesByCalendariosIniciadosAntes(
+                calendarioIds, ignorar, end)) {
+            RecorrenciaUtils.forEachOcorrencia(
+                    evento.dataInicio(), evento.dataFim(), evento.tipoRecorrencia(), start, end,
+                    (inicio, fim) -> {
+                        if (inicio.isBefore(end) && fim.isAfter(start)) {
+                            conflitos.add(EventoMapper.toOcorrencia(evento, inicio, fim));
+                        }
+                    }
+            );
+        }
+
+        conflitos.sort(Comparator.comparing(EventoResponseDTO::dataInicio));
+        return conflitos.size() > LIMITE_CONFLITOS ? conflitos.subList(0, LIMITE_CONFLITOS) : conflitos;
     }
 
     public Page<EventoResponseDTO> searchByTitulo(String titulo, Pageable pageable) {
@@ -75,16 +277,43 @@ public class EventoService {
                 .map(EventoMapper::toDTO);
     }
 
+    public CursorPageResponseDTO<EventoResponseDTO> searchByTituloCursor(String titulo, String cursor, Integer tamanho) {
+        int limite = CursorUtils.limitar(tamanho);
+        Limit limit = Limit.of(limite + 1);
+
+        List<EventoResponseDTO> eventos;
+        if (cursor == null || cursor.isBlank()) {
+            eventos = eventoRepository.findPrimeirosByTitulo(titulo, limit);
+        } else {
+            CursorUtils.Cursor posicao = CursorUtils.decode(cursor);
+            eventos = eventoRepository.findProximosByTitulo(titulo, posicao.valor(), posicao.id(), limit);
+        }
+
+        return CursorUtils.pagina(eventos, limite, e -> CursorUtils.encode(e.dataInicio(), e.id()));
+    }
+
     public List<EventoResponseDTO> listRecorrentes() {
         return eventoRepository.findByRecorrente(true).stream()
                 .map(EventoMapper::toDTO)
                 .toList();
     }
 
+    public void streamRecorrentes(Consumer<EventoResponseDTO> consumidor) {
+        try (Stream<EventoResponseDTO> eventos = eventoRepository.streamRecorrentes()) {
+            eventos.forEach(consumidor);
+        }
+    }
+
     @Transactional
     public EventoResponseDTO update(UUID id, EventoRequestDTO dto) {
+        return update(id, dto, null, calendarioId -> true);
+    }
+
+    @Transactional
+    public EventoResponseDTO update(UUID id, EventoRequestDTO dto, EscopoConflito conflitos, Predicate<UUID> podeVer) {
         validateDates(dto.dataInicio(), dto.dataFim());
         Evento evento = findEntityById(id);
+        verificarConflitos(evento.getCalendario().getId(), id, dto, conflitos, podeVer);
 
         evento.setTitulo(dto.titulo());
         evento.setDescricao(dto.descricao());
@@ -96,24 +325,84 @@ public class EventoService {
         evento.setRecorrente(dto.recorrente());
         evento.setTipoRecorrencia(dto.tipoRecorrencia());
 
+        registrarAlteracao(evento.getCalendario().getId());
+        evento.setVersao(versaoAtual(evento.getCalendario().getId()));
+        eventPublisher.publishEvent(new EventoAlteradoEvent(evento.getCalendario().getId(), id, TipoAlteracao.ALTERADO));
         return EventoMapper.toDTO(eventoRepository.save(evento));
     }
 
     @Transactional
     public void delete(UUID id) {
-        if (!eventoRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Evento", id.toString());
-        }
+        UUID calendarioId = getCalendarioIdByEvento(id);
+        // Antes do delete: uma linha de contador criada agora conta o evento que sai
+        somarEventos(calendarioId, -1);
         eventoRepository.deleteById(id);
+
+        EventoRemovido removido = new EventoRemovido();
+        removido.setEventoId(id);
+        removido.setCalendarioId(calendarioId);
+        removido.setVersao(versaoAtual(calendarioId));
+        removidoRepository.save(removido);
+        eventPublisher.publishEvent(new EventoAlteradoEvent(calendarioId, id, TipoAlteracao.REMOVIDO));
     }
 
+    /**
+     * Devolve as alterações do calendário posteriores ao token: eventos criados ou alterados
+     * e ids de eventos removidos, na ordem em que aconteceram. Sem token, devolve todos os
+     * eventos atuais. Quando {@code temMais} é verdadeiro, o cliente deve repetir a chamada
+     * com o novo token até esgotar as alterações.
+     */
+    @Transactional
+    public SincronizacaoResponseDTO sincronizar(UUID calendarioId, String token, Integer tamanho) {
+        int limite = CursorUtils.limitar(tamanho);
+        long desde = token == null || token.isBlank() ? 0 : SincronizacaoUtils.decode(token, calendarioId);
+
+        // A versão é lida antes das alterações: tudo até ela já está commitado
+        long ate = contadorRepository.findVersao(calendarioId).orElseGet(() -> {
+            contadorRepository.criarSeAusente(calendarioId);
+            return versaoAtual(calendarioId);
+        });
+        if (desde > ate) {
+            throw new BusinessException("Token de sincronização inválido");
+        }
+
+        Limit limit = Limit.of(limite + 1);
+        List<EventoVersaoDTO> alterados = eventoRepository.findAlterados(calendarioId, desde, ate, limit);
+        List<EventoRemovido> removidos = desde == 0
+                ? List.of()
+                : removidoRepository.findRemovidos(calendarioId, desde, ate, limit);
+
+        List<EventoResponseDTO> paginaAlterados = new ArrayList<>();
+        List<UUID> paginaRemovidos = new ArrayList<>();
+        long ultimaVersao = ate;
+        int a = 0;
+        int r = 0;
+        while (a + r < limite && (a < alterados.size() || r < removidos.size())) {
+            if (r == removidos.size()
+                    || (a < alterados.size() && alterados.get(a).versao() < removidos.get(r).getVersao())) {
+                paginaAlterados.add(EventoMapper.toDTO(alterados.get(a)));
+                ultimaVersao = alterados.get(a++).versao();
+            } else {
+                paginaRemovidos.add(removidos.get(r).getEventoId());
+                ultimaVersao = removidos.get(r++).getVersao();
+            }
+        }
+
+        boolean temMais = a < alterados.size() || r < removidos.size();
+        return new SincronizacaoResponseDTO(paginaAlterados, paginaRemovidos,
+                SincronizacaoUtils.encode(calendarioId, temMais ? ultimaVersao : ate), temMais);
+    }
+
+    // Calendários sem linha de contador (ex.: criados fora da aplicação) caem no COUNT até a
+    // primeira escrita, que cria a linha
     public long countByCalendario(UUID calendarioId) {
-        return eventoRepository.findByCalendarioId(calendarioId).size();
+        return contadorRepository.findTotalEventos(calendarioId)
+                .orElseGet(() -> eventoRepository.countByCalendarioId(calendarioId));
     }
 
     public UUID getCalendarioIdByEvento(UUID eventoId) {
-        Evento evento = findEntityById(eventoId);
-        return evento.getCalendario().getId();
+        return eventoRepository.findCalendarioIdById(eventoId)
+                .orElseThrow(() -> new ResourceNotFoundException("Evento", eventoId.toString()));
     }
 
     public Evento findEntityById(UUID id) {
@@ -121,12 +410,82 @@ public class EventoService {
                 .orElseThrow(() -> new ResourceNotFoundException("Evento", id.toString()));
     }
 
+    // Calendários sem linha de contador ganham a linha na primeira escrita, com total e versão
+    // lidos das tabelas, e seguem daí como os demais
+    private void somarEventos(UUID calendarioId, long delta) {
+        if (contadorRepository.somarEventos(calendarioId, delta) == 0) {
+            contadorRepository.criarSeAusente(calendarioId);
+            contadorRepository.somarEventos(calendarioId, delta);
+        }
+    }
+
+    private void registrarAlteracao(UUID calendarioId) {
+        if (contadorRepository.registrarAlteracao(calendarioId) == 0) {
+            contadorRepository.criarSeAusente(calendarioId);
+            contadorRepository.registrarAlteracao(calendarioId);
+        }
+    }
+
+    // Nas escritas é lida logo após somarEventos/registrarAlteracao, com a linha do contador já
+    // travada pela transação: as versões de um calendário são atribuídas na ordem dos commits
+    private long versaoAtual(UUID calendarioId) {
+        return contadorRepository.findVersao(calendarioId)
+                .orElseThrow(() -> new ResourceNotFoundException("Calendário", calendarioId.toString()));
+    }
+
+    // A permissão é resolvida uma vez por calendário; o escopo PROPRIETARIO alcança calendários
+    // do dono que não foram compartilhados com quem escreve, e deles só sai o horário ocupado
+    private void verificarConflitos(UUID calendarioId, UUID eventoId, EventoRequestDTO dto, EscopoConflito escopo,
+                                    Predicate<UUID> podeVer) {
+        if (escopo == null) {
+            return;
+        }
+        List<EventoResponseDTO> conflitos =
+                findConflitos(calendarioId, eventoId, dto.dataInicio(), dto.dataFim(), escopo);
+        if (!conflitos.isEmpty()) {
+            Map<UUID, Boolean> visiveis = new HashMap<>();
+            throw new ConflitoHorarioException(conflitos.stream()
+                    .map(c -> visiveis.computeIfAbsent(c.calendarioId(), podeVer::test) ? c : EventoMapper.toBloco(c))
+                    .toList());
+        }
+    }
+
     private void validateDates(LocalDateTime start, LocalDateTime end) {
+        String erro = validarDatas(start, end);
+        if (erro != null) {
+            throw new BusinessException(erro);
+        }
+    }
+
+    private String validarDatas(LocalDateTime start, LocalDateTime end) {
         if (start == null || end == null) {
-            throw new BusinessException("Datas de início e fim são obrigatórias");
+            return "Datas de início e fim são obrigatórias";
         }
         if (end.isBefore(start)) {
-            throw new BusinessException("Data de fim deve ser posterior à data de início");
+            return "Data de fim deve ser posterior à data de início";
+        }
+        return null;
+    }
+
+    private String validarItem(EventoRequestDTO dto) {
+        if (dto == null) {
+            return "Evento ausente";
+        }
+        if (dto.titulo() == null || dto.titulo().isBlank()) {
+            return "Título é obrigatório";
+        }
+        if (dto.titulo().length() > 200) {
+            return "Título deve ter no máximo 200 caracteres";
+        }
+        if (dto.local() != null && dto.local().length() > 200) {
+            return "Local deve ter no máximo 200 caracteres";
+        }
+        if (dto.cor() != null && dto.cor().length() > 7) {
+            return "Cor deve estar no formato #RRGGBB";
+        }
+        if (dto.calendarioId() == null) {
+            return "ID do calendário é obrigatório";
         }
+        return validarDatas(dto.dataInicio(), dto.dataFim());
     }
 }
\ No newline at end of file
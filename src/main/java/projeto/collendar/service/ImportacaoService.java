@@ -0,0 +1,127 @@
+package projeto.collendar.service;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import projeto.collendar.dtos.request.EventoRequestDTO;
+import projeto.collendar.dtos.response.EventoLoteItemDTO;
+import projeto.collendar.dtos.response.EventoLoteResponseDTO;
+import projeto.collendar.dtos.response.ImportacaoResponseDTO;
+import projeto.collendar.exception.BusinessException;
+import projeto.collendar.exception.ImportacaoInterrompidaException;
+import projeto.collendar.utils.EventoParser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Importa eventos de um arquivo para um calendário. O parser entrega os eventos um a um
+ * e eles são gravados em lotes de {@value #TAMANHO_LOTE}, cada lote em sua própria
+ * transação; depois de cada lote o contexto de persistência é limpo, então a memória
+ * usada não cresce com o tamanho do arquivo. Uma falha de leitura no meio do arquivo não
+ * desfaz os lotes já gravados: o erro informa quantos eventos foram processados e criados
+ * até ali. A permissão sobre o calendário é responsabilidade de quem chama.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ImportacaoService {
+
+    static final int TAMANHO_LOTE = 500;
+    static final int MAXIMO_ERROS = 100;
+
+    private final List<EventoParser> parsers;
+    private final EventoService eventoService;
+    private final EntityManager entityManager;
+
+    public ImportacaoResponseDTO importar(UUID calendarioId, MediaType tipo, InputStream corpo) {
+        EventoParser parser = parsers.stream()
+                .filter(p -> p.suporta(tipo))
+                .findFirst()
+                .orElseThrow(() -> new BusinessException("Formato de importação não suportado: " + tipo));
+        Charset charset = tipo.getCharset() != null ? tipo.getCharset() : StandardCharsets.UTF_8;
+
+        Importacao importacao = new Importacao(calendarioId);
+        try (Reader reader = new InputStreamReader(corpo, charset)) {
+            parser.ler(reader, calendarioId, importacao::adicionar, importacao::rejeitar);
+        } catch (IOException e) {
+            throw new ImportacaoInterrompidaException("Falha ao ler o arquivo importado: " + e.getMessage(),
+                    importacao.processados, importacao.criados);
+        }
+        importacao.gravar();
+        // Rejeições do parser entram na hora e as da validação só quando o lote é gravado
+        importacao.erros.sort(Comparator.comparingInt(EventoLoteItemDTO::indice));
+
+        log.info("Importação no calendário {} concluída: {} processados, {} criados",
+                calendarioId, importacao.processados, importacao.criados);
+        return new ImportacaoResponseDTO(importacao.processados, importacao.criados,
+                importacao.processados - importacao.criados, importacao.erros);
+    }
+
+    private class Importacao {
+
+        private final UUID calendarioId;
+        private final List<EventoRequestDTO> pendentes = new ArrayList<>(TAMANHO_LOTE);
+        private final List<Integer> posicoes = new ArrayList<>(TAMANHO_LOTE);
+        private final List<EventoLoteItemDTO> erros = new ArrayList<>();
+        private int lidos;
+        private int processados;
+        private int criados;
+
+        Importacao(UUID calendarioId) {
+            this.calendarioId = calendarioId;
+        }
+
+        void adicionar(EventoRequestDTO evento) {
+            pendentes.add(evento);
+            posicoes.add(lidos++);
+            if (pendentes.size() == TAMANHO_LOTE) {
+                gravar();
+            }
+        }
+
+        // Rejeitado pelo parser: conta como processado, com o erro na posição em que foi lido
+        void rejeitar(String erro) {
+            registrarErro(lidos++, erro);
+            processados++;
+        }
+
+        private void registrarErro(int indice, String erro) {
+            if (erros.size() < MAXIMO_ERROS) {
+                erros.add(new EventoLoteItemDTO(indice, null, erro));
+            }
+        }
+
+        void gravar() {
+            if (pendentes.isEmpty()) {
+                return;
+            }
+
+            EventoLoteResponseDTO lote = eventoService.createLote(pendentes, id -> id.equals(calendarioId));
+            for (EventoLoteItemDTO item : lote.itens()) {
+                if (item.erro() != null) {
+                    registrarErro(posicoes.get(item.indice()), item.erro());
+                }
+            }
+
+            processados += pendentes.size();
+            criados += lote.criados();
+            pendentes.clear();
+            posicoes.clear();
+            entityManager.clear();
+
+            log.info("Importação no calendário {}: {} eventos processados, {} criados",
+                    calendarioId, processados, criados);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package projeto.collendar.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+import projeto.collendar.enums.TipoAlteracao;
+import projeto.collendar.events.CalendarioAlteradoEvent;
+import projeto.collendar.events.CalendarioRemovidoEvent;
+import projeto.collendar.events.EventoAlteradoEvent;
+import projeto.collendar.repository.EventoRepository;
+import projeto.collendar.utils.IndicePeriodos;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Índices em memória dos calendários mais consultados por período. Um calendário só é
+ * indexado depois de receber um número mínimo de consultas dentro de um minuto; a carga
+ * é uma única consulta de todos os eventos, feita na thread de quem consulta e fora do
+ * cache, que guarda só o futuro: quem chega durante a carga espera por ela, e as demais
+ * chaves não ficam presas atrás de uma carga longa. Após o commit de cada alteração o índice é
+ * atualizado com a linha do evento alterado, ou descartado quando a alteração não
+ * identifica o evento (lotes) ou muda o próprio calendário, cujo nome vai em cada linha.
+ * O peso de cada índice é o seu tamanho estimado em bytes, e os menos usados são
+ * removidos quando a soma passa do orçamento de memória. O TTL conta da carga e não é
+ * renovado pelas atualizações pontuais: cobre alterações feitas fora da aplicação, que
+ * nenhuma atualização pontual corrige. Desligado por padrão.
+ * Métricas expostas em /actuator/metrics/cache.* com a tag cache=periodos.
+ */
+@Component
+public class IndicePeriodosCache {
+
+    private final EventoRepository eventoRepository;
+    private final boolean habilitado;
+    private final int consultasParaIndexar;
+    private final AsyncCache<UUID, IndicePeriodos> indices;
+    private final Cache<UUID, AtomicInteger> consultas;
+
+    @Autowired
+    public IndicePeriodosCache(EventoRepository eventoRepository,
+                               @Value("${collendar.cache.periodos.habilitado:false}") boolean habilitado,
+                               @Value("${collendar.cache.periodos.memoria-maxima:64MB}") DataSize memoriaMaxima,
+                               @Value("${collendar.cache.periodos.consultas-para-indexar:3}") int consultasParaIndexar,
+                               @Value("${collendar.cache.periodos.ttl:10m}") Duration ttl,
+                               MeterRegistry meterRegistry) {
+        this(eventoRepository, habilitado, memoriaMaxima, consultasParaIndexar, ttl, meterRegistry,
+                Ticker.systemTicker());
+    }
+
+    IndicePeriodosCache(EventoRepository eventoRepository, boolean habilitado, DataSize memoriaMaxima,
+                        int consultasParaIndexar, Duration ttl, MeterRegistry meterRegistry, Ticker ticker) {
+        this.eventoRepository = eventoRepository;
+        this.habilitado = habilitado;
+        this.consultasParaIndexar = consultasParaIndexar;
+        this.indices = Caffeine.newBuilder()
+                .maximumWeight(memoriaMaxima.toBytes())
+                .weigher((UUID calendarioId, IndicePeriodos indice) ->
+                        (int) Math.min(Integer.MAX_VALUE, indice.bytesEstimados()))
+                .expireAfter(expiracaoDesdeACarga(ttl))
+                .ticker(ticker)
+                .recordStats()
+                .buildAsync();
+        this.consultas = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(Duration.ofMinutes(1))
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, indices, "periodos");
+    }
+
+    private static Expiry<UUID, IndicePeriodos> expiracaoDesdeACarga(Duration ttl) {
+        long nanos = ttl.toNanos();
+        return new Expiry<>() {
+            @Override
+            public long expireAfterCreate(UUID calendarioId, IndicePeriodos indice, long agora) {
+                return nanos;
+            }
+
+            @Override
+            public long expireAfterUpdate(UUID calendarioId, IndicePeriodos indice, long agora, long restante) {
+                return restante;
+            }
+
+            @Override
+            public long expireAfterRead(UUID calendarioId, IndicePeriodos indice, long agora, long restante) {
+                return restante;
+            }
+        };
+    }
+
+    /**
+     * O índice do calendário, carregando-o se o calendário acabou de ficar quente, ou null
+     * para que a consulta siga pelo banco.
+     */
+    public IndicePeriodos get(UUID calendarioId) {
+        if (!habilitado) {
+            return null;
+        }
+        CompletableFuture<IndicePeriodos> existente = indices.getIfPresent(calendarioId);
+        if (existente == null) {
+            if (consultas.get(calendarioId, id -> new AtomicInteger()).incrementAndGet() < consultasParaIndexar) {
+                return null;
+            }
+            consultas.invalidate(calendarioId);
+            CompletableFuture<IndicePeriodos> carga = new CompletableFuture<>();
+            existente = indices.asMap().putIfAbsent(calendarioId, carga);
+            if (existente == null) {
+                return carregar(calendarioId, carga);
+            }
+        }
+        try {
+            return existente.join();
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    // Uma carga que falha sai do cache sozinha; a consulta que a disparou recebe o erro
+    private IndicePeriodos carregar(UUID calendarioId, CompletableFuture<IndicePeriodos> carga) {
+        try {
+            IndicePeriodos indice = IndicePeriodos.of(eventoRepository.findDTOsByCalendarioId(calendarioId));
+            carga.complete(indice);
+            return indice;
+        } catch (RuntimeException e) {
+            carga.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    // Antes dos demais ouvintes: quem recebe a notificação pode reconsultar o período na hora.
+    // A linha é relida a cada tentativa e o replace só troca o índice que serviu de base, então
+    // alterações concorrentes do mesmo calendário não se perdem; sem índice pronto, uma carga em
+    // andamento é descartada, já que ela pode ter lido o banco antes do commit
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventoAlterado(EventoAlteradoEvent event) {
+        if (!habilitado) {
+            return;
+        }
+        UUID calendarioId = event.calendarioId();
+        UUID eventoId = event.eventoId();
+        if (eventoId == null) {
+            indices.synchronous().invalidate(calendarioId);
+            return;
+        }
+        while (true) {
+            CompletableFuture<IndicePeriodos> pronto = indices.getIfPresent(calendarioId);
+            if (pronto == null || !pronto.isDone() || pronto.isCompletedExceptionally()) {
+                indices.synchronous().invalidate(calendarioId);
+                return;
+            }
+            IndicePeriodos atual = pronto.join();
+            IndicePeriodos novo = event.tipo() == TipoAlteracao.REMOVIDO
+                    ? atual.sem(eventoId)
+                    : eventoRepository.findDTOById(eventoId).map(atual::com).orElseGet(() -> atual.sem(eventoId));
+            if (indices.asMap().replace(calendarioId, pronto, CompletableFuture.completedFuture(novo))) {
+                return;
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCalendarioAlterado(CalendarioAlteradoEvent event) {
+        indices.synchronous().invalidate(event.calendarioId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCalendarioRemovido(CalendarioRemovidoEvent event) {
+        indices.synchronous().invalidate(event.calendarioId());
+    }
+}
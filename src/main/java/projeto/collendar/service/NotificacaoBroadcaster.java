@@ -0,0 +1,223 @@
+package projeto.collendar.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import projeto.collendar.dtos.response.NotificacaoEventoDTO;
+import projeto.collendar.events.CalendarioRemovidoEvent;
+import projeto.collendar.events.CompartilhamentoAlteradoEvent;
+import projeto.collendar.events.EventoAlteradoEvent;
+import projeto.collendar.exception.SobrecargaException;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Entrega por Server-Sent Events as alterações de eventos de cada calendário, depois do
+ * commit. As conexões ficam no modo assíncrono do servlet e não ocupam thread enquanto
+ * ociosas; cada assinante tem uma fila limitada, esvaziada numa thread virtual própria,
+ * então um cliente que parou de ler prende só a sua entrega. Quem não consome no ritmo
+ * das notificações e enche a fila é desconectado e deve ressincronizar ao reconectar.
+ * O acesso é conferido na assinatura e de novo quando o compartilhamento do usuário
+ * muda. Métricas em collendar.notificacoes.assinantes e collendar.notificacoes.descartados.
+ */
+@Slf4j
+@Component
+public class NotificacaoBroadcaster {
+
+    private static final Supplier<SseEmitter.SseEventBuilder> HEARTBEAT = () -> SseEmitter.event().comment("");
+
+    private final Map<UUID, Set<Assinante>> assinantes = new ConcurrentHashMap<>();
+    private final AtomicInteger total = new AtomicInteger();
+    private final CompartilhamentoService compartilhamentoService;
+    private final TaskExecutor executor;
+    private final Envio envio;
+    private final int maximoAssinantes;
+    private final int buffer;
+    private final Duration timeout;
+    private final Counter descartados;
+
+    @Autowired
+    public NotificacaoBroadcaster(CompartilhamentoService compartilhamentoService,
+                                  @Value("${collendar.notificacoes.maximo-assinantes:50000}") int maximoAssinantes,
+                                  @Value("${collendar.notificacoes.buffer:32}") int buffer,
+                                  @Value("${collendar.notificacoes.timeout:30m}") Duration timeout,
+                                  MeterRegistry meterRegistry) {
+        this(compartilhamentoService, executorDeEntregas(), SseEmitter::send, maximoAssinantes, buffer, timeout,
+                meterRegistry);
+    }
+
+    NotificacaoBroadcaster(CompartilhamentoService compartilhamentoService, TaskExecutor executor, Envio envio,
+                           int maximoAssinantes, int buffer, Duration timeout, MeterRegistry meterRegistry) {
+        this.compartilhamentoService = compartilhamentoService;
+        this.executor = executor;
+        this.envio = envio;
+        this.maximoAssinantes = maximoAssinantes;
+        this.buffer = buffer;
+        this.timeout = timeout;
+        Gauge.builder("collendar.notificacoes.assinantes", total, AtomicInteger::get).register(meterRegistry);
+        this.descartados = Counter.builder("collendar.notificacoes.descartados").register(meterRegistry);
+    }
+
+    // Uma thread virtual por entrega em qualquer modo de execução. Não é bean: um Executor
+    // no contexto desligaria o applicationTaskExecutor do Boot
+    private static TaskExecutor executorDeEntregas() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("notificacoes-");
+        executor.setVirtualThreads(true);
+        return executor;
+    }
+
+    /**
+     * A permissão de visualizar o calendário é responsabilidade de quem chama.
+     */
+    public SseEmitter assinar(UUID calendarioId, UUID usuarioId) {
+        if (total.incrementAndGet() > maximoAssinantes) {
+            total.decrementAndGet();
+            throw new SobrecargaException("Limite de conexões de notificação atingido, tente novamente em instantes");
+        }
+
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Assinante assinante = new Assinante(calendarioId, usuarioId, emitter);
+        assinantes.compute(calendarioId, (id, conjunto) -> {
+            Set<Assinante> atual = conjunto != null ? conjunto : ConcurrentHashMap.newKeySet();
+            atual.add(assinante);
+            return atual;
+        });
+
+        emitter.onCompletion(assinante::encerrar);
+        emitter.onTimeout(assinante::encerrar);
+        emitter.onError(erro -> assinante.encerrar());
+        // Envia os cabeçalhos já na assinatura, sem esperar a primeira alteração
+        assinante.enviar(HEARTBEAT);
+        return emitter;
+    }
+
+    public int totalAssinantes() {
+        return total.get();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventoAlterado(EventoAlteradoEvent event) {
+        NotificacaoEventoDTO notificacao =
+                new NotificacaoEventoDTO(event.calendarioId(), event.eventoId(), event.tipo());
+        for (Assinante assinante : assinantesDe(event.calendarioId())) {
+            assinante.enviar(() -> SseEmitter.event().name("evento").data(notificacao));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCompartilhamentoAlterado(CompartilhamentoAlteradoEvent event) {
+        for (Assinante assinante : assinantesDe(event.calendarioId())) {
+            if (assinante.usuarioId.equals(event.usuarioId())
+                    && !compartilhamentoService.hasAccess(event.calendarioId(), event.usuarioId())) {
+                assinante.encerrar();
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCalendarioRemovido(CalendarioRemovidoEvent event) {
+        assinantesDe(event.calendarioId()).forEach(Assinante::encerrar);
+    }
+
+    // Mantém a conexão viva em proxies e revela clientes que já foram embora
+    @Scheduled(fixedDelayString = "${collendar.notificacoes.heartbeat:PT25S}")
+    public void heartbeat() {
+        assinantes.values().forEach(conjunto -> conjunto.forEach(assinante -> assinante.enviar(HEARTBEAT)));
+    }
+
+    private Set<Assinante> assinantesDe(UUID calendarioId) {
+        return assinantes.getOrDefault(calendarioId, Set.of());
+    }
+
+    /**
+     * A escrita de uma mensagem na conexão, feita pela tarefa de entrega do assinante.
+     */
+    @FunctionalInterface
+    interface Envio {
+
+        void enviar(SseEmitter emitter, SseEmitter.SseEventBuilder mensagem) throws IOException;
+    }
+
+    private final class Assinante {
+
+        private final UUID calendarioId;
+        private final UUID usuarioId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Supplier<SseEmitter.SseEventBuilder>> fila;
+        private final AtomicBoolean drenando = new AtomicBoolean();
+        private final AtomicBoolean encerrado = new AtomicBoolean();
+
+        Assinante(UUID calendarioId, UUID usuarioId, SseEmitter emitter) {
+            this.calendarioId = calendarioId;
+            this.usuarioId = usuarioId;
+            this.emitter = emitter;
+            this.fila = new ArrayBlockingQueue<>(buffer);
+        }
+
+        void enviar(Supplier<SseEmitter.SseEventBuilder> mensagem) {
+            if (encerrado.get()) {
+                return;
+            }
+            if (!fila.offer(mensagem)) {
+                descartados.increment();
+                log.info("Assinante lento do calendário {} desconectado: fila de {} notificações cheia",
+                        calendarioId, buffer);
+                encerrar();
+                return;
+            }
+            if (drenando.compareAndSet(false, true)) {
+                executor.execute(this::drenar);
+            }
+        }
+
+        // Uma única tarefa por assinante escreve no emitter; a recheca após liberar a flag
+        // pega mensagens enfileiradas entre o último poll e o set(false)
+        private void drenar() {
+            do {
+                Supplier<SseEmitter.SseEventBuilder> mensagem;
+                while ((mensagem = fila.poll()) != null) {
+                    try {
+                        envio.enviar(emitter, mensagem.get());
+                    } catch (IOException | IllegalStateException e) {
+                        encerrar();
+                        return;
+                    }
+                }
+                drenando.set(false);
+            } while (!fila.isEmpty() && drenando.compareAndSet(false, true));
+        }
+
+        void encerrar() {
+            if (!encerrado.compareAndSet(false, true)) {
+                return;
+            }
+            assinantes.computeIfPresent(calendarioId, (id, conjunto) -> {
+                conjunto.remove(this);
+                return conjunto.isEmpty() ? null : conjunto;
+            });
+            total.decrementAndGet();
+            fila.clear();
+            // Fora da thread que notifica: o complete espera um send preso no mesmo emitter
+            executor.execute(emitter::complete);
+        }
+    }
+}
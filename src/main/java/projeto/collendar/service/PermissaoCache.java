@@ -0,0 +1,98 @@
+package projeto.collendar.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import projeto.collendar.enums.NivelAcesso;
+import projeto.collendar.events.CalendarioRemovidoEvent;
+import projeto.collendar.events.CompartilhamentoAlteradoEvent;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Cache em memória do nível de acesso de cada (calendário, usuário).
+ * As entradas são invalidadas após o commit das alterações de compartilhamento e da
+ * remoção de calendários; o TTL limita o tempo de vida de qualquer entrada que
+ * escape da invalidação (ex.: exclusões em cascata feitas pelo banco). Uma leitura do
+ * banco feita antes do commit de uma revogação pode terminar depois da invalidação: cada
+ * invalidação incrementa a geração da faixa do calendário, e um resultado só fica no
+ * cache se a geração não mudou enquanto ele era resolvido.
+ * Métricas expostas em /actuator/metrics/cache.* com a tag cache=permissoes.
+ */
+@Component
+public class PermissaoCache {
+
+    private static final int FAIXAS = 64;
+
+    private final Cache<Chave, NivelAcesso> cache;
+    private final AtomicLongArray geracoes = new AtomicLongArray(FAIXAS);
+
+    public PermissaoCache(@Value("${collendar.cache.permissoes.tamanho-maximo:10000}") long tamanhoMaximo,
+                          @Value("${collendar.cache.permissoes.ttl:5m}") Duration ttl,
+                          MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "permissoes");
+    }
+
+    public NivelAcesso get(UUID calendarioId, UUID usuarioId, Supplier<NivelAcesso> resolver) {
+        Chave chave = new Chave(calendarioId, usuarioId);
+        NivelAcesso nivel = cache.getIfPresent(chave);
+        if (nivel != null) {
+            return nivel;
+        }
+
+        int faixa = faixa(calendarioId);
+        long geracao = geracoes.get(faixa);
+        nivel = resolver.get();
+        if (geracao == geracoes.get(faixa)) {
+            cache.asMap().putIfAbsent(chave, nivel);
+            // A invalidação incrementa antes de remover: se ela passou entre a conferência e o
+            // put, a segunda conferência vê a nova geração e desfaz o put
+            if (geracao != geracoes.get(faixa)) {
+                cache.asMap().remove(chave, nivel);
+            }
+        }
+        return nivel;
+    }
+
+    public void invalidar(UUID calendarioId, UUID usuarioId) {
+        geracoes.incrementAndGet(faixa(calendarioId));
+        cache.invalidate(new Chave(calendarioId, usuarioId));
+    }
+
+    public void invalidarCalendario(UUID calendarioId) {
+        geracoes.incrementAndGet(faixa(calendarioId));
+        cache.asMap().keySet().removeIf(chave -> chave.calendarioId().equals(calendarioId));
+    }
+
+    // Antes dos demais ouvintes, que podem reconsultar o acesso (NotificacaoBroadcaster)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCompartilhamentoAlterado(CompartilhamentoAlteradoEvent event) {
+        invalidar(event.calendarioId(), event.usuarioId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCalendarioRemovido(CalendarioRemovidoEvent event) {
+        invalidarCalendario(event.calendarioId());
+    }
+
+    private static int faixa(UUID calendarioId) {
+        return Math.floorMod(calendarioId.hashCode(), FAIXAS);
+    }
+
+    private record Chave(UUID calendarioId, UUID usuarioId) { }
+}
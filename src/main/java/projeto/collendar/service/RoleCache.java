@@ -0,0 +1,62 @@
+package projeto.collendar.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import projeto.collendar.model.Role;
+import projeto.collendar.repository.RoleRepository;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Roles são dados de referência semeados pelas migrations, então ficam em memória:
+ * carregadas na subida e recarregadas quando um nome desconhecido é pedido (role
+ * incluída depois por migration ou manualmente), no máximo uma vez por intervalo para
+ * que nomes inexistentes repetidos não virem um findAll por chamada. A busca ignora
+ * maiúsculas, como o findByNome do repositório, sem o UPPER que impedia o uso do
+ * índice único.
+ */
+@Component
+@RequiredArgsConstructor
+public class RoleCache {
+
+    private final RoleRepository roleRepository;
+
+    private static final long INTERVALO_RECARGA = Duration.ofSeconds(30).toNanos();
+
+    private volatile Map<String, Role> roles = Map.of();
+    private final AtomicLong ultimaRecarga = new AtomicLong(System.nanoTime() - INTERVALO_RECARGA);
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        roles = roleRepository.findAll().stream()
+                .collect(Collectors.toUnmodifiableMap(role -> chave(role.getNome()), Function.identity()));
+    }
+
+    public Optional<Role> get(String nome) {
+        Role role = roles.get(chave(nome));
+        if (role == null && podeRecarregar()) {
+            carregar();
+            role = roles.get(chave(nome));
+        }
+        return Optional.ofNullable(role);
+    }
+
+    // Só uma thread por intervalo recarrega; as demais respondem com o mapa atual
+    private boolean podeRecarregar() {
+        long agora = System.nanoTime();
+        long ultima = ultimaRecarga.get();
+        return agora - ultima >= INTERVALO_RECARGA && ultimaRecarga.compareAndSet(ultima, agora);
+    }
+
+    private static String chave(String nome) {
+        return nome.toUpperCase(Locale.ROOT);
+    }
+}
@@ -5,6 +5,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import projeto.collendar.dtos.projection.UsuarioRoleDTO;
 import projeto.collendar.dtos.request.UsuarioRequestDTO;
 import projeto.collendar.dtos.response.UsuarioResponseDTO;
 import projeto.collendar.exception.BusinessException;
@@ -12,69 +13,39 @@ import projeto.collendar.exception.ResourceNotFoundException;
 import projeto.collendar.mappers.UsuarioMapper;
 import projeto.collendar.model.Role;
 import projeto.collendar.model.Usuario;
-import projeto.collendar.repository.RoleRepository;
 import projeto.collendar.repository.UsuarioRepository;
 
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class UsuarioService {
 
     private final UsuarioRepository usuarioRepository;
-    private final RoleRepository roleRepository;
+    private final RoleCache roleCache;
     private final PasswordEncoder passwordEncoder;
 
     @Transactional
     public UsuarioResponseDTO create(UsuarioRequestDTO dto) {
-        log.info("🔵 Iniciando criação do usuário: {}", dto.email());
-
         if (usuarioRepository.existsByEmail(dto.email())) {
-            log.error("❌ Email já cadastrado: {}", dto.email());
             throw new BusinessException("Email já cadastrado");
         }
 
         Usuario usuario = UsuarioMapper.toEntity(dto);
         usuario.setSenha(passwordEncoder.encode(dto.senha()));
-        log.info("✅ Senha criptografada");
-
-        // Listar todas as roles para debug
-        List<Role> todasRoles = roleRepository.findAll();
-        log.info("📋 Roles disponíveis no banco: {}", todasRoles.stream().map(Role::getNome).toList());
-
-        // Buscar role USER
-        log.info("🔍 Buscando role USER...");
-        Optional<Role> roleUserOpt = roleRepository.findByNome("USER");
-
-        if (roleUserOpt.isEmpty()) {
-            log.error("❌ Role USER não encontrada!");
-            throw new ResourceNotFoundException("Role", "USER");
-        }
-
-        Role roleUser = roleUserOpt.get();
-        log.info("✅ Role USER encontrada: ID={}", roleUser.getId());
-
-        // Buscar role ADMIN
-        log.info("🔍 Buscando role ADMIN...");
-        Optional<Role> roleAdminOpt = roleRepository.findByNome("ADMIN");
-
-        if (roleAdminOpt.isEmpty()) {
-            log.error("❌ Role ADMIN não encontrada!");
-            throw new ResourceNotFoundException("Role", "ADMIN");
-        }
-
-        Role roleAdmin = roleAdminOpt.get();
-        log.info("✅ Role ADMIN encontrada: ID={}", roleAdmin.getId());
-
-        usuario.getRoles().add(roleUser);
-        usuario.getRoles().add(roleAdmin);
-        log.info("✅ Roles adicionadas ao usuário");
+        usuario.getRoles().add(findRole("USER"));
+        usuario.getRoles().add(findRole("ADMIN"));
 
         Usuario savedUsuario = usuarioRepository.save(usuario);
-        log.info("✅ Usuário salvo com sucesso! ID={}", savedUsuario.getId());
+        log.debug("Usuário criado: {}", savedUsuario.getId());
 
         return UsuarioMapper.toDTO(savedUsuario);
     }
@@ -85,6 +56,29 @@ public class UsuarioService {
                 .toList();
     }
 
+    public void streamAll(Consumer<UsuarioResponseDTO> consumidor) {
+        try (Stream<UsuarioRoleDTO> linhas = usuarioRepository.streamAllComRoles()) {
+            UsuarioRoleDTO anterior = null;
+            Set<String> roles = new HashSet<>();
+
+            for (Iterator<UsuarioRoleDTO> it = linhas.iterator(); it.hasNext(); ) {
+                UsuarioRoleDTO linha = it.next();
+                if (anterior != null && !anterior.usuarioId().equals(linha.usuarioId())) {
+                    consumidor.accept(UsuarioMapper.toDTO(anterior, roles));
+                    roles = new HashSet<>();
+                }
+                if (linha.role() != null) {
+                    roles.add(linha.role());
+                }
+                anterior = linha;
+            }
+
+            if (anterior != null) {
+                consumidor.accept(UsuarioMapper.toDTO(anterior, roles));
+            }
+        }
+    }
+
     public UsuarioResponseDTO findById(UUID id) {
         return usuarioRepository.findById(id)
                 .map(UsuarioMapper::toDTO)
@@ -143,13 +137,20 @@ public class UsuarioService {
         Usuario usuario = usuarioRepository.findById(usuarioId)
                 .orElseThrow(() -> new ResourceNotFoundException("Usuário", usuarioId.toString()));
 
-        Role role = roleRepository.findByNome(nomeRole)
-                .orElseThrow(() -> new ResourceNotFoundException("Role", nomeRole));
+        Role role = findRole(nomeRole);
 
-        usuario.getRoles().add(role);
+        // Roles vêm do cache, fora desta sessão: a comparação é por id para não duplicar a associação
+        if (usuario.getRoles().stream().noneMatch(r -> r.getId().equals(role.getId()))) {
+            usuario.getRoles().add(role);
+        }
         return UsuarioMapper.toDTO(usuarioRepository.save(usuario));
     }
 
+    private Role findRole(String nome) {
+        return roleCache.get(nome)
+                .orElseThrow(() -> new ResourceNotFoundException("Role", nome));
+    }
+
     public Usuario findEntityById(UUID id) {
         return usuarioRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Usuário", id.toString()));
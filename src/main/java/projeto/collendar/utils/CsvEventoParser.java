@@ -0,0 +1,161 @@
+package projeto.collendar.utils;
+
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import projeto.collendar.dtos.request.EventoRequestDTO;
+import projeto.collendar.enums.TipoRecorrencia;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Leitor de CSV (RFC 4180) registro a registro. A primeira linha é o cabeçalho, com os
+ * nomes dos campos de {@link EventoRequestDTO} em qualquer ordem (titulo, descricao,
+ * dataInicio, dataFim, local, cor, diaInteiro, recorrente, tipoRecorrencia). Datas em
+ * ISO-8601, com ou sem horário.
+ */
+@Component
+public class CsvEventoParser implements EventoParser {
+
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+    private static final String BOM = "\uFEFF";
+
+    @Override
+    public boolean suporta(MediaType tipo) {
+        return TEXT_CSV.includes(tipo);
+    }
+
+    @Override
+    public void ler(Reader reader, UUID calendarioId, Consumer<EventoRequestDTO> consumidor,
+                    Consumer<String> rejeitados) throws IOException {
+        BufferedReader entrada = reader instanceof BufferedReader br ? br : new BufferedReader(reader);
+
+        List<String> cabecalho = proximoRegistro(entrada);
+        if (cabecalho == null) {
+            return;
+        }
+        // Planilhas exportadas pelo Excel começam com o BOM do UTF-8, que o decoder mantém
+        if (cabecalho.get(0).startsWith(BOM)) {
+            cabecalho.set(0, cabecalho.get(0).substring(1));
+        }
+        Map<String, Integer> colunas = new HashMap<>();
+        for (int i = 0; i < cabecalho.size(); i++) {
+            colunas.put(cabecalho.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+
+        List<String> registro;
+        while ((registro = proximoRegistro(entrada)) != null) {
+            if (registro.size() == 1 && registro.get(0).isBlank()) {
+                continue;
+            }
+            Campos campos = new Campos(colunas, registro);
+            TipoRecorrencia tipo = campos.recorrencia();
+            consumidor.accept(new EventoRequestDTO(
+                    campos.texto("titulo"),
+                    campos.texto("descricao"),
+                    campos.dataHora("datainicio"),
+                    campos.dataHora("datafim"),
+                    campos.texto("local"),
+                    campos.texto("cor"),
+                    campos.booleano("diainteiro"),
+                    tipo != null || Boolean.TRUE.equals(campos.booleano("recorrente")),
+                    tipo,
+                    calendarioId
+            ));
+        }
+    }
+
+    private static List<String> proximoRegistro(BufferedReader entrada) throws IOException {
+        int c = entrada.read();
+        if (c < 0) {
+            return null;
+        }
+
+        List<String> campos = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean aspas = false;
+
+        while (c >= 0) {
+            char caractere = (char) c;
+            if (aspas) {
+                if (caractere == '"') {
+                    entrada.mark(1);
+                    int proximo = entrada.read();
+                    if (proximo == '"') {
+                        campo.append('"');
+                    } else {
+                        aspas = false;
+                        entrada.reset();
+                    }
+                } else {
+                    campo.append(caractere);
+                }
+            } else if (caractere == '"') {
+                aspas = true;
+            } else if (caractere == ',') {
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else if (caractere == '\n') {
+                break;
+            } else if (caractere != '\r') {
+                campo.append(caractere);
+            }
+            c = entrada.read();
+        }
+
+        campos.add(campo.toString());
+        return campos;
+    }
+
+    private record Campos(Map<String, Integer> colunas, List<String> registro) {
+
+        String texto(String nome) {
+            Integer indice = colunas.get(nome);
+            if (indice == null || indice >= registro.size()) {
+                return null;
+            }
+            String valor = registro.get(indice).trim();
+            return valor.isEmpty() ? null : valor;
+        }
+
+        LocalDateTime dataHora(String nome) {
+            String valor = texto(nome);
+            if (valor == null) {
+                return null;
+            }
+            try {
+                return valor.length() == 10 ? LocalDate.parse(valor).atStartOfDay() : LocalDateTime.parse(valor);
+            } catch (DateTimeParseException e) {
+                return null;
+            }
+        }
+
+        Boolean booleano(String nome) {
+            String valor = texto(nome);
+            return valor == null ? null : Boolean.parseBoolean(valor) || "1".equals(valor) || "sim".equalsIgnoreCase(valor);
+        }
+
+        TipoRecorrencia recorrencia() {
+            String valor = texto("tiporecorrencia");
+            if (valor == null) {
+                return null;
+            }
+            try {
+                return TipoRecorrencia.valueOf(valor.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package projeto.collendar.utils;
+
+import projeto.collendar.dtos.response.CursorPageResponseDTO;
+import projeto.collendar.exception.BusinessException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Paginação por keyset: o cursor é a chave de ordenação (data, id) do último item
+ * entregue, codificada em Base64 URL-safe. O cliente deve tratá-lo como opaco.
+ */
+public final class CursorUtils {
+
+    public static final int TAMANHO_PADRAO = 20;
+    public static final int TAMANHO_MAXIMO = 100;
+
+    private static final char SEPARADOR = '|';
+
+    private CursorUtils() {
+    }
+
+    public record Cursor(LocalDateTime valor, UUID id) { }
+
+    public static String encode(LocalDateTime valor, UUID id) {
+        String bruto = valor.toString() + SEPARADOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bruto.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Cursor decode(String cursor) {
+        try {
+            String bruto = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separador = bruto.indexOf(SEPARADOR);
+            return new Cursor(
+                    LocalDateTime.parse(bruto.substring(0, separador)),
+                    UUID.fromString(bruto.substring(separador + 1))
+            );
+        } catch (IllegalArgumentException | DateTimeException | IndexOutOfBoundsException e) {
+            throw new BusinessException("Cursor de paginação inválido");
+        }
+    }
+
+    public static int limitar(Integer tamanho) {
+        if (tamanho == null) {
+            return TAMANHO_PADRAO;
+        }
+        return Math.max(1, Math.min(tamanho, TAMANHO_MAXIMO));
+    }
+
+    /**
+     * Recebe até tamanho + 1 itens: o excedente só indica que existe próxima página.
+     */
+    public static <T> CursorPageResponseDTO<T> pagina(List<T> itens, int tamanho, Function<T, String> cursorDe) {
+        if (itens.size() <= tamanho) {
+            return new CursorPageResponseDTO<>(itens, null);
+        }
+        List<T> pagina = itens.subList(0, tamanho);
+        return new CursorPageResponseDTO<>(List.copyOf(pagina), cursorDe.apply(pagina.get(tamanho - 1)));
+    }
+}
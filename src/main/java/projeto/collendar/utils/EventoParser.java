@@ -0,0 +1,24 @@
+package projeto.collendar.utils;
+
+import org.springframework.http.MediaType;
+import projeto.collendar.dtos.request.EventoRequestDTO;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Estágio de leitura da importação de eventos. Cada implementação lê o arquivo de forma
+ * incremental e entrega um evento por vez ao consumidor, sem manter o arquivo em memória.
+ * Campos ilegíveis chegam nulos e são rejeitados pela validação do lote, item a item; um
+ * item que o formato descreve mas o modelo não consegue representar é entregue como
+ * rejeitado, com o motivo, na mesma posição em que aparece no arquivo.
+ */
+public interface EventoParser {
+
+    boolean suporta(MediaType tipo);
+
+    void ler(Reader reader, UUID calendarioId, Consumer<EventoRequestDTO> consumidor,
+             Consumer<String> rejeitados) throws IOException;
+}
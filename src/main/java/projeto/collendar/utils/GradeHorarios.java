@@ -0,0 +1,103 @@
+package projeto.collendar.utils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Mapa de bits de ocupação de uma janela em fatias de 5 minutos: um bit por fatia, 64
+ * fatias por long. Intervalos ocupados de qualquer quantidade de usuários são marcados
+ * no mesmo mapa, então a interseção dos horários livres é simplesmente o conjunto de
+ * bits que continuam zerados. Seis meses cabem em menos de 800 longs.
+ */
+public final class GradeHorarios {
+
+    public static final long FATIA_SEGUNDOS = 300;
+
+    private final long origem;
+    private final int fatias;
+    private final long[] ocupadas;
+
+    /**
+     * A grade começa na primeira fronteira de fatia a partir do início e termina na
+     * última fatia inteira antes do fim.
+     */
+    public GradeHorarios(LocalDateTime inicio, LocalDateTime fim) {
+        this.origem = fatiasAte(IntervalosUtils.segundos(inicio)) * FATIA_SEGUNDOS;
+        this.fatias = (int) Math.max(0, (IntervalosUtils.segundos(fim) - origem) / FATIA_SEGUNDOS);
+        this.ocupadas = new long[(fatias + 63) >>> 6];
+    }
+
+    /**
+     * Marca como ocupada toda fatia que o intervalo toca, ainda que parcialmente.
+     */
+    public void ocupar(LocalDateTime inicio, LocalDateTime fim) {
+        int de = (int) Math.max(0, Math.floorDiv(IntervalosUtils.segundos(inicio) - origem, FATIA_SEGUNDOS));
+        int ate = (int) Math.min(fatias, fatiasAte(IntervalosUtils.segundos(fim) - origem));
+        if (de >= ate) {
+            return;
+        }
+
+        int primeira = de >>> 6;
+        int ultima = (ate - 1) >>> 6;
+        long mascaraInicio = -1L << de;
+        long mascaraFim = -1L >>> -ate;
+        if (primeira == ultima) {
+            ocupadas[primeira] |= mascaraInicio & mascaraFim;
+            return;
+        }
+        ocupadas[primeira] |= mascaraInicio;
+        for (int i = primeira + 1; i < ultima; i++) {
+            ocupadas[i] = -1L;
+        }
+        ocupadas[ultima] |= mascaraFim;
+    }
+
+    /**
+     * Os primeiros horários livres com a duração pedida, sem sobreposição entre si: cada
+     * trecho livre é dividido em horários consecutivos a partir do seu início.
+     */
+    public List<LocalDateTime> livres(long duracaoSegundos, int quantidade) {
+        int necessarias = (int) Math.max(1, fatiasAte(duracaoSegundos));
+        List<LocalDateTime> horarios = new ArrayList<>(quantidade);
+
+        int posicao = proximaLivre(0);
+        while (posicao < fatias && horarios.size() < quantidade) {
+            int fimTrecho = proximaOcupada(posicao);
+            for (; posicao + necessarias <= fimTrecho && horarios.size() < quantidade; posicao += necessarias) {
+                horarios.add(IntervalosUtils.momento(origem + posicao * FATIA_SEGUNDOS));
+            }
+            posicao = proximaLivre(fimTrecho);
+        }
+        return horarios;
+    }
+
+    // Quantidade de fatias necessária para cobrir os segundos, arredondando para cima
+    private static long fatiasAte(long segundos) {
+        return -Math.floorDiv(-segundos, FATIA_SEGUNDOS);
+    }
+
+    private int proximaLivre(int desde) {
+        return proxima(desde, -1L);
+    }
+
+    private int proximaOcupada(int desde) {
+        return proxima(desde, 0L);
+    }
+
+    // Varre palavra a palavra; inverter com -1 transforma a busca de zeros em busca de uns
+    private int proxima(int desde, long inverter) {
+        if (desde >= fatias) {
+            return fatias;
+        }
+        int indice = desde >>> 6;
+        long palavra = (ocupadas[indice] ^ inverter) & (-1L << desde);
+        while (palavra == 0) {
+            if (++indice == ocupadas.length) {
+                return fatias;
+            }
+            palavra = ocupadas[indice] ^ inverter;
+        }
+        return Math.min(fatias, (indice << 6) + Long.numberOfTrailingZeros(palavra));
+    }
+}
@@ -0,0 +1,338 @@
+package projeto.collendar.utils;
+
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import projeto.collendar.dtos.request.EventoRequestDTO;
+import projeto.collendar.enums.TipoRecorrencia;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Leitor de iCalendar (RFC 5545) linha a linha. Só os VEVENTs são lidos; componentes
+ * aninhados (VALARM) são ignorados. Horários em UTC ou com TZID são convertidos para o
+ * fuso do servidor, e eventos de dia inteiro têm o DTEND exclusivo trazido para 23:59:59
+ * do dia anterior. Cancelados e instâncias editadas de uma série (RECURRENCE-ID) são
+ * pulados: a série de origem já cobre a data. {@link TipoRecorrencia} só representa a
+ * FREQ com intervalo 1 e sem fim; séries com INTERVAL, COUNT, UNTIL, BY*, EXDATE ou RDATE
+ * são rejeitadas, em vez de importadas com outras datas.
+ */
+@Component
+public class IcsEventoParser implements EventoParser {
+
+    private static final MediaType TEXT_CALENDAR = MediaType.parseMediaType("text/calendar");
+    private static final DateTimeFormatter DATA_HORA = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+
+    @Override
+    public boolean suporta(MediaType tipo) {
+        return TEXT_CALENDAR.includes(tipo);
+    }
+
+    @Override
+    public void ler(Reader reader, UUID calendarioId, Consumer<EventoRequestDTO> consumidor,
+                    Consumer<String> rejeitados) throws IOException {
+        BufferedReader linhas = reader instanceof BufferedReader br ? br : new BufferedReader(reader);
+        Leitura leitura = new Leitura(calendarioId, consumidor, rejeitados);
+        StringBuilder linhaAtual = null;
+
+        String linha;
+        while ((linha = linhas.readLine()) != null) {
+            if (!linha.isEmpty() && (linha.charAt(0) == ' ' || linha.charAt(0) == '\t')) {
+                if (linhaAtual != null) {
+                    linhaAtual.append(linha, 1, linha.length());
+                }
+                continue;
+            }
+            if (linhaAtual != null) {
+                leitura.processar(linhaAtual.toString());
+            }
+            linhaAtual = new StringBuilder(linha);
+        }
+        if (linhaAtual != null) {
+            leitura.processar(linhaAtual.toString());
+        }
+    }
+
+    private static final class Leitura {
+
+        private final UUID calendarioId;
+        private final Consumer<EventoRequestDTO> consumidor;
+        private final Consumer<String> rejeitados;
+
+        private boolean dentroDoEvento;
+        private int aninhamento;
+        private String titulo;
+        private String descricao;
+        private String local;
+        private Propriedade inicio;
+        private Propriedade fim;
+        private String duracao;
+        private String regra;
+        private boolean excecoes;
+        private boolean instanciaDeSerie;
+        private boolean cancelado;
+
+        Leitura(UUID calendarioId, Consumer<EventoRequestDTO> consumidor, Consumer<String> rejeitados) {
+            this.calendarioId = calendarioId;
+            this.consumidor = consumidor;
+            this.rejeitados = rejeitados;
+        }
+
+        void processar(String linha) {
+            Propriedade propriedade = Propriedade.of(linha);
+            if (propriedade == null) {
+                return;
+            }
+
+            switch (propriedade.nome) {
+                case "BEGIN" -> {
+                    if (dentroDoEvento) {
+                        aninhamento++;
+                    } else if ("VEVENT".equalsIgnoreCase(propriedade.valor)) {
+                        iniciarEvento();
+                    }
+                }
+                case "END" -> {
+                    if (aninhamento > 0) {
+                        aninhamento--;
+                    } else if (dentroDoEvento && "VEVENT".equalsIgnoreCase(propriedade.valor)) {
+                        dentroDoEvento = false;
+                        encerrarEvento();
+                    }
+                }
+                default -> {
+                    if (dentroDoEvento && aninhamento == 0) {
+                        guardar(propriedade);
+                    }
+                }
+            }
+        }
+
+        private void iniciarEvento() {
+            dentroDoEvento = true;
+            titulo = null;
+            descricao = null;
+            local = null;
+            inicio = null;
+            fim = null;
+            duracao = null;
+            regra = null;
+            excecoes = false;
+            instanciaDeSerie = false;
+            cancelado = false;
+        }
+
+        private void encerrarEvento() {
+            if (cancelado || instanciaDeSerie) {
+                return;
+            }
+            String recusa = regra != null ? recusaDaRegra(regra, excecoes) : null;
+            if (recusa != null) {
+                rejeitados.accept(recusa);
+            } else {
+                consumidor.accept(criarEvento());
+            }
+        }
+
+        private void guardar(Propriedade propriedade) {
+            switch (propriedade.nome) {
+                case "SUMMARY" -> titulo = texto(propriedade.valor);
+                case "DESCRIPTION" -> descricao = texto(propriedade.valor);
+                case "LOCATION" -> local = texto(propriedade.valor);
+                case "DTSTART" -> inicio = propriedade;
+                case "DTEND" -> fim = propriedade;
+                case "DURATION" -> duracao = propriedade.valor;
+                case "RRULE" -> regra = propriedade.valor;
+                case "EXDATE", "RDATE" -> excecoes = true;
+                case "RECURRENCE-ID" -> instanciaDeSerie = true;
+                case "STATUS" -> cancelado = "CANCELLED".equalsIgnoreCase(propriedade.valor);
+                default -> { }
+            }
+        }
+
+        private EventoRequestDTO criarEvento() {
+            boolean diaInteiro = inicio != null && inicio.isData();
+            LocalDateTime dataInicio = inicio != null ? dataHora(inicio) : null;
+            LocalDateTime dataFim = null;
+
+            if (dataInicio != null) {
+                if (fim != null) {
+                    dataFim = dataHora(fim);
+                    if (diaInteiro && dataFim != null) {
+                        dataFim = dataFim.minusSeconds(1);
+                    }
+                } else if (duracao != null) {
+                    Duration d = duracao(duracao);
+                    dataFim = d != null ? dataInicio.plus(d) : null;
+                    if (diaInteiro && dataFim != null) {
+                        dataFim = dataFim.minusSeconds(1);
+                    }
+                } else {
+                    dataFim = diaInteiro ? dataInicio.plusDays(1).minusSeconds(1) : dataInicio;
+                }
+            }
+
+            TipoRecorrencia tipo = recorrencia(regra);
+            return new EventoRequestDTO(
+                    titulo,
+                    descricao,
+                    dataInicio,
+                    dataFim,
+                    local,
+                    null,
+                    diaInteiro,
+                    tipo != null,
+                    tipo,
+                    calendarioId
+            );
+        }
+    }
+
+    private record Propriedade(String nome, String parametros, String valor) {
+
+        static Propriedade of(String linha) {
+            int separador = -1;
+            boolean aspas = false;
+            for (int i = 0; i < linha.length(); i++) {
+                char c = linha.charAt(i);
+                if (c == '"') {
+                    aspas = !aspas;
+                } else if (c == ':' && !aspas) {
+                    separador = i;
+                    break;
+                }
+            }
+            if (separador < 0) {
+                return null;
+            }
+
+            String cabecalho = linha.substring(0, separador);
+            int ponto = cabecalho.indexOf(';');
+            String nome = (ponto < 0 ? cabecalho : cabecalho.substring(0, ponto)).toUpperCase(Locale.ROOT);
+            String parametros = ponto < 0 ? "" : cabecalho.substring(ponto + 1);
+            return new Propriedade(nome, parametros, linha.substring(separador + 1).trim());
+        }
+
+        boolean isData() {
+            return "DATE".equalsIgnoreCase(parametro("VALUE")) || valor.length() == 8;
+        }
+
+        String parametro(String nome) {
+            for (String parametro : parametros.split(";")) {
+                int igual = parametro.indexOf('=');
+                if (igual > 0 && parametro.substring(0, igual).equalsIgnoreCase(nome)) {
+                    return parametro.substring(igual + 1).replace("\"", "");
+                }
+            }
+            return null;
+        }
+    }
+
+    private static LocalDateTime dataHora(Propriedade propriedade) {
+        try {
+            String valor = propriedade.valor;
+            if (propriedade.isData()) {
+                return LocalDate.parse(valor.substring(0, 8), DateTimeFormatter.BASIC_ISO_DATE).atStartOfDay();
+            }
+            if (valor.endsWith("Z")) {
+                return LocalDateTime.parse(valor.substring(0, valor.length() - 1), DATA_HORA)
+                        .atOffset(ZoneOffset.UTC)
+                        .atZoneSameInstant(ZoneId.systemDefault())
+                        .toLocalDateTime();
+            }
+            LocalDateTime local = LocalDateTime.parse(valor, DATA_HORA);
+            String tzid = propriedade.parametro("TZID");
+            if (tzid == null) {
+                return local;
+            }
+            try {
+                return local.atZone(ZoneId.of(tzid))
+                        .withZoneSameInstant(ZoneId.systemDefault())
+                        .toLocalDateTime();
+            } catch (DateTimeException e) {
+                return local;
+            }
+        } catch (DateTimeException | IndexOutOfBoundsException e) {
+            return null;
+        }
+    }
+
+    private static Duration duracao(String valor) {
+        try {
+            String normalizado = valor.startsWith("+") ? valor.substring(1) : valor;
+            if (normalizado.endsWith("W")) {
+                long semanas = Long.parseLong(normalizado.substring(1, normalizado.length() - 1));
+                return Duration.ofDays(semanas * 7);
+            }
+            return Duration.parse(normalizado);
+        } catch (DateTimeException | NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static TipoRecorrencia recorrencia(String regra) {
+        if (regra == null) {
+            return null;
+        }
+        for (String parte : regra.split(";")) {
+            if (parte.regionMatches(true, 0, "FREQ=", 0, 5)) {
+                return switch (parte.substring(5).toUpperCase(Locale.ROOT)) {
+                    case "DAILY" -> TipoRecorrencia.DIARIA;
+                    case "WEEKLY" -> TipoRecorrencia.SEMANAL;
+                    case "MONTHLY" -> TipoRecorrencia.MENSAL;
+                    case "YEARLY" -> TipoRecorrencia.ANUAL;
+                    default -> null;
+                };
+            }
+        }
+        return null;
+    }
+
+    // WKST só muda o resultado junto com INTERVAL ou BYDAY, que já são recusados
+    private static String recusaDaRegra(String regra, boolean excecoes) {
+        if (recorrencia(regra) == null) {
+            return "Recorrência não suportada: " + regra;
+        }
+        for (String parte : regra.split(";")) {
+            int igual = parte.indexOf('=');
+            String nome = (igual < 0 ? parte : parte.substring(0, igual)).toUpperCase(Locale.ROOT);
+            boolean suportada = switch (nome) {
+                case "FREQ", "WKST" -> true;
+                case "INTERVAL" -> parte.substring(igual + 1).equals("1");
+                default -> false;
+            };
+            if (!suportada) {
+                return "Recorrência não suportada: " + parte;
+            }
+        }
+        return excecoes ? "Recorrência com datas excluídas ou adicionais (EXDATE/RDATE) não suportada" : null;
+    }
+
+    private static String texto(String valor) {
+        if (valor.indexOf('\\') < 0) {
+            return valor;
+        }
+        StringBuilder texto = new StringBuilder(valor.length());
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            if (c == '\\' && i + 1 < valor.length()) {
+                char proximo = valor.charAt(++i);
+                texto.append(proximo == 'n' || proximo == 'N' ? '\n' : proximo);
+            } else {
+                texto.append(c);
+            }
+        }
+        return texto.toString();
+    }
+}
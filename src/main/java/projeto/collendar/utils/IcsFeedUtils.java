@@ -0,0 +1,235 @@
+package projeto.collendar.utils;
+
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import projeto.collendar.dtos.response.EventoResponseDTO;
+import projeto.collendar.enums.TipoRecorrencia;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.zone.ZoneOffsetTransitionRule;
+import java.time.zone.ZoneRules;
+import java.util.StringJoiner;
+import java.util.function.Consumer;
+
+/**
+ * Escrita de calendários no formato iCalendar (RFC 5545) à medida que os eventos são
+ * produzidos. Os horários são gravados na hora local do servidor, e é nela que
+ * {@link RecorrenciaUtils} expande as séries; em fuso com horário de verão eles saem com
+ * TZID e um VTIMEZONE com as regras do fuso, para que o cliente repita a série na mesma
+ * hora local depois de cada mudança. Em fuso de deslocamento fixo saem em UTC. Eventos
+ * de dia inteiro saem como VALUE=DATE com o DTEND exclusivo, o inverso do que o
+ * {@link IcsEventoParser} lê. Eventos recorrentes saem com RRULE em vez de ocorrências
+ * expandidas, reproduzindo o ajuste ao fim do mês de {@link RecorrenciaUtils} (31/01
+ * mensal cai em 28/02).
+ */
+public final class IcsFeedUtils {
+
+    private static final DateTimeFormatter UTC = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+    private static final DateTimeFormatter LOCAL = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final int LIMITE_LINHA = 75;
+
+    private IcsFeedUtils() {
+    }
+
+    /**
+     * O produtor roda na thread assíncrona do MVC, então deve abrir a própria transação,
+     * como em {@link JsonStreamUtils#array}. {@code revisao} vira o DTSTAMP de todos os
+     * eventos, mantendo o corpo estável enquanto o ETag do feed não muda.
+     */
+    public static StreamingResponseBody feed(String nome, LocalDateTime revisao,
+                                             Consumer<Consumer<EventoResponseDTO>> produtor) {
+        return feed(nome, revisao, ZoneId.systemDefault(), produtor);
+    }
+
+    static StreamingResponseBody feed(String nome, LocalDateTime revisao, ZoneId zona,
+                                      Consumer<Consumer<EventoResponseDTO>> produtor) {
+        boolean horaLocal = !zona.getRules().isFixedOffset();
+        return saida -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+            linha(writer, "BEGIN:VCALENDAR");
+            linha(writer, "VERSION:2.0");
+            linha(writer, "PRODID:-//Collendar//Collendar//PT");
+            linha(writer, "CALSCALE:GREGORIAN");
+            linha(writer, "METHOD:PUBLISH");
+            linha(writer, "X-WR-CALNAME:" + texto(nome));
+            if (horaLocal) {
+                fuso(writer, zona);
+            }
+            String dtstamp = utc(revisao, zona);
+            produtor.accept(evento -> {
+                try {
+                    evento(writer, evento, dtstamp, horaLocal ? zona : null, zona);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            linha(writer, "END:VCALENDAR");
+            writer.flush();
+        };
+    }
+
+    // Com fusoLocal os horários saem como TZID dele; sem, em UTC a partir da zona do servidor
+    private static void evento(Writer writer, EventoResponseDTO evento, String dtstamp, ZoneId fusoLocal,
+                               ZoneId zona) throws IOException {
+        linha(writer, "BEGIN:VEVENT");
+        linha(writer, "UID:" + evento.id() + "@collendar");
+        linha(writer, "DTSTAMP:" + dtstamp);
+
+        LocalDateTime inicio = evento.dataInicio();
+        if (Boolean.TRUE.equals(evento.diaInteiro())) {
+            linha(writer, "DTSTART;VALUE=DATE:" + inicio.toLocalDate().format(DateTimeFormatter.BASIC_ISO_DATE));
+            linha(writer, "DTEND;VALUE=DATE:"
+                    + evento.dataFim().toLocalDate().plusDays(1).format(DateTimeFormatter.BASIC_ISO_DATE));
+        } else if (fusoLocal != null) {
+            linha(writer, "DTSTART;TZID=" + fusoLocal.getId() + ":" + inicio.format(LOCAL));
+            linha(writer, "DTEND;TZID=" + fusoLocal.getId() + ":" + evento.dataFim().format(LOCAL));
+        } else {
+            linha(writer, "DTSTART:" + utc(inicio, zona));
+            linha(writer, "DTEND:" + utc(evento.dataFim(), zona));
+        }
+
+        linha(writer, "SUMMARY:" + texto(evento.titulo()));
+        if (evento.descricao() != null) {
+            linha(writer, "DESCRIPTION:" + texto(evento.descricao()));
+        }
+        if (evento.local() != null) {
+            linha(writer, "LOCATION:" + texto(evento.local()));
+        }
+        if (Boolean.TRUE.equals(evento.recorrente()) && evento.tipoRecorrencia() != null) {
+            LocalDate referencia = Boolean.TRUE.equals(evento.diaInteiro()) || fusoLocal != null
+                    ? inicio.toLocalDate()
+                    : emUtc(inicio, zona).toLocalDate();
+            linha(writer, "RRULE:" + regra(evento.tipoRecorrencia(), referencia));
+        }
+        linha(writer, "END:VEVENT");
+    }
+
+    static String regra(TipoRecorrencia tipo, LocalDate inicio) {
+        return switch (tipo) {
+            case DIARIA -> "FREQ=DAILY";
+            case SEMANAL -> "FREQ=WEEKLY";
+            case MENSAL -> inicio.getDayOfMonth() > 28
+                    ? "FREQ=MONTHLY;BYMONTHDAY=" + diasAte(inicio.getDayOfMonth()) + ";BYSETPOS=-1"
+                    : "FREQ=MONTHLY";
+            case ANUAL -> inicio.getMonthValue() == 2 && inicio.getDayOfMonth() == 29
+                    ? "FREQ=YEARLY;BYMONTH=2;BYMONTHDAY=28,29;BYSETPOS=-1"
+                    : "FREQ=YEARLY";
+        };
+    }
+
+    private static String diasAte(int dia) {
+        StringBuilder dias = new StringBuilder("28");
+        for (int d = 29; d <= dia; d++) {
+            dias.append(',').append(d);
+        }
+        return dias.toString();
+    }
+
+    /**
+     * VTIMEZONE com as regras atuais do fuso, uma STANDARD ou DAYLIGHT por transição anual.
+     * Fuso que deixou de ter horário de verão sai só com o deslocamento atual.
+     */
+    static void fuso(Writer writer, ZoneId zona) throws IOException {
+        ZoneRules regras = zona.getRules();
+        linha(writer, "BEGIN:VTIMEZONE");
+        linha(writer, "TZID:" + zona.getId());
+        if (regras.getTransitionRules().isEmpty()) {
+            ZoneOffset atual = regras.getOffset(Instant.now());
+            linha(writer, "BEGIN:STANDARD");
+            linha(writer, "DTSTART:19700101T000000");
+            linha(writer, "TZOFFSETFROM:" + deslocamento(atual));
+            linha(writer, "TZOFFSETTO:" + deslocamento(atual));
+            linha(writer, "END:STANDARD");
+        }
+        for (ZoneOffsetTransitionRule regra : regras.getTransitionRules()) {
+            String componente = regra.getOffsetAfter().equals(regra.getStandardOffset()) ? "STANDARD" : "DAYLIGHT";
+            linha(writer, "BEGIN:" + componente);
+            linha(writer, "DTSTART:" + regra.createTransition(1970).getDateTimeBefore().format(LOCAL));
+            linha(writer, "TZOFFSETFROM:" + deslocamento(regra.getOffsetBefore()));
+            linha(writer, "TZOFFSETTO:" + deslocamento(regra.getOffsetAfter()));
+            linha(writer, "RRULE:" + regraDaTransicao(regra));
+            linha(writer, "END:" + componente);
+        }
+        linha(writer, "END:VTIMEZONE");
+    }
+
+    // "Primeiro domingo a partir do dia 8" vira 2SU e "a partir do dia 25" de um mês de 31
+    // dias vira -1SU; os demais casos listam a janela de sete dias em que o dia cai
+    static String regraDaTransicao(ZoneOffsetTransitionRule regra) {
+        Month mes = regra.getMonth();
+        int dia = regra.getDayOfMonthIndicator();
+        String base = "FREQ=YEARLY;BYMONTH=" + mes.getValue();
+        if (regra.getDayOfWeek() == null) {
+            return base + ";BYMONTHDAY=" + dia;
+        }
+        String diaDaSemana = regra.getDayOfWeek().name().substring(0, 2);
+        if (dia == -1 || (mes != Month.FEBRUARY && dia + 6 == mes.maxLength())) {
+            return base + ";BYDAY=-1" + diaDaSemana;
+        }
+        if (dia > 0 && dia <= 22 && (dia - 1) % 7 == 0) {
+            return base + ";BYDAY=" + ((dia - 1) / 7 + 1) + diaDaSemana;
+        }
+        StringJoiner dias = new StringJoiner(",");
+        for (int d = 0; d < 7; d++) {
+            dias.add(String.valueOf(dia > 0 ? dia + d : dia - d));
+        }
+        return base + ";BYMONTHDAY=" + dias + ";BYDAY=" + diaDaSemana;
+    }
+
+    private static String deslocamento(ZoneOffset offset) {
+        int segundos = offset.getTotalSeconds();
+        int absoluto = Math.abs(segundos);
+        String valor = String.format("%s%02d%02d", segundos < 0 ? "-" : "+", absoluto / 3600, absoluto / 60 % 60);
+        return absoluto % 60 == 0 ? valor : valor + String.format("%02d", absoluto % 60);
+    }
+
+    private static LocalDateTime emUtc(LocalDateTime local, ZoneId zona) {
+        return local.atZone(zona).withZoneSameInstant(ZoneOffset.UTC).toLocalDateTime();
+    }
+
+    private static String utc(LocalDateTime local, ZoneId zona) {
+        return emUtc(local, zona).format(UTC);
+    }
+
+    private static String texto(String valor) {
+        StringBuilder texto = new StringBuilder(valor.length());
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            switch (c) {
+                case '\\', ';', ',' -> texto.append('\\').append(c);
+                case '\n' -> texto.append("\\n");
+                case '\r' -> { }
+                default -> texto.append(c);
+            }
+        }
+        return texto.toString();
+    }
+
+    // Dobra linhas em 75 octetos sem partir caracteres UTF-8 (RFC 5545, seção 3.1)
+    private static void linha(Writer writer, String conteudo) throws IOException {
+        int octetos = 0;
+        for (int i = 0; i < conteudo.length(); ) {
+            int codePoint = conteudo.codePointAt(i);
+            int tamanho = codePoint < 0x80 ? 1 : codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+            if (octetos + tamanho > LIMITE_LINHA) {
+                writer.write("\r\n ");
+                octetos = 1;
+            }
+            writer.write(conteudo, i, Character.charCount(codePoint));
+            octetos += tamanho;
+            i += Character.charCount(codePoint);
+        }
+        writer.write("\r\n");
+    }
+}
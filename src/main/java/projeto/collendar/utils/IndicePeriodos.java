@@ -0,0 +1,304 @@
+package projeto.collendar.utils;
+
+import projeto.collendar.dtos.response.EventoResponseDTO;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+/**
+ * Índice imutável dos eventos de um calendário para consultas por período. Os não
+ * recorrentes ficam ordenados por início em arrays paralelos de segundos de época e dos
+ * bits do id, com o maior fim de cada bloco de 64 posições: a consulta corta pelo início
+ * com busca binária e pula os blocos que terminam antes da janela. As séries recorrentes
+ * ficam à parte e são expandidas por quem consulta, como no caminho do banco.
+ * Alterações devolvem um novo índice que reaproveita os arrays da base e guarda só a
+ * diferença: posições removidas e eventos acrescentados, ordenados por início. A base só
+ * é reconstruída quando a diferença passa de um dezesseis avos dela, então uma escrita
+ * custa proporcional à diferença e não ao calendário. Leitores nunca veem um índice pela
+ * metade.
+ */
+public final class IndicePeriodos {
+
+    private static final int BLOCO = 64;
+    private static final int DIFERENCA_MINIMA = 64;
+    // Arrays paralelos, posição no array por id, referência ao DTO e cabeçalhos aproximados de objeto e String
+    private static final long BYTES_POR_EVENTO = 5 * Long.BYTES + Integer.BYTES + 8 + 64;
+    private static final long BYTES_POR_STRING = 40;
+    private static final int[] NENHUMA_POSICAO = new int[0];
+    private static final EventoResponseDTO[] NENHUM_EVENTO = new EventoResponseDTO[0];
+
+    private final Base base;
+    private final int[] removidos;
+    private final EventoResponseDTO[] acrescentados;
+    private final long[] iniciosAcrescentados;
+    private final long[] finsAcrescentados;
+    private final List<EventoResponseDTO> recorrentes;
+    private final long bytesEstimados;
+
+    private IndicePeriodos(Base base, int[] removidos, EventoResponseDTO[] acrescentados,
+                           List<EventoResponseDTO> recorrentes, long bytesEstimados) {
+        this.base = base;
+        this.removidos = removidos;
+        this.acrescentados = acrescentados;
+        this.iniciosAcrescentados = new long[acrescentados.length];
+        this.finsAcrescentados = new long[acrescentados.length];
+        for (int i = 0; i < acrescentados.length; i++) {
+            iniciosAcrescentados[i] = IntervalosUtils.segundos(acrescentados[i].dataInicio());
+            finsAcrescentados[i] = IntervalosUtils.segundos(acrescentados[i].dataFim());
+        }
+        this.recorrentes = recorrentes;
+        this.bytesEstimados = bytesEstimados;
+    }
+
+    public static IndicePeriodos of(List<EventoResponseDTO> eventos) {
+        List<EventoResponseDTO> naoRecorrentes = new ArrayList<>(eventos.size());
+        List<EventoResponseDTO> recorrentes = new ArrayList<>();
+        for (EventoResponseDTO evento : eventos) {
+            (isRecorrente(evento) ? recorrentes : naoRecorrentes).add(evento);
+        }
+        EventoResponseDTO[] ordenados = naoRecorrentes.toArray(EventoResponseDTO[]::new);
+        Arrays.sort(ordenados, Comparator.comparing(EventoResponseDTO::dataInicio));
+
+        Base base = new Base(ordenados);
+        long bytes = base.bytes;
+        for (EventoResponseDTO evento : recorrentes) {
+            bytes += BYTES_POR_EVENTO + bytes(evento);
+        }
+        return new IndicePeriodos(base, NENHUMA_POSICAO, NENHUM_EVENTO, List.copyOf(recorrentes), bytes);
+    }
+
+    /**
+     * Não recorrentes que sobrepõem o intervalo fechado [inicio, fim], em ordem de início.
+     */
+    public void forEachSobreposto(LocalDateTime inicio, LocalDateTime fim, Consumer<EventoResponseDTO> consumidor) {
+        long de = IntervalosUtils.segundos(inicio);
+        long ate = IntervalosUtils.segundos(fim);
+        int limite = primeiroInicioApos(base.inicios, ate);
+        int acrescentado = 0;
+
+        for (int bloco = 0; bloco * BLOCO < limite; bloco++) {
+            if (base.maiorFimDoBloco[bloco] < de) {
+                continue;
+            }
+            int fimDoBloco = Math.min(limite, (bloco + 1) * BLOCO);
+            for (int i = bloco * BLOCO; i < fimDoBloco; i++) {
+                if (base.fins[i] >= de && !removido(i)) {
+                    acrescentado = acrescentadosAte(acrescentado, base.inicios[i], de, consumidor);
+                    consumidor.accept(base.eventos[i]);
+                }
+            }
+        }
+        acrescentadosAte(acrescentado, ate, de, consumidor);
+    }
+
+    // Intercala os acrescentados que começam até o início informado, a partir da posição dada
+    private int acrescentadosAte(int posicao, long inicio, long de, Consumer<EventoResponseDTO> consumidor) {
+        while (posicao < acrescentados.length && iniciosAcrescentados[posicao] <= inicio) {
+            if (finsAcrescentados[posicao] >= de) {
+                consumidor.accept(acrescentados[posicao]);
+            }
+            posicao++;
+        }
+        return posicao;
+    }
+
+    public List<EventoResponseDTO> recorrentesIniciadosAte(LocalDateTime fim) {
+        return recorrentes.stream()
+                .filter(evento -> !evento.dataInicio().isAfter(fim))
+                .toList();
+    }
+
+    /**
+     * Novo índice com o evento inserido, ou substituído se o id já estiver indexado.
+     */
+    public IndicePeriodos com(EventoResponseDTO evento) {
+        IndicePeriodos anterior = sem(evento.id());
+        long bytes = anterior.bytesEstimados + BYTES_POR_EVENTO + bytes(evento);
+        if (isRecorrente(evento)) {
+            List<EventoResponseDTO> recorrentes = new ArrayList<>(anterior.recorrentes);
+            recorrentes.add(evento);
+            return new IndicePeriodos(anterior.base, anterior.removidos, anterior.acrescentados,
+                    List.copyOf(recorrentes), bytes);
+        }
+
+        int posicao = primeiroInicioApos(anterior.iniciosAcrescentados, IntervalosUtils.segundos(evento.dataInicio()));
+        EventoResponseDTO[] acrescentados = new EventoResponseDTO[anterior.acrescentados.length + 1];
+        System.arraycopy(anterior.acrescentados, 0, acrescentados, 0, posicao);
+        acrescentados[posicao] = evento;
+        System.arraycopy(anterior.acrescentados, posicao, acrescentados, posicao + 1,
+                anterior.acrescentados.length - posicao);
+        return new IndicePeriodos(anterior.base, anterior.removidos, acrescentados, anterior.recorrentes, bytes)
+                .compactado();
+    }
+
+    public IndicePeriodos sem(UUID id) {
+        for (int i = 0; i < acrescentados.length; i++) {
+            if (acrescentados[i].id().equals(id)) {
+                EventoResponseDTO[] restantes = new EventoResponseDTO[acrescentados.length - 1];
+                System.arraycopy(acrescentados, 0, restantes, 0, i);
+                System.arraycopy(acrescentados, i + 1, restantes, i, acrescentados.length - i - 1);
+                return new IndicePeriodos(base, removidos, restantes, recorrentes,
+                        bytesEstimados - BYTES_POR_EVENTO - bytes(acrescentados[i]));
+            }
+        }
+
+        int posicao = base.posicao(id);
+        if (posicao >= 0) {
+            int insercao = Arrays.binarySearch(removidos, posicao);
+            if (insercao < 0) {
+                insercao = -insercao - 1;
+                int[] novos = new int[removidos.length + 1];
+                System.arraycopy(removidos, 0, novos, 0, insercao);
+                novos[insercao] = posicao;
+                System.arraycopy(removidos, insercao, novos, insercao + 1, removidos.length - insercao);
+                return new IndicePeriodos(base, novos, acrescentados, recorrentes,
+                        bytesEstimados - BYTES_POR_EVENTO - bytes(base.eventos[posicao])).compactado();
+            }
+        }
+
+        for (EventoResponseDTO evento : recorrentes) {
+            if (evento.id().equals(id)) {
+                return new IndicePeriodos(base, removidos, acrescentados, recorrentes.stream()
+                        .filter(e -> !e.id().equals(id))
+                        .toList(), bytesEstimados - BYTES_POR_EVENTO - bytes(evento));
+            }
+        }
+        return this;
+    }
+
+    public int tamanho() {
+        return base.eventos.length - removidos.length + acrescentados.length + recorrentes.size();
+    }
+
+    public long bytesEstimados() {
+        return bytesEstimados;
+    }
+
+    // Mesmo critério das consultas: só é expandido quem é recorrente e tem tipo
+    private static boolean isRecorrente(EventoResponseDTO evento) {
+        return Boolean.TRUE.equals(evento.recorrente()) && evento.tipoRecorrencia() != null;
+    }
+
+    private boolean removido(int posicao) {
+        return removidos.length > 0 && Arrays.binarySearch(removidos, posicao) >= 0;
+    }
+
+    // Intercala base e acrescentados, já ordenados por início, em uma nova base sem diferença
+    private IndicePeriodos compactado() {
+        if (removidos.length + acrescentados.length <= Math.max(DIFERENCA_MINIMA, base.eventos.length / 16)) {
+            return this;
+        }
+        EventoResponseDTO[] ordenados =
+                new EventoResponseDTO[base.eventos.length - removidos.length + acrescentados.length];
+        int b = 0;
+        int a = 0;
+        int r = 0;
+        for (int i = 0; i < ordenados.length; i++) {
+            while (r < removidos.length && removidos[r] == b) {
+                b++;
+                r++;
+            }
+            if (a < acrescentados.length
+                    && (b == base.eventos.length || iniciosAcrescentados[a] < base.inicios[b])) {
+                ordenados[i] = acrescentados[a++];
+            } else {
+                ordenados[i] = base.eventos[b++];
+            }
+        }
+        return new IndicePeriodos(new Base(ordenados), NENHUMA_POSICAO, NENHUM_EVENTO, recorrentes, bytesEstimados);
+    }
+
+    private static int primeiroInicioApos(long[] inicios, long segundos) {
+        int baixo = 0;
+        int alto = inicios.length;
+        while (baixo < alto) {
+            int meio = (baixo + alto) >>> 1;
+            if (inicios[meio] <= segundos) {
+                baixo = meio + 1;
+            } else {
+                alto = meio;
+            }
+        }
+        return baixo;
+    }
+
+    private static long bytes(EventoResponseDTO evento) {
+        return bytes(evento.titulo()) + bytes(evento.descricao()) + bytes(evento.local()) + bytes(evento.cor());
+    }
+
+    private static long bytes(String valor) {
+        return valor == null ? 0 : BYTES_POR_STRING + valor.length();
+    }
+
+    /**
+     * Arrays paralelos dos não recorrentes, ordenados por início, e as posições ordenadas
+     * pelo id para localizar um evento por busca binária.
+     */
+    private static final class Base {
+
+        final EventoResponseDTO[] eventos;
+        final long[] inicios;
+        final long[] fins;
+        final long[] idsAltos;
+        final long[] idsBaixos;
+        final int[] porId;
+        final long[] maiorFimDoBloco;
+        final long bytes;
+
+        Base(EventoResponseDTO[] ordenados) {
+            int total = ordenados.length;
+            this.eventos = ordenados;
+            this.inicios = new long[total];
+            this.fins = new long[total];
+            this.idsAltos = new long[total];
+            this.idsBaixos = new long[total];
+            this.maiorFimDoBloco = new long[(total + BLOCO - 1) / BLOCO];
+            Arrays.fill(maiorFimDoBloco, Long.MIN_VALUE);
+
+            long bytes = 0;
+            for (int i = 0; i < total; i++) {
+                EventoResponseDTO evento = ordenados[i];
+                inicios[i] = IntervalosUtils.segundos(evento.dataInicio());
+                fins[i] = IntervalosUtils.segundos(evento.dataFim());
+                idsAltos[i] = evento.id().getMostSignificantBits();
+                idsBaixos[i] = evento.id().getLeastSignificantBits();
+                maiorFimDoBloco[i / BLOCO] = Math.max(maiorFimDoBloco[i / BLOCO], fins[i]);
+                bytes += BYTES_POR_EVENTO + IndicePeriodos.bytes(evento);
+            }
+            this.bytes = bytes;
+            this.porId = IntStream.range(0, total).boxed()
+                    .sorted(Comparator.<Integer>comparingLong(i -> idsAltos[i]).thenComparingLong(i -> idsBaixos[i]))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+        }
+
+        int posicao(UUID id) {
+            long alto = id.getMostSignificantBits();
+            long baixo = id.getLeastSignificantBits();
+            int de = 0;
+            int ate = porId.length - 1;
+            while (de <= ate) {
+                int meio = (de + ate) >>> 1;
+                int posicao = porId[meio];
+                int comparacao = idsAltos[posicao] != alto
+                        ? Long.compare(idsAltos[posicao], alto)
+                        : Long.compare(idsBaixos[posicao], baixo);
+                if (comparacao == 0) {
+                    return posicao;
+                }
+                if (comparacao < 0) {
+                    de = meio + 1;
+                } else {
+                    ate = meio - 1;
+                }
+            }
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package projeto.collendar.utils;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * União de intervalos fechados guardados como segundos de época em arrays de long,
+ * sem um objeto por intervalo. Os horários são locais, como no banco; o deslocamento
+ * UTC serve só para convertê-los em números comparáveis.
+ */
+public final class IntervalosUtils {
+
+    private IntervalosUtils() {
+    }
+
+    public static long segundos(LocalDateTime momento) {
+        return momento.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    public static LocalDateTime momento(long segundos) {
+        return LocalDateTime.ofEpochSecond(segundos, 0, ZoneOffset.UTC);
+    }
+
+    /**
+     * Varredura sobre inícios e fins ordenados separadamente: um contador de intervalos
+     * abertos sobe a cada início e desce a cada fim, e cada vez que volta a zero fecha um
+     * bloco. Inícios vêm antes de fins no mesmo instante, então intervalos que se tocam
+     * são unidos. Os arrays são ordenados no lugar. Devolve os blocos em pares
+     * (início, fim) consecutivos, em ordem cronológica.
+     */
+    public static long[] unir(long[] inicios, long[] fins, int total) {
+        Arrays.sort(inicios, 0, total);
+        Arrays.sort(fins, 0, total);
+
+        long[] blocos = new long[2 * total];
+        int quantidade = 0;
+        int abertos = 0;
+        int f = 0;
+        long blocoInicio = 0;
+        // O k-ésimo menor fim nunca é anterior ao k-ésimo menor início, então um fim só é
+        // consumido com algum intervalo aberto
+        for (int i = 0; i < total; ) {
+            if (inicios[i] <= fins[f]) {
+                if (abertos++ == 0) {
+                    blocoInicio = inicios[i];
+                }
+                i++;
+            } else {
+                if (--abertos == 0) {
+                    blocos[quantidade++] = blocoInicio;
+                    blocos[quantidade++] = fins[f];
+                }
+                f++;
+            }
+        }
+        if (total > 0) {
+            blocos[quantidade++] = blocoInicio;
+            blocos[quantidade++] = fins[total - 1];
+        }
+        return Arrays.copyOf(blocos, quantidade);
+    }
+
+    /**
+     * Acumula intervalos recortados a uma janela, crescendo os arrays conforme a necessidade.
+     */
+    public static final class Acumulador {
+
+        private final long janelaInicio;
+        private final long janelaFim;
+        private long[] inicios = new long[64];
+        private long[] fins = new long[64];
+        private int total;
+
+        public Acumulador(LocalDateTime janelaInicio, LocalDateTime janelaFim) {
+            this.janelaInicio = segundos(janelaInicio);
+            this.janelaFim = segundos(janelaFim);
+        }
+
+        public void adicionar(LocalDateTime inicio, LocalDateTime fim) {
+            long i = Math.max(segundos(inicio), janelaInicio);
+            long f = Math.min(segundos(fim), janelaFim);
+            if (i > f) {
+                return;
+            }
+            if (total == inicios.length) {
+                inicios = Arrays.copyOf(inicios, total * 2);
+                fins = Arrays.copyOf(fins, total * 2);
+            }
+            inicios[total] = i;
+            fins[total++] = f;
+        }
+
+        public long[] unir() {
+            return IntervalosUtils.unir(inicios, fins, total);
+        }
+    }
+}
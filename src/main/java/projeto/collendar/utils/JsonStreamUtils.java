@@ -0,0 +1,42 @@
+package projeto.collendar.utils;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Serializa uma lista como array JSON à medida que os itens são produzidos, sem
+ * materializá-la. O produtor roda na thread assíncrona do MVC, então deve abrir a
+ * própria transação (os métodos stream* dos serviços já são transacionais).
+ */
+@Component
+@RequiredArgsConstructor
+public class JsonStreamUtils {
+
+    private final ObjectMapper objectMapper;
+
+    public <T> StreamingResponseBody array(Consumer<Consumer<T>> produtor) {
+        return saida -> {
+            try (JsonGenerator gerador = objectMapper.getFactory().createGenerator(saida)) {
+                gerador.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                gerador.writeStartArray();
+                produtor.accept(item -> escrever(gerador, item));
+                gerador.writeEndArray();
+            }
+        };
+    }
+
+    private static void escrever(JsonGenerator gerador, Object item) {
+        try {
+            gerador.writeObject(item);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
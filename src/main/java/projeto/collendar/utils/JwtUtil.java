@@ -1,56 +1,149 @@
 package projeto.collendar.utils;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
+import projeto.collendar.config.UsuarioAutenticado;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Component
 public class JwtUtil {
 
-    private final SecretKey key = Keys.secretKeyFor(SignatureAlgorithm.HS256);
+    private static final String CLAIM_USUARIO_ID = "uid";
+    private static final String CLAIM_ROLES = "roles";
+
+    private final SecretKey key;
+    private final JwtParser parser;
+    private final Cache<String, Claims> tokensVerificados;
+
+    @Autowired
+    public JwtUtil(@Value("${collendar.jwt.cache.tamanho-maximo:10000}") long tamanhoMaximoCache) {
+        this(Keys.secretKeyFor(SignatureAlgorithm.HS256), tamanhoMaximoCache);
+    }
+
+    JwtUtil(SecretKey key, long tamanhoMaximoCache) {
+        this.key = key;
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
+        this.tokensVerificados = tamanhoMaximoCache > 0
+                ? Caffeine.newBuilder()
+                        .maximumSize(tamanhoMaximoCache)
+                        .expireAfter(new ExpiraComToken())
+                        .build()
+                : null;
+    }
 
     public String generateToken(UserDetails userDetails) {
-        return Jwts.builder()
+        var builder = Jwts.builder()
                 .setSubject(userDetails.getUsername())
-                .claim("roles", userDetails.getAuthorities().stream()
+                .claim(CLAIM_ROLES, userDetails.getAuthorities().stream()
                         .map(GrantedAuthority::getAuthority)
                         .collect(Collectors.toList()))
                 .setIssuedAt(new Date())
-                .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60)) // 1 hora
-                .signWith(key)
-                .compact();
+                .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60)); // 1 hora
+
+        if (userDetails instanceof UsuarioAutenticado usuario) {
+            builder.claim(CLAIM_USUARIO_ID, usuario.id().toString());
+        }
+
+        return builder.signWith(key).compact();
+    }
+
+    /**
+     * Verifica assinatura e expiração uma única vez e devolve os claims.
+     * Tokens inválidos, adulterados ou expirados resultam em Optional vazio.
+     */
+    public Optional<Claims> validateToken(String token) {
+        if (tokensVerificados == null) {
+            return parse(token);
+        }
+
+        String digest = digest(token);
+        Claims claims = tokensVerificados.getIfPresent(digest);
+        if (claims != null) {
+            return Optional.of(claims);
+        }
+
+        Optional<Claims> verificado = parse(token);
+        verificado.ifPresent(c -> tokensVerificados.put(digest, c));
+        return verificado;
     }
 
-    public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+    // Tokens emitidos antes do claim "uid" não carregam o id e retornam null
+    public UsuarioAutenticado extractPrincipal(Claims claims) {
+        String usuarioId = claims.get(CLAIM_USUARIO_ID, String.class);
+        if (usuarioId == null) {
+            return null;
+        }
+
+        List<?> roles = claims.get(CLAIM_ROLES, List.class);
+        List<GrantedAuthority> authorities = roles == null ? List.of() : roles.stream()
+                .map(role -> (GrantedAuthority) new SimpleGrantedAuthority(role.toString()))
+                .toList();
+
+        return new UsuarioAutenticado(UUID.fromString(usuarioId), null, claims.getSubject(), null, authorities);
     }
 
+    private Optional<Claims> parse(String token) {
+        try {
+            return Optional.of(parser.parseClaimsJws(token).getBody());
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
 
-    public String extractUsername(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 
+    // Cada entrada vive apenas até o "exp" do próprio token
+    private static class ExpiraComToken implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String digest, Claims claims, long currentTime) {
+            Date expiracao = claims.getExpiration();
+            if (expiracao == null) {
+                return 0;
+            }
+            long restante = expiracao.getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(restante, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String digest, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
 
-    private boolean isTokenExpired(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getExpiration()
-                .before(new Date());
+        @Override
+        public long expireAfterRead(String digest, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
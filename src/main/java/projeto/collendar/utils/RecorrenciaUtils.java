@@ -0,0 +1,68 @@
+package projeto.collendar.utils;
+
+import projeto.collendar.enums.TipoRecorrencia;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * Expansão de eventos recorrentes em ocorrências concretas dentro de uma janela.
+ * O primeiro índice de ocorrência é calculado aritmeticamente, então os períodos
+ * anteriores à janela são pulados sem iteração nem alocação.
+ */
+public final class RecorrenciaUtils {
+
+    private RecorrenciaUtils() {
+    }
+
+    /**
+     * Entrega ao consumidor cada ocorrência (início, fim) que sobrepõe a janela
+     * [janelaInicio, janelaFim], em ordem cronológica. As ocorrências são sempre
+     * calculadas a partir da data original para evitar deriva em meses curtos
+     * (31/01 mensal gera 28/02 e volta a 31/03).
+     */
+    public static void forEachOcorrencia(LocalDateTime inicio, LocalDateTime fim, TipoRecorrencia tipo,
+                                         LocalDateTime janelaInicio, LocalDateTime janelaFim,
+                                         BiConsumer<LocalDateTime, LocalDateTime> consumidor) {
+        if (janelaFim.isBefore(janelaInicio) || inicio.isAfter(janelaFim)) {
+            return;
+        }
+
+        Duration duracao = Duration.between(inicio, fim);
+        long indice = primeiroIndice(inicio, tipo, janelaInicio.minus(duracao));
+
+        while (true) {
+            LocalDateTime ocorrenciaInicio = avancar(inicio, tipo, indice++);
+            if (ocorrenciaInicio.isAfter(janelaFim)) {
+                return;
+            }
+            LocalDateTime ocorrenciaFim = ocorrenciaInicio.plus(duracao);
+            if (!ocorrenciaFim.isBefore(janelaInicio)) {
+                consumidor.accept(ocorrenciaInicio, ocorrenciaFim);
+            }
+        }
+    }
+
+    private static long primeiroIndice(LocalDateTime inicio, TipoRecorrencia tipo, LocalDateTime alvo) {
+        if (!inicio.isBefore(alvo)) {
+            return 0;
+        }
+        return switch (tipo) {
+            case DIARIA -> ChronoUnit.DAYS.between(inicio, alvo);
+            case SEMANAL -> ChronoUnit.WEEKS.between(inicio, alvo);
+            case MENSAL -> ChronoUnit.MONTHS.between(inicio, alvo);
+            case ANUAL -> ChronoUnit.YEARS.between(inicio, alvo);
+        };
+    }
+
+    private static LocalDateTime avancar(LocalDateTime inicio, TipoRecorrencia tipo, long indice) {
+        return switch (tipo) {
+            case DIARIA -> inicio.plusDays(indice);
+            case SEMANAL -> inicio.plusWeeks(indice);
+            case MENSAL -> inicio.plusMonths(indice);
+            case ANUAL -> inicio.plusYears(indice);
+        };
+    }
+}
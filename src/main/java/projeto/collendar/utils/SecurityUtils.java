@@ -4,6 +4,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
+import projeto.collendar.config.UsuarioAutenticado;
 import projeto.collendar.exception.AccessDeniedException;
 import projeto.collendar.model.Usuario;
 import projeto.collendar.repository.UsuarioRepository;
@@ -31,6 +32,10 @@ public class SecurityUtils {
     }
 
     public UUID getLoggedUserId() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getPrincipal() instanceof UsuarioAutenticado usuario) {
+            return usuario.id();
+        }
         return getLoggedUser().getId();
     }
 
@@ -0,0 +1,39 @@
+package projeto.collendar.utils;
+
+import projeto.collendar.exception.BusinessException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Token de sincronização: a versão do calendário até a qual o cliente já recebeu as
+ * alterações, junto do id do calendário para que não seja reaproveitado em outro.
+ * Codificado em Base64 URL-safe; o cliente deve tratá-lo como opaco.
+ */
+public final class SincronizacaoUtils {
+
+    private static final char SEPARADOR = '|';
+
+    private SincronizacaoUtils() {
+    }
+
+    public static String encode(UUID calendarioId, long versao) {
+        String bruto = calendarioId.toString() + SEPARADOR + versao;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bruto.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static long decode(String token, UUID calendarioId) {
+        try {
+            String bruto = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separador = bruto.indexOf(SEPARADOR);
+            long versao = Long.parseLong(bruto.substring(separador + 1));
+            if (!calendarioId.equals(UUID.fromString(bruto.substring(0, separador))) || versao < 0) {
+                throw new BusinessException("Token de sincronização inválido");
+            }
+            return versao;
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new BusinessException("Token de sincronização inválido");
+        }
+    }
+}
@@ -0,0 +1,7 @@
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+ALTER TABLE eventos
+ADD CONSTRAINT ck_eventos_periodo CHECK (data_fim >= data_inicio);
+
+CREATE INDEX idx_eventos_calendario_periodo
+ON eventos USING gist (calendario_id, tsrange(data_inicio, data_fim, '[]'));
@@ -0,0 +1,23 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX idx_eventos_calendario_data
+ON eventos (calendario_id, data_inicio, data_fim);
+
+CREATE INDEX idx_eventos_calendario_recorrentes
+ON eventos (calendario_id, data_inicio)
+WHERE recorrente;
+
+CREATE INDEX idx_eventos_data_inicio
+ON eventos (data_inicio);
+
+CREATE INDEX idx_eventos_titulo_trgm
+ON eventos USING gin (UPPER(titulo) gin_trgm_ops);
+
+CREATE INDEX idx_calendarios_usuario
+ON calendarios (usuario_id, created_at);
+
+CREATE INDEX idx_calendarios_nome_trgm
+ON calendarios USING gin (UPPER(nome) gin_trgm_ops);
+
+CREATE INDEX idx_compartilhamentos_usuario
+ON compartilhamentos (usuario_id);
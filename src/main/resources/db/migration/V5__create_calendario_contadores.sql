@@ -0,0 +1,11 @@
+CREATE TABLE calendario_contadores (
+calendario_id UUID PRIMARY KEY,
+total_eventos BIGINT DEFAULT 0 NOT NULL,
+FOREIGN KEY (calendario_id) REFERENCES calendarios (id) ON DELETE CASCADE
+);
+
+INSERT INTO calendario_contadores (calendario_id, total_eventos)
+SELECT c.id, COUNT(e.id)
+FROM calendarios c
+LEFT JOIN eventos e ON e.calendario_id = c.id
+GROUP BY c.id;
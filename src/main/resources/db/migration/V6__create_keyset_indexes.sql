@@ -0,0 +1,5 @@
+CREATE INDEX idx_eventos_calendario_keyset
+ON eventos (calendario_id, data_inicio, id);
+
+CREATE INDEX idx_calendarios_usuario_keyset
+ON calendarios (usuario_id, created_at, id);
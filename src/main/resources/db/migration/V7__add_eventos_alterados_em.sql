@@ -0,0 +1,6 @@
+ALTER TABLE calendario_contadores ADD COLUMN eventos_alterados_em TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL;
+
+UPDATE calendario_contadores ct
+SET eventos_alterados_em = COALESCE(
+        (SELECT MAX(e.updated_at) FROM eventos e WHERE e.calendario_id = ct.calendario_id),
+        (SELECT c.updated_at FROM calendarios c WHERE c.id = ct.calendario_id));
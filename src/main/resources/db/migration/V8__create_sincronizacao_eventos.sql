@@ -0,0 +1,29 @@
+ALTER TABLE calendario_contadores ADD COLUMN versao BIGINT DEFAULT 0 NOT NULL;
+
+ALTER TABLE eventos ADD COLUMN versao BIGINT;
+
+UPDATE eventos e
+SET versao = v.versao
+FROM (SELECT id, ROW_NUMBER() OVER (PARTITION BY calendario_id ORDER BY updated_at, id) AS versao
+      FROM eventos) v
+WHERE v.id = e.id;
+
+UPDATE calendario_contadores ct
+SET versao = (SELECT COUNT(*) FROM eventos e WHERE e.calendario_id = ct.calendario_id);
+
+ALTER TABLE eventos ALTER COLUMN versao SET NOT NULL;
+
+CREATE INDEX idx_eventos_calendario_versao
+ON eventos (calendario_id, versao);
+
+CREATE TABLE eventos_removidos (
+id UUID PRIMARY KEY,
+evento_id UUID NOT NULL,
+calendario_id UUID NOT NULL,
+versao BIGINT NOT NULL,
+removido_em TIMESTAMP,
+FOREIGN KEY (calendario_id) REFERENCES calendarios (id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_eventos_removidos_calendario_versao
+ON eventos_removidos (calendario_id, versao);
@@ -0,0 +1,57 @@
+package projeto.collendar;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestComponent;
+import projeto.collendar.dtos.request.CalendarioRequestDTO;
+import projeto.collendar.dtos.request.EventoRequestDTO;
+import projeto.collendar.enums.TipoRecorrencia;
+import projeto.collendar.model.Usuario;
+import projeto.collendar.repository.UsuarioRepository;
+import projeto.collendar.service.CalendarioService;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Dados de partida dos testes contra o H2: usuário com email único por chamada, já que o
+ * banco é compartilhado entre as classes de teste, e calendário criado pelo serviço, com
+ * a linha de contador que a aplicação cria junto. Entra no contexto com @Import.
+ */
+@TestComponent
+public class DadosTeste {
+
+    @Autowired
+    UsuarioRepository usuarioRepository;
+
+    @Autowired
+    CalendarioService calendarioService;
+
+    public Usuario usuario(String nome) {
+        Usuario usuario = new Usuario();
+        usuario.setNome(nome);
+        usuario.setEmail("teste-" + System.nanoTime() + "@email.com");
+        usuario.setSenha("senha");
+        return usuarioRepository.save(usuario);
+    }
+
+    public UUID calendario(Usuario usuario, String nome) {
+        return calendarioService.create(new CalendarioRequestDTO(nome, null, "#FFFFFF"), usuario.getId()).id();
+    }
+
+    /**
+     * Calendário de um usuário novo, para testes que não precisam do proprietário.
+     */
+    public UUID calendario(String nome) {
+        return calendario(usuario(nome), nome);
+    }
+
+    public static EventoRequestDTO evento(UUID calendarioId, String titulo, LocalDateTime inicio, LocalDateTime fim) {
+        return evento(calendarioId, titulo, inicio, fim, null);
+    }
+
+    public static EventoRequestDTO evento(UUID calendarioId, String titulo, LocalDateTime inicio, LocalDateTime fim,
+                                          TipoRecorrencia recorrencia) {
+        return new EventoRequestDTO(titulo, null, inicio, fim,
+                null, null, null, recorrencia != null, recorrencia, calendarioId);
+    }
+}
@@ -0,0 +1,148 @@
+package projeto.collendar.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import projeto.collendar.model.Role;
+import projeto.collendar.model.Usuario;
+import projeto.collendar.repository.RoleRepository;
+import projeto.collendar.repository.UsuarioRepository;
+import projeto.collendar.utils.JwtUtil;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Mede quantos comandos SQL o login e uma requisição autenticada executam, comparando
+ * o token atual (com o id do usuário) com tokens antigos que dependem de buscas no banco.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class AutenticacaoQueryCountTest {
+
+    private static final String EMAIL = "contagem@email.com";
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    JwtUtil jwtUtil;
+
+    @Autowired
+    UsuarioRepository usuarioRepository;
+
+    @Autowired
+    RoleRepository roleRepository;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    PasswordEncoder passwordEncoder;
+
+    Usuario usuario;
+    Statistics statistics;
+
+    @BeforeEach
+    void setup() {
+        usuario = usuarioRepository.findByEmail(EMAIL).orElseGet(() -> {
+            Role role = roleRepository.findByNome("USER").orElseGet(() -> {
+                Role nova = new Role();
+                nova.setNome("USER");
+                return roleRepository.save(nova);
+            });
+
+            Usuario novo = new Usuario();
+            novo.setNome("Contagem");
+            novo.setEmail(EMAIL);
+            novo.setSenha(passwordEncoder.encode("senha"));
+            novo.setRoles(Set.of(role));
+            return usuarioRepository.save(novo);
+        });
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private long comandosPorRequisicao(String token) throws Exception {
+        statistics.clear();
+
+        mockMvc.perform(get("/calendarios/meus").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Nested
+    class Dado_um_login_com_credenciais_validas {
+
+        @Test
+        void deve_resolver_usuario_e_roles_em_uma_unica_consulta() throws Exception {
+            statistics.clear();
+
+            mockMvc.perform(post("/auth/login")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"email\":\"" + EMAIL + "\",\"senha\":\"senha\"}"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.usuarioId").value(usuario.getId().toString()))
+                    .andExpect(jsonPath("$.nome").value("Contagem"))
+                    .andExpect(jsonPath("$.roles[0]").value("USER"));
+
+            assertEquals(1, statistics.getPrepareStatementCount());
+        }
+    }
+
+    @Nested
+    class Dado_um_token_com_id_do_usuario {
+
+        @Test
+        void deve_executar_apenas_a_consulta_do_endpoint() throws Exception {
+            String token = jwtUtil.generateToken(new UsuarioAutenticado(
+                    usuario.getId(), null, EMAIL, null, List.of(() -> "ROLE_USER")));
+
+            long comandos = comandosPorRequisicao(token);
+
+            assertEquals(1, comandos);
+            assertEquals(0, statistics.getEntityStatistics(Usuario.class.getName()).getLoadCount());
+        }
+    }
+
+    @Nested
+    class Dado_um_token_emitido_antes_do_id_do_usuario {
+
+        @Test
+        void deve_continuar_autenticando_com_buscas_no_banco() throws Exception {
+            String tokenAntigo = jwtUtil.generateToken(
+                    User.withUsername(EMAIL).password("senha").roles("USER").build());
+            String tokenAtual = jwtUtil.generateToken(new UsuarioAutenticado(
+                    usuario.getId(), null, EMAIL, null, List.of(() -> "ROLE_USER")));
+
+            long comandosAntigo = comandosPorRequisicao(tokenAntigo);
+            long comandosAtual = comandosPorRequisicao(tokenAtual);
+
+            assertTrue(comandosAntigo > comandosAtual,
+                    () -> "Token antigo: " + comandosAntigo + " comandos, token atual: " + comandosAtual);
+        }
+    }
+}
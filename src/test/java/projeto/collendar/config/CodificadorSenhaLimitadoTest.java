@@ -0,0 +1,118 @@
+package projeto.collendar.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import projeto.collendar.exception.SobrecargaException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class CodificadorSenhaLimitadoTest {
+
+    SimpleMeterRegistry registry;
+    CodificadorSenhaLimitado codificador;
+
+    @BeforeEach
+    void setup() {
+        registry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void teardown() {
+        codificador.close();
+    }
+
+    @Nested
+    class Dado_um_pool_com_folga {
+
+        @BeforeEach
+        void setup() {
+            codificador = new CodificadorSenhaLimitado(new BCryptPasswordEncoder(4), 2, 10, registry);
+        }
+
+        @Test
+        void deve_codificar_e_conferir_com_bcrypt() {
+            String hash = codificador.encode("senha123");
+
+            assertTrue(hash.startsWith("$2a$04$"));
+            assertTrue(codificador.matches("senha123", hash));
+            assertFalse(codificador.matches("outra", hash));
+        }
+
+        @Test
+        void deve_registrar_latencia_por_operacao() {
+            String hash = codificador.encode("senha123");
+            codificador.matches("senha123", hash);
+
+            assertEquals(1, registry.get("collendar.senha.hash").tag("operacao", "encode").timer().count());
+            assertEquals(1, registry.get("collendar.senha.hash").tag("operacao", "matches").timer().count());
+        }
+
+        @Test
+        void deve_publicar_profundidade_da_fila_do_executor() {
+            assertEquals(0, registry.get("executor.queued").tag("name", "hash-senha").gauge().value());
+        }
+    }
+
+    @Nested
+    class Dado_um_pool_saturado {
+
+        CountDownLatch iniciado;
+        CountDownLatch liberar;
+
+        @BeforeEach
+        void setup() {
+            iniciado = new CountDownLatch(1);
+            liberar = new CountDownLatch(1);
+
+            PasswordEncoder lento = new PasswordEncoder() {
+                @Override
+                public String encode(CharSequence rawPassword) {
+                    iniciado.countDown();
+                    try {
+                        liberar.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return "hash";
+                }
+
+                @Override
+                public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                    return true;
+                }
+            };
+
+            codificador = new CodificadorSenhaLimitado(lento, 1, 1, registry);
+        }
+
+        @Test
+        void deve_recusar_imediatamente_quando_a_fila_esta_cheia() throws Exception {
+            CompletableFuture<String> emExecucao = CompletableFuture.supplyAsync(() -> codificador.encode("a"));
+            assertTrue(iniciado.await(5, TimeUnit.SECONDS));
+
+            CompletableFuture<Boolean> naFila = CompletableFuture.supplyAsync(() -> codificador.matches("b", "hash"));
+            while (registry.get("executor.queued").tag("name", "hash-senha").gauge().value() < 1) {
+                Thread.onSpinWait();
+            }
+
+            assertThrows(SobrecargaException.class, () -> codificador.encode("c"));
+            assertEquals(1, registry.get("collendar.senha.recusadas").counter().count());
+
+            liberar.countDown();
+            assertEquals("hash", emExecucao.get(5, TimeUnit.SECONDS));
+            assertTrue(naFila.get(5, TimeUnit.SECONDS));
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package projeto.collendar.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Envolve o DataSource e guarda o SQL e os parâmetros do último comando preparado, para
+ * que o teste o repita exatamente como o Hibernate o enviou, por exemplo sob EXPLAIN.
+ * Diferente de um StatementInspector, vê também os valores ligados a cada parâmetro.
+ */
+public class ConsultasCapturadas implements BeanPostProcessor {
+
+    private volatile Consulta ultima;
+
+    public Consulta ultima() {
+        return ultima;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource) {
+            return proxy(DataSource.class, dataSource, (metodo, resultado, args) ->
+                    resultado instanceof Connection connection ? capturar(connection) : resultado);
+        }
+        return bean;
+    }
+
+    private Connection capturar(Connection connection) {
+        return proxy(Connection.class, connection, (metodo, resultado, args) ->
+                metodo.getName().equals("prepareStatement") && resultado instanceof PreparedStatement statement
+                        ? capturar(statement, (String) args[0])
+                        : resultado);
+    }
+
+    private PreparedStatement capturar(PreparedStatement statement, String sql) {
+        List<Parametro> parametros = new ArrayList<>();
+        return proxy(PreparedStatement.class, statement, (metodo, resultado, args) -> {
+            String nome = metodo.getName();
+            if (nome.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                parametros.add(new Parametro(metodo, args));
+            } else if (nome.equals("clearParameters")) {
+                parametros.clear();
+            } else if (nome.startsWith("execute") && args == null) {
+                ultima = new Consulta(sql, List.copyOf(parametros));
+            }
+            return resultado;
+        });
+    }
+
+    @FunctionalInterface
+    private interface Apos {
+
+        Object aplicar(Method metodo, Object resultado, Object[] args);
+    }
+
+    private static <T> T proxy(Class<T> tipo, T alvo, Apos apos) {
+        InvocationHandler handler = (proxy, metodo, args) -> {
+            try {
+                return apos.aplicar(metodo, metodo.invoke(alvo, args), args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        };
+        return tipo.cast(Proxy.newProxyInstance(tipo.getClassLoader(), new Class<?>[]{tipo}, handler));
+    }
+
+    /**
+     * Um comando preparado com os valores na ordem em que foram ligados.
+     */
+    public record Consulta(String sql, List<Parametro> parametros) {
+
+        public PreparedStatement preparar(Connection connection, String prefixo) throws SQLException {
+            PreparedStatement statement = connection.prepareStatement(prefixo + sql);
+            for (Parametro parametro : parametros) {
+                parametro.aplicar(statement);
+            }
+            return statement;
+        }
+    }
+
+    public record Parametro(Method metodo, Object[] argumentos) {
+
+        void aplicar(PreparedStatement statement) throws SQLException {
+            try {
+                metodo.invoke(statement, argumentos);
+            } catch (InvocationTargetException e) {
+                if (e.getCause() instanceof SQLException sqlException) {
+                    throw sqlException;
+                }
+                throw new IllegalStateException(e.getCause());
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
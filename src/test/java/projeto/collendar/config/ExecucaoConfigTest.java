@@ -0,0 +1,36 @@
+package projeto.collendar.config;
+
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "spring.threads.virtual.enabled=true")
+@ActiveProfiles("h2")
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class ExecucaoConfigTest {
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    AsyncTaskExecutor applicationTaskExecutor;
+
+    @Nested
+    class Dado_o_modo_de_threads_virtuais_ligado {
+
+        @Test
+        void tarefas_assincronas_devem_rodar_em_threads_virtuais() throws Exception {
+            Future<Boolean> virtual = applicationTaskExecutor.submit(() -> Thread.currentThread().isVirtual());
+
+            assertTrue(virtual.get());
+        }
+    }
+}
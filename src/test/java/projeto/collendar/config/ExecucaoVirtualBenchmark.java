@@ -0,0 +1,161 @@
+package projeto.collendar.config;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import projeto.collendar.CollendarApplication;
+import projeto.collendar.model.Calendario;
+import projeto.collendar.model.Usuario;
+import projeto.collendar.repository.CalendarioRepository;
+import projeto.collendar.repository.UsuarioRepository;
+import projeto.collendar.utils.JwtUtil;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dispara ondas de N clientes simultâneos contra GET /calendarios/meus com a aplicação
+ * em threads de plataforma ou virtuais. Cada comando SQL espera {@code latenciaMs}
+ * segurando a conexão (ver {@link LatenciaJdbcSimulada}), então o pool do Hikari e o
+ * limite de threads do Tomcat disputam o papel de gargalo. O contador "requisicoes"
+ * sai em requisições por segundo. Com 10k clientes, o limite de descritores de arquivo
+ * do sistema precisa comportar os dois lados das conexões (cliente e servidor).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class ExecucaoVirtualBenchmark {
+
+    @Param({"false", "true"})
+    private boolean threadsVirtuais;
+
+    @Param({"1000", "10000"})
+    private int clientes;
+
+    @Param({"20", "400"})
+    private int poolJdbc;
+
+    @Param({"50"})
+    private long latenciaMs;
+
+    private ConfigurableApplicationContext context;
+    private ExecutorService executorClientes;
+    private HttpClient httpClient;
+    private HttpRequest requisicao;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Contadores {
+        public long requisicoes;
+        public long erros;
+
+        @Setup(Level.Iteration)
+        public void zerar() {
+            requisicoes = 0;
+            erros = 0;
+        }
+    }
+
+    @Setup
+    public void setup() {
+        context = new SpringApplicationBuilder(CollendarApplication.class)
+                .profiles("h2")
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + threadsVirtuais,
+                        "server.tomcat.max-connections=" + (clientes * 2),
+                        "server.tomcat.accept-count=" + clientes,
+                        "spring.datasource.hikari.maximum-pool-size=" + poolJdbc,
+                        "spring.datasource.hikari.connection-timeout=120000",
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.generate_statistics=false",
+                        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                                + LatenciaJdbcSimulada.class.getName()
+                )
+                .run();
+
+        Usuario usuario = new Usuario();
+        usuario.setNome("Carga");
+        usuario.setEmail("carga@email.com");
+        usuario.setSenha("senha");
+        context.getBean(UsuarioRepository.class).save(usuario);
+
+        Calendario calendario = new Calendario();
+        calendario.setNome("Carga");
+        calendario.setUsuario(usuario);
+        context.getBean(CalendarioRepository.class).save(calendario);
+
+        String token = context.getBean(JwtUtil.class).generateToken(new UsuarioAutenticado(
+                usuario.getId(), null, usuario.getEmail(), null, List.of(() -> "ROLE_USER")));
+        String porta = context.getEnvironment().getProperty("local.server.port");
+
+        executorClientes = Executors.newVirtualThreadPerTaskExecutor();
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(executorClientes)
+                .connectTimeout(Duration.ofSeconds(60))
+                .build();
+        requisicao = HttpRequest.newBuilder(URI.create("http://localhost:" + porta + "/calendarios/meus"))
+                .header("Authorization", "Bearer " + token)
+                .build();
+
+        LatenciaJdbcSimulada.milissegundos = latenciaMs;
+    }
+
+    @TearDown
+    public void tearDown() {
+        LatenciaJdbcSimulada.milissegundos = 0;
+        executorClientes.close();
+        context.close();
+    }
+
+    @Benchmark
+    public void onda(Contadores contadores) {
+        CompletableFuture<?>[] respostas = new CompletableFuture<?>[clientes];
+        for (int i = 0; i < clientes; i++) {
+            respostas[i] = httpClient.sendAsync(requisicao, HttpResponse.BodyHandlers.discarding())
+                    .handle((resposta, erro) -> erro == null && resposta.statusCode() == 200);
+        }
+
+        for (CompletableFuture<?> resposta : respostas) {
+            if (Boolean.TRUE.equals(resposta.join())) {
+                contadores.requisicoes++;
+            } else {
+                contadores.erros++;
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ExecucaoVirtualBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
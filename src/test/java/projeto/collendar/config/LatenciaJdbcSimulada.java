@@ -0,0 +1,25 @@
+package projeto.collendar.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Bloqueia a thread antes de cada comando SQL, simulando a ida e volta de rede de um
+ * banco remoto sobre o H2 em memória. A conexão já está reservada nesse ponto, então
+ * a espera ocupa o pool do Hikari como uma consulta real ocuparia.
+ */
+public class LatenciaJdbcSimulada implements StatementInspector {
+
+    public static volatile long milissegundos;
+
+    @Override
+    public String inspect(String sql) {
+        if (milissegundos > 0) {
+            try {
+                Thread.sleep(milissegundos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return sql;
+    }
+}
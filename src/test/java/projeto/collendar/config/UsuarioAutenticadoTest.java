@@ -0,0 +1,38 @@
+package projeto.collendar.config;
+
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class UsuarioAutenticadoTest {
+
+    @Test
+    void o_principal_autenticado_nao_deve_guardar_o_hash_da_senha() {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(4);
+        String hash = encoder.encode("senha123");
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+        provider.setPasswordEncoder(encoder);
+        provider.setUserDetailsService(email -> new UsuarioAutenticado(UUID.randomUUID(), "Ana", email, hash,
+                List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+
+        Authentication autenticacao = new ProviderManager(provider)
+                .authenticate(new UsernamePasswordAuthenticationToken("ana@email.com", "senha123"));
+
+        UsuarioAutenticado usuario = (UsuarioAutenticado) autenticacao.getPrincipal();
+        assertNull(usuario.getPassword());
+        assertNull(autenticacao.getCredentials());
+        assertEquals("ana@email.com", usuario.email());
+    }
+}
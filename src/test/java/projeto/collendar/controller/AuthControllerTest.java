@@ -10,14 +10,11 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.userdetails.User;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import projeto.collendar.config.UsuarioAutenticado;
 import projeto.collendar.dtos.request.LoginRequestDTO;
 import projeto.collendar.dtos.response.LoginResponseDTO;
-import projeto.collendar.model.Role;
-import projeto.collendar.model.Usuario;
-import projeto.collendar.repository.UsuarioRepository;
+import projeto.collendar.exception.SobrecargaException;
 import projeto.collendar.utils.JwtUtil;
 
 import java.util.*;
@@ -36,12 +33,6 @@ class AuthControllerTest {
     @Mock
     private JwtUtil jwtUtil;
 
-    @Mock
-    private UserDetailsService userDetailsService;
-
-    @Mock
-    private UsuarioRepository usuarioRepository;
-
     @InjectMocks
     private AuthController authController;
 
@@ -64,47 +55,31 @@ class AuthControllerTest {
         class Quando_credenciais_validas {
 
             UUID usuarioId;
-            Usuario usuario;
-            UserDetails userDetails;
+            UsuarioAutenticado principal;
             String token;
 
             @BeforeEach
             void setup() {
                 usuarioId = UUID.randomUUID();
 
-                // Setup Usuario
-                usuario = new Usuario();
-                usuario.setId(usuarioId);
-                usuario.setNome("João Silva");
-                usuario.setEmail(email);
-                usuario.setSenha("senhaEncriptada");
-
-                Role roleUser = new Role();
-                roleUser.setNome("USER");
-
-                Role roleAdmin = new Role();
-                roleAdmin.setNome("ADMIN");
-
-                usuario.setRoles(Set.of(roleUser, roleAdmin));
-
-                // Setup UserDetails
-                userDetails = User.builder()
-                        .username(email)
-                        .password("senhaEncriptada")
-                        .authorities("ROLE_USER", "ROLE_ADMIN")
-                        .build();
+                principal = new UsuarioAutenticado(
+                        usuarioId,
+                        "João Silva",
+                        email,
+                        "senhaEncriptada",
+                        List.of(new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLE_ADMIN"))
+                );
 
                 token = "eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9.test.token";
+
+                when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
+                        .thenReturn(UsernamePasswordAuthenticationToken.authenticated(
+                                principal, null, principal.getAuthorities()));
+                when(jwtUtil.generateToken(principal)).thenReturn(token);
             }
 
             @Test
             void deve_realizar_login_com_sucesso() {
-                when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
-                        .thenReturn(null);
-                when(userDetailsService.loadUserByUsername(email)).thenReturn(userDetails);
-                when(jwtUtil.generateToken(userDetails)).thenReturn(token);
-                when(usuarioRepository.findByEmail(email)).thenReturn(Optional.of(usuario));
-
                 ResponseEntity<LoginResponseDTO> resposta = authController.login(dto);
 
                 assertEquals(HttpStatus.OK, resposta.getStatusCode());
@@ -120,42 +95,16 @@ class AuthControllerTest {
 
             @Test
             void deve_chamar_authentication_manager() {
-                when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
-                        .thenReturn(null);
-                when(userDetailsService.loadUserByUsername(email)).thenReturn(userDetails);
-                when(jwtUtil.generateToken(userDetails)).thenReturn(token);
-                when(usuarioRepository.findByEmail(email)).thenReturn(Optional.of(usuario));
-
                 authController.login(dto);
 
                 verify(authenticationManager).authenticate(any(UsernamePasswordAuthenticationToken.class));
             }
 
             @Test
-            void deve_gerar_token_jwt() {
-                when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
-                        .thenReturn(null);
-                when(userDetailsService.loadUserByUsername(email)).thenReturn(userDetails);
-                when(jwtUtil.generateToken(userDetails)).thenReturn(token);
-                when(usuarioRepository.findByEmail(email)).thenReturn(Optional.of(usuario));
-
+            void deve_gerar_token_jwt_com_o_principal_autenticado() {
                 authController.login(dto);
 
-                verify(jwtUtil).generateToken(userDetails);
-            }
-
-            @Test
-            void deve_carregar_detalhes_do_usuario() {
-                when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
-                        .thenReturn(null);
-                when(userDetailsService.loadUserByUsername(email)).thenReturn(userDetails);
-                when(jwtUtil.generateToken(userDetails)).thenReturn(token);
-                when(usuarioRepository.findByEmail(email)).thenReturn(Optional.of(usuario));
-
-                authController.login(dto);
-
-                verify(userDetailsService).loadUserByUsername(email);
-                verify(usuarioRepository).findByEmail(email);
+                verify(jwtUtil).generateToken(principal);
             }
         }
 
@@ -182,15 +131,19 @@ class AuthControllerTest {
 
                 verify(jwtUtil, never()).generateToken(any());
             }
+        }
+
+        @Nested
+        class Quando_pool_de_hash_de_senhas_esta_saturado {
 
             @Test
-            void nao_deve_buscar_usuario() {
+            void deve_propagar_sobrecarga_em_vez_de_responder_unauthorized() {
                 when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
-                        .thenThrow(new BadCredentialsException("Credenciais inválidas"));
+                        .thenThrow(new SobrecargaException("Servidor ocupado"));
 
-                authController.login(dto);
+                assertThrows(SobrecargaException.class, () -> authController.login(dto));
 
-                verify(usuarioRepository, never()).findByEmail(any());
+                verify(jwtUtil, never()).generateToken(any());
             }
         }
 
@@ -279,38 +232,24 @@ class AuthControllerTest {
     class Dado_usuario_com_multiplas_roles {
 
         LoginRequestDTO dto;
-        Usuario usuario;
-        UserDetails userDetails;
-        String token;
+        UsuarioAutenticado principal;
 
         @BeforeEach
         void setup() {
             String email = "admin@email.com";
             dto = new LoginRequestDTO(email, "senha123");
 
-            usuario = new Usuario();
-            usuario.setId(UUID.randomUUID());
-            usuario.setNome("Admin User");
-            usuario.setEmail(email);
-
-            Role roleUser = new Role();
-            roleUser.setNome("USER");
-
-            Role roleAdmin = new Role();
-            roleAdmin.setNome("ADMIN");
-
-            Role roleModerator = new Role();
-            roleModerator.setNome("MODERATOR");
-
-            usuario.setRoles(Set.of(roleUser, roleAdmin, roleModerator));
-
-            userDetails = User.builder()
-                    .username(email)
-                    .password("senhaEncriptada")
-                    .authorities("ROLE_USER", "ROLE_ADMIN", "ROLE_MODERATOR")
-                    .build();
-
-            token = "token.jwt.test";
+            principal = new UsuarioAutenticado(
+                    UUID.randomUUID(),
+                    "Admin User",
+                    email,
+                    "senhaEncriptada",
+                    List.of(
+                            new SimpleGrantedAuthority("ROLE_USER"),
+                            new SimpleGrantedAuthority("ROLE_ADMIN"),
+                            new SimpleGrantedAuthority("ROLE_MODERATOR")
+                    )
+            );
         }
 
         @Nested
@@ -319,18 +258,14 @@ class AuthControllerTest {
             @Test
             void deve_retornar_todas_as_roles() {
                 when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
-                        .thenReturn(null);
-                when(userDetailsService.loadUserByUsername(usuario.getEmail())).thenReturn(userDetails);
-                when(jwtUtil.generateToken(userDetails)).thenReturn(token);
-                when(usuarioRepository.findByEmail(usuario.getEmail())).thenReturn(Optional.of(usuario));
+                        .thenReturn(UsernamePasswordAuthenticationToken.authenticated(
+                                principal, null, principal.getAuthorities()));
+                when(jwtUtil.generateToken(principal)).thenReturn("token.jwt.test");
 
                 ResponseEntity<LoginResponseDTO> resposta = authController.login(dto);
 
                 assertNotNull(resposta.getBody());
-                assertEquals(3, resposta.getBody().roles().size());
-                assertTrue(resposta.getBody().roles().contains("USER"));
-                assertTrue(resposta.getBody().roles().contains("ADMIN"));
-                assertTrue(resposta.getBody().roles().contains("MODERATOR"));
+                assertEquals(Set.of("USER", "ADMIN", "MODERATOR"), resposta.getBody().roles());
             }
         }
     }
@@ -11,11 +11,18 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import projeto.collendar.dtos.projection.CalendarioFeedDTO;
 import projeto.collendar.dtos.request.CalendarioRequestDTO;
 import projeto.collendar.dtos.response.CalendarioResponseDTO;
+import projeto.collendar.dtos.response.CursorPageResponseDTO;
 import projeto.collendar.exception.AccessDeniedException;
 import projeto.collendar.service.CalendarioService;
 import projeto.collendar.service.CompartilhamentoService;
+import projeto.collendar.service.EventoService;
 import projeto.collendar.utils.SecurityUtils;
 
 import java.time.LocalDateTime;
@@ -35,6 +42,9 @@ class CalendarioControllerTest {
     @Mock
     private CompartilhamentoService compartilhamentoService;
 
+    @Mock
+    private EventoService eventoService;
+
     @Mock
     private SecurityUtils securityUtils;
 
@@ -147,6 +157,77 @@ class CalendarioControllerTest {
         }
     }
 
+    @Nested
+    class Dado_uma_requisicao_para_o_feed_ics {
+
+        UUID calendarioId;
+        UUID usuarioId;
+        CalendarioFeedDTO feed;
+        MockHttpServletRequest request;
+        MockHttpServletResponse response;
+
+        @BeforeEach
+        void setup() {
+            calendarioId = UUID.randomUUID();
+            usuarioId = UUID.randomUUID();
+            feed = new CalendarioFeedDTO(calendarioId, "Trabalho",
+                    LocalDateTime.of(2025, 1, 1, 10, 0), LocalDateTime.of(2025, 1, 2, 10, 0), 3);
+            request = new MockHttpServletRequest("GET", "/calendarios/" + calendarioId + "/feed.ics");
+            response = new MockHttpServletResponse();
+        }
+
+        @Nested
+        class Quando_o_feed_mudou {
+
+            @Test
+            void deve_retornar_o_feed_com_etag() {
+                when(securityUtils.getLoggedUserId()).thenReturn(usuarioId);
+                when(compartilhamentoService.hasAccess(calendarioId, usuarioId)).thenReturn(true);
+                when(calendarioService.findFeed(calendarioId)).thenReturn(feed);
+
+                ResponseEntity<StreamingResponseBody> resposta =
+                        calendarioController.feed(calendarioId, new ServletWebRequest(request, response));
+
+                assertEquals(HttpStatus.OK, resposta.getStatusCode());
+                assertEquals("\"" + feed.etag() + "\"", resposta.getHeaders().getETag());
+                assertNotNull(resposta.getBody());
+            }
+        }
+
+        @Nested
+        class Quando_o_cliente_ja_tem_a_versao_atual {
+
+            @Test
+            void deve_responder_304_sem_consultar_eventos() {
+                request.addHeader("If-None-Match", "\"" + feed.etag() + "\"");
+                when(securityUtils.getLoggedUserId()).thenReturn(usuarioId);
+                when(compartilhamentoService.hasAccess(calendarioId, usuarioId)).thenReturn(true);
+                when(calendarioService.findFeed(calendarioId)).thenReturn(feed);
+
+                ResponseEntity<StreamingResponseBody> resposta =
+                        calendarioController.feed(calendarioId, new ServletWebRequest(request, response));
+
+                assertNull(resposta);
+                assertEquals(304, response.getStatus());
+                verifyNoInteractions(eventoService);
+            }
+        }
+
+        @Nested
+        class Quando_usuario_nao_tem_acesso {
+
+            @Test
+            void deve_lancar_access_denied_exception_antes_de_ler_a_versao() {
+                when(securityUtils.getLoggedUserId()).thenReturn(usuarioId);
+                when(compartilhamentoService.hasAccess(calendarioId, usuarioId)).thenReturn(false);
+
+                assertThrows(AccessDeniedException.class, () -> calendarioController.feed(
+                        calendarioId, new ServletWebRequest(request, response)));
+                verify(calendarioService, never()).findFeed(calendarioId);
+            }
+        }
+    }
+
     @Nested
     class Dado_uma_requisicao_para_listar_meus_calendarios {
 
@@ -304,6 +385,35 @@ class CalendarioControllerTest {
         }
     }
 
+    @Nested
+    class Dado_uma_requisicao_para_listar_meus_calendarios_por_cursor {
+
+        UUID usuarioId;
+
+        @BeforeEach
+        void setup() {
+            usuarioId = UUID.randomUUID();
+        }
+
+        @Nested
+        class Quando_listar_primeira_pagina {
+
+            @Test
+            void deve_repassar_cursor_e_tamanho_ao_servico() {
+                CursorPageResponseDTO<CalendarioResponseDTO> pagina = new CursorPageResponseDTO<>(List.of(), null);
+
+                when(securityUtils.getLoggedUserId()).thenReturn(usuarioId);
+                when(calendarioService.listByUsuarioCursor(usuarioId, null, 5)).thenReturn(pagina);
+
+                ResponseEntity<CursorPageResponseDTO<CalendarioResponseDTO>> resposta =
+                        calendarioController.listMeusCursor(null, 5);
+
+                assertEquals(HttpStatus.OK, resposta.getStatusCode());
+                assertSame(pagina, resposta.getBody());
+            }
+        }
+    }
+
     @Nested
     class Dado_uma_requisicao_para_buscar_por_nome {
 
@@ -512,7 +622,7 @@ class CalendarioControllerTest {
             void deve_retornar_quantidade_de_eventos() {
                 when(securityUtils.getLoggedUserId()).thenReturn(usuarioId);
                 when(compartilhamentoService.hasAccess(calendarioId, usuarioId)).thenReturn(true);
-                when(calendarioService.countByUsuario(calendarioId)).thenReturn(5L);
+                when(eventoService.countByCalendario(calendarioId)).thenReturn(5L);
 
                 ResponseEntity<Long> resposta = calendarioController.countEventos(calendarioId);
 
@@ -0,0 +1,76 @@
+package projeto.collendar.controller;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import projeto.collendar.dtos.request.HorariosLivresRequestDTO;
+import projeto.collendar.dtos.response.DisponibilidadeResponseDTO;
+import projeto.collendar.dtos.response.IntervaloResponseDTO;
+import projeto.collendar.service.DisponibilidadeService;
+import projeto.collendar.utils.SecurityUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class DisponibilidadeControllerTest {
+
+    @Mock
+    private DisponibilidadeService disponibilidadeService;
+
+    @Mock
+    private SecurityUtils securityUtils;
+
+    @InjectMocks
+    private DisponibilidadeController disponibilidadeController;
+
+    @Nested
+    class Dado_uma_requisicao_de_disponibilidade {
+
+        @Test
+        void deve_consultar_os_blocos_do_usuario_logado() {
+            UUID usuarioId = UUID.randomUUID();
+            LocalDateTime inicio = LocalDateTime.of(2025, 3, 10, 0, 0);
+            LocalDateTime fim = LocalDateTime.of(2025, 3, 11, 0, 0);
+            DisponibilidadeResponseDTO esperado = new DisponibilidadeResponseDTO(inicio, fim,
+                    List.of(new IntervaloResponseDTO(inicio.plusHours(9), inicio.plusHours(10))));
+            when(securityUtils.getLoggedUserId()).thenReturn(usuarioId);
+            when(disponibilidadeService.findOcupados(List.of(usuarioId), inicio, fim)).thenReturn(esperado);
+
+            ResponseEntity<DisponibilidadeResponseDTO> response = disponibilidadeController.findOcupados(inicio, fim);
+
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            assertEquals(esperado, response.getBody());
+        }
+    }
+
+    @Nested
+    class Dado_uma_busca_de_horarios_livres {
+
+        @Test
+        void deve_delegar_ao_servico() {
+            LocalDateTime inicio = LocalDateTime.of(2025, 3, 10, 8, 0);
+            HorariosLivresRequestDTO dto = new HorariosLivresRequestDTO(
+                    Set.of("ana@email.com"), 30, inicio, inicio.plusHours(4), 1);
+            List<IntervaloResponseDTO> esperado = List.of(new IntervaloResponseDTO(inicio, inicio.plusMinutes(30)));
+            UUID usuarioId = UUID.randomUUID();
+            when(securityUtils.getLoggedUserId()).thenReturn(usuarioId);
+            when(disponibilidadeService.findHorariosLivres(dto, usuarioId)).thenReturn(esperado);
+
+            ResponseEntity<List<IntervaloResponseDTO>> response = disponibilidadeController.findHorariosLivres(dto);
+
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            assertEquals(esperado, response.getBody());
+        }
+    }
+}
@@ -14,20 +14,36 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import projeto.collendar.dtos.request.EventoLoteRequestDTO;
 import projeto.collendar.dtos.request.EventoRequestDTO;
+import projeto.collendar.dtos.response.CursorPageResponseDTO;
+import projeto.collendar.dtos.response.EventoLoteItemDTO;
+import projeto.collendar.dtos.response.EventoLoteResponseDTO;
 import projeto.collendar.dtos.response.EventoResponseDTO;
+import projeto.collendar.dtos.response.ImportacaoResponseDTO;
+import projeto.collendar.dtos.response.SincronizacaoResponseDTO;
 import projeto.collendar.enums.TipoRecorrencia;
+import projeto.collendar.exception.AccessDeniedException;
 import projeto.collendar.service.CompartilhamentoService;
 import projeto.collendar.service.EventoService;
+import projeto.collendar.service.ImportacaoService;
+import projeto.collendar.service.NotificacaoBroadcaster;
+import projeto.collendar.utils.JsonStreamUtils;
 import projeto.collendar.utils.SecurityUtils;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Predicate;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -43,6 +59,15 @@ class EventoControllerTest {
     @Mock
     private SecurityUtils securityUtils;
 
+    @Mock
+    private JsonStreamUtils jsonStreamUtils;
+
+    @Mock
+    private ImportacaoService importacaoService;
+
+    @Mock
+    private NotificacaoBroadcaster notificacaoBroadcaster;
+
     @InjectMocks
     private EventoController eventoController;
 
@@ -103,9 +128,9 @@ class EventoControllerTest {
             void setup() {
                 when(securityUtils.getLoggedUserId()).thenReturn(usuarioId);
                 when(compartilhamentoService.canEdit(calendarioId, usuarioId)).thenReturn(true);
-                when(eventoService.create(any(EventoRequestDTO.class))).thenReturn(eventoResponse);
+                when(eventoService.create(any(EventoRequestDTO.class), isNull(), any())).thenReturn(eventoResponse);
 
-                resposta = eventoController.create(eventoRequest);
+                resposta = eventoController.create(eventoRequest, null);
             }
 
             @Test
@@ -122,7 +147,7 @@ class EventoControllerTest {
 
             @Test
             void deve_chamar_service_create() {
-                verify(eventoService, times(1)).create(any(EventoRequestDTO.class));
+                verify(eventoService, times(1)).create(any(EventoRequestDTO.class), isNull(), any());
             }
         }
 
@@ -139,18 +164,81 @@ class EventoControllerTest {
             void deve_lancar_excecao_acesso_negado() {
                 assertThrows(
                         Exception.class,
-                        () -> eventoController.create(eventoRequest)
+                        () -> eventoController.create(eventoRequest, null)
                 );
             }
 
             @Test
             void nao_deve_chamar_service_create() {
                 try {
-                    eventoController.create(eventoRequest);
+                    eventoController.create(eventoRequest, null);
                 } catch (Exception e) {
                     // Exceção esperada
                 }
-                verify(eventoService, never()).create(any(EventoRequestDTO.class));
+                verify(eventoService, never()).create(any(EventoRequestDTO.class), any(), any());
+            }
+        }
+
+        @Nested
+        class Quando_criar_eventos_em_lote {
+
+            ResponseEntity<EventoLoteResponseDTO> resposta;
+
+            @BeforeEach
+            void setup() {
+                when(securityUtils.getLoggedUserId()).thenReturn(usuarioId);
+                when(compartilhamentoService.canEdit(calendarioId, usuarioId)).thenReturn(true);
+                when(eventoService.createLote(eq(List.of(eventoRequest)), any())).thenAnswer(invocation -> {
+                    Predicate<UUID> podeEditar = invocation.getArgument(1);
+                    assertTrue(podeEditar.test(calendarioId));
+                    return new EventoLoteResponseDTO(1, 0, List.of(new EventoLoteItemDTO(0, eventoId, null)));
+                });
+
+                resposta = eventoController.createLote(new EventoLoteRequestDTO(List.of(eventoRequest)));
+            }
+
+            @Test
+            void deve_retornar_status_ok_com_resultado_por_item() {
+                assertEquals(HttpStatus.OK, resposta.getStatusCode());
+                assertEquals(eventoId, resposta.getBody().itens().get(0).id());
+            }
+
+            @Test
+            void deve_verificar_permissao_do_usuario_logado() {
+                verify(compartilhamentoService).canEdit(calendarioId, usuarioId);
+            }
+        }
+
+        @Nested
+        class Quando_importar_arquivo_com_permissao_editar {
+
+            @Test
+            void deve_delegar_ao_servico_de_importacao() {
+                MediaType tipo = MediaType.parseMediaType("text/calendar");
+                InputStream corpo = new ByteArrayInputStream(new byte[0]);
+                ImportacaoResponseDTO importacao = new ImportacaoResponseDTO(0, 0, 0, List.of());
+                when(securityUtils.getLoggedUserId()).thenReturn(usuarioId);
+                when(compartilhamentoService.canEdit(calendarioId, usuarioId)).thenReturn(true);
+                when(importacaoService.importar(calendarioId, tipo, corpo)).thenReturn(importacao);
+
+                ResponseEntity<ImportacaoResponseDTO> resposta = eventoController.importar(calendarioId, tipo, corpo);
+
+                assertEquals(HttpStatus.OK, resposta.getStatusCode());
+                assertSame(importacao, resposta.getBody());
+            }
+        }
+
+        @Nested
+        class Quando_importar_arquivo_sem_permissao_editar {
+
+            @Test
+            void deve_lancar_excecao_sem_ler_o_arquivo() {
+                when(securityUtils.getLoggedUserId()).thenReturn(usuarioId);
+                when(compartilhamentoService.canEdit(calendarioId, usuarioId)).thenReturn(false);
+
+                assertThrows(AccessDeniedException.class, () -> eventoController.importar(
+                        calendarioId, MediaType.parseMediaType("text/csv"), new ByteArrayInputStream(new byte[0])));
+                verifyNoInteractions(importacaoService);
             }
         }
 
@@ -260,6 +348,129 @@ class EventoControllerTest {
             }
         }
 
+        @Nested
+        class Quando_listar_eventos_por_cursor {
+
+            ResponseEntity<CursorPageResponseDTO<EventoResponseDTO>> resposta;
+
+            @BeforeEach
+            void setup() {
+                when(securityUtils.getLoggedUserId()).thenReturn(usuarioId);
+                when(compartilhamentoService.hasAccess(calendarioId, usuarioId)).thenReturn(true);
+                when(eventoService.listByCalendarioCursor(calendarioId, "abc", 10))
+                        .thenReturn(new CursorPageResponseDTO<>(List.of(eventoResponse), "def"));
+
+                resposta = eventoController.listByCalendarioCursor(calendarioId, "abc", 10);
+            }
+
+            @Test
+            void deve_retornar_pagina_com_proximo_cursor() {
+                assertEquals(HttpStatus.OK, resposta.getStatusCode());
+                assertEquals(1, resposta.getBody().itens().size());
+                assertEquals("def", resposta.getBody().proximoCursor());
+            }
+        }
+
+        @Nested
+        class Quando_listar_eventos_por_cursor_sem_acesso {
+
+            @BeforeEach
+            void setup() {
+                when(securityUtils.getLoggedUserId()).thenReturn(usuarioId);
+                when(compartilhamentoService.hasAccess(calendarioId, usuarioId)).thenReturn(false);
+            }
+
+            @Test
+            void deve_lancar_access_denied_exception() {
+                assertThrows(AccessDeniedException.class,
+                        () -> eventoController.listByCalendarioCursor(calendarioId, null, null));
+
+                verify(eventoService, never()).listByCalendarioCursor(any(), any(), any());
+            }
+        }
+
+        @Nested
+        class Quando_sincronizar_eventos {
+
+            ResponseEntity<SincronizacaoResponseDTO> resposta;
+
+            @BeforeEach
+            void setup() {
+                when(securityUtils.getLoggedUserId()).thenReturn(usuarioId);
+                when(compartilhamentoService.hasAccess(calendarioId, usuarioId)).thenReturn(true);
+                when(eventoService.sincronizar(calendarioId, "abc", null)).thenReturn(
+                        new SincronizacaoResponseDTO(List.of(eventoResponse), List.of(), "def", false));
+
+                resposta = eventoController.sincronizar(calendarioId, "abc", null);
+            }
+
+            @Test
+            void deve_retornar_as_alteracoes_com_novo_token() {
+                assertEquals(HttpStatus.OK, resposta.getStatusCode());
+                assertEquals(1, resposta.getBody().alterados().size());
+                assertEquals("def", resposta.getBody().token());
+            }
+        }
+
+        @Nested
+        class Quando_sincronizar_eventos_sem_acesso {
+
+            @BeforeEach
+            void setup() {
+                when(securityUtils.getLoggedUserId()).thenReturn(usuarioId);
+                when(compartilhamentoService.hasAccess(calendarioId, usuarioId)).thenReturn(false);
+            }
+
+            @Test
+            void deve_lancar_access_denied_exception() {
+                assertThrows(AccessDeniedException.class,
+                        () -> eventoController.sincronizar(calendarioId, null, null));
+
+                verify(eventoService, never()).sincronizar(any(), any(), any());
+            }
+        }
+
+        @Nested
+        class Quando_assinar_notificacoes {
+
+            @Test
+            void deve_registrar_o_assinante_com_o_usuario_logado() {
+                SseEmitter emitter = new SseEmitter();
+                when(securityUtils.getLoggedUserId()).thenReturn(usuarioId);
+                when(compartilhamentoService.hasAccess(calendarioId, usuarioId)).thenReturn(true);
+                when(notificacaoBroadcaster.assinar(calendarioId, usuarioId)).thenReturn(emitter);
+
+                assertSame(emitter, eventoController.assinarNotificacoes(calendarioId));
+            }
+
+            @Test
+            void deve_lancar_access_denied_exception_sem_acesso() {
+                when(securityUtils.getLoggedUserId()).thenReturn(usuarioId);
+                when(compartilhamentoService.hasAccess(calendarioId, usuarioId)).thenReturn(false);
+
+                assertThrows(AccessDeniedException.class, () -> eventoController.assinarNotificacoes(calendarioId));
+                verifyNoInteractions(notificacaoBroadcaster);
+            }
+        }
+
+        @Nested
+        class Quando_exportar_eventos_em_streaming_sem_acesso {
+
+            @BeforeEach
+            void setup() {
+                when(securityUtils.getLoggedUserId()).thenReturn(usuarioId);
+                when(compartilhamentoService.hasAccess(calendarioId, usuarioId)).thenReturn(false);
+            }
+
+            @Test
+            void deve_lancar_access_denied_exception_antes_de_abrir_o_stream() {
+                assertThrows(AccessDeniedException.class,
+                        () -> eventoController.streamByCalendario(calendarioId));
+
+                verifyNoInteractions(jsonStreamUtils);
+            }
+        }
+
         @Nested
         class Quando_buscar_eventos_por_periodo {
 
@@ -310,6 +521,26 @@ class EventoControllerTest {
             }
         }
 
+        @Nested
+        class Quando_buscar_eventos_por_titulo_com_cursor {
+
+            ResponseEntity<CursorPageResponseDTO<EventoResponseDTO>> resposta;
+
+            @BeforeEach
+            void setup() {
+                when(eventoService.searchByTituloCursor("Reunião", null, null))
+                        .thenReturn(new CursorPageResponseDTO<>(List.of(eventoResponse), null));
+
+                resposta = eventoController.searchByTituloCursor("Reunião", null, null);
+            }
+
+            @Test
+            void deve_retornar_ultima_pagina_sem_cursor() {
+                assertEquals(1, resposta.getBody().itens().size());
+                assertNull(resposta.getBody().proximoCursor());
+            }
+        }
+
         @Nested
         class Quando_listar_eventos_recorrentes {
 
@@ -372,10 +603,10 @@ class EventoControllerTest {
                 when(securityUtils.getLoggedUserId()).thenReturn(usuarioId);
                 when(eventoService.getCalendarioIdByEvento(eventoId)).thenReturn(calendarioId);
                 when(compartilhamentoService.canEdit(calendarioId, usuarioId)).thenReturn(true);
-                when(eventoService.update(eq(eventoId), any(EventoRequestDTO.class)))
+                when(eventoService.update(eq(eventoId), any(EventoRequestDTO.class), isNull(), any()))
                         .thenReturn(eventoAtualizado);
 
-                resposta = eventoController.update(eventoId, eventoRequest);
+                resposta = eventoController.update(eventoId, eventoRequest, null);
             }
 
             @Test
@@ -404,7 +635,7 @@ class EventoControllerTest {
             void deve_lancar_excecao_acesso_negado() {
                 assertThrows(
                         Exception.class,
-                        () -> eventoController.update(eventoId, eventoRequest)
+                        () -> eventoController.update(eventoId, eventoRequest, null)
                 );
             }
         }
@@ -0,0 +1,144 @@
+package projeto.collendar.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import projeto.collendar.DadosTeste;
+import projeto.collendar.config.UsuarioAutenticado;
+import projeto.collendar.enums.TipoRecorrencia;
+import projeto.collendar.model.Usuario;
+import projeto.collendar.repository.EventoRepository;
+import projeto.collendar.service.EventoService;
+import projeto.collendar.utils.JwtUtil;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Importa pelo endpoint um .ics com mais eventos que um lote, passando pela leitura
+ * do corpo em fluxo, pelo parser e pela gravação em várias transações.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+@Import(DadosTeste.class)
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class ImportacaoEventosTest {
+
+    private static final int TOTAL = 1200;
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    JwtUtil jwtUtil;
+
+    @Autowired
+    DadosTeste dados;
+
+    @Autowired
+    EventoService eventoService;
+
+    @Autowired
+    EventoRepository eventoRepository;
+
+    UUID calendarioId;
+    String token;
+
+    @BeforeEach
+    void setup() {
+        Usuario usuario = dados.usuario("Importação");
+        calendarioId = dados.calendario(usuario, "Importado");
+
+        token = "Bearer " + jwtUtil.generateToken(new UsuarioAutenticado(
+                usuario.getId(), null, usuario.getEmail(), null, List.of(() -> "ROLE_USER")));
+    }
+
+    private static byte[] ics() {
+        StringBuilder ics = new StringBuilder("BEGIN:VCALENDAR\r\nVERSION:2.0\r\nPRODID:-//Teste//PT\r\n");
+        for (int i = 0; i < TOTAL; i++) {
+            ics.append("BEGIN:VEVENT\r\n")
+                    .append("UID:").append(i).append("@teste\r\n")
+                    .append("SUMMARY:").append(i == 7 ? "" : "Evento " + i).append("\r\n")
+                    .append("DTSTART:20250101T090000\r\n")
+                    .append("DTEND:20250101T100000\r\n");
+            if (i % 2 == 0) {
+                ics.append("RRULE:FREQ=DAILY\r\n");
+            }
+            ics.append("END:VEVENT\r\n");
+        }
+        return ics.append("END:VCALENDAR\r\n").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Nested
+    class Quando_importar_ics_maior_que_um_lote {
+
+        JsonNode resposta;
+
+        @BeforeEach
+        void setup() throws Exception {
+            String corpo = mockMvc.perform(post("/eventos/calendario/{id}/importar", calendarioId)
+                            .header("Authorization", token)
+                            .contentType("text/calendar; charset=UTF-8")
+                            .content(ics()))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+            resposta = objectMapper.readTree(corpo);
+        }
+
+        @Test
+        void deve_gravar_todos_os_eventos_validos() {
+            assertEquals(TOTAL, resposta.get("processados").asInt());
+            assertEquals(TOTAL - 1, resposta.get("criados").asInt());
+            assertEquals(TOTAL - 1, eventoService.countByCalendario(calendarioId));
+        }
+
+        @Test
+        void deve_informar_a_posicao_do_evento_rejeitado() {
+            assertEquals(1, resposta.get("erros").size());
+            assertEquals(7, resposta.get("erros").get(0).get("indice").asInt());
+            assertEquals("Título é obrigatório", resposta.get("erros").get(0).get("erro").asText());
+        }
+
+        @Test
+        void deve_mapear_rrule_para_recorrencia() {
+            long recorrentes = eventoRepository.findAll().stream()
+                    .filter(e -> e.getCalendario().getId().equals(calendarioId))
+                    .filter(e -> e.getTipoRecorrencia() == TipoRecorrencia.DIARIA)
+                    .count();
+            assertEquals(TOTAL / 2, recorrentes);
+        }
+    }
+
+    @Nested
+    class Quando_importar_com_charset_desconhecido {
+
+        @Test
+        void deve_rejeitar_como_erro_do_cliente() throws Exception {
+            mockMvc.perform(post("/eventos/calendario/{id}/importar", calendarioId)
+                            .header("Authorization", token)
+                            .header("Content-Type", "text/csv; charset=nao-existe")
+                            .content("titulo,dataInicio,dataFim\n"))
+                    .andExpect(status().isUnsupportedMediaType());
+            assertEquals(0, eventoService.countByCalendario(calendarioId));
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package projeto.collendar.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import projeto.collendar.config.UsuarioAutenticado;
+import projeto.collendar.model.Calendario;
+import projeto.collendar.model.Evento;
+import projeto.collendar.model.Role;
+import projeto.collendar.model.Usuario;
+import projeto.collendar.repository.CalendarioRepository;
+import projeto.collendar.repository.EventoRepository;
+import projeto.collendar.repository.RoleRepository;
+import projeto.collendar.repository.UsuarioRepository;
+import projeto.collendar.utils.JwtUtil;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Exercita os endpoints /stream de ponta a ponta, incluindo o despacho assíncrono
+ * que passa pela cadeia de segurança depois que o corpo foi escrito.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class StreamingExportTest {
+
+    private static final String EMAIL = "streaming@email.com";
+    private static final int TOTAL = 50;
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    JwtUtil jwtUtil;
+
+    @Autowired
+    UsuarioRepository usuarioRepository;
+
+    @Autowired
+    RoleRepository roleRepository;
+
+    @Autowired
+    CalendarioRepository calendarioRepository;
+
+    @Autowired
+    EventoRepository eventoRepository;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    Usuario usuario;
+    Calendario calendario;
+    String token;
+
+    @BeforeEach
+    void setup() {
+        usuario = usuarioRepository.findByEmail(EMAIL).orElseGet(() -> {
+            Role role = roleRepository.findByNome("USER").orElseGet(() -> {
+                Role nova = new Role();
+                nova.setNome("USER");
+                return roleRepository.save(nova);
+            });
+
+            Usuario novo = new Usuario();
+            novo.setNome("Streaming");
+            novo.setEmail(EMAIL);
+            novo.setSenha("senha");
+            novo.setRoles(Set.of(role));
+            return usuarioRepository.save(novo);
+        });
+
+        calendario = new Calendario();
+        calendario.setNome("Exportação");
+        calendario.setUsuario(usuario);
+        calendarioRepository.save(calendario);
+
+        List<Evento> eventos = new ArrayList<>();
+        LocalDateTime inicio = LocalDateTime.of(2025, 1, 1, 9, 0);
+        for (int i = 0; i < TOTAL; i++) {
+            Evento e = new Evento();
+            e.setTitulo("Evento " + i);
+            e.setDataInicio(inicio.plusDays(i));
+            e.setDataFim(inicio.plusDays(i).plusHours(1));
+            e.setCalendario(calendario);
+            eventos.add(e);
+        }
+        eventoRepository.saveAll(eventos);
+
+        token = "Bearer " + jwtUtil.generateToken(new UsuarioAutenticado(
+                usuario.getId(), null, EMAIL, null, List.of(() -> "ROLE_USER")));
+    }
+
+    private JsonNode stream(String url) throws Exception {
+        MvcResult iniciado = mockMvc.perform(get(url).header("Authorization", token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        MvcResult concluido = mockMvc.perform(asyncDispatch(iniciado))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        return objectMapper.readTree(concluido.getResponse().getContentAsString());
+    }
+
+    @Nested
+    class Quando_exportar_eventos_do_calendario {
+
+        @Test
+        void deve_transmitir_o_mesmo_conteudo_da_listagem() throws Exception {
+            String lista = mockMvc.perform(get("/eventos/calendario/" + calendario.getId())
+                            .header("Authorization", token))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+
+            JsonNode transmitido = stream("/eventos/calendario/" + calendario.getId() + "/stream");
+
+            assertEquals(TOTAL, transmitido.size());
+            assertEquals(objectMapper.readTree(lista), transmitido);
+        }
+
+        @Test
+        void nao_deve_carregar_entidades_de_evento() throws Exception {
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+
+            stream("/eventos/calendario/" + calendario.getId() + "/stream");
+
+            assertEquals(0, statistics.getEntityStatistics(Evento.class.getName()).getLoadCount());
+        }
+    }
+
+    @Nested
+    class Quando_exportar_eventos_de_calendario_sem_acesso {
+
+        @Test
+        void deve_negar_antes_de_iniciar_o_streaming() throws Exception {
+            Usuario outro = new Usuario();
+            outro.setNome("Outro");
+            outro.setEmail("streaming-" + System.nanoTime() + "@email.com");
+            outro.setSenha("senha");
+            usuarioRepository.save(outro);
+
+            String tokenOutro = "Bearer " + jwtUtil.generateToken(new UsuarioAutenticado(
+                    outro.getId(), null, outro.getEmail(), null, List.of(() -> "ROLE_USER")));
+
+            mockMvc.perform(get("/eventos/calendario/" + calendario.getId() + "/stream")
+                            .header("Authorization", tokenOutro))
+                    .andExpect(request().asyncNotStarted())
+                    .andExpect(status().isForbidden());
+        }
+    }
+
+    @Nested
+    class Quando_exportar_usuarios {
+
+        @Test
+        void deve_agrupar_as_roles_de_cada_usuario() throws Exception {
+            JsonNode transmitido = stream("/usuarios/stream");
+
+            JsonNode exportado = null;
+            for (JsonNode u : transmitido) {
+                if (EMAIL.equals(u.get("email").asText())) {
+                    exportado = u;
+                }
+            }
+
+            assertNotNull(exportado);
+            assertEquals(usuario.getId().toString(), exportado.get("id").asText());
+            assertEquals(1, exportado.get("roles").size());
+            assertEquals("USER", exportado.get("roles").get(0).asText());
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package projeto.collendar.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+import projeto.collendar.enums.TipoPermissao;
+import projeto.collendar.model.Calendario;
+import projeto.collendar.model.Compartilhamento;
+import projeto.collendar.model.Usuario;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Quem pode entrar como participante na busca de horários livres: o próprio usuário e
+ * quem acessa algum calendário que ele também acessa.
+ */
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class CalendarioEmComumTest {
+
+    @Autowired
+    TestEntityManager em;
+
+    @Autowired
+    UsuarioRepository usuarioRepository;
+
+    Usuario ana;
+    Usuario bruno;
+    Usuario carla;
+    Usuario davi;
+    Usuario estranho;
+
+    @BeforeEach
+    void setup() {
+        ana = usuario("ana@email.com");
+        bruno = usuario("bruno@email.com");
+        carla = usuario("carla@email.com");
+        davi = usuario("davi@email.com");
+        estranho = usuario("estranho@email.com");
+
+        // Ana compartilha com Bruno; Carla compartilha com Ana e Davi
+        compartilhar(calendario(ana), bruno);
+        Calendario daCarla = calendario(carla);
+        compartilhar(daCarla, ana);
+        compartilhar(daCarla, davi);
+        calendario(estranho);
+
+        em.flush();
+        em.clear();
+    }
+
+    private Usuario usuario(String email) {
+        Usuario u = new Usuario();
+        u.setNome(email);
+        u.setEmail(email);
+        u.setSenha("senha");
+        em.persist(u);
+        return u;
+    }
+
+    private Calendario calendario(Usuario dono) {
+        Calendario c = new Calendario();
+        c.setNome("Calendário de " + dono.getNome());
+        c.setCor("#FFFFFF");
+        c.setUsuario(dono);
+        em.persist(c);
+        return c;
+    }
+
+    private void compartilhar(Calendario calendario, Usuario destinatario) {
+        Compartilhamento compartilhamento = new Compartilhamento();
+        compartilhamento.setCalendario(calendario);
+        compartilhamento.setUsuario(destinatario);
+        compartilhamento.setPermissao(TipoPermissao.VISUALIZAR);
+        em.persist(compartilhamento);
+    }
+
+    private Set<UUID> participantes(UUID usuarioId, String... emails) {
+        return Set.copyOf(usuarioRepository.findIdsComCalendarioEmComumByEmailIn(List.of(emails), usuarioId));
+    }
+
+    @Test
+    void deve_aceitar_o_proprio_usuario_e_quem_tem_calendario_em_comum() {
+        assertEquals(Set.of(ana.getId(), bruno.getId(), carla.getId()),
+                participantes(ana.getId(), "ana@email.com", "bruno@email.com", "carla@email.com"));
+    }
+
+    @Test
+    void deve_aceitar_quem_recebeu_o_mesmo_calendario() {
+        assertEquals(Set.of(ana.getId()), participantes(davi.getId(), "ana@email.com"));
+    }
+
+    @Test
+    void nao_deve_aceitar_usuario_sem_calendario_em_comum_nem_email_inexistente() {
+        assertEquals(Set.of(), participantes(ana.getId(), "estranho@email.com", "ninguem@email.com"));
+        assertEquals(Set.of(), participantes(bruno.getId(), "davi@email.com"));
+    }
+}
@@ -0,0 +1,114 @@
+package projeto.collendar.repository;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import projeto.collendar.CollendarApplication;
+import projeto.collendar.dtos.response.EventoResponseDTO;
+import projeto.collendar.mappers.EventoMapper;
+import projeto.collendar.model.Calendario;
+import projeto.collendar.model.Evento;
+import projeto.collendar.model.Usuario;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara a listagem de eventos de um calendário carregando entidades gerenciadas
+ * (caminho anterior) com a projeção direta em DTO numa transação somente leitura.
+ * Rodar com "-prof gc" para ver a alocação por operação. Usa o perfil h2 dos testes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventoProjecaoBenchmark {
+
+    @Param({"500"})
+    private int quantidade;
+
+    private ConfigurableApplicationContext context;
+    private EventoRepository eventoRepository;
+    private TransactionTemplate leituraEscrita;
+    private TransactionTemplate somenteLeitura;
+    private UUID calendarioId;
+
+    @Setup
+    public void setup() {
+        context = new SpringApplicationBuilder(CollendarApplication.class)
+                .profiles("h2")
+                .properties("server.port=0", "spring.jpa.properties.hibernate.generate_statistics=false")
+                .run();
+
+        eventoRepository = context.getBean(EventoRepository.class);
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        leituraEscrita = new TransactionTemplate(transactionManager);
+        somenteLeitura = new TransactionTemplate(transactionManager);
+        somenteLeitura.setReadOnly(true);
+
+        Usuario usuario = new Usuario();
+        usuario.setNome("Benchmark");
+        usuario.setEmail("benchmark@email.com");
+        usuario.setSenha("senha");
+        context.getBean(UsuarioRepository.class).save(usuario);
+
+        Calendario calendario = new Calendario();
+        calendario.setNome("Benchmark");
+        calendario.setUsuario(usuario);
+        calendarioId = context.getBean(CalendarioRepository.class).save(calendario).getId();
+
+        LocalDateTime inicio = LocalDateTime.of(2025, 1, 1, 9, 0);
+        for (int i = 0; i < quantidade; i++) {
+            Evento evento = new Evento();
+            evento.setTitulo("Evento " + i);
+            evento.setDataInicio(inicio.plusHours(i));
+            evento.setDataFim(inicio.plusHours(i + 1));
+            evento.setCalendario(calendario);
+            eventoRepository.save(evento);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<EventoResponseDTO> entidades() {
+        return leituraEscrita.execute(status -> eventoRepository.findByCalendarioId(calendarioId).stream()
+                .map(EventoMapper::toDTO)
+                .toList());
+    }
+
+    @Benchmark
+    public List<EventoResponseDTO> projecao() {
+        return somenteLeitura.execute(status -> eventoRepository.findDTOsByCalendarioId(calendarioId));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EventoProjecaoBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
@@ -0,0 +1,254 @@
+package projeto.collendar.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import projeto.collendar.dtos.response.CalendarioResponseDTO;
+import projeto.collendar.dtos.response.CompartilhamentoResponseDTO;
+import projeto.collendar.dtos.response.EventoResponseDTO;
+import projeto.collendar.dtos.response.UsuarioResponseDTO;
+import projeto.collendar.enums.TipoPermissao;
+import projeto.collendar.enums.TipoRecorrencia;
+import projeto.collendar.mappers.CalendarioMapper;
+import projeto.collendar.mappers.CompartilhamentoMapper;
+import projeto.collendar.mappers.EventoMapper;
+import projeto.collendar.mappers.UsuarioMapper;
+import projeto.collendar.model.Calendario;
+import projeto.collendar.model.Compartilhamento;
+import projeto.collendar.model.Evento;
+import projeto.collendar.model.Role;
+import projeto.collendar.model.Usuario;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Garante que cada listagem mapeada para DTO executa um número fixo de comandos SQL,
+ * independente da quantidade de linhas (sem N+1 nas associações LAZY).
+ */
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class FetchPlanTest {
+
+    private static final int QUANTIDADE = 5;
+
+    @Autowired
+    TestEntityManager em;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    EventoRepository eventoRepository;
+
+    @Autowired
+    CalendarioRepository calendarioRepository;
+
+    @Autowired
+    CompartilhamentoRepository compartilhamentoRepository;
+
+    @Autowired
+    UsuarioRepository usuarioRepository;
+
+    Statistics statistics;
+    Usuario proprietario;
+    Usuario convidado;
+    Calendario calendario;
+    Evento evento;
+
+    @BeforeEach
+    void setup() {
+        Role role = new Role();
+        role.setNome("USER");
+        em.persist(role);
+
+        proprietario = usuario("dono@email.com", role);
+        convidado = usuario("convidado@email.com", role);
+
+        for (int i = 0; i < QUANTIDADE; i++) {
+            Calendario c = new Calendario();
+            c.setNome("Calendário " + i);
+            c.setCor("#FFFFFF");
+            c.setUsuario(i % 2 == 0 ? proprietario : usuario("outro" + i + "@email.com", role));
+            em.persist(c);
+
+            Compartilhamento compartilhamento = new Compartilhamento();
+            compartilhamento.setCalendario(c);
+            compartilhamento.setUsuario(convidado);
+            compartilhamento.setPermissao(TipoPermissao.VISUALIZAR);
+            em.persist(compartilhamento);
+
+            for (int j = 0; j < QUANTIDADE; j++) {
+                Evento e = new Evento();
+                e.setTitulo("Evento " + j);
+                e.setDataInicio(LocalDateTime.of(2025, 1, 1 + j, 9, 0));
+                e.setDataFim(LocalDateTime.of(2025, 1, 1 + j, 10, 0));
+                e.setDiaInteiro(false);
+                e.setRecorrente(true);
+                e.setTipoRecorrencia(TipoRecorrencia.SEMANAL);
+                e.setCalendario(c);
+                em.persist(e);
+                evento = e;
+            }
+            calendario = c;
+        }
+
+        em.flush();
+        em.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    private Usuario usuario(String email, Role role) {
+        Usuario u = new Usuario();
+        u.setNome(email);
+        u.setEmail(email);
+        u.setSenha("senha");
+        u.setRoles(Set.of(role));
+        em.persist(u);
+        return u;
+    }
+
+    private <T> T comandos(long esperados, Supplier<T> consulta) {
+        T resultado = consulta.get();
+        assertEquals(esperados, statistics.getPrepareStatementCount());
+        return resultado;
+    }
+
+    @Nested
+    class Dado_eventos_de_varios_calendarios {
+
+        @Test
+        void listar_todos_deve_executar_um_comando() {
+            List<EventoResponseDTO> eventos = comandos(1, () ->
+                    eventoRepository.findAll().stream().map(EventoMapper::toDTO).toList());
+
+            assertEquals(QUANTIDADE * QUANTIDADE, eventos.size());
+        }
+
+        @Test
+        void listar_por_calendario_deve_executar_um_comando() {
+            List<EventoResponseDTO> eventos = comandos(1, () ->
+                    eventoRepository.findByCalendarioId(calendario.getId()).stream().map(EventoMapper::toDTO).toList());
+
+            assertEquals(QUANTIDADE, eventos.size());
+        }
+
+        @Test
+        void listar_paginado_deve_executar_consulta_e_contagem() {
+            comandos(2, () -> eventoRepository.findByCalendario(calendario, PageRequest.of(0, 2))
+                    .map(EventoMapper::toDTO).getContent());
+        }
+
+        @Test
+        void buscar_por_id_deve_executar_um_comando() {
+            comandos(1, () -> eventoRepository.findById(evento.getId()).map(EventoMapper::toDTO).orElseThrow());
+        }
+    }
+
+    @Nested
+    class Dado_consultas_com_projecao_em_dto {
+
+        @Test
+        void listar_eventos_por_calendario_nao_deve_carregar_entidades() {
+            List<EventoResponseDTO> eventos = comandos(1, () ->
+                    eventoRepository.findDTOsByCalendarioId(calendario.getId()));
+
+            assertEquals(QUANTIDADE, eventos.size());
+            assertEquals(calendario.getNome(), eventos.get(0).calendarioNome());
+            assertEquals(0, statistics.getEntityLoadCount());
+        }
+
+        @Test
+        void buscar_recorrentes_nao_deve_carregar_entidades() {
+            List<EventoResponseDTO> eventos = comandos(1, () -> eventoRepository
+                    .findRecorrentesByCalendarioIniciadosAte(calendario.getId(), LocalDateTime.of(2025, 12, 31, 0, 0)));
+
+            assertEquals(QUANTIDADE, eventos.size());
+            assertEquals(TipoRecorrencia.SEMANAL, eventos.get(0).tipoRecorrencia());
+            assertEquals(0, statistics.getEntityLoadCount());
+        }
+
+        @Test
+        void listar_calendarios_do_proprietario_nao_deve_carregar_entidades() {
+            List<CalendarioResponseDTO> calendarios = comandos(1, () ->
+                    calendarioRepository.findDTOsProprietarioByUsuarioId(proprietario.getId()));
+
+            assertEquals(3, calendarios.size());
+            assertTrue(calendarios.stream().allMatch(CalendarioResponseDTO::proprietario));
+            assertEquals(0, statistics.getEntityLoadCount());
+        }
+    }
+
+    @Nested
+    class Dado_calendarios_de_um_usuario {
+
+        @Test
+        void listar_por_usuario_deve_executar_um_comando() {
+            List<CalendarioResponseDTO> calendarios = comandos(1, () ->
+                    calendarioRepository.findByUsuarioId(proprietario.getId()).stream()
+                            .map(CalendarioMapper::toDTO).toList());
+
+            assertEquals(3, calendarios.size());
+        }
+
+        @Test
+        void listar_todos_deve_executar_um_comando() {
+            comandos(1, () -> calendarioRepository.findAll().stream().map(CalendarioMapper::toDTO).toList());
+        }
+    }
+
+    @Nested
+    class Dado_calendarios_compartilhados {
+
+        @Test
+        void listar_por_calendario_deve_executar_um_comando() {
+            List<CompartilhamentoResponseDTO> compartilhamentos = comandos(1, () ->
+                    compartilhamentoRepository.findByCalendarioId(calendario.getId()).stream()
+                            .map(CompartilhamentoMapper::toDTO).toList());
+
+            assertEquals(1, compartilhamentos.size());
+        }
+
+        @Test
+        void listar_recebidos_com_dados_do_calendario_deve_executar_um_comando() {
+            List<CalendarioResponseDTO> calendarios = comandos(1, () ->
+                    compartilhamentoRepository.findByUsuarioId(convidado.getId()).stream()
+                            .map(c -> CalendarioMapper.toDTO(c.getCalendario(), false, c.getPermissao()))
+                            .toList());
+
+            assertEquals(QUANTIDADE, calendarios.size());
+        }
+    }
+
+    @Nested
+    class Dado_usuarios_com_roles {
+
+        @Test
+        void listar_todos_deve_executar_um_comando() {
+            List<UsuarioResponseDTO> usuarios = comandos(1, () ->
+                    usuarioRepository.findAll().stream().map(UsuarioMapper::toDTO).toList());
+
+            assertEquals(4, usuarios.size());
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package projeto.collendar.repository;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import projeto.collendar.config.ConsultasCapturadas;
+import projeto.collendar.dtos.response.EventoResponseDTO;
+import projeto.collendar.enums.TipoRecorrencia;
+import projeto.collendar.model.Calendario;
+import projeto.collendar.model.Evento;
+import projeto.collendar.model.Usuario;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Confere via EXPLAIN que as consultas dos repositórios usam os índices das migrations, e
+ * o resultado das consultas nativas que o H2 não executa.
+ * Cada teste chama o método do repositório e repete com EXPLAIN o comando que o
+ * Hibernate de fato preparou, com os mesmos parâmetros (ver {@link ConsultasCapturadas}).
+ * Roda contra um Postgres local descartável, informado por variáveis de ambiente:
+ * COLLENDAR_TEST_DB_URL, COLLENDAR_TEST_DB_USER e COLLENDAR_TEST_DB_PASSWORD.
+ * As migrations são aplicadas em um schema próprio, removido ao final.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=${COLLENDAR_TEST_DB_URL}",
+        "spring.datasource.username=${COLLENDAR_TEST_DB_USER:}",
+        "spring.datasource.password=${COLLENDAR_TEST_DB_PASSWORD:}",
+        "spring.datasource.hikari.connection-init-sql=SET search_path TO " + IndicesExplainTest.SCHEMA + ", public",
+        "spring.flyway.schemas=" + IndicesExplainTest.SCHEMA,
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.jpa.show-sql=false"
+})
+@Import(ConsultasCapturadas.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+@EnabledIfEnvironmentVariable(named = "COLLENDAR_TEST_DB_URL", matches = ".+")
+class IndicesExplainTest {
+
+    static final String SCHEMA = "collendar_explain";
+    private static final UUID ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private static final LocalDateTime INICIO = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final LocalDateTime FIM = LocalDateTime.of(2025, 1, 31, 23, 59, 59);
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ConsultasCapturadas consultas;
+
+    @Autowired
+    private EventoRepository eventoRepository;
+
+    @Autowired
+    private EventoRemovidoRepository eventoRemovidoRepository;
+
+    @Autowired
+    private CalendarioRepository calendarioRepository;
+
+    @Autowired
+    private CompartilhamentoRepository compartilhamentoRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @AfterAll
+    void teardown() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement st = connection.createStatement()) {
+            st.execute("DROP SCHEMA " + SCHEMA + " CASCADE");
+        }
+    }
+
+    // Plano do último comando enviado pelos repositórios. Tabelas quase vazias sempre
+    // favorecem seq scan; desligá-lo revela se existe índice utilizável
+    private String plano() throws SQLException {
+        ConsultasCapturadas.Consulta consulta = consultas.ultima();
+        StringJoiner plano = new StringJoiner("\n");
+        try (Connection connection = dataSource.getConnection()) {
+            try (Statement st = connection.createStatement()) {
+                st.execute("SET enable_seqscan = off");
+            }
+            try (PreparedStatement st = consulta.preparar(connection, "EXPLAIN ");
+                 ResultSet rs = st.executeQuery()) {
+                while (rs.next()) {
+                    plano.add(rs.getString(1));
+                }
+            } finally {
+                try (Statement st = connection.createStatement()) {
+                    st.execute("RESET enable_seqscan");
+                }
+            }
+        }
+        return consulta.sql() + "\n" + plano;
+    }
+
+    private void assertUsaIndice(String indice) throws SQLException {
+        String plano = plano();
+        assertTrue(plano.contains(indice), () -> "Esperado uso de " + indice + " em:\n" + plano);
+    }
+
+    // Filtros só pelo prefixo podem ir por qualquer índice que comece pela mesma coluna
+    private void assertUsaUmDos(List<String> indices) throws SQLException {
+        String plano = plano();
+        assertTrue(indices.stream().anyMatch(plano::contains),
+                () -> "Esperado uso de um de " + indices + " em:\n" + plano);
+    }
+
+    @Nested
+    class Dado_as_consultas_de_eventos {
+
+        @Test
+        void find_by_calendario_id_deve_usar_indice_de_calendario() throws SQLException {
+            eventoRepository.findDTOsByCalendarioId(ID);
+
+            assertUsaUmDos(List.of("idx_eventos_calendario_data", "idx_eventos_calendario_keyset"));
+        }
+
+        @Test
+        void find_by_calendario_paginado_deve_usar_indice_de_calendario() throws SQLException {
+            eventoRepository.findPrimeirosByCalendarioId(ID, Limit.of(20));
+
+            assertUsaUmDos(List.of("idx_eventos_calendario_data", "idx_eventos_calendario_keyset"));
+        }
+
+        @Test
+        void proxima_pagina_por_cursor_deve_usar_indice_keyset() throws SQLException {
+            eventoRepository.findProximosByCalendarioId(ID, INICIO, ID, Limit.of(21));
+
+            assertUsaIndice("idx_eventos_calendario_keyset");
+        }
+
+        @Test
+        void periodo_do_calendario_deve_usar_indice_gist() throws SQLException {
+            eventoRepository.findNaoRecorrentesByCalendarioAndPeriodo(ID, INICIO, FIM);
+
+            assertUsaIndice("idx_eventos_calendario_periodo");
+        }
+
+        @Test
+        void recorrentes_do_calendario_devem_usar_indice_parcial() throws SQLException {
+            eventoRepository.findRecorrentesByCalendarioIniciadosAte(ID, FIM);
+
+            assertUsaIndice("idx_eventos_calendario_recorrentes");
+        }
+
+        @Test
+        void sondagem_de_conflitos_deve_usar_indice_gist() throws SQLException {
+            eventoRepository.findConflitosNaoRecorrentes(List.of(ID), ID,
+                    LocalDateTime.of(2025, 1, 15, 10, 0), LocalDateTime.of(2025, 1, 15, 12, 0), 20);
+
+            assertUsaIndice("idx_eventos_calendario_periodo");
+        }
+
+        @Test
+        void sincronizacao_deve_usar_indice_de_versao() throws SQLException {
+            eventoRepository.findAlterados(ID, 10, 20, Limit.of(21));
+
+            assertUsaIndice("idx_eventos_calendario_versao");
+        }
+
+        @Test
+        void remocoes_da_sincronizacao_devem_usar_indice_de_versao() throws SQLException {
+            eventoRemovidoRepository.findRemovidos(ID, 10, 20, Limit.of(21));
+
+            assertUsaIndice("idx_eventos_removidos_calendario_versao");
+        }
+
+        @Test
+        void periodo_global_deve_usar_indice_de_data() throws SQLException {
+            eventoRepository.findByDataInicioBetween(INICIO, FIM);
+
+            assertUsaIndice("idx_eventos_data_inicio");
+        }
+
+        @Test
+        void busca_por_titulo_deve_usar_indice_trigram() throws SQLException {
+            eventoRepository.findPrimeirosByTitulo("reuni", Limit.of(20));
+
+            assertUsaIndice("idx_eventos_titulo_trgm");
+        }
+    }
+
+    @Nested
+    class Dado_as_consultas_de_calendarios {
+
+        @Test
+        void find_by_usuario_id_deve_usar_indice_de_usuario() throws SQLException {
+            calendarioRepository.findDTOsProprietarioByUsuarioId(ID);
+
+            assertUsaUmDos(List.of("idx_calendarios_usuario", "idx_calendarios_usuario_keyset"));
+        }
+
+        @Test
+        void proxima_pagina_por_cursor_deve_usar_indice_keyset() throws SQLException {
+            calendarioRepository.findProximosByUsuarioId(ID, INICIO, ID, Limit.of(21));
+
+            assertUsaIndice("idx_calendarios_usuario_keyset");
+        }
+
+        @Test
+        void busca_por_nome_deve_usar_indice_trigram() throws SQLException {
+            calendarioRepository.findByNomeContainingIgnoreCase("trab", Pageable.unpaged());
+
+            assertUsaIndice("idx_calendarios_nome_trgm");
+        }
+    }
+
+    @Nested
+    class Dado_as_consultas_de_compartilhamentos {
+
+        @Test
+        void find_by_usuario_id_deve_usar_indice_de_usuario() throws SQLException {
+            compartilhamentoRepository.findByUsuarioId(ID);
+
+            assertUsaIndice("idx_compartilhamentos_usuario");
+        }
+
+        @Test
+        void find_by_calendario_id_deve_usar_unique_existente() throws SQLException {
+            compartilhamentoRepository.findByCalendarioId(ID);
+
+            assertUsaIndice("compartilhamentos_calendario_id_usuario_id_key");
+        }
+    }
+
+    @Nested
+    @TestInstance(TestInstance.Lifecycle.PER_CLASS)
+    class Dado_eventos_nas_bordas_do_periodo {
+
+        // Janela consultada: [10h, 12h] de 15/01, fechada nas duas pontas
+        final LocalDateTime de = LocalDateTime.of(2025, 1, 15, 10, 0);
+        final LocalDateTime ate = LocalDateTime.of(2025, 1, 15, 12, 0);
+
+        Calendario calendario;
+
+        @BeforeAll
+        void setup() {
+            Usuario usuario = new Usuario();
+            usuario.setNome("Período");
+            usuario.setEmail("periodo@email.com");
+            usuario.setSenha("senha");
+            usuarioRepository.save(usuario);
+
+            calendario = new Calendario();
+            calendario.setNome("Período");
+            calendario.setCor("#FFFFFF");
+            calendario.setUsuario(usuario);
+            calendarioRepository.save(calendario);
+
+            eventoRepository.saveAll(List.of(
+                    evento("Começa antes", de.minusHours(1), de.plusMinutes(30), null),
+                    evento("Termina depois", ate.minusMinutes(30), ate.plusHours(1), null),
+                    evento("Cobre a janela", de.minusHours(2), ate.plusHours(2), null),
+                    evento("Encosta no início", de.minusHours(2), de, null),
+                    evento("Encosta no fim", ate, ate.plusHours(1), null),
+                    evento("Termina antes", de.minusHours(2), de.minusMinutes(1), null),
+                    evento("Começa depois", ate.plusMinutes(1), ate.plusHours(1), null),
+                    evento("Série diária", de.plusMinutes(30), de.plusHours(1), TipoRecorrencia.DIARIA)
+            ));
+        }
+
+        private Evento evento(String titulo, LocalDateTime inicio, LocalDateTime fim, TipoRecorrencia recorrencia) {
+            Evento evento = new Evento();
+            evento.setTitulo(titulo);
+            evento.setDataInicio(inicio);
+            evento.setDataFim(fim);
+            evento.setRecorrente(recorrencia != null);
+            evento.setTipoRecorrencia(recorrencia);
+            evento.setCalendario(calendario);
+            evento.setVersao(1L);
+            return evento;
+        }
+
+        @Test
+        void periodo_deve_trazer_os_que_sobrepoem_inclusive_nas_bordas_sem_as_series() {
+            Set<String> titulos = Set.copyOf(eventoRepository
+                    .findNaoRecorrentesByCalendarioAndPeriodo(calendario.getId(), de, ate).stream()
+                    .map(EventoResponseDTO::titulo)
+                    .toList());
+
+            assertEquals(Set.of("Começa antes", "Termina depois", "Cobre a janela",
+                    "Encosta no início", "Encosta no fim"), titulos);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package projeto.collendar.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+import projeto.collendar.dtos.response.CalendarioResponseDTO;
+import projeto.collendar.dtos.response.EventoResponseDTO;
+import projeto.collendar.model.Calendario;
+import projeto.collendar.model.Evento;
+import projeto.collendar.model.Usuario;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class KeysetPaginationTest {
+
+    private static final int TOTAL = 7;
+    private static final int TAMANHO = 3;
+
+    @Autowired
+    TestEntityManager em;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    EventoRepository eventoRepository;
+
+    @Autowired
+    CalendarioRepository calendarioRepository;
+
+    Statistics statistics;
+    Usuario usuario;
+    Calendario calendario;
+
+    @BeforeEach
+    void setup() {
+        usuario = new Usuario();
+        usuario.setNome("Keyset");
+        usuario.setEmail("keyset@email.com");
+        usuario.setSenha("senha");
+        em.persist(usuario);
+
+        for (int i = 0; i < TOTAL; i++) {
+            Calendario c = new Calendario();
+            c.setNome("Calendário " + i);
+            c.setUsuario(usuario);
+            em.persist(c);
+            calendario = c;
+        }
+
+        // Metade dos eventos compartilha o mesmo início para exercitar o desempate por id
+        LocalDateTime inicio = LocalDateTime.of(2025, 1, 1, 9, 0);
+        for (int i = 0; i < TOTAL; i++) {
+            Evento e = new Evento();
+            e.setTitulo(i % 2 == 0 ? "Reunião " + i : "Almoço " + i);
+            e.setDataInicio(i < TOTAL / 2 ? inicio : inicio.plusDays(i));
+            e.setDataFim(inicio.plusDays(i).plusHours(1));
+            e.setCalendario(calendario);
+            em.persist(e);
+        }
+
+        em.flush();
+        em.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Nested
+    class Dado_eventos_com_inicios_repetidos {
+
+        @Test
+        void deve_percorrer_todas_as_paginas_sem_repetir_nem_pular() {
+            List<EventoResponseDTO> todos = new ArrayList<>();
+            List<EventoResponseDTO> pagina = eventoRepository.findPrimeirosByCalendarioId(
+                    calendario.getId(), Limit.of(TAMANHO));
+
+            while (!pagina.isEmpty()) {
+                todos.addAll(pagina);
+                EventoResponseDTO ultimo = pagina.get(pagina.size() - 1);
+                pagina = eventoRepository.findProximosByCalendarioId(
+                        calendario.getId(), ultimo.dataInicio(), ultimo.id(), Limit.of(TAMANHO));
+            }
+
+            assertEquals(TOTAL, todos.size());
+            assertEquals(TOTAL, new HashSet<>(todos.stream().map(EventoResponseDTO::id).toList()).size());
+            for (int i = 1; i < todos.size(); i++) {
+                assertFalse(todos.get(i).dataInicio().isBefore(todos.get(i - 1).dataInicio()));
+            }
+        }
+
+        @Test
+        void cada_pagina_deve_executar_um_unico_comando_sem_contagem() {
+            List<EventoResponseDTO> primeira = eventoRepository.findPrimeirosByCalendarioId(
+                    calendario.getId(), Limit.of(TAMANHO));
+            EventoResponseDTO ultimo = primeira.get(TAMANHO - 1);
+            eventoRepository.findProximosByCalendarioId(calendario.getId(), ultimo.dataInicio(), ultimo.id(),
+                    Limit.of(TAMANHO));
+
+            assertEquals(2, statistics.getPrepareStatementCount());
+        }
+
+        @Test
+        void busca_por_titulo_deve_paginar_apenas_os_correspondentes() {
+            List<EventoResponseDTO> primeira = eventoRepository.findPrimeirosByTitulo("reunião", Limit.of(2));
+            EventoResponseDTO ultimo = primeira.get(1);
+            List<EventoResponseDTO> segunda = eventoRepository.findProximosByTitulo(
+                    "reunião", ultimo.dataInicio(), ultimo.id(), Limit.of(2));
+
+            assertEquals(2, primeira.size());
+            assertEquals(2, segunda.size());
+            assertTrue(segunda.stream().allMatch(e -> e.titulo().startsWith("Reunião")));
+        }
+    }
+
+    @Nested
+    class Dado_calendarios_de_um_usuario {
+
+        @Test
+        void deve_percorrer_todos_em_ordem_de_criacao() {
+            List<UUID> ids = new ArrayList<>();
+            List<CalendarioResponseDTO> pagina = calendarioRepository.findPrimeirosByUsuarioId(
+                    usuario.getId(), Limit.of(TAMANHO));
+
+            while (!pagina.isEmpty()) {
+                pagina.forEach(c -> ids.add(c.id()));
+                CalendarioResponseDTO ultimo = pagina.get(pagina.size() - 1);
+                pagina = calendarioRepository.findProximosByUsuarioId(
+                        usuario.getId(), ultimo.createdAt(), ultimo.id(), Limit.of(TAMANHO));
+            }
+
+            assertEquals(TOTAL, ids.size());
+            assertEquals(TOTAL, new HashSet<>(ids).size());
+        }
+    }
+}
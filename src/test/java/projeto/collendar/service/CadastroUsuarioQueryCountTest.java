@@ -0,0 +1,75 @@
+package projeto.collendar.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import projeto.collendar.dtos.request.UsuarioRequestDTO;
+import projeto.collendar.dtos.response.UsuarioResponseDTO;
+import projeto.collendar.model.Role;
+import projeto.collendar.repository.RoleRepository;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Conta os comandos SQL do cadastro: com as roles em memória restam a verificação
+ * de email, o insert do usuário e os inserts da tabela de associação, que o batching
+ * JDBC agrupa em um único comando.
+ */
+@SpringBootTest
+@ActiveProfiles("h2")
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class CadastroUsuarioQueryCountTest {
+
+    @Autowired
+    UsuarioService usuarioService;
+
+    @Autowired
+    RoleRepository roleRepository;
+
+    @Autowired
+    RoleCache roleCache;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    Statistics statistics;
+
+    @BeforeEach
+    void setup() {
+        for (String nome : Set.of("USER", "ADMIN")) {
+            if (roleRepository.findByNome(nome).isEmpty()) {
+                Role role = new Role();
+                role.setNome(nome);
+                roleRepository.save(role);
+            }
+        }
+        roleCache.carregar();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Nested
+    class Quando_cadastrar_usuario {
+
+        @Test
+        void deve_executar_numero_constante_de_comandos() {
+            UsuarioResponseDTO criado = usuarioService.create(new UsuarioRequestDTO(
+                    "Cadastro", "cadastro-" + System.nanoTime() + "@email.com", "senha123"));
+
+            assertEquals(Set.of("USER", "ADMIN"), criado.roles());
+            assertEquals(0, statistics.getEntityLoadCount());
+            assertEquals(3, statistics.getPrepareStatementCount());
+        }
+    }
+}
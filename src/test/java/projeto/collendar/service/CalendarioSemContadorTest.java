@@ -0,0 +1,111 @@
+package projeto.collendar.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import projeto.collendar.DadosTeste;
+import projeto.collendar.dtos.projection.CalendarioFeedDTO;
+import projeto.collendar.dtos.response.EventoResponseDTO;
+import projeto.collendar.dtos.response.SincronizacaoResponseDTO;
+import projeto.collendar.model.CalendarioContador;
+import projeto.collendar.repository.CalendarioContadorRepository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Calendários sem linha em calendario_contadores, como os criados fora da aplicação,
+ * continuam atendidos: quem lê cai nas tabelas, e a primeira escrita ou sincronização cria
+ * a linha. O H2 roda em modo PostgreSQL para aceitar o INSERT ... ON CONFLICT.
+ */
+@SpringBootTest(properties =
+        "spring.datasource.url=jdbc:h2:mem:collendar-pg;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("h2")
+@Import(DadosTeste.class)
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class CalendarioSemContadorTest {
+
+    @Autowired
+    DadosTeste dados;
+
+    @Autowired
+    CalendarioService calendarioService;
+
+    @Autowired
+    EventoService eventoService;
+
+    @Autowired
+    CalendarioContadorRepository contadorRepository;
+
+    UUID calendarioId;
+    EventoResponseDTO existente;
+    LocalDateTime inicio = LocalDateTime.of(2025, 5, 1, 9, 0);
+
+    @BeforeEach
+    void setup() {
+        calendarioId = dados.calendario("Sem contador");
+        existente = eventoService.create(DadosTeste.evento(calendarioId, "Existente", inicio, inicio.plusHours(1)));
+        contadorRepository.deleteById(calendarioId);
+    }
+
+    @Test
+    void feed_deve_usar_a_data_do_calendario_e_contar_os_eventos() {
+        CalendarioFeedDTO feed = calendarioService.findFeed(calendarioId);
+
+        assertEquals(calendarioId, feed.id());
+        assertEquals(feed.atualizadoEm(), feed.eventosAlteradosEm());
+        assertEquals(1, feed.totalEventos());
+    }
+
+    @Test
+    void sincronizacao_deve_criar_a_linha_a_partir_das_versoes_existentes() {
+        SincronizacaoResponseDTO carga = eventoService.sincronizar(calendarioId, null, null);
+
+        assertEquals(1, carga.alterados().size());
+        assertEquals(1, contador().getVersao());
+    }
+
+    @Nested
+    class Quando_criar_um_evento {
+
+        @BeforeEach
+        void setup() {
+            eventoService.create(DadosTeste.evento(calendarioId, "Novo", inicio.plusHours(2), inicio.plusHours(3)));
+        }
+
+        @Test
+        void deve_criar_a_linha_com_o_total_e_a_versao_seguintes() {
+            assertEquals(2, contador().getTotalEventos());
+            assertEquals(2, contador().getVersao());
+            assertEquals(2, calendarioService.findFeed(calendarioId).totalEventos());
+        }
+    }
+
+    @Nested
+    class Quando_remover_um_evento {
+
+        @BeforeEach
+        void setup() {
+            eventoService.delete(existente.id());
+        }
+
+        @Test
+        void deve_criar_a_linha_sem_o_evento_removido() {
+            assertEquals(0, contador().getTotalEventos());
+            assertEquals(2, contador().getVersao());
+            assertEquals(0, eventoService.countByCalendario(calendarioId));
+        }
+    }
+
+    private CalendarioContador contador() {
+        return contadorRepository.findById(calendarioId).orElseThrow();
+    }
+}
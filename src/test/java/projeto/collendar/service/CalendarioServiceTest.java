@@ -5,17 +5,26 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import projeto.collendar.dtos.request.CalendarioRequestDTO;
 import projeto.collendar.dtos.response.CalendarioResponseDTO;
+import projeto.collendar.dtos.response.CursorPageResponseDTO;
+import projeto.collendar.events.CalendarioAlteradoEvent;
+import projeto.collendar.events.CalendarioRemovidoEvent;
 import projeto.collendar.exception.ResourceNotFoundException;
+import projeto.collendar.mappers.CalendarioMapper;
 import projeto.collendar.model.Calendario;
 import projeto.collendar.model.Usuario;
+import projeto.collendar.repository.CalendarioContadorRepository;
 import projeto.collendar.repository.CalendarioRepository;
+import projeto.collendar.utils.CursorUtils;
 
+import java.time.LocalDateTime;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -29,9 +38,15 @@ class CalendarioServiceTest {
     @Mock
     private CalendarioRepository calendarioRepository;
 
+    @Mock
+    private CalendarioContadorRepository contadorRepository;
+
     @Mock
     private UsuarioService usuarioService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private CalendarioService calendarioService;
 
@@ -98,6 +113,12 @@ class CalendarioServiceTest {
             void deve_salvar_calendario_no_repositorio() {
                 verify(calendarioRepository).save(any(Calendario.class));
             }
+
+            @Test
+            void deve_criar_contador_zerado_do_calendario() {
+                verify(contadorRepository).save(argThat(contador ->
+                        contador.getCalendario() != null && contador.getTotalEventos() == 0));
+            }
         }
 
         @Nested
@@ -221,8 +242,8 @@ class CalendarioServiceTest {
 
             @BeforeEach
             void setup() {
-                when(calendarioRepository.findByUsuarioId(usuarioId))
-                        .thenReturn(Arrays.asList(calendario));
+                when(calendarioRepository.findDTOsProprietarioByUsuarioId(usuarioId))
+                        .thenReturn(List.of(CalendarioMapper.toDTO(calendario, true, null)));
                 resultado = calendarioService.listByUsuario(usuarioId);
             }
 
@@ -263,6 +284,45 @@ class CalendarioServiceTest {
             }
         }
 
+        @Nested
+        class Quando_listar_por_usuario_com_cursor {
+
+            CursorPageResponseDTO<CalendarioResponseDTO> resultado;
+            LocalDateTime criadoEm;
+
+            @BeforeEach
+            void setup() {
+                criadoEm = LocalDateTime.of(2025, 1, 10, 8, 0);
+                calendario.setCreatedAt(criadoEm);
+
+                Calendario outro = new Calendario();
+                outro.setId(UUID.randomUUID());
+                outro.setNome("Pessoal");
+                outro.setUsuario(usuario);
+                outro.setCreatedAt(criadoEm.plusDays(1));
+
+                when(calendarioRepository.findPrimeirosByUsuarioId(usuarioId, Limit.of(2)))
+                        .thenReturn(List.of(
+                                CalendarioMapper.toDTO(calendario, true, null),
+                                CalendarioMapper.toDTO(outro, true, null)));
+
+                resultado = calendarioService.listByUsuarioCursor(usuarioId, "", 1);
+            }
+
+            @Test
+            void deve_retornar_apenas_o_tamanho_pedido() {
+                assertEquals(1, resultado.itens().size());
+                assertEquals(calendarioId, resultado.itens().get(0).id());
+            }
+
+            @Test
+            void deve_apontar_cursor_para_o_ultimo_item_entregue() {
+                CursorUtils.Cursor cursor = CursorUtils.decode(resultado.proximoCursor());
+                assertEquals(criadoEm, cursor.valor());
+                assertEquals(calendarioId, cursor.id());
+            }
+        }
+
         @Nested
         class Quando_buscar_por_nome {
 
@@ -313,6 +373,11 @@ class CalendarioServiceTest {
                 assertNotNull(resultado);
                 verify(calendarioRepository).save(any(Calendario.class));
             }
+
+            @Test
+            void deve_publicar_evento_de_alteracao() {
+                verify(eventPublisher).publishEvent(new CalendarioAlteradoEvent(calendarioId));
+            }
         }
 
         @Nested
@@ -357,6 +422,11 @@ class CalendarioServiceTest {
             void deve_deletar_calendario() {
                 verify(calendarioRepository).deleteById(calendarioId);
             }
+
+            @Test
+            void deve_publicar_evento_de_remocao() {
+                verify(eventPublisher).publishEvent(new CalendarioRemovidoEvent(calendarioId));
+            }
         }
 
         @Nested
@@ -385,7 +455,7 @@ class CalendarioServiceTest {
 
             @BeforeEach
             void setup() {
-                when(calendarioRepository.findById(calendarioId)).thenReturn(Optional.of(calendario));
+                when(calendarioRepository.findProprietarioIdById(calendarioId)).thenReturn(Optional.of(usuarioId));
                 resultado = calendarioService.isOwner(calendarioId, usuarioId);
             }
 
@@ -404,7 +474,7 @@ class CalendarioServiceTest {
             @BeforeEach
             void setup() {
                 outroUsuarioId = UUID.randomUUID();
-                when(calendarioRepository.findById(calendarioId)).thenReturn(Optional.of(calendario));
+                when(calendarioRepository.findProprietarioIdById(calendarioId)).thenReturn(Optional.of(usuarioId));
                 resultado = calendarioService.isOwner(calendarioId, outroUsuarioId);
             }
 
@@ -421,11 +491,7 @@ class CalendarioServiceTest {
 
             @BeforeEach
             void setup() {
-                Calendario calendario2 = new Calendario();
-                calendario2.setId(UUID.randomUUID());
-
-                when(calendarioRepository.findByUsuarioId(usuarioId))
-                        .thenReturn(Arrays.asList(calendario, calendario2));
+                when(calendarioRepository.countByUsuarioId(usuarioId)).thenReturn(2L);
 
                 resultado = calendarioService.countByUsuario(usuarioId);
             }
@@ -1,15 +1,21 @@
 package projeto.collendar.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import projeto.collendar.dtos.projection.AcessoCalendarioDTO;
 import projeto.collendar.dtos.request.CompartilhamentoRequestDTO;
 import projeto.collendar.dtos.response.CalendarioResponseDTO;
 import projeto.collendar.dtos.response.CompartilhamentoResponseDTO;
 import projeto.collendar.dtos.response.PermissaoResponseDTO;
 import projeto.collendar.enums.TipoPermissao;
+import projeto.collendar.events.CalendarioRemovidoEvent;
+import projeto.collendar.events.CompartilhamentoAlteradoEvent;
 import projeto.collendar.exception.BusinessException;
 import projeto.collendar.exception.ResourceNotFoundException;
 import projeto.collendar.model.Calendario;
@@ -17,6 +23,7 @@ import projeto.collendar.model.Compartilhamento;
 import projeto.collendar.model.Usuario;
 import projeto.collendar.repository.CompartilhamentoRepository;
 
+import java.time.Duration;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -36,6 +43,12 @@ class CompartilhamentoServiceTest {
     @Mock
     private UsuarioService usuarioService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private PermissaoCache permissaoCache = new PermissaoCache(100, Duration.ofMinutes(1), new SimpleMeterRegistry());
+
     @InjectMocks
     private CompartilhamentoService compartilhamentoService;
 
@@ -322,12 +335,8 @@ class CompartilhamentoServiceTest {
 
             @BeforeEach
             void setup() {
-                when(compartilhamentoRepository.findCalendariosCompartilhadosComUsuario(destinatarioId))
-                        .thenReturn(Arrays.asList(calendario));
-                when(compartilhamentoRepository.findByCalendarioAndUsuario(calendario, destinatario))
-                        .thenReturn(Optional.of(compartilhamento));
-                when(usuarioService.findEntityById(destinatarioId)).thenReturn(destinatario);
-                when(calendarioService.findEntityById(calendarioId)).thenReturn(calendario);
+                when(compartilhamentoRepository.findByUsuarioId(destinatarioId))
+                        .thenReturn(Arrays.asList(compartilhamento));
 
                 resultado = compartilhamentoService.listSharedWithUsuario(destinatarioId);
             }
@@ -388,6 +397,11 @@ class CompartilhamentoServiceTest {
                 assertNotNull(resultado);
                 verify(compartilhamentoRepository).save(any(Compartilhamento.class));
             }
+
+            @Test
+            void deve_publicar_evento_de_alteracao() {
+                verify(eventPublisher).publishEvent(new CompartilhamentoAlteradoEvent(calendarioId, destinatarioId));
+            }
         }
 
         @Nested
@@ -395,15 +409,20 @@ class CompartilhamentoServiceTest {
 
             @BeforeEach
             void setup() {
-                when(compartilhamentoRepository.existsById(compartilhamentoId)).thenReturn(true);
-                doNothing().when(compartilhamentoRepository).deleteById(compartilhamentoId);
+                when(compartilhamentoRepository.findById(compartilhamentoId))
+                        .thenReturn(Optional.of(compartilhamento));
 
                 compartilhamentoService.delete(compartilhamentoId);
             }
 
             @Test
             void deve_deletar_compartilhamento() {
-                verify(compartilhamentoRepository).deleteById(compartilhamentoId);
+                verify(compartilhamentoRepository).delete(compartilhamento);
+            }
+
+            @Test
+            void deve_publicar_evento_de_alteracao() {
+                verify(eventPublisher).publishEvent(new CompartilhamentoAlteradoEvent(calendarioId, destinatarioId));
             }
         }
 
@@ -412,7 +431,7 @@ class CompartilhamentoServiceTest {
 
             @BeforeEach
             void setup() {
-                when(compartilhamentoRepository.existsById(compartilhamentoId)).thenReturn(false);
+                when(compartilhamentoRepository.findById(compartilhamentoId)).thenReturn(Optional.empty());
             }
 
             @Test
@@ -433,10 +452,8 @@ class CompartilhamentoServiceTest {
 
             @BeforeEach
             void setup() {
-                when(calendarioService.findEntityById(calendarioId)).thenReturn(calendario);
-                when(usuarioService.findEntityById(destinatarioId)).thenReturn(destinatario);
-                when(compartilhamentoRepository.existsByCalendarioAndUsuario(calendario, destinatario))
-                        .thenReturn(true);
+                when(compartilhamentoRepository.findAcesso(calendarioId, destinatarioId))
+                        .thenReturn(Optional.of(new AcessoCalendarioDTO(dono.getId(), TipoPermissao.VISUALIZAR)));
 
                 resultado = compartilhamentoService.hasAccess(calendarioId, destinatarioId);
             }
@@ -454,7 +471,8 @@ class CompartilhamentoServiceTest {
 
             @BeforeEach
             void setup() {
-                when(calendarioService.findEntityById(calendarioId)).thenReturn(calendario);
+                when(compartilhamentoRepository.findAcesso(calendarioId, dono.getId()))
+                        .thenReturn(Optional.of(new AcessoCalendarioDTO(dono.getId(), null)));
 
                 resultado = compartilhamentoService.hasAccess(calendarioId, dono.getId());
             }
@@ -472,11 +490,8 @@ class CompartilhamentoServiceTest {
 
             @BeforeEach
             void setup() {
-                compartilhamento.setPermissao(TipoPermissao.EDITAR);
-                when(calendarioService.findEntityById(calendarioId)).thenReturn(calendario);
-                when(usuarioService.findEntityById(destinatarioId)).thenReturn(destinatario);
-                when(compartilhamentoRepository.findByCalendarioAndUsuario(calendario, destinatario))
-                        .thenReturn(Optional.of(compartilhamento));
+                when(compartilhamentoRepository.findAcesso(calendarioId, destinatarioId))
+                        .thenReturn(Optional.of(new AcessoCalendarioDTO(dono.getId(), TipoPermissao.EDITAR)));
 
                 resultado = compartilhamentoService.canEdit(calendarioId, destinatarioId);
             }
@@ -494,10 +509,8 @@ class CompartilhamentoServiceTest {
 
             @BeforeEach
             void setup() {
-                when(calendarioService.findEntityById(calendarioId)).thenReturn(calendario);
-                when(usuarioService.findEntityById(destinatarioId)).thenReturn(destinatario);
-                when(compartilhamentoRepository.findByCalendarioAndUsuario(calendario, destinatario))
-                        .thenReturn(Optional.of(compartilhamento));
+                when(compartilhamentoRepository.findAcesso(calendarioId, destinatarioId))
+                        .thenReturn(Optional.of(new AcessoCalendarioDTO(dono.getId(), TipoPermissao.VISUALIZAR)));
 
                 resultado = compartilhamentoService.canEdit(calendarioId, destinatarioId);
             }
@@ -515,10 +528,8 @@ class CompartilhamentoServiceTest {
 
             @BeforeEach
             void setup() {
-                when(calendarioService.findEntityById(calendarioId)).thenReturn(calendario);
-                when(usuarioService.findEntityById(destinatarioId)).thenReturn(destinatario);
-                when(compartilhamentoRepository.findByCalendarioAndUsuario(calendario, destinatario))
-                        .thenReturn(Optional.of(compartilhamento));
+                when(compartilhamentoRepository.findAcesso(calendarioId, destinatarioId))
+                        .thenReturn(Optional.of(new AcessoCalendarioDTO(dono.getId(), TipoPermissao.VISUALIZAR)));
 
                 resultado = compartilhamentoService.getMyPermission(calendarioId, destinatarioId);
             }
@@ -540,7 +551,8 @@ class CompartilhamentoServiceTest {
 
             @BeforeEach
             void setup() {
-                when(calendarioService.findEntityById(calendarioId)).thenReturn(calendario);
+                when(compartilhamentoRepository.findAcesso(calendarioId, dono.getId()))
+                        .thenReturn(Optional.of(new AcessoCalendarioDTO(dono.getId(), null)));
 
                 resultado = compartilhamentoService.getMyPermission(calendarioId, dono.getId());
             }
@@ -555,6 +567,107 @@ class CompartilhamentoServiceTest {
             }
         }
 
+        @Nested
+        class Quando_verificar_acesso_de_usuario_sem_compartilhamento {
+
+            PermissaoResponseDTO resultado;
+            UUID estranhoId;
+
+            @BeforeEach
+            void setup() {
+                estranhoId = UUID.randomUUID();
+                when(compartilhamentoRepository.findAcesso(calendarioId, estranhoId))
+                        .thenReturn(Optional.of(new AcessoCalendarioDTO(dono.getId(), null)));
+
+                resultado = compartilhamentoService.getMyPermission(calendarioId, estranhoId);
+            }
+
+            @Test
+            void deve_negar_visualizacao_e_edicao() {
+                assertFalse(resultado.proprietario());
+                assertFalse(resultado.podeVisualizar());
+                assertFalse(resultado.podeEditar());
+            }
+        }
+
+        @Nested
+        class Quando_verificar_acesso_repetidamente {
+
+            @BeforeEach
+            void setup() {
+                when(compartilhamentoRepository.findAcesso(calendarioId, destinatarioId))
+                        .thenReturn(Optional.of(new AcessoCalendarioDTO(dono.getId(), TipoPermissao.VISUALIZAR)));
+
+                compartilhamentoService.hasAccess(calendarioId, destinatarioId);
+                compartilhamentoService.canEdit(calendarioId, destinatarioId);
+            }
+
+            @Test
+            void deve_consultar_o_banco_uma_unica_vez() {
+                verify(compartilhamentoRepository, times(1)).findAcesso(calendarioId, destinatarioId);
+            }
+
+            @Test
+            void deve_consultar_novamente_apos_invalidacao() {
+                permissaoCache.onCompartilhamentoAlterado(new CompartilhamentoAlteradoEvent(calendarioId, destinatarioId));
+                compartilhamentoService.hasAccess(calendarioId, destinatarioId);
+
+                verify(compartilhamentoRepository, times(2)).findAcesso(calendarioId, destinatarioId);
+            }
+
+            @Test
+            void deve_consultar_novamente_apos_remocao_do_calendario() {
+                permissaoCache.onCalendarioRemovido(new CalendarioRemovidoEvent(calendarioId));
+                compartilhamentoService.hasAccess(calendarioId, destinatarioId);
+
+                verify(compartilhamentoRepository, times(2)).findAcesso(calendarioId, destinatarioId);
+            }
+        }
+
+        @Nested
+        class Quando_a_revogacao_e_invalidada_durante_a_leitura_do_acesso {
+
+            @BeforeEach
+            void setup() {
+                // A leitura vê o compartilhamento ainda ativo, mas a invalidação após o commit da
+                // revogação acontece antes de o resultado ser guardado
+                when(compartilhamentoRepository.findAcesso(calendarioId, destinatarioId)).thenAnswer(invocation -> {
+                    permissaoCache.onCompartilhamentoAlterado(new CompartilhamentoAlteradoEvent(calendarioId, destinatarioId));
+                    return Optional.of(new AcessoCalendarioDTO(dono.getId(), TipoPermissao.VISUALIZAR));
+                });
+
+                compartilhamentoService.hasAccess(calendarioId, destinatarioId);
+            }
+
+            @Test
+            void nao_deve_guardar_o_acesso_lido_antes_da_revogacao() {
+                when(compartilhamentoRepository.findAcesso(calendarioId, destinatarioId))
+                        .thenReturn(Optional.of(new AcessoCalendarioDTO(dono.getId(), null)));
+
+                assertFalse(compartilhamentoService.hasAccess(calendarioId, destinatarioId));
+            }
+        }
+
+        @Nested
+        class Quando_verificar_acesso_a_calendario_inexistente {
+
+            @BeforeEach
+            void setup() {
+                when(compartilhamentoRepository.findAcesso(calendarioId, destinatarioId))
+                        .thenReturn(Optional.empty());
+            }
+
+            @Test
+            void deve_lancar_resource_not_found_exception() {
+                ResourceNotFoundException exception = assertThrows(
+                        ResourceNotFoundException.class,
+                        () -> compartilhamentoService.hasAccess(calendarioId, destinatarioId)
+                );
+
+                assertTrue(exception.getMessage().contains("Calendário não encontrado"));
+            }
+        }
+
         @Nested
         class Quando_contar_compartilhamentos_por_calendario {
 
@@ -562,11 +675,7 @@ class CompartilhamentoServiceTest {
 
             @BeforeEach
             void setup() {
-                Compartilhamento comp2 = new Compartilhamento();
-                comp2.setId(UUID.randomUUID());
-
-                when(compartilhamentoRepository.findByCalendarioId(calendarioId))
-                        .thenReturn(Arrays.asList(compartilhamento, comp2));
+                when(compartilhamentoRepository.countByCalendarioId(calendarioId)).thenReturn(2L);
 
                 resultado = compartilhamentoService.countByCalendario(calendarioId);
             }
@@ -0,0 +1,173 @@
+package projeto.collendar.service;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import projeto.collendar.dtos.projection.PeriodoOcupadoDTO;
+import projeto.collendar.dtos.request.HorariosLivresRequestDTO;
+import projeto.collendar.dtos.response.DisponibilidadeResponseDTO;
+import projeto.collendar.dtos.response.IntervaloResponseDTO;
+import projeto.collendar.enums.TipoRecorrencia;
+import projeto.collendar.exception.BusinessException;
+import projeto.collendar.exception.ResourceNotFoundException;
+import projeto.collendar.repository.EventoRepository;
+import projeto.collendar.repository.UsuarioRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class DisponibilidadeServiceTest {
+
+    @Mock
+    private EventoRepository eventoRepository;
+
+    @Mock
+    private UsuarioRepository usuarioRepository;
+
+    @InjectMocks
+    private DisponibilidadeService disponibilidadeService;
+
+    List<UUID> usuarioIds = List.of(UUID.randomUUID());
+    LocalDateTime inicio = LocalDateTime.of(2025, 3, 10, 0, 0);
+    LocalDateTime fim = LocalDateTime.of(2025, 3, 13, 0, 0);
+
+    @Nested
+    class Dado_eventos_de_varios_calendarios {
+
+        @Test
+        void deve_expandir_recorrencias_e_unir_os_blocos() {
+            when(eventoRepository.findPeriodosOcupados(usuarioIds, inicio, fim)).thenReturn(List.of(
+                    // Diária das 9h às 10h, criada antes do período
+                    new PeriodoOcupadoDTO(LocalDateTime.of(2025, 1, 1, 9, 0),
+                            LocalDateTime.of(2025, 1, 1, 10, 0), false, TipoRecorrencia.DIARIA),
+                    // Encosta na ocorrência do dia 11
+                    new PeriodoOcupadoDTO(LocalDateTime.of(2025, 3, 11, 10, 0),
+                            LocalDateTime.of(2025, 3, 11, 11, 30), false, null),
+                    // Sobrepõe a ocorrência do dia 12, vindo de outro calendário
+                    new PeriodoOcupadoDTO(LocalDateTime.of(2025, 3, 12, 8, 0),
+                            LocalDateTime.of(2025, 3, 12, 9, 30), false, null)
+            ));
+
+            DisponibilidadeResponseDTO resultado = disponibilidadeService.findOcupados(usuarioIds, inicio, fim);
+
+            assertEquals(List.of(
+                    new IntervaloResponseDTO(LocalDateTime.of(2025, 3, 10, 9, 0), LocalDateTime.of(2025, 3, 10, 10, 0)),
+                    new IntervaloResponseDTO(LocalDateTime.of(2025, 3, 11, 9, 0), LocalDateTime.of(2025, 3, 11, 11, 30)),
+                    new IntervaloResponseDTO(LocalDateTime.of(2025, 3, 12, 8, 0), LocalDateTime.of(2025, 3, 12, 10, 0))
+            ), resultado.ocupados());
+            assertEquals(inicio, resultado.dataInicio());
+            assertEquals(fim, resultado.dataFim());
+        }
+
+        @Test
+        void deve_recortar_eventos_que_atravessam_o_periodo() {
+            when(eventoRepository.findPeriodosOcupados(usuarioIds, inicio, fim)).thenReturn(List.of(
+                    new PeriodoOcupadoDTO(LocalDateTime.of(2025, 3, 9, 0, 0),
+                            LocalDateTime.of(2025, 3, 20, 0, 0), false, null)
+            ));
+
+            DisponibilidadeResponseDTO resultado = disponibilidadeService.findOcupados(usuarioIds, inicio, fim);
+
+            assertEquals(List.of(new IntervaloResponseDTO(inicio, fim)), resultado.ocupados());
+        }
+    }
+
+    @Nested
+    class Dado_um_periodo_invalido {
+
+        @Test
+        void deve_recusar_fim_anterior_ao_inicio() {
+            assertThrows(BusinessException.class,
+                    () -> disponibilidadeService.findOcupados(usuarioIds, fim, inicio));
+            verify(eventoRepository, never()).findPeriodosOcupados(any(), any(), any());
+        }
+
+        @Test
+        void deve_recusar_periodo_maior_que_o_maximo() {
+            assertThrows(BusinessException.class,
+                    () -> disponibilidadeService.findOcupados(usuarioIds, inicio, inicio.plusDays(400)));
+            verify(eventoRepository, never()).findPeriodosOcupados(any(), any(), any());
+        }
+    }
+
+    @Nested
+    class Dado_um_evento_de_dia_inteiro {
+
+        @Test
+        void deve_ocupar_o_dia_completo() {
+            when(eventoRepository.findPeriodosOcupados(usuarioIds, inicio, fim)).thenReturn(List.of(
+                    new PeriodoOcupadoDTO(LocalDateTime.of(2025, 3, 11, 9, 0),
+                            LocalDateTime.of(2025, 3, 11, 18, 0), true, null)
+            ));
+
+            DisponibilidadeResponseDTO resultado = disponibilidadeService.findOcupados(usuarioIds, inicio, fim);
+
+            assertEquals(List.of(new IntervaloResponseDTO(
+                    LocalDateTime.of(2025, 3, 11, 0, 0), LocalDateTime.of(2025, 3, 12, 0, 0))), resultado.ocupados());
+        }
+    }
+
+    @Nested
+    class Dado_uma_busca_de_horarios_livres {
+
+        Set<String> emails = Set.of("ana@email.com", "bruno@email.com");
+        UUID anaId = UUID.randomUUID();
+        UUID brunoId = UUID.randomUUID();
+        LocalDateTime dia = LocalDateTime.of(2025, 3, 10, 8, 0);
+        LocalDateTime fimDoDia = LocalDateTime.of(2025, 3, 10, 12, 0);
+
+        private HorariosLivresRequestDTO busca(int duracaoMinutos, Integer quantidade) {
+            return new HorariosLivresRequestDTO(emails, duracaoMinutos, dia, fimDoDia, quantidade);
+        }
+
+        @Test
+        void deve_retornar_os_primeiros_horarios_livres_de_todos() {
+            when(usuarioRepository.findIdsComCalendarioEmComumByEmailIn(emails, anaId)).thenReturn(List.of(anaId, brunoId));
+            when(eventoRepository.findPeriodosOcupados(List.of(anaId, brunoId), dia, fimDoDia)).thenReturn(List.of(
+                    // Ana das 8h às 9h10, Bruno diariamente das 9h30 às 10h
+                    new PeriodoOcupadoDTO(LocalDateTime.of(2025, 3, 10, 8, 0),
+                            LocalDateTime.of(2025, 3, 10, 9, 10), false, null),
+                    new PeriodoOcupadoDTO(LocalDateTime.of(2025, 2, 1, 9, 30),
+                            LocalDateTime.of(2025, 2, 1, 10, 0), false, TipoRecorrencia.DIARIA)
+            ));
+
+            List<IntervaloResponseDTO> horarios = disponibilidadeService.findHorariosLivres(busca(30, 3), anaId);
+
+            assertEquals(List.of(
+                    new IntervaloResponseDTO(LocalDateTime.of(2025, 3, 10, 10, 0), LocalDateTime.of(2025, 3, 10, 10, 30)),
+                    new IntervaloResponseDTO(LocalDateTime.of(2025, 3, 10, 10, 30), LocalDateTime.of(2025, 3, 10, 11, 0)),
+                    new IntervaloResponseDTO(LocalDateTime.of(2025, 3, 10, 11, 0), LocalDateTime.of(2025, 3, 10, 11, 30))
+            ), horarios);
+        }
+
+        @Test
+        void deve_usar_a_quantidade_padrao_quando_nao_informada() {
+            when(usuarioRepository.findIdsComCalendarioEmComumByEmailIn(emails, anaId)).thenReturn(List.of(anaId, brunoId));
+            when(eventoRepository.findPeriodosOcupados(any(), any(), any())).thenReturn(List.of());
+
+            List<IntervaloResponseDTO> horarios = disponibilidadeService.findHorariosLivres(busca(15, null), anaId);
+
+            assertEquals(DisponibilidadeService.QUANTIDADE_PADRAO, horarios.size());
+            assertEquals(dia, horarios.get(0).dataInicio());
+        }
+
+        @Test
+        void deve_recusar_participante_inexistente_ou_sem_calendario_em_comum() {
+            when(usuarioRepository.findIdsComCalendarioEmComumByEmailIn(emails, anaId)).thenReturn(List.of(anaId));
+
+            assertThrows(ResourceNotFoundException.class,
+                    () -> disponibilidadeService.findHorariosLivres(busca(30, 3), anaId));
+            verify(eventoRepository, never()).findPeriodosOcupados(any(), any(), any());
+        }
+    }
+}
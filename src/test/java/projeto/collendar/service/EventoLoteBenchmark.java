@@ -0,0 +1,127 @@
+package projeto.collendar.service;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import projeto.collendar.CollendarApplication;
+import projeto.collendar.config.LatenciaJdbcSimulada;
+import projeto.collendar.dtos.request.CalendarioRequestDTO;
+import projeto.collendar.dtos.request.EventoRequestDTO;
+import projeto.collendar.model.Usuario;
+import projeto.collendar.repository.UsuarioRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara a criação de {@code eventos} eventos um a um (uma transação e uma ida ao banco
+ * por evento, como no POST /eventos) com uma única chamada de createLote. O contador
+ * "eventos" sai em linhas inseridas por segundo; {@code latenciaMs} simula a ida e volta
+ * de rede de cada comando SQL (ver {@link LatenciaJdbcSimulada}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class EventoLoteBenchmark {
+
+    @Param({"1000"})
+    private int eventos;
+
+    @Param({"0", "1"})
+    private long latenciaMs;
+
+    private ConfigurableApplicationContext context;
+    private EventoService eventoService;
+    private List<EventoRequestDTO> lote;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Contadores {
+        public long eventos;
+
+        @Setup(Level.Iteration)
+        public void zerar() {
+            eventos = 0;
+        }
+    }
+
+    @Setup
+    public void setup() {
+        context = new SpringApplicationBuilder(CollendarApplication.class)
+                .profiles("h2")
+                .properties(
+                        "server.port=0",
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.generate_statistics=false",
+                        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                                + LatenciaJdbcSimulada.class.getName()
+                )
+                .run();
+
+        Usuario usuario = new Usuario();
+        usuario.setNome("Lote");
+        usuario.setEmail("lote@email.com");
+        usuario.setSenha("senha");
+        context.getBean(UsuarioRepository.class).save(usuario);
+
+        UUID calendarioId = context.getBean(CalendarioService.class)
+                .create(new CalendarioRequestDTO("Lote", null, "#FFFFFF"), usuario.getId()).id();
+        eventoService = context.getBean(EventoService.class);
+
+        LocalDateTime inicio = LocalDateTime.of(2025, 1, 1, 9, 0);
+        lote = new ArrayList<>(eventos);
+        for (int i = 0; i < eventos; i++) {
+            lote.add(new EventoRequestDTO("Evento " + i, null, inicio.plusHours(i), inicio.plusHours(i).plusMinutes(30),
+                    null, null, null, null, null, calendarioId));
+        }
+
+        LatenciaJdbcSimulada.milissegundos = latenciaMs;
+    }
+
+    @TearDown
+    public void tearDown() {
+        LatenciaJdbcSimulada.milissegundos = 0;
+        context.close();
+    }
+
+    @Benchmark
+    public void individual(Contadores contadores) {
+        for (EventoRequestDTO dto : lote) {
+            eventoService.create(dto);
+        }
+        contadores.eventos += eventos;
+    }
+
+    @Benchmark
+    public void lote(Contadores contadores) {
+        contadores.eventos += eventoService.createLote(lote, id -> true).criados();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EventoLoteBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
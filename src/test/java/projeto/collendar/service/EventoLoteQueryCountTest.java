@@ -0,0 +1,88 @@
+package projeto.collendar.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import projeto.collendar.DadosTeste;
+import projeto.collendar.dtos.request.EventoRequestDTO;
+import projeto.collendar.dtos.response.EventoLoteResponseDTO;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Confere contra o H2 que o lote de eventos sai em batches JDBC: o número de comandos
+ * preparados acompanha o número de batches, não o de eventos.
+ */
+@SpringBootTest
+@ActiveProfiles("h2")
+@Import(DadosTeste.class)
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class EventoLoteQueryCountTest {
+
+    private static final int EVENTOS = 1000;
+
+    @Autowired
+    EventoService eventoService;
+
+    @Autowired
+    DadosTeste dados;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    UUID calendarioId;
+    List<EventoRequestDTO> lote;
+    Statistics statistics;
+
+    @BeforeEach
+    void setup() {
+        calendarioId = dados.calendario("Lote");
+
+        LocalDateTime inicio = LocalDateTime.of(2025, 1, 1, 9, 0);
+        lote = new ArrayList<>(EVENTOS);
+        for (int i = 0; i < EVENTOS; i++) {
+            lote.add(DadosTeste.evento(calendarioId, "Evento " + i, inicio.plusHours(i), inicio.plusHours(i).plusMinutes(30)));
+        }
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Nested
+    class Quando_criar_lote_de_mil_eventos {
+
+        EventoLoteResponseDTO resultado;
+
+        @BeforeEach
+        void setup() {
+            resultado = eventoService.createLote(lote, id -> true);
+        }
+
+        @Test
+        void deve_criar_todos_os_eventos() {
+            assertEquals(EVENTOS, resultado.criados());
+            assertEquals(EVENTOS, eventoService.countByCalendario(calendarioId));
+        }
+
+        @Test
+        void deve_inserir_em_batches_jdbc() {
+            assertTrue(statistics.getPrepareStatementCount() <= 15,
+                    () -> "Comandos preparados: " + statistics.getPrepareStatementCount());
+        }
+    }
+}
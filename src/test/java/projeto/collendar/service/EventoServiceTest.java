@@ -2,28 +2,49 @@ package projeto.collendar.service;
 
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import projeto.collendar.dtos.projection.EventoVersaoDTO;
 import projeto.collendar.dtos.request.EventoRequestDTO;
+import projeto.collendar.dtos.response.CursorPageResponseDTO;
+import projeto.collendar.dtos.response.EventoLoteResponseDTO;
 import projeto.collendar.dtos.response.EventoResponseDTO;
+import projeto.collendar.dtos.response.SincronizacaoResponseDTO;
+import projeto.collendar.enums.EscopoConflito;
+import projeto.collendar.enums.TipoAlteracao;
 import projeto.collendar.enums.TipoRecorrencia;
+import projeto.collendar.events.EventoAlteradoEvent;
 import projeto.collendar.exception.BusinessException;
+import projeto.collendar.exception.ConflitoHorarioException;
 import projeto.collendar.exception.ResourceNotFoundException;
+import projeto.collendar.mappers.EventoMapper;
 import projeto.collendar.model.Calendario;
 import projeto.collendar.model.Evento;
 import projeto.collendar.model.Usuario;
+import projeto.collendar.model.EventoRemovido;
+import projeto.collendar.repository.CalendarioContadorRepository;
+import projeto.collendar.repository.EventoRemovidoRepository;
 import projeto.collendar.repository.EventoRepository;
+import projeto.collendar.utils.CursorUtils;
+import projeto.collendar.utils.IndicePeriodos;
+import projeto.collendar.utils.SincronizacaoUtils;
 
 import java.time.LocalDateTime;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
@@ -33,9 +54,21 @@ class EventoServiceTest {
     @Mock
     private EventoRepository eventoRepository;
 
+    @Mock
+    private CalendarioContadorRepository contadorRepository;
+
+    @Mock
+    private EventoRemovidoRepository removidoRepository;
+
     @Mock
     private CalendarioService calendarioService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private IndicePeriodosCache indicePeriodosCache;
+
     @InjectMocks
     private EventoService eventoService;
 
@@ -85,6 +118,8 @@ class EventoServiceTest {
             @BeforeEach
             void setup() {
                 when(calendarioService.findEntityById(calendarioId)).thenReturn(calendario);
+                when(contadorRepository.somarEventos(calendarioId, 1)).thenReturn(1);
+                when(contadorRepository.findVersao(calendarioId)).thenReturn(Optional.of(7L));
                 when(eventoRepository.save(any(Evento.class))).thenAnswer(invocation -> {
                     Evento evento = invocation.getArgument(0);
                     evento.setId(UUID.randomUUID());
@@ -117,6 +152,24 @@ class EventoServiceTest {
             void deve_salvar_evento_no_repositorio() {
                 verify(eventoRepository).save(any(Evento.class));
             }
+
+            @Test
+            void deve_incrementar_contador_do_calendario() {
+                verify(contadorRepository).somarEventos(calendarioId, 1);
+            }
+
+            @Test
+            void deve_gravar_evento_com_a_versao_reservada() {
+                InOrder ordem = inOrder(contadorRepository, eventoRepository);
+                ordem.verify(contadorRepository).somarEventos(calendarioId, 1);
+                ordem.verify(eventoRepository).save(argThat(evento -> evento.getVersao() == 7L));
+            }
+
+            @Test
+            void deve_publicar_a_criacao() {
+                verify(eventPublisher).publishEvent(
+                        new EventoAlteradoEvent(calendarioId, resultado.id(), TipoAlteracao.CRIADO));
+            }
         }
 
         @Nested
@@ -208,6 +261,367 @@ class EventoServiceTest {
                 assertEquals("Datas de início e fim são obrigatórias", exception.getMessage());
             }
         }
+
+        @Nested
+        class Quando_criar_evento_que_sobrepoe_outro_do_calendario {
+
+            EventoResponseDTO existente;
+
+            @BeforeEach
+            void setup() {
+                existente = new EventoResponseDTO(UUID.randomUUID(), "Almoço", null,
+                        LocalDateTime.of(2025, 1, 15, 11, 30), LocalDateTime.of(2025, 1, 15, 13, 0),
+                        null, null, false, false, null, calendarioId, "Trabalho");
+                when(calendarioService.findEntityById(calendarioId)).thenReturn(calendario);
+                when(eventoRepository.findConflitosNaoRecorrentes(
+                        List.of(calendarioId), new UUID(0, 0), dataInicio, dataFim, EventoService.LIMITE_CONFLITOS))
+                        .thenReturn(List.of(existente));
+            }
+
+            @Test
+            void deve_recusar_com_os_eventos_em_conflito() {
+                ConflitoHorarioException exception = assertThrows(ConflitoHorarioException.class,
+                        () -> eventoService.create(dto, EscopoConflito.CALENDARIO, id -> true));
+
+                assertEquals(List.of(existente), exception.getConflitos());
+            }
+
+            @Test
+            void nao_deve_salvar_evento() {
+                assertThrows(ConflitoHorarioException.class,
+                        () -> eventoService.create(dto, EscopoConflito.CALENDARIO, id -> true));
+
+                verify(eventoRepository, never()).save(any());
+                verify(contadorRepository, never()).somarEventos(any(), anyLong());
+            }
+        }
+
+        @Nested
+        class Quando_criar_evento_verificando_os_calendarios_do_proprietario {
+
+            UUID outroCalendarioId;
+
+            @BeforeEach
+            void setup() {
+                outroCalendarioId = UUID.randomUUID();
+                when(calendarioService.findEntityById(calendarioId)).thenReturn(calendario);
+                when(calendarioService.findIdsDoMesmoProprietario(calendarioId))
+                        .thenReturn(List.of(calendarioId, outroCalendarioId));
+                // Série diária das 12h às 13h: a ocorrência do dia só encosta no fim do novo evento
+                when(eventoRepository.findRecorrentesByCalendariosIniciadosAntes(
+                        List.of(calendarioId, outroCalendarioId), new UUID(0, 0), dataFim))
+                        .thenReturn(List.of(new EventoResponseDTO(UUID.randomUUID(), "Almoço", null,
+                                LocalDateTime.of(2025, 1, 1, 12, 0), LocalDateTime.of(2025, 1, 1, 13, 0),
+                                null, null, false, true, TipoRecorrencia.DIARIA, outroCalendarioId, "Pessoal")));
+                when(contadorRepository.somarEventos(calendarioId, 1)).thenReturn(1);
+                when(contadorRepository.findVersao(calendarioId)).thenReturn(Optional.of(1L));
+                when(eventoRepository.save(any(Evento.class))).thenAnswer(invocation -> invocation.getArgument(0));
+            }
+
+            @Test
+            void deve_criar_quando_as_ocorrencias_apenas_encostam() {
+                assertNotNull(eventoService.create(dto, EscopoConflito.PROPRIETARIO, id -> true));
+
+                verify(eventoRepository).findConflitosNaoRecorrentes(
+                        List.of(calendarioId, outroCalendarioId), new UUID(0, 0), dataInicio, dataFim,
+                        EventoService.LIMITE_CONFLITOS);
+                verify(eventoRepository).save(any(Evento.class));
+            }
+        }
+
+        @Nested
+        class Quando_quem_cria_nao_ve_os_outros_calendarios_do_proprietario {
+
+            UUID outroCalendarioId;
+            EventoResponseDTO proprio;
+            List<UUID> consultados;
+
+            @BeforeEach
+            void setup() {
+                outroCalendarioId = UUID.randomUUID();
+                consultados = new ArrayList<>();
+                proprio = new EventoResponseDTO(UUID.randomUUID(), "Reunião de equipe", null,
+                        LocalDateTime.of(2025, 1, 15, 9, 30), LocalDateTime.of(2025, 1, 15, 10, 30),
+                        null, null, false, false, null, calendarioId, "Trabalho");
+                when(calendarioService.findEntityById(calendarioId)).thenReturn(calendario);
+                when(calendarioService.findIdsDoMesmoProprietario(calendarioId))
+                        .thenReturn(List.of(calendarioId, outroCalendarioId));
+                when(eventoRepository.findConflitosNaoRecorrentes(
+                        List.of(calendarioId, outroCalendarioId), new UUID(0, 0), dataInicio, dataFim,
+                        EventoService.LIMITE_CONFLITOS))
+                        .thenReturn(List.of(proprio,
+                                new EventoResponseDTO(UUID.randomUUID(), "Consulta médica", "Exames",
+                                        LocalDateTime.of(2025, 1, 15, 10, 45), LocalDateTime.of(2025, 1, 15, 11, 15),
+                                        "Clínica", "#FF0000", false, false, null, outroCalendarioId, "Pessoal"),
+                                new EventoResponseDTO(UUID.randomUUID(), "Terapia", null,
+                                        LocalDateTime.of(2025, 1, 15, 11, 30), LocalDateTime.of(2025, 1, 15, 12, 30),
+                                        null, null, false, false, null, outroCalendarioId, "Pessoal")));
+            }
+
+            // Destinatário do compartilhamento: vê o calendário em que escreve, não os demais do dono
+            private ConflitoHorarioException criar() {
+                return assertThrows(ConflitoHorarioException.class,
+                        () -> eventoService.create(dto, EscopoConflito.PROPRIETARIO, id -> {
+                            consultados.add(id);
+                            return id.equals(calendarioId);
+                        }));
+            }
+
+            @Test
+            void deve_manter_os_conflitos_dos_calendarios_visiveis() {
+                assertEquals(proprio, criar().getConflitos().get(0));
+            }
+
+            @Test
+            void deve_devolver_so_o_horario_dos_demais() {
+                List<EventoResponseDTO> conflitos = criar().getConflitos();
+
+                assertEquals(List.of(
+                        new EventoResponseDTO(null, null, null,
+                                LocalDateTime.of(2025, 1, 15, 10, 45), LocalDateTime.of(2025, 1, 15, 11, 15),
+                                null, null, false, null, null, null, null),
+                        new EventoResponseDTO(null, null, null,
+                                LocalDateTime.of(2025, 1, 15, 11, 30), LocalDateTime.of(2025, 1, 15, 12, 30),
+                                null, null, false, null, null, null, null)
+                ), conflitos.subList(1, 3));
+            }
+
+            @Test
+            void deve_consultar_a_permissao_uma_vez_por_calendario() {
+                criar();
+
+                assertEquals(List.of(calendarioId, outroCalendarioId), consultados);
+            }
+        }
+
+        @Nested
+        class Quando_criar_evento_de_duracao_zero {
+
+            LocalDateTime instante;
+
+            @BeforeEach
+            void setup() {
+                when(calendarioService.findEntityById(calendarioId)).thenReturn(calendario);
+            }
+
+            private EventoRequestDTO pontual(LocalDateTime momento) {
+                instante = momento;
+                // Série diária das 12h às 13h no mesmo calendário
+                when(eventoRepository.findRecorrentesByCalendariosIniciadosAntes(
+                        List.of(calendarioId), new UUID(0, 0), momento))
+                        .thenReturn(List.of(new EventoResponseDTO(UUID.randomUUID(), "Almoço", null,
+                                LocalDateTime.of(2025, 1, 1, 12, 0), LocalDateTime.of(2025, 1, 1, 13, 0),
+                                null, null, false, true, TipoRecorrencia.DIARIA, calendarioId, "Trabalho")));
+                return new EventoRequestDTO("Lembrete", null, momento, momento,
+                        null, null, false, false, null, calendarioId);
+            }
+
+            @Test
+            void deve_conflitar_com_a_ocorrencia_que_contem_o_instante() {
+                EventoRequestDTO lembrete = pontual(LocalDateTime.of(2025, 1, 15, 12, 30));
+
+                ConflitoHorarioException exception = assertThrows(ConflitoHorarioException.class,
+                        () -> eventoService.create(lembrete, EscopoConflito.CALENDARIO, id -> true));
+
+                assertEquals(LocalDateTime.of(2025, 1, 15, 12, 0), exception.getConflitos().get(0).dataInicio());
+            }
+
+            @Test
+            void deve_sondar_os_nao_recorrentes_com_o_proprio_instante() {
+                EventoRequestDTO lembrete = pontual(LocalDateTime.of(2025, 1, 15, 12, 30));
+
+                assertThrows(ConflitoHorarioException.class,
+                        () -> eventoService.create(lembrete, EscopoConflito.CALENDARIO, id -> true));
+
+                verify(eventoRepository).findConflitosNaoRecorrentes(
+                        List.of(calendarioId), new UUID(0, 0), instante, instante, EventoService.LIMITE_CONFLITOS);
+            }
+
+            @Test
+            void nao_deve_conflitar_com_a_ocorrencia_em_que_so_encosta() {
+                when(contadorRepository.somarEventos(calendarioId, 1)).thenReturn(1);
+                when(contadorRepository.findVersao(calendarioId)).thenReturn(Optional.of(1L));
+                when(eventoRepository.save(any(Evento.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+                assertNotNull(eventoService.create(pontual(LocalDateTime.of(2025, 1, 15, 13, 0)),
+                        EscopoConflito.CALENDARIO, id -> true));
+            }
+        }
+
+        @Nested
+        class Quando_o_calendario_nao_tem_linha_de_contador {
+
+            @BeforeEach
+            void setup() {
+                when(calendarioService.findEntityById(calendarioId)).thenReturn(calendario);
+                when(contadorRepository.somarEventos(calendarioId, 1)).thenReturn(0, 1);
+                when(contadorRepository.findVersao(calendarioId)).thenReturn(Optional.of(3L));
+                when(eventoRepository.save(any(Evento.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+                eventoService.create(dto);
+            }
+
+            @Test
+            void deve_criar_a_linha_e_repetir_o_incremento() {
+                InOrder ordem = inOrder(contadorRepository, eventoRepository);
+                ordem.verify(contadorRepository).somarEventos(calendarioId, 1);
+                ordem.verify(contadorRepository).criarSeAusente(calendarioId);
+                ordem.verify(contadorRepository).somarEventos(calendarioId, 1);
+                ordem.verify(eventoRepository).save(argThat(evento -> evento.getVersao() == 3L));
+            }
+        }
+
+        @Nested
+        class Quando_criar_evento_sem_verificar_conflitos {
+
+            @BeforeEach
+            void setup() {
+                when(calendarioService.findEntityById(calendarioId)).thenReturn(calendario);
+                when(contadorRepository.somarEventos(calendarioId, 1)).thenReturn(1);
+                when(contadorRepository.findVersao(calendarioId)).thenReturn(Optional.of(1L));
+                when(eventoRepository.save(any(Evento.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+                eventoService.create(dto, null, id -> true);
+            }
+
+            @Test
+            void nao_deve_consultar_conflitos() {
+                verify(eventoRepository, never()).findConflitosNaoRecorrentes(any(), any(), any(), any(), anyInt());
+                verify(eventoRepository, never()).findRecorrentesByCalendariosIniciadosAntes(any(), any(), any());
+            }
+        }
+
+        @Nested
+        class Quando_criar_eventos_em_lote {
+
+            UUID calendarioSemPermissaoId;
+            UUID calendarioInexistenteId;
+            List<UUID> consultados;
+            EventoLoteResponseDTO resultado;
+
+            @BeforeEach
+            void setup() {
+                calendarioSemPermissaoId = UUID.randomUUID();
+                calendarioInexistenteId = UUID.randomUUID();
+                consultados = new ArrayList<>();
+
+                when(calendarioService.findEntityById(calendarioId)).thenReturn(calendario);
+                when(contadorRepository.somarEventos(calendarioId, 2L)).thenReturn(1);
+                when(contadorRepository.findVersao(calendarioId)).thenReturn(Optional.of(12L));
+                when(eventoRepository.saveAll(anyList())).thenAnswer(invocation -> {
+                    List<Evento> eventos = invocation.getArgument(0);
+                    eventos.forEach(evento -> evento.setId(UUID.randomUUID()));
+                    return eventos;
+                });
+
+                List<EventoRequestDTO> lote = List.of(
+                        dto,
+                        new EventoRequestDTO("Sem fim", null, dataInicio, null, null, null, null, null, null, calendarioId),
+                        new EventoRequestDTO("Outro", null, dataInicio, dataFim, null, null, null, null, null, calendarioSemPermissaoId),
+                        new EventoRequestDTO("Invertido", null, dataFim, dataInicio, null, null, null, null, null, calendarioId),
+                        new EventoRequestDTO("Fantasma", null, dataInicio, dataFim, null, null, null, null, null, calendarioInexistenteId),
+                        new EventoRequestDTO(" ", null, dataInicio, dataFim, null, null, null, null, null, calendarioId),
+                        dto
+                );
+
+                resultado = eventoService.createLote(lote, id -> {
+                    consultados.add(id);
+                    if (id.equals(calendarioInexistenteId)) {
+                        throw new ResourceNotFoundException("Calendário", id.toString());
+                    }
+                    return id.equals(calendarioId);
+                });
+            }
+
+            @Test
+            void deve_criar_apenas_itens_validos_e_permitidos() {
+                assertEquals(2, resultado.criados());
+                assertEquals(5, resultado.rejeitados());
+                assertNotNull(resultado.itens().get(0).id());
+                assertNotNull(resultado.itens().get(6).id());
+            }
+
+            @Test
+            void deve_informar_o_erro_de_cada_item_na_ordem_recebida() {
+                assertEquals(7, resultado.itens().size());
+                assertEquals("Datas de início e fim são obrigatórias", resultado.itens().get(1).erro());
+                assertEquals("Você não tem permissão para criar eventos neste calendário", resultado.itens().get(2).erro());
+                assertEquals("Data de fim deve ser posterior à data de início", resultado.itens().get(3).erro());
+                assertEquals("Calendário não encontrado: " + calendarioInexistenteId, resultado.itens().get(4).erro());
+                assertEquals("Título é obrigatório", resultado.itens().get(5).erro());
+                assertEquals(3, resultado.itens().get(3).indice());
+            }
+
+            @Test
+            void deve_verificar_permissao_uma_vez_por_calendario_distinto() {
+                assertEquals(List.of(calendarioId, calendarioSemPermissaoId, calendarioInexistenteId), consultados);
+                verify(calendarioService, times(1)).findEntityById(calendarioId);
+            }
+
+            @Test
+            void deve_salvar_todos_os_eventos_em_uma_unica_chamada() {
+                verify(eventoRepository).saveAll(argThat(eventos -> ((List<?>) eventos).size() == 2));
+                verify(eventoRepository, never()).save(any(Evento.class));
+            }
+
+            @Test
+            void deve_incrementar_contador_pelo_total_do_calendario() {
+                verify(contadorRepository).somarEventos(calendarioId, 2L);
+                verify(contadorRepository).findVersao(calendarioId);
+                verifyNoMoreInteractions(contadorRepository);
+            }
+
+            @Test
+            void deve_distribuir_as_versoes_reservadas_na_ordem_do_lote() {
+                verify(eventoRepository).saveAll(argThat(eventos -> {
+                    List<Evento> lista = (List<Evento>) eventos;
+                    return lista.get(0).getVersao() == 11L && lista.get(1).getVersao() == 12L;
+                }));
+            }
+
+            @Test
+            void deve_publicar_uma_notificacao_por_calendario() {
+                verify(eventPublisher).publishEvent(new EventoAlteradoEvent(calendarioId, null, TipoAlteracao.CRIADO));
+                verifyNoMoreInteractions(eventPublisher);
+            }
+        }
+
+        @Nested
+        class Quando_criar_lote_em_varios_calendarios {
+
+            List<UUID> calendarioIds;
+
+            @BeforeEach
+            void setup() {
+                calendarioIds = new ArrayList<>();
+                for (int i = 0; i < 8; i++) {
+                    calendarioIds.add(UUID.randomUUID());
+                }
+                Collections.sort(calendarioIds);
+
+                // O lote chega do maior id para o menor
+                List<EventoRequestDTO> lote = new ArrayList<>();
+                for (UUID id : calendarioIds) {
+                    Calendario outro = new Calendario();
+                    outro.setId(id);
+                    when(calendarioService.findEntityById(id)).thenReturn(outro);
+                    when(contadorRepository.somarEventos(id, 1L)).thenReturn(1);
+                    when(contadorRepository.findVersao(id)).thenReturn(Optional.of(1L));
+                    lote.add(0, new EventoRequestDTO("Reunião", null, dataInicio, dataFim,
+                            null, null, null, null, null, id));
+                }
+
+                eventoService.createLote(lote, id -> true);
+            }
+
+            @Test
+            void deve_travar_os_contadores_em_ordem_de_id() {
+                InOrder ordem = inOrder(contadorRepository);
+                for (UUID id : calendarioIds) {
+                    ordem.verify(contadorRepository).somarEventos(id, 1L);
+                }
+            }
+        }
     }
 
     @Nested
@@ -318,8 +732,8 @@ class EventoServiceTest {
 
             @BeforeEach
             void setup() {
-                when(eventoRepository.findByCalendarioId(calendarioId))
-                        .thenReturn(Arrays.asList(evento));
+                when(eventoRepository.findDTOsByCalendarioId(calendarioId))
+                        .thenReturn(List.of(EventoMapper.toDTO(evento)));
                 resultado = eventoService.listByCalendario(calendarioId);
             }
 
@@ -355,6 +769,74 @@ class EventoServiceTest {
             }
         }
 
+        @Nested
+        class Quando_listar_por_calendario_com_cursor_na_primeira_pagina {
+
+            CursorPageResponseDTO<EventoResponseDTO> resultado;
+
+            @BeforeEach
+            void setup() {
+                Evento evento2 = new Evento();
+                evento2.setId(UUID.randomUUID());
+                evento2.setTitulo("Apresentação");
+                evento2.setCalendario(calendario);
+                evento2.setDataInicio(dataInicio.plusDays(1));
+                evento2.setDataFim(dataFim.plusDays(1));
+
+                when(eventoRepository.findPrimeirosByCalendarioId(calendarioId, Limit.of(2)))
+                        .thenReturn(List.of(EventoMapper.toDTO(evento), EventoMapper.toDTO(evento2)));
+
+                resultado = eventoService.listByCalendarioCursor(calendarioId, null, 1);
+            }
+
+            @Test
+            void deve_retornar_apenas_o_tamanho_pedido() {
+                assertEquals(1, resultado.itens().size());
+                assertEquals(eventoId, resultado.itens().get(0).id());
+            }
+
+            @Test
+            void deve_apontar_cursor_para_o_ultimo_item_entregue() {
+                CursorUtils.Cursor cursor = CursorUtils.decode(resultado.proximoCursor());
+                assertEquals(dataInicio, cursor.valor());
+                assertEquals(eventoId, cursor.id());
+            }
+        }
+
+        @Nested
+        class Quando_listar_por_calendario_com_cursor_na_ultima_pagina {
+
+            CursorPageResponseDTO<EventoResponseDTO> resultado;
+
+            @BeforeEach
+            void setup() {
+                String cursor = CursorUtils.encode(dataInicio.minusDays(1), UUID.randomUUID());
+
+                when(eventoRepository.findProximosByCalendarioId(
+                        eq(calendarioId), eq(dataInicio.minusDays(1)), any(UUID.class), eq(Limit.of(21))))
+                        .thenReturn(List.of(EventoMapper.toDTO(evento)));
+
+                resultado = eventoService.listByCalendarioCursor(calendarioId, cursor, null);
+            }
+
+            @Test
+            void deve_retornar_itens_sem_proximo_cursor() {
+                assertEquals(1, resultado.itens().size());
+                assertNull(resultado.proximoCursor());
+            }
+        }
+
+        @Nested
+        class Quando_listar_por_calendario_com_cursor_invalido {
+
+            @Test
+            void deve_lancar_business_exception() {
+                assertThrows(BusinessException.class,
+                        () -> eventoService.listByCalendarioCursor(calendarioId, "invalido!", 10));
+                verifyNoInteractions(eventoRepository);
+            }
+        }
+
         @Nested
         class Quando_buscar_por_periodo {
 
@@ -392,8 +874,8 @@ class EventoServiceTest {
                 inicio = LocalDateTime.of(2025, 1, 1, 0, 0);
                 fim = LocalDateTime.of(2025, 1, 31, 23, 59);
 
-                when(eventoRepository.findByCalendarioAndDataBetween(calendarioId, inicio, fim))
-                        .thenReturn(Arrays.asList(evento));
+                when(eventoRepository.findNaoRecorrentesByCalendarioAndPeriodo(calendarioId, inicio, fim))
+                        .thenReturn(List.of(EventoMapper.toDTO(evento)));
 
                 resultado = eventoService.findByCalendarioAndPeriod(calendarioId, inicio, fim);
             }
@@ -406,6 +888,68 @@ class EventoServiceTest {
             }
         }
 
+        @Nested
+        class Quando_buscar_por_calendario_e_periodo_indexado_em_memoria {
+
+            List<EventoResponseDTO> resultado;
+
+            @BeforeEach
+            void setup() {
+                when(indicePeriodosCache.get(calendarioId))
+                        .thenReturn(IndicePeriodos.of(List.of(EventoMapper.toDTO(evento))));
+
+                resultado = eventoService.findByCalendarioAndPeriod(
+                        calendarioId, LocalDateTime.of(2025, 1, 1, 0, 0), LocalDateTime.of(2025, 1, 31, 23, 59));
+            }
+
+            @Test
+            void deve_retornar_eventos_do_indice() {
+                assertEquals(List.of(eventoId), resultado.stream().map(EventoResponseDTO::id).toList());
+            }
+
+            @Test
+            void nao_deve_consultar_o_banco() {
+                verifyNoInteractions(eventoRepository);
+            }
+        }
+
+        @Nested
+        class Quando_buscar_por_calendario_e_periodo_com_evento_recorrente {
+
+            List<EventoResponseDTO> resultado;
+            LocalDateTime inicio;
+            LocalDateTime fim;
+
+            @BeforeEach
+            void setup() {
+                inicio = LocalDateTime.of(2025, 3, 1, 0, 0);
+                fim = LocalDateTime.of(2025, 3, 31, 23, 59);
+
+                evento.setRecorrente(true);
+                evento.setTipoRecorrencia(TipoRecorrencia.SEMANAL);
+
+                when(eventoRepository.findNaoRecorrentesByCalendarioAndPeriodo(calendarioId, inicio, fim))
+                        .thenReturn(List.of());
+                when(eventoRepository.findRecorrentesByCalendarioIniciadosAte(calendarioId, fim))
+                        .thenReturn(List.of(EventoMapper.toDTO(evento)));
+
+                resultado = eventoService.findByCalendarioAndPeriod(calendarioId, inicio, fim);
+            }
+
+            @Test
+            void deve_retornar_uma_entrada_por_ocorrencia_no_periodo() {
+                assertEquals(4, resultado.size());
+                assertEquals(LocalDateTime.of(2025, 3, 5, 10, 0), resultado.get(0).dataInicio());
+                assertEquals(LocalDateTime.of(2025, 3, 26, 10, 0), resultado.get(3).dataInicio());
+            }
+
+            @Test
+            void deve_manter_duracao_e_id_do_evento_original() {
+                assertTrue(resultado.stream().allMatch(e -> eventoId.equals(e.id())));
+                assertEquals(LocalDateTime.of(2025, 3, 5, 12, 0), resultado.get(0).dataFim());
+            }
+        }
+
         @Nested
         class Quando_buscar_por_titulo {
 
@@ -476,6 +1020,8 @@ class EventoServiceTest {
                 );
 
                 when(eventoRepository.findById(eventoId)).thenReturn(Optional.of(evento));
+                when(contadorRepository.registrarAlteracao(calendarioId)).thenReturn(1);
+                when(contadorRepository.findVersao(calendarioId)).thenReturn(Optional.of(5L));
                 when(eventoRepository.save(any(Evento.class))).thenReturn(evento);
 
                 resultado = eventoService.update(eventoId, dtoAtualizado);
@@ -486,6 +1032,60 @@ class EventoServiceTest {
                 assertNotNull(resultado);
                 verify(eventoRepository).save(any(Evento.class));
             }
+
+            @Test
+            void deve_registrar_alteracao_no_calendario() {
+                verify(contadorRepository).registrarAlteracao(evento.getCalendario().getId());
+            }
+
+            @Test
+            void deve_mover_o_evento_para_a_nova_versao() {
+                assertEquals(5L, evento.getVersao());
+            }
+
+            @Test
+            void deve_publicar_a_alteracao() {
+                verify(eventPublisher).publishEvent(new EventoAlteradoEvent(calendarioId, eventoId, TipoAlteracao.ALTERADO));
+            }
+        }
+
+        @Nested
+        class Quando_atualizar_evento_para_horario_de_ocorrencia_recorrente {
+
+            EventoRequestDTO dtoAtualizado;
+
+            @BeforeEach
+            void setup() {
+                dtoAtualizado = new EventoRequestDTO("Reunião", null,
+                        LocalDateTime.of(2025, 1, 20, 9, 0), LocalDateTime.of(2025, 1, 20, 10, 0),
+                        null, null, false, false, null, calendarioId);
+
+                when(eventoRepository.findById(eventoId)).thenReturn(Optional.of(evento));
+                when(eventoRepository.findRecorrentesByCalendariosIniciadosAntes(
+                        List.of(calendarioId), eventoId, dtoAtualizado.dataFim()))
+                        .thenReturn(List.of(new EventoResponseDTO(UUID.randomUUID(), "Daily", null,
+                                LocalDateTime.of(2025, 1, 6, 9, 30), LocalDateTime.of(2025, 1, 6, 9, 45),
+                                null, null, false, true, TipoRecorrencia.SEMANAL, calendarioId, "Trabalho")));
+            }
+
+            @Test
+            void deve_recusar_informando_a_ocorrencia() {
+                ConflitoHorarioException exception = assertThrows(ConflitoHorarioException.class,
+                        () -> eventoService.update(eventoId, dtoAtualizado, EscopoConflito.CALENDARIO, id -> true));
+
+                assertEquals(1, exception.getConflitos().size());
+                assertEquals(LocalDateTime.of(2025, 1, 20, 9, 30), exception.getConflitos().get(0).dataInicio());
+            }
+
+            @Test
+            void deve_ignorar_o_proprio_evento_na_sondagem() {
+                assertThrows(ConflitoHorarioException.class,
+                        () -> eventoService.update(eventoId, dtoAtualizado, EscopoConflito.CALENDARIO, id -> true));
+
+                verify(eventoRepository).findConflitosNaoRecorrentes(List.of(calendarioId), eventoId,
+                        dtoAtualizado.dataInicio(), dtoAtualizado.dataFim(), EventoService.LIMITE_CONFLITOS);
+                verify(contadorRepository, never()).registrarAlteracao(any());
+            }
         }
 
         @Nested
@@ -527,7 +1127,9 @@ class EventoServiceTest {
 
             @BeforeEach
             void setup() {
-                when(eventoRepository.existsById(eventoId)).thenReturn(true);
+                when(eventoRepository.findCalendarioIdById(eventoId)).thenReturn(Optional.of(calendarioId));
+                when(contadorRepository.somarEventos(calendarioId, -1)).thenReturn(1);
+                when(contadorRepository.findVersao(calendarioId)).thenReturn(Optional.of(9L));
                 doNothing().when(eventoRepository).deleteById(eventoId);
 
                 eventoService.delete(eventoId);
@@ -537,6 +1139,23 @@ class EventoServiceTest {
             void deve_deletar_evento() {
                 verify(eventoRepository).deleteById(eventoId);
             }
+
+            @Test
+            void deve_decrementar_contador_do_calendario() {
+                verify(contadorRepository).somarEventos(calendarioId, -1);
+            }
+
+            @Test
+            void deve_registrar_a_remocao_para_sincronizacao() {
+                verify(removidoRepository).save(argThat(removido -> removido.getEventoId().equals(eventoId)
+                        && removido.getCalendarioId().equals(calendarioId)
+                        && removido.getVersao() == 9L));
+            }
+
+            @Test
+            void deve_publicar_a_remocao() {
+                verify(eventPublisher).publishEvent(new EventoAlteradoEvent(calendarioId, eventoId, TipoAlteracao.REMOVIDO));
+            }
         }
 
         @Nested
@@ -544,7 +1163,7 @@ class EventoServiceTest {
 
             @BeforeEach
             void setup() {
-                when(eventoRepository.existsById(eventoId)).thenReturn(false);
+                when(eventoRepository.findCalendarioIdById(eventoId)).thenReturn(Optional.empty());
             }
 
             @Test
@@ -556,6 +1175,96 @@ class EventoServiceTest {
 
                 assertTrue(exception.getMessage().contains("Evento não encontrado"));
             }
+
+            @Test
+            void nao_deve_alterar_contador() {
+                assertThrows(ResourceNotFoundException.class, () -> eventoService.delete(eventoId));
+
+                verifyNoInteractions(contadorRepository);
+            }
+        }
+
+        @Nested
+        class Quando_sincronizar_sem_token {
+
+            SincronizacaoResponseDTO resultado;
+
+            @BeforeEach
+            void setup() {
+                when(contadorRepository.findVersao(calendarioId)).thenReturn(Optional.of(4L));
+                when(eventoRepository.findAlterados(calendarioId, 0L, 4L, Limit.of(21)))
+                        .thenReturn(List.of(versao(2L, eventoId)));
+
+                resultado = eventoService.sincronizar(calendarioId, null, null);
+            }
+
+            @Test
+            void deve_retornar_os_eventos_atuais_sem_remocoes() {
+                assertEquals(1, resultado.alterados().size());
+                assertEquals(eventoId, resultado.alterados().get(0).id());
+                assertTrue(resultado.removidos().isEmpty());
+                verifyNoInteractions(removidoRepository);
+            }
+
+            @Test
+            void deve_devolver_token_na_versao_atual_do_calendario() {
+                assertFalse(resultado.temMais());
+                assertEquals(4L, SincronizacaoUtils.decode(resultado.token(), calendarioId));
+            }
+        }
+
+        @Nested
+        class Quando_sincronizar_com_mais_alteracoes_que_o_tamanho {
+
+            UUID removidoId;
+            SincronizacaoResponseDTO resultado;
+
+            @BeforeEach
+            void setup() {
+                removidoId = UUID.randomUUID();
+                EventoRemovido removido = new EventoRemovido();
+                removido.setEventoId(removidoId);
+                removido.setCalendarioId(calendarioId);
+                removido.setVersao(6L);
+
+                when(contadorRepository.findVersao(calendarioId)).thenReturn(Optional.of(10L));
+                when(eventoRepository.findAlterados(calendarioId, 4L, 10L, Limit.of(3)))
+                        .thenReturn(List.of(versao(5L, eventoId), versao(8L, UUID.randomUUID())));
+                when(removidoRepository.findRemovidos(calendarioId, 4L, 10L, Limit.of(3)))
+                        .thenReturn(List.of(removido));
+
+                resultado = eventoService.sincronizar(calendarioId, SincronizacaoUtils.encode(calendarioId, 4L), 2);
+            }
+
+            @Test
+            void deve_intercalar_alteracoes_e_remocoes_pela_versao() {
+                assertEquals(List.of(eventoId), resultado.alterados().stream().map(EventoResponseDTO::id).toList());
+                assertEquals(List.of(removidoId), resultado.removidos());
+            }
+
+            @Test
+            void deve_devolver_token_na_ultima_versao_entregue() {
+                assertTrue(resultado.temMais());
+                assertEquals(6L, SincronizacaoUtils.decode(resultado.token(), calendarioId));
+            }
+        }
+
+        @Nested
+        class Quando_sincronizar_com_token_a_frente_do_calendario {
+
+            @Test
+            void deve_lancar_business_exception() {
+                when(contadorRepository.findVersao(calendarioId)).thenReturn(Optional.of(3L));
+                String token = SincronizacaoUtils.encode(calendarioId, 4L);
+
+                assertThrows(BusinessException.class, () -> eventoService.sincronizar(calendarioId, token, null));
+                verifyNoInteractions(eventoRepository);
+            }
+        }
+
+        private EventoVersaoDTO versao(long versao, UUID id) {
+            return new EventoVersaoDTO(versao, id, "Reunião", null, dataInicio, dataFim, null, null,
+                    false, false, null, calendarioId, "Trabalho");
         }
 
         @Nested
@@ -565,11 +1274,7 @@ class EventoServiceTest {
 
             @BeforeEach
             void setup() {
-                Evento evento2 = new Evento();
-                evento2.setId(UUID.randomUUID());
-
-                when(eventoRepository.findByCalendarioId(calendarioId))
-                        .thenReturn(Arrays.asList(evento, evento2));
+                when(contadorRepository.findTotalEventos(calendarioId)).thenReturn(Optional.of(2L));
 
                 resultado = eventoService.countByCalendario(calendarioId);
             }
@@ -578,6 +1283,31 @@ class EventoServiceTest {
             void deve_retornar_quantidade_correta() {
                 assertEquals(2, resultado);
             }
+
+            @Test
+            void nao_deve_carregar_eventos() {
+                verify(eventoRepository, never()).findByCalendarioId(any());
+                verify(eventoRepository, never()).countByCalendarioId(any());
+            }
+        }
+
+        @Nested
+        class Quando_contar_eventos_de_calendario_sem_contador {
+
+            long resultado;
+
+            @BeforeEach
+            void setup() {
+                when(contadorRepository.findTotalEventos(calendarioId)).thenReturn(Optional.empty());
+                when(eventoRepository.countByCalendarioId(calendarioId)).thenReturn(3L);
+
+                resultado = eventoService.countByCalendario(calendarioId);
+            }
+
+            @Test
+            void deve_usar_count_do_banco() {
+                assertEquals(3, resultado);
+            }
         }
 
         @Nested
@@ -587,7 +1317,7 @@ class EventoServiceTest {
 
             @BeforeEach
             void setup() {
-                when(eventoRepository.findById(eventoId)).thenReturn(Optional.of(evento));
+                when(eventoRepository.findCalendarioIdById(eventoId)).thenReturn(Optional.of(calendarioId));
                 resultado = eventoService.getCalendarioIdByEvento(eventoId);
             }
 
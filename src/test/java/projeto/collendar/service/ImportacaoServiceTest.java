@@ -0,0 +1,218 @@
+package projeto.collendar.service;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import projeto.collendar.dtos.request.EventoRequestDTO;
+import projeto.collendar.dtos.response.EventoLoteItemDTO;
+import projeto.collendar.dtos.response.EventoLoteResponseDTO;
+import projeto.collendar.dtos.response.ImportacaoResponseDTO;
+import projeto.collendar.exception.BusinessException;
+import projeto.collendar.exception.ImportacaoInterrompidaException;
+import projeto.collendar.utils.CsvEventoParser;
+import projeto.collendar.utils.IcsEventoParser;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class ImportacaoServiceTest {
+
+    @Mock
+    private EventoService eventoService;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private ImportacaoService importacaoService;
+
+    UUID calendarioId;
+
+    @BeforeEach
+    void setup() {
+        importacaoService = new ImportacaoService(
+                List.of(new IcsEventoParser(), new CsvEventoParser()), eventoService, entityManager);
+        calendarioId = UUID.randomUUID();
+    }
+
+    private static ByteArrayInputStream csv(int eventos) {
+        StringBuilder csv = new StringBuilder("titulo,dataInicio,dataFim\n");
+        for (int i = 0; i < eventos; i++) {
+            String titulo = i % 100 == 0 ? "" : "Evento " + i;
+            csv.append(titulo).append(",2025-01-01T10:00,2025-01-01T11:00\n");
+        }
+        return new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Nested
+    class Quando_importar_arquivo_maior_que_um_lote {
+
+        List<Integer> tamanhosDosLotes;
+        ImportacaoResponseDTO resultado;
+
+        @BeforeEach
+        void setup() {
+            tamanhosDosLotes = new ArrayList<>();
+            when(eventoService.createLote(anyList(), any())).thenAnswer(invocation -> {
+                List<EventoRequestDTO> lote = invocation.getArgument(0);
+                tamanhosDosLotes.add(lote.size());
+                List<EventoLoteItemDTO> itens = new ArrayList<>();
+                int criados = 0;
+                for (int i = 0; i < lote.size(); i++) {
+                    if (lote.get(i).titulo() == null) {
+                        itens.add(new EventoLoteItemDTO(i, null, "Título é obrigatório"));
+                    } else {
+                        itens.add(new EventoLoteItemDTO(i, UUID.randomUUID(), null));
+                        criados++;
+                    }
+                }
+                return new EventoLoteResponseDTO(criados, lote.size() - criados, itens);
+            });
+
+            resultado = importacaoService.importar(calendarioId, MediaType.parseMediaType("text/csv"), csv(1200));
+        }
+
+        @Test
+        void deve_gravar_em_lotes_limitados() {
+            assertEquals(List.of(500, 500, 200), tamanhosDosLotes);
+        }
+
+        @Test
+        void deve_limpar_o_contexto_de_persistencia_apos_cada_lote() {
+            verify(entityManager, times(3)).clear();
+        }
+
+        @Test
+        void deve_totalizar_e_numerar_erros_pela_posicao_no_arquivo() {
+            assertEquals(1200, resultado.processados());
+            assertEquals(1188, resultado.criados());
+            assertEquals(12, resultado.rejeitados());
+            assertEquals(12, resultado.erros().size());
+            assertEquals(700, resultado.erros().get(7).indice());
+        }
+    }
+
+    @Nested
+    class Quando_o_parser_rejeita_um_item {
+
+        ImportacaoResponseDTO resultado;
+        List<String> gravados;
+
+        @BeforeEach
+        void setup() {
+            gravados = new ArrayList<>();
+            when(eventoService.createLote(anyList(), any())).thenAnswer(invocation -> {
+                List<EventoRequestDTO> lote = invocation.getArgument(0);
+                lote.forEach(evento -> gravados.add(evento.titulo()));
+                return new EventoLoteResponseDTO(1, 1, List.of(
+                        new EventoLoteItemDTO(0, UUID.randomUUID(), null),
+                        new EventoLoteItemDTO(1, null, "Título é obrigatório")));
+            });
+            String ics = String.join("\r\n",
+                    "BEGIN:VCALENDAR",
+                    "BEGIN:VEVENT",
+                    "SUMMARY:Reunião",
+                    "DTSTART:20250106T100000",
+                    "DTEND:20250106T110000",
+                    "END:VEVENT",
+                    "BEGIN:VEVENT",
+                    "SUMMARY:Quinzenal",
+                    "DTSTART:20250106T140000",
+                    "DTEND:20250106T150000",
+                    "RRULE:FREQ=WEEKLY;INTERVAL=2",
+                    "END:VEVENT",
+                    "BEGIN:VEVENT",
+                    "DTSTART:20250107T100000",
+                    "DTEND:20250107T110000",
+                    "END:VEVENT",
+                    "END:VCALENDAR");
+
+            resultado = importacaoService.importar(calendarioId, MediaType.parseMediaType("text/calendar"),
+                    new ByteArrayInputStream(ics.getBytes(StandardCharsets.UTF_8)));
+        }
+
+        @Test
+        void deve_contar_o_item_rejeitado_como_processado() {
+            assertEquals(3, resultado.processados());
+            assertEquals(1, resultado.criados());
+            assertEquals(2, resultado.rejeitados());
+        }
+
+        @Test
+        void deve_numerar_os_erros_pela_posicao_no_arquivo() {
+            assertEquals(List.of(
+                    new EventoLoteItemDTO(1, null, "Recorrência não suportada: INTERVAL=2"),
+                    new EventoLoteItemDTO(2, null, "Título é obrigatório")
+            ), resultado.erros());
+        }
+
+        @Test
+        void deve_gravar_so_os_itens_entregues() {
+            assertEquals(Arrays.asList("Reunião", null), gravados);
+        }
+    }
+
+    @Nested
+    class Quando_importar_formato_nao_suportado {
+
+        @Test
+        void deve_lancar_business_exception() {
+            assertThrows(BusinessException.class, () -> importacaoService.importar(
+                    calendarioId, MediaType.APPLICATION_JSON, new ByteArrayInputStream(new byte[0])));
+            verifyNoInteractions(eventoService);
+        }
+    }
+
+    @Nested
+    class Quando_a_leitura_falha_depois_de_um_lote_gravado {
+
+        @Test
+        void deve_informar_os_totais_ja_gravados() {
+            when(eventoService.createLote(anyList(), any())).thenAnswer(invocation -> {
+                List<EventoRequestDTO> lote = invocation.getArgument(0);
+                return new EventoLoteResponseDTO(lote.size(), 0, List.of());
+            });
+            InputStream falhando = new InputStream() {
+                @Override
+                public int read() throws IOException {
+                    throw new IOException("conexão encerrada");
+                }
+            };
+
+            ImportacaoInterrompidaException ex = assertThrows(ImportacaoInterrompidaException.class, () ->
+                    importacaoService.importar(calendarioId, MediaType.parseMediaType("text/csv"),
+                            new SequenceInputStream(csvValido(600), falhando)));
+
+            assertEquals(500, ex.getProcessados());
+            assertEquals(500, ex.getCriados());
+        }
+
+        private static ByteArrayInputStream csvValido(int eventos) {
+            StringBuilder csv = new StringBuilder("titulo,dataInicio,dataFim\n");
+            for (int i = 0; i < eventos; i++) {
+                csv.append("Evento ").append(i).append(",2025-01-01T10:00,2025-01-01T11:00\n");
+            }
+            return new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
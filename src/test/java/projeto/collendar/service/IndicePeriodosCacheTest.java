@@ -0,0 +1,121 @@
+package projeto.collendar.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import projeto.collendar.DadosTeste;
+import projeto.collendar.dtos.request.CalendarioRequestDTO;
+import projeto.collendar.dtos.request.EventoLoteRequestDTO;
+import projeto.collendar.dtos.request.EventoRequestDTO;
+import projeto.collendar.dtos.response.EventoResponseDTO;
+import projeto.collendar.enums.TipoRecorrencia;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Com o índice ligado e indexação na primeira consulta, confere contra o H2 que as
+ * escritas do EventoService mantêm o índice atual. A consulta nativa por período usa
+ * tsrange, que o H2 não tem: cada consulta que funciona aqui foi respondida pelo índice.
+ */
+@SpringBootTest(properties = {
+        "collendar.cache.periodos.habilitado=true",
+        "collendar.cache.periodos.consultas-para-indexar=1"
+})
+@ActiveProfiles("h2")
+@Import(DadosTeste.class)
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class IndicePeriodosCacheTest {
+
+    @Autowired
+    EventoService eventoService;
+
+    @Autowired
+    CalendarioService calendarioService;
+
+    @Autowired
+    DadosTeste dados;
+
+    UUID calendarioId;
+    EventoResponseDTO reuniao;
+    LocalDateTime dia = LocalDateTime.of(2025, 3, 10, 0, 0);
+
+    private EventoRequestDTO evento(String titulo, int hora, TipoRecorrencia recorrencia) {
+        return DadosTeste.evento(calendarioId, titulo, dia.plusHours(hora), dia.plusHours(hora + 1), recorrencia);
+    }
+
+    private List<String> titulosDoDia() {
+        return eventoService.findByCalendarioAndPeriod(calendarioId, dia, dia.plusDays(1)).stream()
+                .map(EventoResponseDTO::titulo)
+                .toList();
+    }
+
+    @BeforeEach
+    void setup() {
+        calendarioId = dados.calendario("Índice");
+
+        reuniao = eventoService.create(evento("Reunião", 10, null));
+        eventoService.create(evento("Daily", 9, TipoRecorrencia.DIARIA));
+    }
+
+    @Test
+    void deve_responder_a_consulta_pelo_indice() {
+        assertEquals(List.of("Daily", "Reunião"), titulosDoDia());
+    }
+
+    @Nested
+    class Quando_o_calendario_muda_depois_de_indexado {
+
+        @BeforeEach
+        void setup() {
+            titulosDoDia();
+        }
+
+        @Test
+        void deve_incluir_evento_criado() {
+            eventoService.create(evento("Almoço", 12, null));
+
+            assertEquals(List.of("Daily", "Reunião", "Almoço"), titulosDoDia());
+        }
+
+        @Test
+        void deve_mover_evento_alterado() {
+            eventoService.update(reuniao.id(), evento("Reunião", 8, null));
+
+            assertEquals(List.of("Reunião", "Daily"), titulosDoDia());
+        }
+
+        @Test
+        void deve_excluir_evento_removido() {
+            eventoService.delete(reuniao.id());
+
+            assertEquals(List.of("Daily"), titulosDoDia());
+        }
+
+        @Test
+        void deve_reindexar_depois_de_um_lote() {
+            eventoService.createLote(List.of(evento("Lote", 15, null)), id -> true);
+
+            assertEquals(List.of("Daily", "Reunião", "Lote"), titulosDoDia());
+        }
+
+        @Test
+        void deve_trazer_o_novo_nome_do_calendario() {
+            calendarioService.update(calendarioId, new CalendarioRequestDTO("Renomeado", null, "#FFFFFF"));
+
+            assertEquals(List.of("Renomeado", "Renomeado"),
+                    eventoService.findByCalendarioAndPeriod(calendarioId, dia, dia.plusDays(1)).stream()
+                            .map(EventoResponseDTO::calendarioNome)
+                            .toList());
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package projeto.collendar.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+import projeto.collendar.dtos.response.EventoResponseDTO;
+import projeto.collendar.enums.TipoAlteracao;
+import projeto.collendar.events.EventoAlteradoEvent;
+import projeto.collendar.repository.EventoRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * TTL do índice com relógio controlado: conta da carga, sem ser renovado pelas
+ * atualizações pontuais que chegam a cada escrita.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class IndicePeriodosExpiracaoTest {
+
+    @Mock
+    private EventoRepository eventoRepository;
+
+    IndicePeriodosCache cache;
+    AtomicLong agora;
+    UUID calendarioId;
+    EventoResponseDTO evento;
+
+    @BeforeEach
+    void setup() {
+        agora = new AtomicLong();
+        calendarioId = UUID.randomUUID();
+        evento = new EventoResponseDTO(UUID.randomUUID(), "Reunião", null,
+                LocalDateTime.of(2025, 3, 10, 10, 0), LocalDateTime.of(2025, 3, 10, 11, 0),
+                null, null, false, false, null, calendarioId, "Trabalho");
+        cache = new IndicePeriodosCache(eventoRepository, true, DataSize.ofMegabytes(1), 1,
+                Duration.ofMinutes(10), new SimpleMeterRegistry(), agora::get);
+
+        when(eventoRepository.findDTOsByCalendarioId(calendarioId)).thenReturn(List.of());
+        cache.get(calendarioId);
+    }
+
+    private void avancar(Duration duracao) {
+        agora.addAndGet(duracao.toNanos());
+    }
+
+    @Nested
+    class Quando_o_indice_recebe_atualizacoes_pontuais {
+
+        @BeforeEach
+        void setup() {
+            when(eventoRepository.findDTOById(evento.id())).thenReturn(Optional.of(evento));
+            avancar(Duration.ofMinutes(6));
+            cache.onEventoAlterado(new EventoAlteradoEvent(calendarioId, evento.id(), TipoAlteracao.CRIADO));
+        }
+
+        @Test
+        void deve_aplicar_a_atualizacao_no_indice_carregado() {
+            assertEquals(1, cache.get(calendarioId).tamanho());
+            verify(eventoRepository, times(1)).findDTOsByCalendarioId(calendarioId);
+        }
+
+        @Test
+        void deve_expirar_no_prazo_contado_da_carga() {
+            avancar(Duration.ofMinutes(5));
+
+            cache.get(calendarioId);
+
+            verify(eventoRepository, times(2)).findDTOsByCalendarioId(calendarioId);
+        }
+    }
+
+    @Nested
+    class Quando_o_indice_nao_esta_carregado {
+
+        @Test
+        void nao_deve_consultar_o_evento_alterado() {
+            avancar(Duration.ofMinutes(11));
+
+            cache.onEventoAlterado(new EventoAlteradoEvent(calendarioId, evento.id(), TipoAlteracao.ALTERADO));
+
+            verify(eventoRepository, never()).findDTOById(any());
+        }
+    }
+
+    @Nested
+    class Quando_uma_escrita_chega_durante_a_carga {
+
+        UUID outroCalendarioId = UUID.randomUUID();
+
+        @BeforeEach
+        void setup() {
+            when(eventoRepository.findDTOsByCalendarioId(outroCalendarioId)).thenAnswer(invocation -> {
+                cache.onEventoAlterado(new EventoAlteradoEvent(outroCalendarioId, evento.id(), TipoAlteracao.CRIADO));
+                return List.of();
+            });
+            cache.get(outroCalendarioId);
+        }
+
+        @Test
+        void deve_descartar_o_indice_carregado_antes_do_commit() {
+            cache.get(outroCalendarioId);
+
+            verify(eventoRepository, times(2)).findDTOsByCalendarioId(outroCalendarioId);
+            verify(eventoRepository, never()).findDTOById(any());
+        }
+    }
+
+    @Nested
+    class Quando_a_carga_falha {
+
+        UUID outroCalendarioId = UUID.randomUUID();
+
+        @Test
+        void deve_carregar_de_novo_na_consulta_seguinte() {
+            when(eventoRepository.findDTOsByCalendarioId(outroCalendarioId))
+                    .thenThrow(new IllegalStateException("conexão perdida"))
+                    .thenReturn(List.of(evento));
+
+            assertThrows(IllegalStateException.class, () -> cache.get(outroCalendarioId));
+
+            assertEquals(1, cache.get(outroCalendarioId).tamanho());
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package projeto.collendar.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import projeto.collendar.dtos.response.NotificacaoEventoDTO;
+import projeto.collendar.enums.TipoAlteracao;
+import projeto.collendar.events.CalendarioRemovidoEvent;
+import projeto.collendar.events.CompartilhamentoAlteradoEvent;
+import projeto.collendar.events.EventoAlteradoEvent;
+import projeto.collendar.exception.SobrecargaException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class NotificacaoBroadcasterTest {
+
+    private static final int BUFFER = 3;
+
+    SimpleMeterRegistry registry;
+    CompartilhamentoService compartilhamentoService;
+    List<Runnable> tarefas;
+    NotificacaoBroadcaster broadcaster;
+    UUID calendarioId;
+    UUID usuarioId;
+
+    @BeforeEach
+    void setup() {
+        registry = new SimpleMeterRegistry();
+        compartilhamentoService = mock(CompartilhamentoService.class);
+        // As tarefas de entrega só rodam quando o teste quiser: sem rodar, o assinante não consome nada
+        tarefas = new ArrayList<>();
+        broadcaster = new NotificacaoBroadcaster(compartilhamentoService, tarefas::add, (emitter, mensagem) -> {
+        }, 2, BUFFER, Duration.ofMinutes(1), registry);
+        calendarioId = UUID.randomUUID();
+        usuarioId = UUID.randomUUID();
+    }
+
+    private void notificar(UUID calendarioId) {
+        broadcaster.onEventoAlterado(new EventoAlteradoEvent(calendarioId, UUID.randomUUID(), TipoAlteracao.CRIADO));
+    }
+
+    @Nested
+    class Dado_o_limite_de_assinantes_atingido {
+
+        @Test
+        void deve_recusar_nova_assinatura_com_sobrecarga() {
+            broadcaster.assinar(calendarioId, usuarioId);
+            broadcaster.assinar(calendarioId, usuarioId);
+
+            assertThrows(SobrecargaException.class, () -> broadcaster.assinar(calendarioId, usuarioId));
+            assertEquals(2, broadcaster.totalAssinantes());
+        }
+    }
+
+    @Nested
+    class Dado_um_assinante_que_consome {
+
+        @Test
+        void deve_manter_o_assinante_enquanto_a_fila_e_esvaziada() {
+            broadcaster.assinar(calendarioId, usuarioId);
+
+            for (int i = 0; i < BUFFER * 3; i++) {
+                notificar(calendarioId);
+                new ArrayList<>(tarefas).forEach(Runnable::run);
+                tarefas.clear();
+            }
+
+            assertEquals(1, broadcaster.totalAssinantes());
+            assertEquals(1.0, registry.get("collendar.notificacoes.assinantes").gauge().value());
+        }
+
+        @Test
+        void deve_agendar_uma_unica_entrega_por_vez() {
+            broadcaster.assinar(calendarioId, usuarioId);
+            notificar(calendarioId);
+
+            assertEquals(1, tarefas.size());
+        }
+    }
+
+    @Nested
+    class Dado_um_assinante_lento {
+
+        UUID outroCalendarioId;
+
+        @BeforeEach
+        void setup() {
+            outroCalendarioId = UUID.randomUUID();
+            broadcaster.assinar(calendarioId, usuarioId);
+            broadcaster.assinar(outroCalendarioId, usuarioId);
+
+            // A assinatura já ocupa uma posição da fila com o heartbeat inicial
+            for (int i = 0; i < BUFFER; i++) {
+                notificar(calendarioId);
+            }
+        }
+
+        @Test
+        void deve_desconectar_quem_encheu_a_fila() {
+            assertEquals(1, broadcaster.totalAssinantes());
+            assertEquals(1, registry.get("collendar.notificacoes.descartados").counter().count());
+        }
+
+        @Test
+        void nao_deve_afetar_assinantes_de_outros_calendarios() {
+            notificar(outroCalendarioId);
+
+            assertEquals(1, broadcaster.totalAssinantes());
+        }
+    }
+
+    @Nested
+    class Dado_clientes_que_pararam_de_ler {
+
+        // Mais clientes travados que as 8 threads do pool padrão do Boot
+        static final int TRAVADOS = 10;
+
+        CountDownLatch liberar;
+        Set<SseEmitter> travados;
+        BlockingQueue<Object> recebidos;
+
+        // O envio a um travado fica preso até a liberação; os demais vão para a fila de recebidos.
+        // Um heartbeat enviado antes de o emitter entrar no conjunto passa, como os cabeçalhos
+        @BeforeEach
+        void setup() {
+            liberar = new CountDownLatch(1);
+            travados = ConcurrentHashMap.newKeySet();
+            recebidos = new LinkedBlockingQueue<>();
+            broadcaster = new NotificacaoBroadcaster(compartilhamentoService, new SimpleAsyncTaskExecutor(),
+                    (emitter, mensagem) -> {
+                        if (!travados.contains(emitter)) {
+                            mensagem.build().forEach(item -> recebidos.add(item.getData()));
+                            return;
+                        }
+                        try {
+                            liberar.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }, TRAVADOS + 1, BUFFER, Duration.ofMinutes(1), registry);
+            for (int i = 0; i < TRAVADOS; i++) {
+                travados.add(broadcaster.assinar(calendarioId, UUID.randomUUID()));
+            }
+            broadcaster.assinar(calendarioId, usuarioId);
+        }
+
+        @AfterEach
+        void liberar() {
+            liberar.countDown();
+        }
+
+        private void aguardarNotificacao() throws InterruptedException {
+            Object recebido;
+            do {
+                recebido = recebidos.take();
+            } while (!(recebido instanceof NotificacaoEventoDTO));
+        }
+
+        @Test
+        void deve_entregar_aos_demais_assinantes() {
+            notificar(calendarioId);
+
+            assertTimeoutPreemptively(Duration.ofSeconds(5), this::aguardarNotificacao);
+        }
+
+        // Quem consome acompanha cada notificação, então só os travados enchem a fila
+        @Test
+        void deve_desconectar_os_travados_sem_prender_quem_notifica() {
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+                for (int i = 0; i < BUFFER + 2; i++) {
+                    notificar(calendarioId);
+                    aguardarNotificacao();
+                }
+            });
+
+            assertEquals(1, broadcaster.totalAssinantes());
+        }
+    }
+
+    @Nested
+    class Dado_um_compartilhamento_alterado {
+
+        UUID outroUsuarioId;
+
+        @BeforeEach
+        void setup() {
+            outroUsuarioId = UUID.randomUUID();
+            broadcaster.assinar(calendarioId, usuarioId);
+            broadcaster.assinar(calendarioId, outroUsuarioId);
+        }
+
+        @Test
+        void deve_desconectar_o_usuario_que_perdeu_acesso() {
+            when(compartilhamentoService.hasAccess(calendarioId, usuarioId)).thenReturn(false);
+
+            broadcaster.onCompartilhamentoAlterado(new CompartilhamentoAlteradoEvent(calendarioId, usuarioId));
+
+            assertEquals(1, broadcaster.totalAssinantes());
+            verify(compartilhamentoService, never()).hasAccess(calendarioId, outroUsuarioId);
+        }
+
+        @Test
+        void deve_manter_o_usuario_que_ainda_tem_acesso() {
+            when(compartilhamentoService.hasAccess(calendarioId, usuarioId)).thenReturn(true);
+
+            broadcaster.onCompartilhamentoAlterado(new CompartilhamentoAlteradoEvent(calendarioId, usuarioId));
+
+            assertEquals(2, broadcaster.totalAssinantes());
+        }
+    }
+
+    @Nested
+    class Dado_um_calendario_removido {
+
+        @Test
+        void deve_desconectar_todos_os_assinantes_do_calendario() {
+            broadcaster.assinar(calendarioId, usuarioId);
+            broadcaster.assinar(calendarioId, UUID.randomUUID());
+
+            broadcaster.onCalendarioRemovido(new CalendarioRemovidoEvent(calendarioId));
+
+            assertEquals(0, broadcaster.totalAssinantes());
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package projeto.collendar.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import projeto.collendar.model.Role;
+import projeto.collendar.repository.RoleRepository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class RoleCacheTest {
+
+    @Mock
+    private RoleRepository roleRepository;
+
+    @InjectMocks
+    private RoleCache roleCache;
+
+    Role roleUser;
+    Role roleAdmin;
+
+    @BeforeEach
+    void setup() {
+        roleUser = new Role();
+        roleUser.setId(UUID.randomUUID());
+        roleUser.setNome("USER");
+
+        roleAdmin = new Role();
+        roleAdmin.setId(UUID.randomUUID());
+        roleAdmin.setNome("ADMIN");
+    }
+
+    @Nested
+    class Dado_um_cache_carregado {
+
+        @BeforeEach
+        void setup() {
+            when(roleRepository.findAll()).thenReturn(List.of(roleUser));
+            roleCache.carregar();
+        }
+
+        @Test
+        void deve_resolver_sem_consultar_o_banco_ignorando_maiusculas() {
+            assertEquals(Optional.of(roleUser), roleCache.get("user"));
+            assertEquals(Optional.of(roleUser), roleCache.get("USER"));
+
+            verify(roleRepository, times(1)).findAll();
+        }
+
+        @Test
+        void deve_recarregar_quando_a_role_nao_esta_em_memoria() {
+            when(roleRepository.findAll()).thenReturn(List.of(roleUser, roleAdmin));
+
+            assertEquals(Optional.of(roleAdmin), roleCache.get("ADMIN"));
+            assertEquals(Optional.of(roleAdmin), roleCache.get("ADMIN"));
+
+            verify(roleRepository, times(2)).findAll();
+        }
+
+        @Test
+        void deve_retornar_vazio_para_role_inexistente() {
+            assertTrue(roleCache.get("INEXISTENTE").isEmpty());
+        }
+
+        @Test
+        void nao_deve_recarregar_a_cada_role_inexistente_pedida() {
+            for (int i = 0; i < 10; i++) {
+                assertTrue(roleCache.get("INEXISTENTE-" + i).isEmpty());
+            }
+
+            verify(roleRepository, times(2)).findAll();
+        }
+    }
+}
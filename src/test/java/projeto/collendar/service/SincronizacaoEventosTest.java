@@ -0,0 +1,110 @@
+package projeto.collendar.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import projeto.collendar.DadosTeste;
+import projeto.collendar.dtos.request.EventoRequestDTO;
+import projeto.collendar.dtos.response.EventoResponseDTO;
+import projeto.collendar.dtos.response.SincronizacaoResponseDTO;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Percorre contra o H2 o ciclo de sincronização de um cliente: carga inicial e, depois de
+ * alterações no calendário, um delta com apenas o que mudou.
+ */
+@SpringBootTest
+@ActiveProfiles("h2")
+@Import(DadosTeste.class)
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class SincronizacaoEventosTest {
+
+    @Autowired
+    EventoService eventoService;
+
+    @Autowired
+    DadosTeste dados;
+
+    UUID calendarioId;
+    List<EventoResponseDTO> eventos;
+    String token;
+
+    private EventoRequestDTO evento(String titulo) {
+        LocalDateTime inicio = LocalDateTime.of(2025, 1, 1, 9, 0);
+        return DadosTeste.evento(calendarioId, titulo, inicio, inicio.plusHours(1));
+    }
+
+    @BeforeEach
+    void setup() {
+        calendarioId = dados.calendario("Sincronização");
+
+        eventos = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            eventos.add(eventoService.create(evento("Evento " + i)));
+        }
+
+        SincronizacaoResponseDTO carga;
+        token = null;
+        do {
+            carga = eventoService.sincronizar(calendarioId, token, 2);
+            token = carga.token();
+        } while (carga.temMais());
+    }
+
+    @Test
+    void sem_alteracoes_deve_retornar_delta_vazio_com_o_mesmo_token() {
+        SincronizacaoResponseDTO delta = eventoService.sincronizar(calendarioId, token, null);
+
+        assertTrue(delta.alterados().isEmpty());
+        assertTrue(delta.removidos().isEmpty());
+        assertEquals(token, delta.token());
+    }
+
+    @Nested
+    class Quando_o_calendario_muda_depois_da_carga {
+
+        EventoResponseDTO criado;
+        SincronizacaoResponseDTO delta;
+
+        @BeforeEach
+        void setup() {
+            eventoService.update(eventos.get(1).id(), evento("Alterado"));
+            eventoService.delete(eventos.get(3).id());
+            criado = eventoService.create(evento("Novo"));
+
+            delta = eventoService.sincronizar(calendarioId, token, null);
+        }
+
+        @Test
+        void deve_retornar_apenas_os_eventos_alterados_e_criados() {
+            assertEquals(List.of(eventos.get(1).id(), criado.id()),
+                    delta.alterados().stream().map(EventoResponseDTO::id).toList());
+            assertEquals("Alterado", delta.alterados().get(0).titulo());
+        }
+
+        @Test
+        void deve_retornar_o_evento_removido() {
+            assertEquals(List.of(eventos.get(3).id()), delta.removidos());
+        }
+
+        @Test
+        void o_novo_token_nao_deve_repetir_alteracoes() {
+            SincronizacaoResponseDTO seguinte = eventoService.sincronizar(calendarioId, delta.token(), null);
+
+            assertTrue(seguinte.alterados().isEmpty());
+            assertTrue(seguinte.removidos().isEmpty());
+        }
+    }
+}
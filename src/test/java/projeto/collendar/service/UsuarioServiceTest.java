@@ -6,16 +6,17 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import projeto.collendar.dtos.projection.UsuarioRoleDTO;
 import projeto.collendar.dtos.request.UsuarioRequestDTO;
 import projeto.collendar.dtos.response.UsuarioResponseDTO;
 import projeto.collendar.exception.BusinessException;
 import projeto.collendar.exception.ResourceNotFoundException;
 import projeto.collendar.model.Role;
 import projeto.collendar.model.Usuario;
-import projeto.collendar.repository.RoleRepository;
 import projeto.collendar.repository.UsuarioRepository;
 
 import java.util.*;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -29,7 +30,7 @@ class UsuarioServiceTest {
     private UsuarioRepository usuarioRepository;
 
     @Mock
-    private RoleRepository roleRepository;
+    private RoleCache roleCache;
 
     @Mock
     private PasswordEncoder passwordEncoder;
@@ -70,8 +71,8 @@ class UsuarioServiceTest {
             void setup() {
                 when(usuarioRepository.existsByEmail(dto.email())).thenReturn(false);
                 when(passwordEncoder.encode(dto.senha())).thenReturn("senhaEncriptada");
-                when(roleRepository.findByNome("USER")).thenReturn(Optional.of(roleUser));
-                when(roleRepository.findByNome("ADMIN")).thenReturn(Optional.of(roleAdmin));
+                when(roleCache.get("USER")).thenReturn(Optional.of(roleUser));
+                when(roleCache.get("ADMIN")).thenReturn(Optional.of(roleAdmin));
                 when(usuarioRepository.save(any(Usuario.class))).thenAnswer(invocation -> {
                     Usuario usuario = invocation.getArgument(0);
                     usuario.setId(UUID.randomUUID());
@@ -139,7 +140,7 @@ class UsuarioServiceTest {
             @BeforeEach
             void setup() {
                 when(usuarioRepository.existsByEmail(dto.email())).thenReturn(false);
-                when(roleRepository.findByNome("USER")).thenReturn(Optional.empty());
+                when(roleCache.get("USER")).thenReturn(Optional.empty());
             }
 
             @Test
@@ -159,8 +160,8 @@ class UsuarioServiceTest {
             @BeforeEach
             void setup() {
                 when(usuarioRepository.existsByEmail(dto.email())).thenReturn(false);
-                when(roleRepository.findByNome("USER")).thenReturn(Optional.of(roleUser));
-                when(roleRepository.findByNome("ADMIN")).thenReturn(Optional.empty());
+                when(roleCache.get("USER")).thenReturn(Optional.of(roleUser));
+                when(roleCache.get("ADMIN")).thenReturn(Optional.empty());
             }
 
             @Test
@@ -274,6 +275,39 @@ class UsuarioServiceTest {
             }
         }
 
+        @Nested
+        class Quando_exportar_usuarios_em_streaming {
+
+            List<UsuarioResponseDTO> exportados;
+            UUID outroId;
+
+            @BeforeEach
+            void setup() {
+                outroId = UUID.randomUUID();
+                when(usuarioRepository.streamAllComRoles()).thenReturn(Stream.of(
+                        new UsuarioRoleDTO(usuarioId, "João Silva", "joao@email.com", true, "USER"),
+                        new UsuarioRoleDTO(usuarioId, "João Silva", "joao@email.com", true, "ADMIN"),
+                        new UsuarioRoleDTO(outroId, "Maria", "maria@email.com", true, null)
+                ));
+
+                exportados = new ArrayList<>();
+                usuarioService.streamAll(exportados::add);
+            }
+
+            @Test
+            void deve_emitir_um_usuario_por_grupo_de_linhas() {
+                assertEquals(2, exportados.size());
+                assertEquals(usuarioId, exportados.get(0).id());
+                assertEquals(outroId, exportados.get(1).id());
+            }
+
+            @Test
+            void deve_reunir_as_roles_de_cada_usuario() {
+                assertEquals(Set.of("USER", "ADMIN"), exportados.get(0).roles());
+                assertTrue(exportados.get(1).roles().isEmpty());
+            }
+        }
+
         @Nested
         class Quando_listar_usuarios_ativos {
 
@@ -308,7 +342,6 @@ class UsuarioServiceTest {
                 );
 
                 when(usuarioRepository.findById(usuarioId)).thenReturn(Optional.of(usuario));
-                when(usuarioRepository.existsByEmail(dtoAtualizado.email())).thenReturn(false);
                 when(passwordEncoder.encode(dtoAtualizado.senha())).thenReturn("novaSenhaEncriptada");
                 when(usuarioRepository.save(any(Usuario.class))).thenReturn(usuario);
 
@@ -426,7 +459,7 @@ class UsuarioServiceTest {
                 roleAdmin.setNome("ADMIN");
 
                 when(usuarioRepository.findById(usuarioId)).thenReturn(Optional.of(usuario));
-                when(roleRepository.findByNome("ADMIN")).thenReturn(Optional.of(roleAdmin));
+                when(roleCache.get("ADMIN")).thenReturn(Optional.of(roleAdmin));
                 when(usuarioRepository.save(any(Usuario.class))).thenReturn(usuario);
 
                 resultado = usuarioService.addRole(usuarioId, "ADMIN");
@@ -439,13 +472,37 @@ class UsuarioServiceTest {
             }
         }
 
+        @Nested
+        class Quando_adicionar_role_que_o_usuario_ja_possui {
+
+            @Test
+            void nao_deve_duplicar_a_associacao() {
+                Role roleUser = new Role();
+                roleUser.setId(UUID.randomUUID());
+                roleUser.setNome("USER");
+                usuario.getRoles().add(roleUser);
+
+                Role roleUserDoCache = new Role();
+                roleUserDoCache.setId(roleUser.getId());
+                roleUserDoCache.setNome("USER");
+
+                when(usuarioRepository.findById(usuarioId)).thenReturn(Optional.of(usuario));
+                when(roleCache.get("USER")).thenReturn(Optional.of(roleUserDoCache));
+                when(usuarioRepository.save(usuario)).thenReturn(usuario);
+
+                usuarioService.addRole(usuarioId, "USER");
+
+                assertEquals(1, usuario.getRoles().size());
+            }
+        }
+
         @Nested
         class Quando_adicionar_role_inexistente {
 
             @BeforeEach
             void setup() {
                 when(usuarioRepository.findById(usuarioId)).thenReturn(Optional.of(usuario));
-                when(roleRepository.findByNome("ROLE_INVALIDA")).thenReturn(Optional.empty());
+                when(roleCache.get("ROLE_INVALIDA")).thenReturn(Optional.empty());
             }
 
             @Test
@@ -0,0 +1,96 @@
+package projeto.collendar.utils;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import projeto.collendar.dtos.request.EventoRequestDTO;
+import projeto.collendar.enums.TipoRecorrencia;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class CsvEventoParserTest {
+
+    CsvEventoParser parser;
+    UUID calendarioId;
+    List<EventoRequestDTO> eventos;
+
+    @BeforeEach
+    void setup() {
+        parser = new CsvEventoParser();
+        calendarioId = UUID.randomUUID();
+        eventos = new ArrayList<>();
+    }
+
+    @Nested
+    class Dado_um_csv_com_campos_entre_aspas {
+
+        @BeforeEach
+        void setup() throws IOException {
+            String csv = "dataInicio,titulo,dataFim,descricao,tipoRecorrencia\r\n" +
+                    "2025-01-15T10:00,\"Reunião, diretoria\",2025-01-15T11:00,\"Linha 1\nLinha \"\"2\"\"\",SEMANAL\r\n" +
+                    "2025-02-01,Feriado,2025-02-01,,\r\n" +
+                    "\r\n";
+            parser.ler(new StringReader(csv), calendarioId, eventos::add, erro -> fail(erro));
+        }
+
+        @Test
+        void deve_ler_um_evento_por_registro() {
+            assertEquals(2, eventos.size());
+        }
+
+        @Test
+        void deve_respeitar_virgulas_quebras_de_linha_e_aspas_escapadas() {
+            EventoRequestDTO evento = eventos.get(0);
+            assertEquals("Reunião, diretoria", evento.titulo());
+            assertEquals("Linha 1\nLinha \"2\"", evento.descricao());
+            assertEquals(LocalDateTime.of(2025, 1, 15, 10, 0), evento.dataInicio());
+            assertEquals(TipoRecorrencia.SEMANAL, evento.tipoRecorrencia());
+            assertTrue(evento.recorrente());
+            assertEquals(calendarioId, evento.calendarioId());
+        }
+
+        @Test
+        void deve_aceitar_datas_sem_horario_e_campos_vazios() {
+            EventoRequestDTO evento = eventos.get(1);
+            assertEquals(LocalDateTime.of(2025, 2, 1, 0, 0), evento.dataInicio());
+            assertNull(evento.descricao());
+            assertNull(evento.tipoRecorrencia());
+            assertFalse(evento.recorrente());
+        }
+    }
+
+    @Nested
+    class Dado_um_csv_exportado_com_bom {
+
+        @Test
+        void deve_reconhecer_a_primeira_coluna_do_cabecalho() throws IOException {
+            parser.ler(new StringReader("\uFEFFtitulo,dataInicio,dataFim\nReunião,2025-01-15T10:00,2025-01-15T11:00\n"),
+                    calendarioId, eventos::add, erro -> fail(erro));
+
+            assertEquals("Reunião", eventos.get(0).titulo());
+            assertEquals(LocalDateTime.of(2025, 1, 15, 10, 0), eventos.get(0).dataInicio());
+        }
+    }
+
+    @Nested
+    class Dado_um_csv_com_data_invalida {
+
+        @Test
+        void deve_entregar_a_data_nula() throws IOException {
+            parser.ler(new StringReader("titulo,dataInicio,dataFim\nX,ontem,2025-01-01T10:00\n"), calendarioId, eventos::add, erro -> fail(erro));
+
+            assertNull(eventos.get(0).dataInicio());
+            assertEquals(LocalDateTime.of(2025, 1, 1, 10, 0), eventos.get(0).dataFim());
+        }
+    }
+}
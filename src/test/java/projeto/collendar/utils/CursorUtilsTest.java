@@ -0,0 +1,90 @@
+package projeto.collendar.utils;
+
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import projeto.collendar.dtos.response.CursorPageResponseDTO;
+import projeto.collendar.exception.BusinessException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class CursorUtilsTest {
+
+    @Nested
+    class Dado_um_cursor_codificado {
+
+        @Test
+        void deve_decodificar_a_mesma_posicao() {
+            LocalDateTime valor = LocalDateTime.of(2025, 6, 10, 9, 30);
+            UUID id = UUID.randomUUID();
+
+            CursorUtils.Cursor cursor = CursorUtils.decode(CursorUtils.encode(valor, id));
+
+            assertEquals(valor, cursor.valor());
+            assertEquals(id, cursor.id());
+        }
+
+        @Test
+        void deve_ser_seguro_para_url() {
+            String cursor = CursorUtils.encode(LocalDateTime.of(2025, 6, 10, 9, 30), UUID.randomUUID());
+
+            assertTrue(cursor.matches("[A-Za-z0-9_-]+"));
+        }
+    }
+
+    @Nested
+    class Dado_um_cursor_invalido {
+
+        @Test
+        void deve_lancar_excecao_para_base64_invalido() {
+            assertThrows(BusinessException.class, () -> CursorUtils.decode("***"));
+        }
+
+        @Test
+        void deve_lancar_excecao_para_conteudo_sem_separador() {
+            assertThrows(BusinessException.class, () -> CursorUtils.decode("YWJj"));
+        }
+    }
+
+    @Nested
+    class Quando_limitar_tamanho {
+
+        @Test
+        void deve_usar_padrao_quando_nulo() {
+            assertEquals(CursorUtils.TAMANHO_PADRAO, CursorUtils.limitar(null));
+        }
+
+        @Test
+        void deve_restringir_ao_intervalo_permitido() {
+            assertEquals(1, CursorUtils.limitar(0));
+            assertEquals(CursorUtils.TAMANHO_MAXIMO, CursorUtils.limitar(5000));
+            assertEquals(15, CursorUtils.limitar(15));
+        }
+    }
+
+    @Nested
+    class Quando_montar_pagina {
+
+        @Test
+        void deve_omitir_cursor_quando_nao_ha_excedente() {
+            CursorPageResponseDTO<String> pagina = CursorUtils.pagina(List.of("a", "b"), 2, s -> s);
+
+            assertEquals(List.of("a", "b"), pagina.itens());
+            assertNull(pagina.proximoCursor());
+        }
+
+        @Test
+        void deve_descartar_excedente_e_apontar_para_o_ultimo_item() {
+            CursorPageResponseDTO<String> pagina = CursorUtils.pagina(List.of("a", "b", "c"), 2, s -> s);
+
+            assertEquals(List.of("a", "b"), pagina.itens());
+            assertEquals("b", pagina.proximoCursor());
+        }
+    }
+}
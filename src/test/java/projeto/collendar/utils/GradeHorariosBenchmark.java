@@ -0,0 +1,75 @@
+package projeto.collendar.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import projeto.collendar.enums.TipoRecorrencia;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Busca de horários livres para 50 participantes em seis meses: cada um com cinco
+ * compromissos diários recorrentes e 300 avulsos, expandidos e marcados na grade de
+ * fatias de 5 minutos. Executar pelo main na IDE ou com o classpath de testes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GradeHorariosBenchmark {
+
+    private static final int PARTICIPANTES = 50;
+
+    private final LocalDateTime inicio = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private final LocalDateTime fim = inicio.plusMonths(6);
+    private LocalDateTime[][] recorrentes;
+    private LocalDateTime[][] avulsos;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        recorrentes = new LocalDateTime[PARTICIPANTES * 5][];
+        for (int i = 0; i < recorrentes.length; i++) {
+            LocalDateTime comeco = inicio.minusDays(random.nextInt(30)).plusMinutes(5L * random.nextInt(288));
+            recorrentes[i] = new LocalDateTime[]{comeco, comeco.plusMinutes(15 + 15L * random.nextInt(4))};
+        }
+        avulsos = new LocalDateTime[PARTICIPANTES * 300][];
+        for (int i = 0; i < avulsos.length; i++) {
+            LocalDateTime comeco = inicio.plusMinutes(random.nextInt(60 * 24 * 180));
+            avulsos[i] = new LocalDateTime[]{comeco, comeco.plusMinutes(30 + random.nextInt(120))};
+        }
+    }
+
+    @Benchmark
+    public List<LocalDateTime> horariosLivres() {
+        GradeHorarios grade = new GradeHorarios(inicio, fim);
+        for (LocalDateTime[] evento : recorrentes) {
+            RecorrenciaUtils.forEachOcorrencia(evento[0], evento[1], TipoRecorrencia.DIARIA, inicio, fim, grade::ocupar);
+        }
+        for (LocalDateTime[] evento : avulsos) {
+            grade.ocupar(evento[0], evento[1]);
+        }
+        return grade.livres(60 * 60, 10);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(GradeHorariosBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,89 @@
+package projeto.collendar.utils;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class GradeHorariosTest {
+
+    LocalDateTime inicio = LocalDateTime.of(2025, 3, 10, 0, 0);
+
+    private LocalDateTime minutos(long minutos) {
+        return inicio.plusMinutes(minutos);
+    }
+
+    @Nested
+    class Dado_uma_grade_vazia {
+
+        @Test
+        void deve_dividir_a_janela_em_horarios_consecutivos() {
+            GradeHorarios grade = new GradeHorarios(inicio, minutos(60));
+
+            assertEquals(List.of(minutos(0), minutos(20), minutos(40)), grade.livres(20 * 60, 10));
+        }
+
+        @Test
+        void deve_alinhar_o_inicio_a_proxima_fatia() {
+            GradeHorarios grade = new GradeHorarios(inicio.plusMinutes(3), minutos(60));
+
+            assertEquals(minutos(5), grade.livres(30 * 60, 1).get(0));
+        }
+    }
+
+    @Nested
+    class Dado_intervalos_ocupados {
+
+        GradeHorarios grade;
+
+        @BeforeEach
+        void setup() {
+            grade = new GradeHorarios(inicio, minutos(24 * 60));
+        }
+
+        @Test
+        void deve_ocupar_fatias_tocadas_parcialmente() {
+            grade.ocupar(minutos(0), minutos(61));
+
+            assertEquals(minutos(65), grade.livres(5 * 60, 1).get(0));
+        }
+
+        @Test
+        void deve_pular_trechos_livres_curtos_demais() {
+            grade.ocupar(minutos(0), minutos(60));
+            grade.ocupar(minutos(80), minutos(120));
+
+            assertEquals(List.of(minutos(120)), grade.livres(30 * 60, 1));
+        }
+
+        @Test
+        void deve_atravessar_varias_palavras() {
+            // 64 fatias de 5 minutos por palavra: ocupa da primeira até o meio da quarta
+            grade.ocupar(minutos(10), minutos(5 * 64 * 3 + 100));
+
+            assertEquals(List.of(minutos(0), minutos(5 * 64 * 3 + 100)), grade.livres(10 * 60, 2));
+        }
+
+        @Test
+        void deve_ignorar_intervalos_fora_da_janela() {
+            grade.ocupar(inicio.minusDays(2), inicio.minusDays(1));
+            grade.ocupar(inicio.plusDays(2), inicio.plusDays(3));
+
+            assertEquals(List.of(minutos(0)), grade.livres(24 * 60 * 60, 5));
+        }
+
+        @Test
+        void deve_retornar_vazio_quando_tudo_esta_ocupado() {
+            grade.ocupar(inicio.minusHours(1), inicio.plusDays(2));
+
+            assertTrue(grade.livres(5 * 60, 5).isEmpty());
+        }
+    }
+}
@@ -0,0 +1,299 @@
+package projeto.collendar.utils;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import projeto.collendar.dtos.request.EventoRequestDTO;
+import projeto.collendar.enums.TipoRecorrencia;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class IcsEventoParserTest {
+
+    IcsEventoParser parser;
+    UUID calendarioId;
+    List<EventoRequestDTO> eventos;
+    List<String> rejeitados;
+
+    @BeforeEach
+    void setup() {
+        parser = new IcsEventoParser();
+        calendarioId = UUID.randomUUID();
+        eventos = new ArrayList<>();
+        rejeitados = new ArrayList<>();
+    }
+
+    private void ler(String... linhas) throws IOException {
+        parser.ler(new StringReader(String.join("\r\n", linhas)), calendarioId, eventos::add, rejeitados::add);
+    }
+
+    private void lerSerie(String regra, String... extras) throws IOException {
+        List<String> linhas = new ArrayList<>(List.of(
+                "BEGIN:VEVENT",
+                "SUMMARY:Reunião",
+                "DTSTART:20250106T100000",
+                "DTEND:20250106T110000",
+                "RRULE:" + regra));
+        linhas.addAll(List.of(extras));
+        linhas.add("END:VEVENT");
+        ler(linhas.toArray(String[]::new));
+    }
+
+    @Test
+    void deve_suportar_apenas_text_calendar() {
+        assertTrue(parser.suporta(MediaType.parseMediaType("text/calendar; charset=UTF-8")));
+        assertFalse(parser.suporta(MediaType.parseMediaType("text/csv")));
+    }
+
+    @Nested
+    class Dado_um_evento_com_horario_local {
+
+        @BeforeEach
+        void setup() throws IOException {
+            ler(
+                    "BEGIN:VCALENDAR",
+                    "VERSION:2.0",
+                    "BEGIN:VEVENT",
+                    "UID:1@exemplo",
+                    "SUMMARY:Reunião de planejamento com um título que foi quebrado",
+                    "  em duas linhas",
+                    "DESCRIPTION:Pauta:\\nitem 1\\, item 2",
+                    "LOCATION:Sala 101",
+                    "DTSTART:20250115T100000",
+                    "DTEND:20250115T113000",
+                    "BEGIN:VALARM",
+                    "DESCRIPTION:Lembrete",
+                    "TRIGGER:-PT15M",
+                    "END:VALARM",
+                    "END:VEVENT",
+                    "END:VCALENDAR"
+            );
+        }
+
+        @Test
+        void deve_mapear_os_campos_do_vevent() {
+            assertEquals(1, eventos.size());
+            EventoRequestDTO evento = eventos.get(0);
+            assertEquals("Reunião de planejamento com um título que foi quebrado em duas linhas", evento.titulo());
+            assertEquals("Pauta:\nitem 1, item 2", evento.descricao());
+            assertEquals("Sala 101", evento.local());
+            assertEquals(LocalDateTime.of(2025, 1, 15, 10, 0), evento.dataInicio());
+            assertEquals(LocalDateTime.of(2025, 1, 15, 11, 30), evento.dataFim());
+            assertEquals(calendarioId, evento.calendarioId());
+            assertFalse(evento.diaInteiro());
+            assertFalse(evento.recorrente());
+        }
+    }
+
+    @Nested
+    class Dado_um_evento_de_dia_inteiro_recorrente {
+
+        @BeforeEach
+        void setup() throws IOException {
+            ler(
+                    "BEGIN:VEVENT",
+                    "SUMMARY:Aniversário",
+                    "DTSTART;VALUE=DATE:20250310",
+                    "DTEND;VALUE=DATE:20250311",
+                    "RRULE:FREQ=YEARLY",
+                    "END:VEVENT"
+            );
+        }
+
+        @Test
+        void deve_trazer_o_fim_exclusivo_para_o_ultimo_segundo_do_dia() {
+            EventoRequestDTO evento = eventos.get(0);
+            assertTrue(evento.diaInteiro());
+            assertEquals(LocalDateTime.of(2025, 3, 10, 0, 0), evento.dataInicio());
+            assertEquals(LocalDateTime.of(2025, 3, 10, 23, 59, 59), evento.dataFim());
+        }
+
+        @Test
+        void deve_converter_a_freq_do_rrule() {
+            EventoRequestDTO evento = eventos.get(0);
+            assertTrue(evento.recorrente());
+            assertEquals(TipoRecorrencia.ANUAL, evento.tipoRecorrencia());
+        }
+    }
+
+    @Nested
+    class Dado_eventos_com_fuso_horario {
+
+        @BeforeEach
+        void setup() throws IOException {
+            ler(
+                    "BEGIN:VEVENT",
+                    "SUMMARY:Em UTC",
+                    "DTSTART:20250601T120000Z",
+                    "DURATION:PT45M",
+                    "END:VEVENT",
+                    "BEGIN:VEVENT",
+                    "SUMMARY:Em Tóquio",
+                    "DTSTART;TZID=Asia/Tokyo:20250601T090000",
+                    "DTEND;TZID=Asia/Tokyo:20250601T100000",
+                    "RRULE:FREQ=WEEKLY",
+                    "END:VEVENT"
+            );
+        }
+
+        @Test
+        void deve_converter_para_o_fuso_do_servidor() {
+            LocalDateTime utc = LocalDateTime.of(2025, 6, 1, 12, 0)
+                    .atOffset(ZoneOffset.UTC).atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+            LocalDateTime toquio = LocalDateTime.of(2025, 6, 1, 9, 0)
+                    .atZone(ZoneId.of("Asia/Tokyo")).withZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+
+            assertEquals(utc, eventos.get(0).dataInicio());
+            assertEquals(utc.plusMinutes(45), eventos.get(0).dataFim());
+            assertEquals(toquio, eventos.get(1).dataInicio());
+            assertEquals(TipoRecorrencia.SEMANAL, eventos.get(1).tipoRecorrencia());
+        }
+    }
+
+    @Nested
+    class Dado_um_evento_com_data_ilegivel {
+
+        @Test
+        void deve_entregar_o_evento_sem_datas_para_a_validacao_rejeitar() throws IOException {
+            ler(
+                    "BEGIN:VEVENT",
+                    "SUMMARY:Quebrado",
+                    "DTSTART:2025-06-01",
+                    "END:VEVENT"
+            );
+
+            assertEquals(1, eventos.size());
+            assertNull(eventos.get(0).dataInicio());
+            assertNull(eventos.get(0).dataFim());
+        }
+    }
+
+    @Nested
+    class Dado_series_que_o_modelo_nao_representa {
+
+        @Test
+        void deve_aceitar_intervalo_1_e_wkst() throws IOException {
+            lerSerie("FREQ=WEEKLY;INTERVAL=1;WKST=MO");
+
+            assertEquals(TipoRecorrencia.SEMANAL, eventos.get(0).tipoRecorrencia());
+            assertTrue(rejeitados.isEmpty());
+        }
+
+        @Test
+        void deve_rejeitar_intervalo_maior_que_1() throws IOException {
+            lerSerie("FREQ=WEEKLY;INTERVAL=2");
+
+            assertTrue(eventos.isEmpty());
+            assertEquals(List.of("Recorrência não suportada: INTERVAL=2"), rejeitados);
+        }
+
+        @Test
+        void deve_rejeitar_serie_com_count() throws IOException {
+            lerSerie("FREQ=DAILY;COUNT=5");
+
+            assertTrue(eventos.isEmpty());
+            assertEquals(List.of("Recorrência não suportada: COUNT=5"), rejeitados);
+        }
+
+        @Test
+        void deve_rejeitar_serie_com_until() throws IOException {
+            lerSerie("FREQ=DAILY;UNTIL=20250131T235959Z");
+
+            assertTrue(eventos.isEmpty());
+            assertEquals(List.of("Recorrência não suportada: UNTIL=20250131T235959Z"), rejeitados);
+        }
+
+        @Test
+        void deve_rejeitar_partes_by() throws IOException {
+            lerSerie("FREQ=WEEKLY;BYDAY=MO,WE");
+
+            assertTrue(eventos.isEmpty());
+            assertEquals(List.of("Recorrência não suportada: BYDAY=MO,WE"), rejeitados);
+        }
+
+        @Test
+        void deve_rejeitar_frequencia_sem_equivalente() throws IOException {
+            lerSerie("FREQ=HOURLY");
+
+            assertTrue(eventos.isEmpty());
+            assertEquals(List.of("Recorrência não suportada: FREQ=HOURLY"), rejeitados);
+        }
+
+        @Test
+        void deve_rejeitar_serie_com_datas_excluidas() throws IOException {
+            lerSerie("FREQ=WEEKLY", "EXDATE:20250113T100000");
+
+            assertTrue(eventos.isEmpty());
+            assertEquals(1, rejeitados.size());
+        }
+    }
+
+    @Nested
+    class Dado_uma_serie_com_instancia_editada {
+
+        @BeforeEach
+        void setup() throws IOException {
+            ler(
+                    "BEGIN:VEVENT",
+                    "UID:serie@exemplo",
+                    "SUMMARY:Daily",
+                    "DTSTART:20250106T090000",
+                    "DTEND:20250106T091500",
+                    "RRULE:FREQ=DAILY",
+                    "END:VEVENT",
+                    "BEGIN:VEVENT",
+                    "UID:serie@exemplo",
+                    "RECURRENCE-ID:20250108T090000",
+                    "SUMMARY:Daily (adiada)",
+                    "DTSTART:20250108T100000",
+                    "DTEND:20250108T101500",
+                    "END:VEVENT"
+            );
+        }
+
+        @Test
+        void deve_importar_so_a_serie() {
+            assertEquals(1, eventos.size());
+            assertEquals("Daily", eventos.get(0).titulo());
+            assertTrue(rejeitados.isEmpty());
+        }
+    }
+
+    @Nested
+    class Dado_um_evento_cancelado {
+
+        @Test
+        void deve_pular_o_evento() throws IOException {
+            ler(
+                    "BEGIN:VEVENT",
+                    "SUMMARY:Cancelado",
+                    "STATUS:CANCELLED",
+                    "DTSTART:20250106T090000",
+                    "DTEND:20250106T100000",
+                    "END:VEVENT",
+                    "BEGIN:VEVENT",
+                    "SUMMARY:Confirmado",
+                    "STATUS:CONFIRMED",
+                    "DTSTART:20250106T110000",
+                    "DTEND:20250106T120000",
+                    "END:VEVENT"
+            );
+
+            assertEquals(List.of("Confirmado"), eventos.stream().map(EventoRequestDTO::titulo).toList());
+            assertTrue(rejeitados.isEmpty());
+        }
+    }
+}
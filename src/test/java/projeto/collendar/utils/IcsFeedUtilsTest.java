@@ -0,0 +1,198 @@
+package projeto.collendar.utils;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import projeto.collendar.dtos.request.EventoRequestDTO;
+import projeto.collendar.dtos.response.EventoResponseDTO;
+import projeto.collendar.enums.TipoRecorrencia;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class IcsFeedUtilsTest {
+
+    UUID calendarioId;
+
+    @BeforeEach
+    void setup() {
+        calendarioId = UUID.randomUUID();
+    }
+
+    private String escrever(EventoResponseDTO... eventos) throws IOException {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        IcsFeedUtils.feed("Trabalho", LocalDateTime.of(2025, 1, 1, 0, 0),
+                consumidor -> Arrays.stream(eventos).forEach(consumidor)).writeTo(saida);
+        return saida.toString(StandardCharsets.UTF_8);
+    }
+
+    private EventoResponseDTO evento(String titulo, String descricao, LocalDateTime inicio, LocalDateTime fim,
+                                     boolean diaInteiro, TipoRecorrencia tipo) {
+        return new EventoResponseDTO(UUID.randomUUID(), titulo, descricao, inicio, fim, "Sala; 1", null,
+                diaInteiro, tipo != null, tipo, calendarioId, "Trabalho");
+    }
+
+    @Nested
+    class Dado_eventos_variados {
+
+        String ics;
+        EventoResponseDTO reuniao;
+        EventoResponseDTO feriado;
+
+        @BeforeEach
+        void setup() throws IOException {
+            reuniao = evento("Reunião, planejamento trimestral com toda a diretoria e convidados externos",
+                    "Pauta:\nitem 1", LocalDateTime.of(2025, 1, 31, 10, 0), LocalDateTime.of(2025, 1, 31, 11, 0),
+                    false, TipoRecorrencia.SEMANAL);
+            feriado = evento("Feriado", null, LocalDateTime.of(2025, 4, 21, 0, 0),
+                    LocalDateTime.of(2025, 4, 21, 23, 59, 59), true, null);
+            ics = escrever(reuniao, feriado);
+        }
+
+        @Test
+        void deve_envolver_os_eventos_em_um_vcalendar_com_crlf() {
+            assertTrue(ics.startsWith("BEGIN:VCALENDAR\r\nVERSION:2.0\r\n"));
+            assertTrue(ics.endsWith("END:VCALENDAR\r\n"));
+            assertEquals(2, ics.split("BEGIN:VEVENT", -1).length - 1);
+            assertTrue(ics.contains("X-WR-CALNAME:Trabalho\r\n"));
+        }
+
+        @Test
+        void deve_dobrar_linhas_com_mais_de_75_octetos() {
+            for (String linha : ics.split("\r\n")) {
+                assertTrue(linha.getBytes(StandardCharsets.UTF_8).length <= 75, linha);
+            }
+        }
+
+        @Test
+        void deve_escrever_recorrencia_como_rrule() {
+            assertTrue(ics.contains("RRULE:FREQ=WEEKLY\r\n"));
+            assertEquals(1, ics.split("RRULE", -1).length - 1);
+        }
+
+        @Test
+        void deve_escrever_dia_inteiro_com_dtend_exclusivo() {
+            assertTrue(ics.contains("DTSTART;VALUE=DATE:20250421\r\n"));
+            assertTrue(ics.contains("DTEND;VALUE=DATE:20250422\r\n"));
+        }
+
+        @Test
+        void deve_ser_lido_de_volta_pelo_parser() throws IOException {
+            List<EventoRequestDTO> lidos = new ArrayList<>();
+            new IcsEventoParser().ler(new StringReader(ics), calendarioId, lidos::add, erro -> fail(erro));
+
+            assertEquals(2, lidos.size());
+            assertEquals(reuniao.titulo(), lidos.get(0).titulo());
+            assertEquals(reuniao.descricao(), lidos.get(0).descricao());
+            assertEquals("Sala; 1", lidos.get(0).local());
+            assertEquals(reuniao.dataInicio(), lidos.get(0).dataInicio());
+            assertEquals(reuniao.dataFim(), lidos.get(0).dataFim());
+            assertEquals(TipoRecorrencia.SEMANAL, lidos.get(0).tipoRecorrencia());
+            assertEquals(feriado.dataInicio(), lidos.get(1).dataInicio());
+            assertEquals(feriado.dataFim(), lidos.get(1).dataFim());
+            assertTrue(lidos.get(1).diaInteiro());
+        }
+    }
+
+    @Nested
+    class Dado_recorrencias_no_fim_do_mes {
+
+        @Test
+        void deve_reproduzir_o_ajuste_ao_ultimo_dia_do_mes() {
+            assertEquals("FREQ=MONTHLY", IcsFeedUtils.regra(TipoRecorrencia.MENSAL, LocalDate.of(2025, 1, 28)));
+            assertEquals("FREQ=MONTHLY;BYMONTHDAY=28,29,30,31;BYSETPOS=-1",
+                    IcsFeedUtils.regra(TipoRecorrencia.MENSAL, LocalDate.of(2025, 1, 31)));
+            assertEquals("FREQ=YEARLY;BYMONTH=2;BYMONTHDAY=28,29;BYSETPOS=-1",
+                    IcsFeedUtils.regra(TipoRecorrencia.ANUAL, LocalDate.of(2024, 2, 29)));
+        }
+    }
+
+    @Nested
+    class Dado_um_servidor_em_fuso_com_horario_de_verao {
+
+        String ics;
+
+        @BeforeEach
+        void setup() throws IOException {
+            ByteArrayOutputStream saida = new ByteArrayOutputStream();
+            EventoResponseDTO daily = evento("Daily", null, LocalDateTime.of(2025, 3, 3, 9, 0),
+                    LocalDateTime.of(2025, 3, 3, 9, 15), false, TipoRecorrencia.DIARIA);
+            IcsFeedUtils.feed("Trabalho", LocalDateTime.of(2025, 1, 1, 0, 0), ZoneId.of("America/New_York"),
+                    consumidor -> consumidor.accept(daily)).writeTo(saida);
+            ics = saida.toString(StandardCharsets.UTF_8);
+        }
+
+        @Test
+        void deve_escrever_os_horarios_na_hora_local_com_tzid() {
+            assertTrue(ics.contains("DTSTART;TZID=America/New_York:20250303T090000\r\n"));
+            assertTrue(ics.contains("DTEND;TZID=America/New_York:20250303T091500\r\n"));
+            assertTrue(ics.contains("RRULE:FREQ=DAILY\r\n"));
+        }
+
+        @Test
+        void deve_declarar_o_fuso_com_as_regras_de_transicao() {
+            assertTrue(ics.contains("BEGIN:VTIMEZONE\r\nTZID:America/New_York\r\n"));
+            assertTrue(ics.contains("BEGIN:DAYLIGHT\r\nDTSTART:19700308T020000\r\n" +
+                    "TZOFFSETFROM:-0500\r\nTZOFFSETTO:-0400\r\nRRULE:FREQ=YEARLY;BYMONTH=3;BYDAY=2SU\r\n"));
+            assertTrue(ics.contains("BEGIN:STANDARD\r\nDTSTART:19701101T020000\r\n" +
+                    "TZOFFSETFROM:-0400\r\nTZOFFSETTO:-0500\r\nRRULE:FREQ=YEARLY;BYMONTH=11;BYDAY=1SU\r\n"));
+        }
+
+        @Test
+        void deve_declarar_o_fuso_antes_dos_eventos() {
+            assertTrue(ics.indexOf("END:VTIMEZONE") < ics.indexOf("BEGIN:VEVENT"));
+        }
+
+        @Test
+        void deve_converter_o_ultimo_domingo_do_mes() {
+            List<String> regras = ZoneId.of("Europe/Berlin").getRules().getTransitionRules().stream()
+                    .map(IcsFeedUtils::regraDaTransicao)
+                    .toList();
+
+            assertEquals(List.of("FREQ=YEARLY;BYMONTH=3;BYDAY=-1SU", "FREQ=YEARLY;BYMONTH=10;BYDAY=-1SU"), regras);
+        }
+    }
+
+    @Nested
+    class Dado_um_servidor_em_fuso_sem_horario_de_verao {
+
+        @Test
+        void deve_manter_os_horarios_em_utc_sem_vtimezone() throws IOException {
+            ByteArrayOutputStream saida = new ByteArrayOutputStream();
+            EventoResponseDTO daily = evento("Daily", null, LocalDateTime.of(2025, 3, 3, 9, 0),
+                    LocalDateTime.of(2025, 3, 3, 9, 15), false, TipoRecorrencia.DIARIA);
+            IcsFeedUtils.feed("Trabalho", LocalDateTime.of(2025, 1, 1, 0, 0), ZoneOffset.ofHours(-3),
+                    consumidor -> consumidor.accept(daily)).writeTo(saida);
+            String ics = saida.toString(StandardCharsets.UTF_8);
+
+            assertTrue(ics.contains("DTSTART:20250303T120000Z\r\n"));
+            assertFalse(ics.contains("VTIMEZONE"));
+        }
+
+        @Test
+        void deve_declarar_so_o_deslocamento_atual_de_fuso_que_aboliu_o_horario_de_verao() throws IOException {
+            StringWriter saida = new StringWriter();
+            IcsFeedUtils.fuso(saida, ZoneId.of("America/Sao_Paulo"));
+
+            assertEquals(String.join("\r\n", "BEGIN:VTIMEZONE", "TZID:America/Sao_Paulo", "BEGIN:STANDARD",
+                    "DTSTART:19700101T000000", "TZOFFSETFROM:-0300", "TZOFFSETTO:-0300", "END:STANDARD",
+                    "END:VTIMEZONE", ""), saida.toString());
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package projeto.collendar.utils;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import projeto.collendar.dtos.response.EventoResponseDTO;
+import projeto.collendar.enums.TipoRecorrencia;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class IndicePeriodosTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final UUID CALENDARIO_ID = UUID.randomUUID();
+
+    private static EventoResponseDTO evento(String titulo, long inicioHoras, long duracaoHoras) {
+        return new EventoResponseDTO(UUID.randomUUID(), titulo, null, BASE.plusHours(inicioHoras),
+                BASE.plusHours(inicioHoras + duracaoHoras), null, null, false, false, null, CALENDARIO_ID, "Trabalho");
+    }
+
+    private static List<String> titulos(IndicePeriodos indice, long deHoras, long ateHoras) {
+        List<String> titulos = new ArrayList<>();
+        indice.forEachSobreposto(BASE.plusHours(deHoras), BASE.plusHours(ateHoras), e -> titulos.add(e.titulo()));
+        return titulos;
+    }
+
+    @Nested
+    class Dado_um_indice_com_eventos_fora_de_ordem {
+
+        IndicePeriodos indice;
+
+        @BeforeEach
+        void setup() {
+            indice = IndicePeriodos.of(List.of(
+                    evento("C", 30, 1),
+                    evento("A", 0, 2),
+                    evento("Longo", 5, 100),
+                    evento("B", 10, 1)
+            ));
+        }
+
+        @Test
+        void deve_retornar_os_que_sobrepoem_em_ordem_de_inicio() {
+            assertEquals(List.of("Longo", "B"), titulos(indice, 8, 12));
+        }
+
+        @Test
+        void deve_considerar_intervalos_fechados_nas_bordas() {
+            assertEquals(List.of("A", "Longo"), titulos(indice, 2, 5));
+        }
+
+        @Test
+        void deve_retornar_vazio_fora_de_todos_os_eventos() {
+            assertTrue(titulos(indice, 200, 300).isEmpty());
+        }
+    }
+
+    @Nested
+    class Dado_mais_eventos_que_um_bloco {
+
+        @Test
+        void deve_pular_blocos_encerrados_sem_perder_eventos() {
+            List<EventoResponseDTO> eventos = new ArrayList<>();
+            for (int i = 0; i < 500; i++) {
+                eventos.add(evento("E" + i, i, 1));
+            }
+            IndicePeriodos indice = IndicePeriodos.of(eventos);
+
+            assertEquals(List.of("E299", "E300", "E301"), titulos(indice, 300, 301));
+            assertEquals(500, indice.tamanho());
+        }
+    }
+
+    @Nested
+    class Dado_alteracoes_no_indice {
+
+        EventoResponseDTO existente;
+        IndicePeriodos indice;
+
+        @BeforeEach
+        void setup() {
+            existente = evento("Original", 10, 1);
+            indice = IndicePeriodos.of(List.of(evento("A", 0, 1), existente));
+        }
+
+        @Test
+        void com_deve_inserir_na_posicao_do_inicio() {
+            IndicePeriodos novo = indice.com(evento("Meio", 5, 1));
+
+            assertEquals(List.of("A", "Meio", "Original"), titulos(novo, 0, 20));
+            assertEquals(List.of("A", "Original"), titulos(indice, 0, 20));
+        }
+
+        @Test
+        void com_deve_substituir_evento_ja_indexado() {
+            EventoResponseDTO movido = new EventoResponseDTO(existente.id(), "Movido", null,
+                    BASE.plusHours(50), BASE.plusHours(51), null, null, false, false, null, CALENDARIO_ID, "Trabalho");
+
+            IndicePeriodos novo = indice.com(movido);
+
+            assertEquals(List.of("A"), titulos(novo, 0, 20));
+            assertEquals(List.of("Movido"), titulos(novo, 50, 50));
+            assertEquals(2, novo.tamanho());
+        }
+
+        @Test
+        void sem_deve_remover_pelo_id() {
+            assertEquals(List.of("A"), titulos(indice.sem(existente.id()), 0, 20));
+        }
+
+        @Test
+        void sem_id_desconhecido_deve_manter_o_indice() {
+            assertSame(indice, indice.sem(UUID.randomUUID()));
+        }
+    }
+
+    @Nested
+    class Dado_eventos_recorrentes {
+
+        @Test
+        void deve_guardar_as_series_a_parte() {
+            EventoResponseDTO serie = new EventoResponseDTO(UUID.randomUUID(), "Daily", null,
+                    BASE.plusHours(9), BASE.plusHours(10), null, null, false, true, TipoRecorrencia.DIARIA,
+                    CALENDARIO_ID, "Trabalho");
+            IndicePeriodos indice = IndicePeriodos.of(List.of(serie, evento("A", 0, 1)));
+
+            assertEquals(List.of("A"), titulos(indice, 0, 100));
+            assertEquals(List.of(serie), indice.recorrentesIniciadosAte(BASE.plusDays(10)));
+            assertTrue(indice.recorrentesIniciadosAte(BASE).isEmpty());
+            assertTrue(indice.sem(serie.id()).recorrentesIniciadosAte(BASE.plusDays(10)).isEmpty());
+        }
+    }
+
+    @Nested
+    class Dado_uma_sequencia_de_escritas_pontuais {
+
+        List<EventoResponseDTO> esperados;
+        IndicePeriodos indice;
+
+        // Espelha cada escrita em uma lista e confere o índice contra um reconstruído do zero
+        @BeforeEach
+        void setup() {
+            esperados = new ArrayList<>();
+            for (int i = 0; i < 300; i++) {
+                esperados.add(evento("E" + i, i * 2L, 3));
+            }
+            indice = IndicePeriodos.of(esperados);
+
+            Random random = new Random(42);
+            for (int escrita = 0; escrita < 500; escrita++) {
+                int alvo = random.nextInt(esperados.size());
+                EventoResponseDTO atual = esperados.get(alvo);
+                switch (escrita % 3) {
+                    case 0 -> {
+                        EventoResponseDTO novo = evento("N" + escrita, random.nextInt(700), 1 + random.nextInt(5));
+                        esperados.add(novo);
+                        indice = indice.com(novo);
+                    }
+                    case 1 -> {
+                        esperados.remove(alvo);
+                        indice = indice.sem(atual.id());
+                    }
+                    default -> {
+                        EventoResponseDTO movido = new EventoResponseDTO(atual.id(), atual.titulo() + "'", null,
+                                BASE.plusHours(random.nextInt(700)), BASE.plusHours(701), null, null, false, false,
+                                null, CALENDARIO_ID, "Trabalho");
+                        esperados.set(alvo, movido);
+                        indice = indice.com(movido);
+                    }
+                }
+            }
+        }
+
+        @Test
+        void deve_responder_como_um_indice_reconstruido() {
+            IndicePeriodos reconstruido = IndicePeriodos.of(esperados);
+
+            for (int de = 0; de < 720; de += 37) {
+                assertEquals(new HashSet<>(titulos(reconstruido, de, de + 50)), new HashSet<>(titulos(indice, de, de + 50)));
+            }
+            assertEquals(esperados.size(), indice.tamanho());
+        }
+
+        @Test
+        void deve_entregar_em_ordem_de_inicio() {
+            List<LocalDateTime> inicios = new ArrayList<>();
+            indice.forEachSobreposto(BASE, BASE.plusHours(800), e -> inicios.add(e.dataInicio()));
+
+            assertEquals(inicios.stream().sorted().toList(), inicios);
+            assertEquals(esperados.size(), inicios.size());
+        }
+
+        @Test
+        void deve_manter_a_estimativa_de_bytes_pela_linha_alterada() {
+            assertEquals(IndicePeriodos.of(esperados).bytesEstimados(), indice.bytesEstimados());
+        }
+    }
+
+    @Nested
+    class Dado_eventos_acrescentados_depois_da_carga {
+
+        @Test
+        void deve_remover_e_substituir_o_acrescentado() {
+            EventoResponseDTO novo = evento("Novo", 5, 1);
+            IndicePeriodos indice = IndicePeriodos.of(List.of(evento("A", 0, 1))).com(novo);
+            EventoResponseDTO movido = new EventoResponseDTO(novo.id(), "Movido", null,
+                    BASE.plusHours(8), BASE.plusHours(9), null, null, false, false, null, CALENDARIO_ID, "Trabalho");
+
+            assertEquals(List.of("A", "Movido"), titulos(indice.com(movido), 0, 20));
+            assertEquals(List.of("A"), titulos(indice.sem(novo.id()), 0, 20));
+            assertEquals(1, indice.sem(novo.id()).tamanho());
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package projeto.collendar.utils;
+
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class IntervalosUtilsTest {
+
+    private static long[] unir(long... pares) {
+        int total = pares.length / 2;
+        long[] inicios = new long[total];
+        long[] fins = new long[total];
+        for (int i = 0; i < total; i++) {
+            inicios[i] = pares[2 * i];
+            fins[i] = pares[2 * i + 1];
+        }
+        return IntervalosUtils.unir(inicios, fins, total);
+    }
+
+    @Nested
+    class Dado_intervalos_sobrepostos {
+
+        @Test
+        void deve_unir_em_um_unico_bloco() {
+            assertArrayEquals(new long[]{10, 40}, unir(10, 25, 20, 40));
+        }
+
+        @Test
+        void deve_absorver_intervalos_contidos() {
+            assertArrayEquals(new long[]{10, 100}, unir(10, 100, 20, 30, 50, 60));
+        }
+
+        @Test
+        void deve_ordenar_antes_de_unir() {
+            assertArrayEquals(new long[]{0, 5, 10, 30}, unir(20, 30, 0, 5, 10, 25));
+        }
+    }
+
+    @Nested
+    class Dado_intervalos_que_se_tocam {
+
+        @Test
+        void deve_unir_no_instante_comum() {
+            assertArrayEquals(new long[]{10, 30}, unir(10, 20, 20, 30));
+        }
+    }
+
+    @Nested
+    class Dado_intervalos_disjuntos {
+
+        @Test
+        void deve_manter_blocos_separados() {
+            assertArrayEquals(new long[]{10, 20, 21, 30}, unir(21, 30, 10, 20));
+        }
+    }
+
+    @Nested
+    class Dado_nenhum_intervalo {
+
+        @Test
+        void deve_retornar_vazio() {
+            assertEquals(0, unir().length);
+        }
+    }
+
+    @Nested
+    class Dado_um_acumulador {
+
+        LocalDateTime janelaInicio = LocalDateTime.of(2025, 3, 10, 0, 0);
+        LocalDateTime janelaFim = LocalDateTime.of(2025, 3, 11, 0, 0);
+
+        @Test
+        void deve_recortar_intervalos_a_janela() {
+            IntervalosUtils.Acumulador acumulador = new IntervalosUtils.Acumulador(janelaInicio, janelaFim);
+            acumulador.adicionar(LocalDateTime.of(2025, 3, 9, 22, 0), LocalDateTime.of(2025, 3, 10, 1, 0));
+            acumulador.adicionar(LocalDateTime.of(2025, 3, 10, 23, 0), LocalDateTime.of(2025, 3, 11, 2, 0));
+
+            long[] blocos = acumulador.unir();
+
+            assertEquals(4, blocos.length);
+            assertEquals(janelaInicio, IntervalosUtils.momento(blocos[0]));
+            assertEquals(LocalDateTime.of(2025, 3, 10, 1, 0), IntervalosUtils.momento(blocos[1]));
+            assertEquals(LocalDateTime.of(2025, 3, 10, 23, 0), IntervalosUtils.momento(blocos[2]));
+            assertEquals(janelaFim, IntervalosUtils.momento(blocos[3]));
+        }
+
+        @Test
+        void deve_ignorar_intervalos_fora_da_janela() {
+            IntervalosUtils.Acumulador acumulador = new IntervalosUtils.Acumulador(janelaInicio, janelaFim);
+            acumulador.adicionar(LocalDateTime.of(2025, 3, 8, 9, 0), LocalDateTime.of(2025, 3, 8, 10, 0));
+
+            assertEquals(0, acumulador.unir().length);
+        }
+
+        @Test
+        void deve_crescer_alem_da_capacidade_inicial() {
+            IntervalosUtils.Acumulador acumulador = new IntervalosUtils.Acumulador(janelaInicio, janelaFim);
+            for (int minuto = 0; minuto < 200; minuto += 2) {
+                acumulador.adicionar(janelaInicio.plusMinutes(minuto), janelaInicio.plusMinutes(minuto + 1));
+            }
+
+            assertEquals(200, acumulador.unir().length);
+        }
+    }
+}
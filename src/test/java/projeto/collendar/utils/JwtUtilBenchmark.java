@@ -0,0 +1,86 @@
+package projeto.collendar.utils;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import projeto.collendar.config.UsuarioAutenticado;
+
+import javax.crypto.SecretKey;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara o caminho antigo do filtro (três parsers montados e três verificações HMAC
+ * por requisição) com a validação única em parser compartilhado, com e sem cache.
+ * Executar pelo main na IDE ou com o classpath de testes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+    private SecretKey key;
+    private JwtUtil semCache;
+    private JwtUtil comCache;
+    private String token;
+
+    @Setup
+    public void setup() {
+        key = Keys.secretKeyFor(SignatureAlgorithm.HS256);
+        semCache = new JwtUtil(key, 0);
+        comCache = new JwtUtil(key, 10_000);
+        token = semCache.generateToken(new UsuarioAutenticado(UUID.randomUUID(), null, "benchmark@email.com", null,
+                List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+    }
+
+    @Benchmark
+    public boolean caminhoAntigo() {
+        String username = parseLegado().getSubject();
+        boolean mesmoUsuario = parseLegado().getSubject().equals(username);
+        return mesmoUsuario && !parseLegado().getExpiration().before(new Date());
+    }
+
+    @Benchmark
+    public Claims validacaoUnica() {
+        return semCache.validateToken(token).orElseThrow();
+    }
+
+    @Benchmark
+    public Claims validacaoUnicaComCache() {
+        return comCache.validateToken(token).orElseThrow();
+    }
+
+    private Claims parseLegado() {
+        return Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtUtilBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
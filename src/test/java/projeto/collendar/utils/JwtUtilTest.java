@@ -0,0 +1,134 @@
+package projeto.collendar.utils;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import projeto.collendar.config.UsuarioAutenticado;
+
+import javax.crypto.SecretKey;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class JwtUtilTest {
+
+    SecretKey key;
+    JwtUtil jwtUtil;
+    UsuarioAutenticado usuario;
+
+    @BeforeEach
+    void setup() {
+        key = Keys.secretKeyFor(SignatureAlgorithm.HS256);
+        jwtUtil = new JwtUtil(key, 100);
+        usuario = new UsuarioAutenticado(UUID.randomUUID(), null, "teste@email.com", null,
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+    }
+
+    @Nested
+    class Dado_um_token_valido {
+
+        String token;
+
+        @BeforeEach
+        void setup() {
+            token = jwtUtil.generateToken(usuario);
+        }
+
+        @Test
+        void deve_retornar_claims_com_subject() {
+            Optional<Claims> claims = jwtUtil.validateToken(token);
+
+            assertTrue(claims.isPresent());
+            assertEquals("teste@email.com", claims.get().getSubject());
+        }
+
+        @Test
+        void deve_reconstruir_principal_com_id_e_roles() {
+            UsuarioAutenticado principal = jwtUtil.extractPrincipal(jwtUtil.validateToken(token).orElseThrow());
+
+            assertEquals(usuario.id(), principal.id());
+            assertEquals("teste@email.com", principal.getUsername());
+            assertEquals("ROLE_USER", principal.getAuthorities().iterator().next().getAuthority());
+        }
+
+        @Test
+        void deve_reaproveitar_claims_verificados_na_segunda_chamada() {
+            Claims primeira = jwtUtil.validateToken(token).orElseThrow();
+            Claims segunda = jwtUtil.validateToken(token).orElseThrow();
+
+            assertSame(primeira, segunda);
+        }
+
+        @Test
+        void deve_validar_sem_cache_quando_desabilitado() {
+            JwtUtil semCache = new JwtUtil(key, 0);
+
+            Claims primeira = semCache.validateToken(token).orElseThrow();
+            Claims segunda = semCache.validateToken(token).orElseThrow();
+
+            assertNotSame(primeira, segunda);
+            assertEquals(primeira.getSubject(), segunda.getSubject());
+        }
+    }
+
+    @Nested
+    class Dado_um_token_invalido {
+
+        @Test
+        void deve_rejeitar_token_adulterado() {
+            String token = jwtUtil.generateToken(usuario);
+            String adulterado = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+            assertTrue(jwtUtil.validateToken(adulterado).isEmpty());
+        }
+
+        @Test
+        void deve_rejeitar_token_assinado_com_outra_chave() {
+            JwtUtil outro = new JwtUtil(Keys.secretKeyFor(SignatureAlgorithm.HS256), 100);
+
+            assertTrue(jwtUtil.validateToken(outro.generateToken(usuario)).isEmpty());
+        }
+
+        @Test
+        void deve_rejeitar_token_expirado() {
+            String expirado = Jwts.builder()
+                    .setSubject("teste@email.com")
+                    .setExpiration(new Date(System.currentTimeMillis() - 1000))
+                    .signWith(key)
+                    .compact();
+
+            assertTrue(jwtUtil.validateToken(expirado).isEmpty());
+        }
+
+        @Test
+        void deve_rejeitar_texto_que_nao_e_jwt() {
+            assertTrue(jwtUtil.validateToken("nao-e-um-token").isEmpty());
+        }
+    }
+
+    @Nested
+    class Dado_um_token_sem_id_do_usuario {
+
+        @Test
+        void nao_deve_montar_principal() {
+            String token = Jwts.builder()
+                    .setSubject("antigo@email.com")
+                    .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                    .signWith(key)
+                    .compact();
+
+            assertNull(jwtUtil.extractPrincipal(jwtUtil.validateToken(token).orElseThrow()));
+        }
+    }
+}
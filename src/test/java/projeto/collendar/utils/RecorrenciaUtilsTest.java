@@ -0,0 +1,100 @@
+package projeto.collendar.utils;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import projeto.collendar.enums.TipoRecorrencia;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class RecorrenciaUtilsTest {
+
+    List<LocalDateTime[]> ocorrencias;
+
+    @BeforeEach
+    void setup() {
+        ocorrencias = new ArrayList<>();
+    }
+
+    private void expandir(LocalDateTime inicio, LocalDateTime fim, TipoRecorrencia tipo,
+                          LocalDateTime janelaInicio, LocalDateTime janelaFim) {
+        RecorrenciaUtils.forEachOcorrencia(inicio, fim, tipo, janelaInicio, janelaFim,
+                (i, f) -> ocorrencias.add(new LocalDateTime[]{i, f}));
+    }
+
+    @Nested
+    class Dado_um_evento_diario_antigo {
+
+        @Test
+        void deve_gerar_apenas_ocorrencias_da_janela() {
+            expandir(
+                    LocalDateTime.of(2000, 1, 1, 9, 0),
+                    LocalDateTime.of(2000, 1, 1, 10, 0),
+                    TipoRecorrencia.DIARIA,
+                    LocalDateTime.of(2025, 6, 10, 0, 0),
+                    LocalDateTime.of(2025, 6, 12, 23, 59)
+            );
+
+            assertEquals(3, ocorrencias.size());
+            assertEquals(LocalDateTime.of(2025, 6, 10, 9, 0), ocorrencias.get(0)[0]);
+            assertEquals(LocalDateTime.of(2025, 6, 12, 10, 0), ocorrencias.get(2)[1]);
+        }
+
+        @Test
+        void deve_incluir_ocorrencia_que_comecou_antes_da_janela() {
+            expandir(
+                    LocalDateTime.of(2025, 1, 1, 22, 0),
+                    LocalDateTime.of(2025, 1, 2, 2, 0),
+                    TipoRecorrencia.DIARIA,
+                    LocalDateTime.of(2025, 6, 10, 0, 0),
+                    LocalDateTime.of(2025, 6, 10, 1, 0)
+            );
+
+            assertEquals(1, ocorrencias.size());
+            assertEquals(LocalDateTime.of(2025, 6, 9, 22, 0), ocorrencias.get(0)[0]);
+        }
+    }
+
+    @Nested
+    class Dado_um_evento_mensal_no_dia_31 {
+
+        @Test
+        void deve_ajustar_para_o_fim_do_mes_sem_deriva() {
+            expandir(
+                    LocalDateTime.of(2025, 1, 31, 10, 0),
+                    LocalDateTime.of(2025, 1, 31, 11, 0),
+                    TipoRecorrencia.MENSAL,
+                    LocalDateTime.of(2025, 2, 1, 0, 0),
+                    LocalDateTime.of(2025, 3, 31, 23, 59)
+            );
+
+            assertEquals(2, ocorrencias.size());
+            assertEquals(LocalDateTime.of(2025, 2, 28, 10, 0), ocorrencias.get(0)[0]);
+            assertEquals(LocalDateTime.of(2025, 3, 31, 10, 0), ocorrencias.get(1)[0]);
+        }
+    }
+
+    @Nested
+    class Dado_um_evento_que_comeca_depois_da_janela {
+
+        @Test
+        void nao_deve_gerar_ocorrencias() {
+            expandir(
+                    LocalDateTime.of(2026, 1, 1, 10, 0),
+                    LocalDateTime.of(2026, 1, 1, 11, 0),
+                    TipoRecorrencia.ANUAL,
+                    LocalDateTime.of(2025, 1, 1, 0, 0),
+                    LocalDateTime.of(2025, 12, 31, 23, 59)
+            );
+
+            assertTrue(ocorrencias.isEmpty());
+        }
+    }
+}
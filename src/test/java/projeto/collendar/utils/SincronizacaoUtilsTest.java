@@ -0,0 +1,54 @@
+package projeto.collendar.utils;
+
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import projeto.collendar.exception.BusinessException;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class SincronizacaoUtilsTest {
+
+    UUID calendarioId = UUID.randomUUID();
+
+    @Nested
+    class Dado_um_token_emitido_para_o_calendario {
+
+        @Test
+        void deve_devolver_a_versao_codificada() {
+            String token = SincronizacaoUtils.encode(calendarioId, 42L);
+
+            assertEquals(42L, SincronizacaoUtils.decode(token, calendarioId));
+        }
+
+        @Test
+        void deve_ser_url_safe() {
+            String token = SincronizacaoUtils.encode(calendarioId, Long.MAX_VALUE);
+
+            assertFalse(token.contains("+") || token.contains("/") || token.contains("="));
+        }
+    }
+
+    @Nested
+    class Dado_um_token_invalido {
+
+        @Test
+        void deve_rejeitar_token_de_outro_calendario() {
+            String token = SincronizacaoUtils.encode(UUID.randomUUID(), 42L);
+
+            assertThrows(BusinessException.class, () -> SincronizacaoUtils.decode(token, calendarioId));
+        }
+
+        @Test
+        void deve_rejeitar_token_malformado() {
+            assertThrows(BusinessException.class, () -> SincronizacaoUtils.decode("não-é-base64", calendarioId));
+            assertThrows(BusinessException.class, () -> SincronizacaoUtils.decode(
+                    CursorUtils.encode(LocalDateTime.now(), calendarioId), calendarioId));
+        }
+    }
+}